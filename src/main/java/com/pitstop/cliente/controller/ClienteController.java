@@ -5,6 +5,7 @@ import com.pitstop.cliente.dto.ClienteResponse;
 import com.pitstop.cliente.dto.CreateClienteRequest;
 import com.pitstop.cliente.dto.UpdateClienteRequest;
 import com.pitstop.cliente.service.ClienteService;
+import com.pitstop.shared.pagination.CountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,8 +13,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -87,6 +88,7 @@ public class ClienteController {
      * @param cidade filtro de cidade (opcional)
      * @param estado filtro de UF (opcional)
      * @param pageable configuração de paginação
+     * @param count modo de contagem do total (EXACT, ESTIMATED ou NONE)
      * @return página de clientes
      */
     @GetMapping
@@ -96,19 +98,20 @@ public class ClienteController {
         @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
         @ApiResponse(responseCode = "403", description = "Acesso negado")
     })
-    public ResponseEntity<Page<ClienteResponse>> findAll(
+    public ResponseEntity<Slice<ClienteResponse>> findAll(
         @Parameter(description = "Filtro por nome (busca parcial)") @RequestParam(required = false) String nome,
         @Parameter(description = "Filtro por tipo de cliente") @RequestParam(required = false) TipoCliente tipo,
         @Parameter(description = "Filtro por status (null=todos, true=ativos, false=inativos)") @RequestParam(required = false) Boolean ativo,
         @Parameter(description = "Filtro por cidade") @RequestParam(required = false) String cidade,
         @Parameter(description = "Filtro por estado (UF)") @RequestParam(required = false) String estado,
-        @PageableDefault(size = 20, sort = "nome") Pageable pageable
+        @PageableDefault(size = 20, sort = "nome") Pageable pageable,
+        @Parameter(description = CountMode.PARAM_DESCRIPTION) @RequestParam(defaultValue = "EXACT") CountMode count
     ) {
         // IMPORTANTE: Sempre usa findByFiltros (native query) porque ignora o @Where clause da entidade
         // Quando ativo=null, a query retorna TODOS (ativos + inativos)
         // Quando ativo=true, retorna apenas ativos
         // Quando ativo=false, retorna apenas inativos
-        Page<ClienteResponse> clientes = clienteService.findByFiltros(nome, tipo, ativo, cidade, estado, pageable);
+        Slice<ClienteResponse> clientes = clienteService.findByFiltros(nome, tipo, ativo, cidade, estado, pageable, count);
         return ResponseEntity.ok(clientes);
     }
 
@@ -4,11 +4,13 @@ import com.pitstop.cliente.domain.Cliente;
 import com.pitstop.cliente.domain.TipoCliente;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -120,7 +122,7 @@ public interface ClienteRepository extends JpaRepository<Cliente, UUID> {
      * @param cidade cidade (null para ignorar)
      * @param estado UF (null para ignorar)
      * @param pageable configuração de paginação e ordenação
-     * @return página de clientes filtrados
+     * @return fatia de clientes filtrados (sem COUNT, ver {@link #countByFiltros})
      */
     @Query(value = """
         SELECT * FROM clientes
@@ -131,7 +133,26 @@ public interface ClienteRepository extends JpaRepository<Cliente, UUID> {
         AND (:cidade IS NULL OR LOWER(cidade) = LOWER(CAST(:cidade AS TEXT)))
         AND (:estado IS NULL OR estado = CAST(:estado AS TEXT))
         """,
-        countQuery = """
+        nativeQuery = true)
+    Slice<Cliente> findByFiltros(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("nome") String nome,
+        @Param("tipoStr") String tipoStr,
+        @Param("ativo") Boolean ativo,
+        @Param("cidade") String cidade,
+        @Param("estado") String estado,
+        Pageable pageable
+    );
+
+    /**
+     * Conta os clientes de {@link #findByFiltros} (mesmos filtros).
+     *
+     * <p>Separada da listagem para que o total seja calculado apenas quando pedido
+     * e possa ser cacheado (ver {@code PageCounter}).</p>
+     *
+     * @return total de clientes filtrados
+     */
+    @Query(value = """
         SELECT COUNT(*) FROM clientes
         WHERE oficina_id = CAST(:oficinaId AS UUID)
         AND (:ativo IS NULL OR ativo = :ativo)
@@ -141,14 +162,13 @@ public interface ClienteRepository extends JpaRepository<Cliente, UUID> {
         AND (:estado IS NULL OR estado = CAST(:estado AS TEXT))
         """,
         nativeQuery = true)
-    Page<Cliente> findByFiltros(
+    long countByFiltros(
         @Param("oficinaId") UUID oficinaId,
         @Param("nome") String nome,
         @Param("tipoStr") String tipoStr,
         @Param("ativo") Boolean ativo,
         @Param("cidade") String cidade,
-        @Param("estado") String estado,
-        Pageable pageable
+        @Param("estado") String estado
     );
 
     /**
@@ -231,6 +251,17 @@ public interface ClienteRepository extends JpaRepository<Cliente, UUID> {
     @Query("SELECT c FROM Cliente c WHERE c.oficina.id = :oficinaId AND c.id = :id")
     Optional<Cliente> findByOficinaIdAndId(@Param("oficinaId") UUID oficinaId, @Param("id") UUID id);
 
+    /**
+     * Busca vários clientes ativos por ID em uma oficina (uma única query com {@code IN}).
+     * Usado com {@link com.pitstop.shared.persistence.BatchLoader} para evitar N+1.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param ids IDs dos clientes
+     * @return clientes encontrados (IDs inexistentes ou inativos são omitidos)
+     */
+    @Query("SELECT c FROM Cliente c WHERE c.oficina.id = :oficinaId AND c.id IN :ids")
+    List<Cliente> findByOficinaIdAndIdIn(@Param("oficinaId") UUID oficinaId, @Param("ids") Collection<UUID> ids);
+
     /**
      * Busca todos os clientes ativos de uma oficina com paginação.
      *
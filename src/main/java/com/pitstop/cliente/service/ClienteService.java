@@ -10,6 +10,9 @@ import com.pitstop.cliente.exception.ClienteNotFoundException;
 import com.pitstop.cliente.exception.ClienteValidationException;
 import com.pitstop.cliente.exception.CpfCnpjAlreadyExistsException;
 import com.pitstop.cliente.repository.ClienteRepository;
+import com.pitstop.shared.pagination.CountMode;
+import com.pitstop.shared.pagination.CountQuery;
+import com.pitstop.shared.pagination.PageCounter;
 import com.pitstop.shared.security.tenant.TenantContext;
 import com.pitstop.shared.validation.CpfCnpjUtils;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +21,7 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +49,7 @@ public class ClienteService {
 
     private final ClienteRepository clienteRepository;
     private final ClienteMapper clienteMapper;
+    private final PageCounter pageCounter;
 
     /**
      * Cria um novo cliente no sistema.
@@ -61,7 +66,7 @@ public class ClienteService {
      * @throws ClienteValidationException se documento incompatível com tipo
      */
     @Transactional
-    @CacheEvict(value = "clientes", allEntries = true)
+    @CacheEvict(value = {"clientes", "pageCounts", "dashboard"}, allEntries = true)
     public ClienteResponse create(CreateClienteRequest request) {
         log.info("Criando novo cliente: tipo={}, cpfCnpj={}", request.getTipo(), request.getCpfCnpj());
 
@@ -184,16 +189,21 @@ public class ClienteService {
      * @param cidade filtro de cidade (opcional)
      * @param estado filtro de UF (opcional)
      * @param pageable configuração de paginação
-     * @return página de clientes filtrados
+     * @param countMode como calcular o total (ver {@link PageCounter})
+     * @return página de clientes filtrados ({@code Slice} sem total quando {@code countMode} é NONE)
      */
     @Transactional(readOnly = true)
-    public Page<ClienteResponse> findByFiltros(String nome, TipoCliente tipo, Boolean ativo, String cidade, String estado, Pageable pageable) {
+    public Slice<ClienteResponse> findByFiltros(String nome, TipoCliente tipo, Boolean ativo, String cidade, String estado,
+                                                Pageable pageable, CountMode countMode) {
         UUID oficinaId = TenantContext.getTenantId();
         // Converte enum para string para evitar erro BYTEA do PostgreSQL
         String tipoStr = (tipo != null) ? tipo.name() : null;
 
-        return clienteRepository.findByFiltros(oficinaId, nome, tipoStr, ativo, cidade, estado, pageable)
+        Slice<ClienteResponse> clientes = clienteRepository.findByFiltros(oficinaId, nome, tipoStr, ativo, cidade, estado, pageable)
             .map(clienteMapper::toResponse);
+        return pageCounter.complete(clientes, countMode, CountQuery.of("clientes",
+            () -> clienteRepository.countByFiltros(oficinaId, nome, tipoStr, ativo, cidade, estado),
+            nome, tipoStr, ativo, cidade, estado));
     }
 
     /**
@@ -207,7 +217,7 @@ public class ClienteService {
      * @throws ClienteNotFoundException se cliente não encontrado
      */
     @Transactional
-    @CacheEvict(value = "clientes", allEntries = true)
+    @CacheEvict(value = {"clientes", "pageCounts"}, allEntries = true)
     public ClienteResponse update(UUID id, UpdateClienteRequest request) {
         log.info("Atualizando cliente: id={}", id);
 
@@ -231,7 +241,7 @@ public class ClienteService {
      * @throws ClienteNotFoundException se cliente não encontrado
      */
     @Transactional
-    @CacheEvict(value = "clientes", allEntries = true)
+    @CacheEvict(value = {"clientes", "pageCounts", "dashboard"}, allEntries = true)
     public void delete(UUID id) {
         log.info("Desativando cliente (soft delete): id={}", id);
 
@@ -252,7 +262,7 @@ public class ClienteService {
      * @throws ClienteNotFoundException se cliente não encontrado
      */
     @Transactional
-    @CacheEvict(value = "clientes", allEntries = true)
+    @CacheEvict(value = {"clientes", "pageCounts", "dashboard"}, allEntries = true)
     public ClienteResponse reativar(UUID id) {
         log.info("Reativando cliente: id={}", id);
 
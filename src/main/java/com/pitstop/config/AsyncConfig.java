@@ -2,8 +2,11 @@ package com.pitstop.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -15,18 +18,44 @@ import java.util.concurrent.Executor;
  *
  * Otimizado para envio rápido de emails, WhatsApp e Telegram.
  *
+ * <p><b>Modos de execução</b> ({@code spring.threads.virtual.enabled}):
+ * <ul>
+ *   <li><b>false</b> (padrão): pool de threads de plataforma (core 4, max 10, fila 50)</li>
+ *   <li><b>true</b>: uma virtual thread por tarefa, limitada por {@code async.virtual.concurrency-limit}.
+ *       A mesma propriedade faz o Spring Boot executar os handlers do Tomcat e os jobs
+ *       {@code @Scheduled} em virtual threads, então chamadas HTTP bloqueantes (WhatsApp,
+ *       Telegram, webhooks) deixam de prender threads de plataforma e de encher a fila</li>
+ * </ul>
+ *
+ * <p>Nos dois modos o {@link ContextPropagatingTaskDecorator} leva tenant, SecurityContext
+ * e MDC da thread chamadora para a tarefa.
+ *
  * @author PitStop Team
  */
 @Configuration
 @Slf4j
 public class AsyncConfig implements AsyncConfigurer {
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * Máximo de tarefas @Async simultâneas em modo virtual thread.
+     * Protege as APIs externas e o pool Hikari de rajadas ilimitadas.
+     */
+    @Value("${async.virtual.concurrency-limit:256}")
+    private int virtualConcurrencyLimit;
+
     /**
      * Executor principal para tarefas assíncronas.
-     * Pool de threads dedicado para notificações.
+     * Pool de threads dedicado para notificações, ou virtual threads quando habilitado.
      */
     @Bean(name = "taskExecutor")
-    public ThreadPoolTaskExecutor taskExecutor() {
+    public AsyncTaskExecutor taskExecutor() {
+        if (virtualThreadsEnabled) {
+            return virtualThreadTaskExecutor();
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         // Core pool: threads sempre prontas (mínimo)
@@ -48,6 +77,9 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(30);
 
+        // Propaga tenant, SecurityContext e MDC para a tarefa
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+
         executor.initialize();
 
         log.info("ThreadPoolTaskExecutor configurado: core={}, max={}, queue={}",
@@ -56,6 +88,24 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Executor de virtual threads: uma thread nova por tarefa, sem fila de espera fixa.
+     */
+    private SimpleAsyncTaskExecutor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Notificacao-vt-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(virtualConcurrencyLimit);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+
+        // Aguarda tarefas pendentes ao desligar
+        executor.setTaskTerminationTimeout(30_000);
+
+        log.info("SimpleAsyncTaskExecutor configurado com virtual threads: concurrencyLimit={}",
+            virtualConcurrencyLimit);
+
+        return executor;
+    }
+
     @Override
     public Executor getAsyncExecutor() {
         return taskExecutor();
@@ -1,24 +1,40 @@
 package com.pitstop.config;
 
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.springframework.cache.CacheManager;
+import com.pitstop.shared.cache.CacheKeyGenerator;
+import com.pitstop.shared.cache.CacheTenantTags;
+import com.pitstop.shared.cache.CacheValueCodec;
+import com.pitstop.shared.cache.CacheValueSerializer;
+import com.pitstop.shared.cache.RefreshAheadCache;
+import com.pitstop.shared.cache.TenantScopedCacheManager;
+import com.pitstop.shared.cache.TwoLevelCacheManager;
+import com.pitstop.shared.redis.CircuitBreakingRedisConnectionFactory;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCache;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Redis cache configuration for PitStop application.
@@ -33,10 +49,53 @@ import java.util.Map;
  * - List caches use shorter TTL because they need to reflect new items quickly
  * - Detail caches can have longer TTL since specific item changes are less frequent
  * - Using @CacheEvict with key instead of allEntries where possible
+ *
+ * Multi-tenancy:
+ * - Every cache except GLOBAL_CACHES is tenant-scoped (TenantScopedCache): keys are stored as
+ *   {cacheName}::t:{oficinaId}:{key}, see TenantCacheKeys
+ * - @CacheEvict(allEntries = true) inside a tenant request drops only that oficina's entries
+ * - TenantScopedCacheManager.evictTenant(oficinaId) drops one oficina from every cache
+ * - Pattern eviction uses SCAN (BatchStrategies.scan) instead of KEYS
+ *
+ * Two-level cache:
+ * - Caches listed in cache.l1.caches get a per-node Caffeine L1 in front of Redis (TwoLevelCache),
+ *   skipping the network round trip and JSON deserialization on L1 hits
+ * - Only caches holding immutable DTOs should be listed (L1 returns shared instances)
+ * - Writes/evictions are broadcast on Redis pub/sub (TwoLevelCacheManager.CHANNEL) to drop other
+ *   nodes' L1 copies; the short L1 TTL bounds staleness if a message is lost
+ * - Hit rate per tier: pitstop.cache.tier.gets{cache, tier, result}
+ *
+ * Value encoding (CacheValueSerializer):
+ * - cache.codec.default / cache.codec.per-cache choose JSON or SMILE (binary) per cache;
+ *   SMILE is opt-in (no cache uses it unless listed)
+ * - Values >= cache.codec.compress-threshold-bytes are GZIP-compressed
+ * - Reads detect the format, so codec changes need no flush
+ *
+ * Stampede protection (RefreshAheadCache, caches in cache.refresh-ahead.caches):
+ * - Use with @Cacheable(sync = true): one loader per key and node, optional Redis lock across nodes
+ * - Entries are fresh for the TTL below and kept in Redis for cache.refresh-ahead.stale-seconds more;
+ *   stale entries are served while a background refresh runs
+ * - Hot entries are refreshed early (XFetch) before they go stale
+ *
+ * Metrics (InstrumentedCache, outermost decorator):
+ * - pitstop.cache.gets{cache, tenant, result}, pitstop.cache.get.latency, pitstop.cache.load,
+ *   pitstop.cache.puts, pitstop.cache.evictions and pitstop.cache.entry.size (bytes)
+ * - The tenant tag is bounded: top cache.metrics.tenant-top-k oficinas, the rest as "other"
+ * - /actuator/cachestats (SUPER_ADMIN): hottest caches, busiest oficinas and biggest Redis keys
+ *
+ * Redis outage (RedisCircuitBreaker, DegradedModeCache):
+ * - The cache writer goes through CircuitBreakingRedisConnectionFactory: fails fast while the circuit is open
+ * - Caches then use a per-node Caffeine fallback (cache.degraded.max-size, cache.degraded.ttl-seconds)
+ *   and load from the database on misses
+ * - Caches with evictions missed during the outage are cleared when Redis comes back
+ *
+ * Listing totals (PageCounter, PAGE_COUNT_CACHE):
+ * - COUNT results of paginated listings per tenant and filter hash, for cache.page-counts.ttl-seconds
+ * - Services that evict their list caches also evict pageCounts
  */
 @Configuration
 @EnableCaching
-public class CacheConfig {
+public class CacheConfig implements CachingConfigurer {
 
     // Detail caches (single entity)
     public static final String CATEGORIAS_CACHE = "categorias";
@@ -59,34 +118,87 @@ public class CacheConfig {
     public static final String DASHBOARD_CACHE = "dashboard";
     public static final String OS_COUNT_CACHE = "osCountByStatus";
     public static final String ESTOQUE_BAIXO_CACHE = "estoqueBaixo";
+    public static final String PAGE_COUNT_CACHE = "pageCounts";
 
-    @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Create ObjectMapper with Java 8 Date/Time support (JSR-310)
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-
-        // CRITICAL: Enable polymorphic type handling with LaissezFaireSubTypeValidator
-        // Using PROPERTY format: {"@class": "com.pitstop...", "field": "value"}
-        // Using EVERYTHING because Java records (like OficinaResponse) are implicitly final
-        // and NON_FINAL would skip them, causing LinkedHashMap deserialization issues
-        objectMapper.activateDefaultTyping(
-            LaissezFaireSubTypeValidator.instance,
-            ObjectMapper.DefaultTyping.EVERYTHING,
-            JsonTypeInfo.As.PROPERTY
-        );
+    // Caches shared by all tenants (not scoped by oficina)
+    public static final Set<String> GLOBAL_CACHES = Set.of(OFICINAS_CACHE);
+
+    /**
+     * Page size for SCAN during pattern eviction.
+     */
+    private static final int EVICTION_SCAN_BATCH_SIZE = 1000;
+
+    @Value("${cache.l1.enabled:true}")
+    private boolean l1Enabled;
+
+    @Value("${cache.l1.caches:oficinas,usuarios}")
+    private String[] l1Caches;
+
+    @Value("${cache.l1.max-size:10000}")
+    private long l1MaxSize;
+
+    @Value("${cache.l1.ttl-seconds:60}")
+    private long l1TtlSeconds;
+
+    @Value("${cache.codec.default:json}")
+    private String defaultCodec;
+
+    // cacheName:codec pairs; empty = every cache uses the default codec
+    @Value("${cache.codec.per-cache:}")
+    private String[] perCacheCodecs;
+
+    @Value("${cache.codec.compress-threshold-bytes:4096}")
+    private int compressThresholdBytes;
+
+    @Value("${cache.refresh-ahead.caches:dashboard,relatorios,osCountByStatus}")
+    private String[] refreshAheadCaches;
+
+    @Value("${cache.refresh-ahead.stale-seconds:300}")
+    private long refreshAheadStaleSeconds;
 
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    @Value("${cache.refresh-ahead.beta:1.0}")
+    private double refreshAheadBeta;
 
+    @Value("${cache.refresh-ahead.distributed-lock:false}")
+    private boolean refreshAheadDistributedLock;
+
+    @Value("${cache.refresh-ahead.lock-timeout-seconds:10}")
+    private long refreshAheadLockTimeoutSeconds;
+
+    @Value("${cache.metrics.tenant-top-k:10}")
+    private int metricsTenantTopK;
+
+    @Value("${cache.metrics.tenant-window-seconds:60}")
+    private long metricsTenantWindowSeconds;
+
+    @Value("${cache.degraded.max-size:1000}")
+    private long degradedMaxSize;
+
+    @Value("${cache.degraded.ttl-seconds:30}")
+    private long degradedTtlSeconds;
+
+    @Value("${cache.page-counts.ttl-seconds:30}")
+    private long pageCountsTtlSeconds;
+
+    @Override
+    public KeyGenerator keyGenerator() {
+        return new CacheKeyGenerator();
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(
+        RedisConnectionFactory connectionFactory,
+        StringRedisTemplate redisTemplate,
+        RedisMessageListenerContainer listenerContainer,
+        MeterRegistry meterRegistry,
+        RedisCircuitBreaker circuitBreaker,
+        @Qualifier("taskExecutor") AsyncTaskExecutor taskExecutor
+    ) {
         // Default cache configuration
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(Duration.ofHours(1))
             .serializeKeysWith(RedisSerializationContext.SerializationPair
                 .fromSerializer(new StringRedisSerializer()))
-            .serializeValuesWith(RedisSerializationContext.SerializationPair
-                .fromSerializer(serializer))
             .disableCachingNullValues();
 
         // Specific cache configurations with custom TTLs
@@ -127,14 +239,92 @@ public class CacheConfig {
             .entryTtl(Duration.ofMinutes(5)));
         cacheConfigurations.put(ESTOQUE_BAIXO_CACHE, defaultConfig
             .entryTtl(Duration.ofMinutes(15)));
+        // Listing totals (PageCounter) - short TTL, exact counts may lag writes that do not evict them
+        cacheConfigurations.put(PAGE_COUNT_CACHE, defaultConfig
+            .entryTtl(Duration.ofSeconds(pageCountsTtlSeconds)));
 
         // Reports (15 minutes)
         cacheConfigurations.put(RELATORIOS_CACHE, defaultConfig
             .entryTtl(Duration.ofMinutes(15)));
 
-        return RedisCacheManager.builder(connectionFactory)
-            .cacheDefaults(defaultConfig)
-            .withInitialCacheConfigurations(cacheConfigurations)
-            .build();
+        // Per-cache value codec (applied per cache name in createRedisCache below)
+        Map<String, CacheValueCodec> codecs = new HashMap<>();
+        for (String entry : perCacheCodecs) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cache.codec.per-cache entry: " + entry);
+            }
+            codecs.put(parts[0].trim(), CacheValueCodec.fromName(parts[1]));
+        }
+        CacheValueCodec fallbackCodec = CacheValueCodec.fromName(defaultCodec);
+
+        // Refresh-ahead caches: keep entries in Redis past their fresh TTL (stale-while-revalidate)
+        Map<String, RefreshAheadCache.Settings> refreshAheadSettings = new HashMap<>();
+        for (String name : refreshAheadCaches) {
+            String cacheName = name.trim();
+            RedisCacheConfiguration config = cacheConfigurations.getOrDefault(cacheName, defaultConfig);
+            // Fixed TTL: the function ignores key and value
+            Duration freshTtl = config.getTtlFunction().getTimeToLive(cacheName, null);
+            cacheConfigurations.put(cacheName,
+                config.entryTtl(freshTtl.plusSeconds(refreshAheadStaleSeconds)));
+            refreshAheadSettings.put(cacheName, new RefreshAheadCache.Settings(
+                freshTtl,
+                refreshAheadBeta,
+                refreshAheadDistributedLock,
+                Duration.ofSeconds(refreshAheadLockTimeoutSeconds)));
+        }
+
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+            new CircuitBreakingRedisConnectionFactory(connectionFactory, circuitBreaker),
+            BatchStrategies.scan(EVICTION_SCAN_BATCH_SIZE));
+
+        // One value serializer per cache, so entry sizes are tagged with the cache name
+        RedisCacheManager redisCacheManager = new RedisCacheManager(cacheWriter, defaultConfig, cacheConfigurations) {
+            @Override
+            protected RedisCache createRedisCache(String name, RedisCacheConfiguration config) {
+                RedisCacheConfiguration base = config != null ? config : defaultConfig;
+                return super.createRedisCache(name, base.serializeValuesWith(
+                    valueSerializer(codecs.getOrDefault(name, fallbackCodec), name, meterRegistry)));
+            }
+        };
+        // Not a bean itself: initialize the configured caches explicitly
+        redisCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+            new TenantScopedCacheManager(redisCacheManager, GLOBAL_CACHES),
+            cache -> refreshAheadSettings.containsKey(cache.getName())
+                ? new RefreshAheadCache(cache, refreshAheadSettings.get(cache.getName()),
+                    taskExecutor, redisTemplate, meterRegistry)
+                : cache,
+            l1Enabled ? Set.of(l1Caches) : Set.of(),
+            l1MaxSize,
+            Duration.ofSeconds(l1TtlSeconds),
+            redisTemplate,
+            meterRegistry,
+            new CacheTenantTags(metricsTenantTopK, Duration.ofSeconds(metricsTenantWindowSeconds)),
+            circuitBreaker,
+            degradedMaxSize,
+            Duration.ofSeconds(degradedTtlSeconds)
+        );
+        listenerContainer.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.CHANNEL));
+
+        return cacheManager;
+    }
+
+    private RedisSerializationContext.SerializationPair<Object> valueSerializer(
+        CacheValueCodec codec,
+        String cacheName,
+        MeterRegistry meterRegistry
+    ) {
+        DistributionSummary entrySize = DistributionSummary.builder("pitstop.cache.entry.size")
+            .description("Serialized cache value size as stored in Redis")
+            .baseUnit("bytes")
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+        return RedisSerializationContext.SerializationPair
+            .fromSerializer(new CacheValueSerializer(codec, compressThresholdBytes, entrySize));
     }
 }
@@ -0,0 +1,69 @@
+package com.pitstop.config;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Propaga o contexto da thread chamadora para tarefas assíncronas.
+ *
+ * <p>Captura no momento do submit e restaura na thread de execução:
+ * <ul>
+ *   <li>{@link TenantContext} - oficina da requisição que disparou a tarefa</li>
+ *   <li>{@link SecurityContextHolder} - usuário autenticado</li>
+ *   <li>MDC - campos de log (correlação)</li>
+ * </ul>
+ *
+ * <p>Ao final da tarefa o estado anterior da thread de execução é restaurado, o que vale tanto
+ * para threads de pool (reutilizadas) quanto para virtual threads (descartadas). Assim os
+ * métodos {@code @Async} não precisam de set/clear manual do tenant.
+ *
+ * @author PitStop Team
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        UUID tenantId = TenantContext.getTenantIdOrNull();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        return () -> {
+            UUID previousTenant = TenantContext.getTenantIdOrNull();
+            SecurityContext previousSecurity = SecurityContextHolder.getContext();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+
+            apply(tenantId, securityContext, mdc);
+            try {
+                runnable.run();
+            } finally {
+                apply(previousTenant, previousSecurity, previousMdc);
+            }
+        };
+    }
+
+    private static void apply(UUID tenantId, SecurityContext securityContext, Map<String, String> mdc) {
+        if (tenantId != null) {
+            TenantContext.setTenantId(tenantId);
+        } else {
+            TenantContext.clear();
+        }
+
+        if (securityContext != null && securityContext.getAuthentication() != null) {
+            SecurityContextHolder.setContext(securityContext);
+        } else {
+            SecurityContextHolder.clearContext();
+        }
+
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        } else {
+            MDC.clear();
+        }
+    }
+}
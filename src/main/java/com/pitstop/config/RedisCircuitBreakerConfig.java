@@ -0,0 +1,28 @@
+package com.pitstop.config;
+
+import com.pitstop.shared.redis.CircuitBreakingRedisConnectionFactory;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Routes application Redis access through the {@link RedisCircuitBreaker}.
+ *
+ * <p>Replaces Boot's {@code StringRedisTemplate} with one backed by a
+ * {@link CircuitBreakingRedisConnectionFactory}, so refresh tokens, rate limiting, plan counters,
+ * feature flags and cache invalidation all fail fast while Redis is down. The cache writer is
+ * wrapped the same way in {@link CacheConfig}.</p>
+ */
+@Configuration
+public class RedisCircuitBreakerConfig {
+
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(
+        RedisConnectionFactory connectionFactory,
+        RedisCircuitBreaker circuitBreaker
+    ) {
+        return new StringRedisTemplate(new CircuitBreakingRedisConnectionFactory(connectionFactory, circuitBreaker));
+    }
+}
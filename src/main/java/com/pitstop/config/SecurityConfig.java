@@ -1,6 +1,7 @@
 package com.pitstop.config;
 
 import com.pitstop.shared.security.JwtAuthenticationFilter;
+import com.pitstop.shared.security.tenant.TenantAdmissionFilter;
 import com.pitstop.shared.security.tenant.TenantFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,6 +43,7 @@ import java.util.List;
  *   <li>JwtAuthenticationFilter extracts and validates JWT token</li>
  *   <li>If valid, populates SecurityContext with authenticated user</li>
  *   <li><b>TenantFilter extracts oficinaId from JWT and sets TenantContext</b></li>
+ *   <li>TenantAdmissionFilter applies per-tenant concurrency limits (429/503 with Retry-After)</li>
  *   <li>Spring Security checks @PreAuthorize annotations on controllers</li>
  *   <li>If authorized, request reaches controller method</li>
  *   <li>Services/Repositories use TenantContext.getTenantId() for data isolation</li>
@@ -62,6 +64,7 @@ import java.util.List;
  * <ul>
  *   <li>/api/auth/logout - User logout (requires valid JWT)</li>
  *   <li>/api/usuarios/** - User management (requires ADMIN role)</li>
+ *   <li>/actuator/cachestats - Cache diagnostics (requires SUPER_ADMIN)</li>
  *   <li>All other /api/** endpoints - Automatically filtered by oficinaId</li>
  * </ul>
  *
@@ -78,6 +81,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final TenantFilter tenantFilter;
+    private final TenantAdmissionFilter tenantAdmissionFilter;
 
     @Value("${application.cors.allowed-origins:http://localhost:3000,http://localhost:5173}")
     private String allowedOrigins;
@@ -131,6 +135,9 @@ public class SecurityConfig {
                                 "/ws/**"
                         ).permitAll()
 
+                        // Cache diagnostics expose cross-tenant data
+                        .requestMatchers("/actuator/cachestats", "/actuator/cachestats/**").hasAuthority("SUPER_ADMIN")
+
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
@@ -139,7 +146,10 @@ public class SecurityConfig {
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
                 // Add Tenant filter after JWT filter (requires JWT to extract oficinaId)
-                .addFilterAfter(tenantFilter, JwtAuthenticationFilter.class);
+                .addFilterAfter(tenantFilter, JwtAuthenticationFilter.class)
+
+                // Per-tenant admission control (requires TenantContext set by TenantFilter)
+                .addFilterAfter(tenantAdmissionFilter, TenantFilter.class);
 
         return http.build();
     }
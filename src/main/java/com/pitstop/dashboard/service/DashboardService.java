@@ -15,6 +15,7 @@ import com.pitstop.shared.security.tenant.TenantContext;
 import com.pitstop.veiculo.repository.VeiculoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +33,10 @@ import java.util.*;
  * Consolida informações de múltiplos módulos (Clientes, Veículos, Ordens de Serviço,
  * Pagamentos, Manutenção Preventiva, Estoque, Notas Fiscais).
  *
+ * <p>Os agregados principais (estatísticas, OS por status, faturamento mensal) ficam no cache
+ * {@code dashboard} com proteção contra stampede (carga única por chave e refresh antecipado).
+ * Mutações de OS invalidam o cache da oficina; os demais dados podem ficar até 5 minutos defasados.</p>
+ *
  * @author PitStop Team
  * @version 2.0
  * @since 2025-11-11
@@ -77,6 +82,7 @@ public class DashboardService {
      *
      * @return estatísticas consolidadas
      */
+    @Cacheable(value = "dashboard", sync = true)
     @Transactional(readOnly = true)
     public DashboardStatsDTO getDashboardStats() {
 
@@ -110,6 +116,7 @@ public class DashboardService {
      *
      * @return estatísticas com trends
      */
+    @Cacheable(value = "dashboard", sync = true)
     @Transactional(readOnly = true)
     public DashboardStatsComTrendDTO getDashboardStatsComTrend() {
         UUID oficinaId = TenantContext.getTenantId();
@@ -474,6 +481,7 @@ public class DashboardService {
      *
      * @return lista de contagens por status com cores e labels
      */
+    @Cacheable(value = "dashboard", sync = true)
     @Transactional(readOnly = true)
     public List<OSStatusCountDTO> getOSByStatus() {
 
@@ -530,6 +538,7 @@ public class DashboardService {
      * @param meses quantidade de meses para buscar (padrão 6)
      * @return lista de faturamento mensal ordenado
      */
+    @Cacheable(value = "dashboard", sync = true)
     @Transactional(readOnly = true)
     public List<FaturamentoMensalDTO> getFaturamentoMensal(int meses) {
 
@@ -4,12 +4,15 @@ import com.pitstop.estoque.domain.Peca;
 import com.pitstop.estoque.domain.UnidadeMedida;
 import com.pitstop.estoque.dto.CreatePecaDTO;
 import com.pitstop.estoque.dto.PecaResponseDTO;
+import com.pitstop.estoque.dto.PecaSugestaoDTO;
 import com.pitstop.estoque.dto.UpdatePecaDTO;
 import com.pitstop.estoque.mapper.PecaMapper;
 import com.pitstop.estoque.service.EstoqueService;
 import com.pitstop.estoque.service.MovimentacaoEstoqueService;
+import com.pitstop.shared.pagination.CountMode;
 import com.pitstop.shared.security.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,6 +20,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -96,7 +100,7 @@ public class EstoqueController {
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE', 'MECANICO')")
     @Operation(summary = "Listar peças", description = "Lista peças com filtros e paginação")
-    public ResponseEntity<Page<PecaResponseDTO>> listar(
+    public ResponseEntity<Slice<PecaResponseDTO>> listar(
             @RequestParam(required = false) String codigo,
             @RequestParam(required = false) String descricao,
             @RequestParam(required = false) String marca,
@@ -104,15 +108,30 @@ public class EstoqueController {
             @RequestParam(required = false) Boolean ativo,
             @RequestParam(required = false) Boolean estoqueBaixo,
             @RequestParam(required = false) UUID localArmazenamentoId,
-            @PageableDefault(size = 20, sort = "descricao") Pageable pageable
+            @PageableDefault(size = 20, sort = "descricao") Pageable pageable,
+            @Parameter(description = CountMode.PARAM_DESCRIPTION) @RequestParam(defaultValue = "EXACT") CountMode count
     ) {
 
-        Page<Peca> pecas = estoqueService.listarComFiltros(codigo, descricao, marca, unidadeMedida, ativo, estoqueBaixo, localArmazenamentoId, pageable);
-        Page<PecaResponseDTO> response = pecas.map(pecaMapper::toResponseDTO);
+        Slice<Peca> pecas = estoqueService.listarComFiltros(codigo, descricao, marca, unidadeMedida, ativo, estoqueBaixo, localArmazenamentoId, pageable, count);
+        Slice<PecaResponseDTO> response = pecas.map(pecaMapper::toResponseDTO);
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Sugere peças para autocomplete (código, descrição ou marca), por relevância.
+     * GET /api/estoque/sugestoes?q=filtro
+     */
+    @GetMapping("/sugestoes")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE', 'MECANICO')")
+    @Operation(summary = "Sugerir peças", description = "Autocomplete de peças ativas por código, descrição ou marca (mínimo 3 caracteres)")
+    public ResponseEntity<List<PecaSugestaoDTO>> sugerir(
+            @Parameter(description = "Texto digitado", example = "filtro oleo") @RequestParam String q,
+            @Parameter(description = "Quantidade de sugestões (máximo 20)", example = "10") @RequestParam(defaultValue = "10") int limite
+    ) {
+        return ResponseEntity.ok(estoqueService.sugerir(q, limite));
+    }
+
     /**
      * Busca peça por ID.
      * GET /api/estoque/{id}
@@ -0,0 +1,40 @@
+package com.pitstop.estoque.dto;
+
+import com.pitstop.estoque.domain.UnidadeMedida;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO enxuto de peça para autocomplete (busca enquanto digita).
+ *
+ * @author PitStop Team
+ * @version 1.0
+ * @since 2025-11-02
+ */
+@Schema(description = "Sugestão de peça para autocomplete")
+public record PecaSugestaoDTO(
+
+        @Schema(description = "ID da peça", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID id,
+
+        @Schema(description = "Código (SKU)", example = "FO-1234")
+        String codigo,
+
+        @Schema(description = "Descrição", example = "Filtro de óleo Gol 1.0")
+        String descricao,
+
+        @Schema(description = "Marca", example = "Tecfil")
+        String marca,
+
+        @Schema(description = "Unidade de medida", example = "UNIDADE")
+        UnidadeMedida unidadeMedida,
+
+        @Schema(description = "Quantidade em estoque", example = "12")
+        Integer quantidadeAtual,
+
+        @Schema(description = "Valor de venda", example = "39.90")
+        BigDecimal valorVenda
+) {
+}
@@ -5,6 +5,7 @@ import com.pitstop.estoque.domain.UnidadeMedida;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -104,7 +106,7 @@ public interface PecaRepository extends JpaRepository<Peca, UUID> {
      * @param pageable paginação
      * @return página de peças da marca
      */
-    @Query("SELECT p FROM Peca p WHERE p.oficina.id = :oficinaId AND LOWER(p.marca) LIKE LOWER(CONCAT('%', :marca, '%')) AND p.ativo = true")
+    @Query("SELECT p FROM Peca p WHERE p.oficina.id = :oficinaId AND p.marca ILIKE CONCAT('%', :marca, '%') AND p.ativo = true")
     Page<Peca> findByOficinaIdAndMarcaContainingIgnoreCaseAndAtivoTrue(@Param("oficinaId") UUID oficinaId, @Param("marca") String marca, Pageable pageable);
 
     /**
@@ -115,7 +117,7 @@ public interface PecaRepository extends JpaRepository<Peca, UUID> {
      * @param pageable paginação
      * @return página de peças encontradas
      */
-    @Query("SELECT p FROM Peca p WHERE p.oficina.id = :oficinaId AND LOWER(p.descricao) LIKE LOWER(CONCAT('%', :descricao, '%')) AND p.ativo = true")
+    @Query("SELECT p FROM Peca p WHERE p.oficina.id = :oficinaId AND p.descricao ILIKE CONCAT('%', :descricao, '%') AND p.ativo = true")
     Page<Peca> findByOficinaIdAndDescricaoContainingIgnoreCaseAndAtivoTrue(@Param("oficinaId") UUID oficinaId, @Param("descricao") String descricao, Pageable pageable);
 
     /**
@@ -176,6 +178,24 @@ public interface PecaRepository extends JpaRepository<Peca, UUID> {
     @Query("SELECT DISTINCT p.marca FROM Peca p WHERE p.oficina.id = :oficinaId AND p.ativo = true AND p.marca IS NOT NULL ORDER BY p.marca")
     List<String> findDistinctMarcasByOficinaId(@Param("oficinaId") UUID oficinaId);
 
+    /**
+     * Filtros de {@link #findByFilters} e {@link #countByFilters}.
+     *
+     * <p>Código, descrição e marca são buscas parciais com {@code LIKE}/{@code ILIKE}, atendidas pelos
+     * índices trigram {@code (oficina_id, coluna gin_trgm_ops)} (V094). Não usar {@code LOWER(coluna)}:
+     * o índice é sobre a coluna, e o {@code ILIKE} já ignora maiúsculas.</p>
+     */
+    String FILTROS_PECA = """
+            WHERE p.oficina.id = :oficinaId
+            AND (:ativo IS NULL OR p.ativo = :ativo)
+            AND (COALESCE(:codigo, '') = '' OR p.codigo LIKE CONCAT('%', :codigo, '%'))
+            AND (COALESCE(:descricao, '') = '' OR p.descricao ILIKE CONCAT('%', :descricao, '%'))
+            AND (COALESCE(:marca, '') = '' OR p.marca ILIKE CONCAT('%', :marca, '%'))
+            AND (:unidadeMedida IS NULL OR p.unidadeMedida = :unidadeMedida)
+            AND (:estoqueBaixo IS NULL OR (:estoqueBaixo = true AND p.quantidadeAtual <= p.quantidadeMinima) OR (:estoqueBaixo = false))
+            AND (:localArmazenamentoId IS NULL OR p.localArmazenamento.id = :localArmazenamentoId)
+            """;
+
     /**
      * Busca peças filtradas por múltiplos critérios em uma oficina.
      *
@@ -188,32 +208,10 @@ public interface PecaRepository extends JpaRepository<Peca, UUID> {
      * @param estoqueBaixo filtro por estoque baixo (opcional)
      * @param localArmazenamentoId filtro por local de armazenamento (opcional)
      * @param pageable paginação
-     * @return página de peças filtradas
+     * @return fatia de peças filtradas (sem COUNT, ver {@link #countByFilters})
      */
-    @Query(value = """
-            SELECT p FROM Peca p
-            LEFT JOIN FETCH p.localArmazenamento
-            WHERE p.oficina.id = :oficinaId
-            AND (:ativo IS NULL OR p.ativo = :ativo)
-            AND (COALESCE(:codigo, '') = '' OR p.codigo LIKE CONCAT('%', :codigo, '%'))
-            AND (COALESCE(:descricao, '') = '' OR LOWER(p.descricao) LIKE LOWER(CONCAT('%', :descricao, '%')))
-            AND (COALESCE(:marca, '') = '' OR LOWER(p.marca) LIKE LOWER(CONCAT('%', :marca, '%')))
-            AND (:unidadeMedida IS NULL OR p.unidadeMedida = :unidadeMedida)
-            AND (:estoqueBaixo IS NULL OR (:estoqueBaixo = true AND p.quantidadeAtual <= p.quantidadeMinima) OR (:estoqueBaixo = false))
-            AND (:localArmazenamentoId IS NULL OR p.localArmazenamento.id = :localArmazenamentoId)
-            """,
-            countQuery = """
-            SELECT COUNT(p) FROM Peca p
-            WHERE p.oficina.id = :oficinaId
-            AND (:ativo IS NULL OR p.ativo = :ativo)
-            AND (COALESCE(:codigo, '') = '' OR p.codigo LIKE CONCAT('%', :codigo, '%'))
-            AND (COALESCE(:descricao, '') = '' OR LOWER(p.descricao) LIKE LOWER(CONCAT('%', :descricao, '%')))
-            AND (COALESCE(:marca, '') = '' OR LOWER(p.marca) LIKE LOWER(CONCAT('%', :marca, '%')))
-            AND (:unidadeMedida IS NULL OR p.unidadeMedida = :unidadeMedida)
-            AND (:estoqueBaixo IS NULL OR (:estoqueBaixo = true AND p.quantidadeAtual <= p.quantidadeMinima) OR (:estoqueBaixo = false))
-            AND (:localArmazenamentoId IS NULL OR p.localArmazenamento.id = :localArmazenamentoId)
-            """)
-    Page<Peca> findByFilters(
+    @Query("SELECT p FROM Peca p LEFT JOIN FETCH p.localArmazenamento " + FILTROS_PECA)
+    Slice<Peca> findByFilters(
             @Param("oficinaId") UUID oficinaId,
             @Param("codigo") String codigo,
             @Param("descricao") String descricao,
@@ -225,6 +223,67 @@ public interface PecaRepository extends JpaRepository<Peca, UUID> {
             Pageable pageable
     );
 
+    /**
+     * Conta as peças de {@link #findByFilters} (mesmos filtros).
+     *
+     * <p>Separada da listagem para que o total seja calculado apenas quando pedido
+     * e possa ser cacheado (ver {@code PageCounter}).</p>
+     *
+     * @return total de peças filtradas
+     */
+    @Query("SELECT COUNT(p) FROM Peca p " + FILTROS_PECA)
+    long countByFilters(
+            @Param("oficinaId") UUID oficinaId,
+            @Param("codigo") String codigo,
+            @Param("descricao") String descricao,
+            @Param("marca") String marca,
+            @Param("unidadeMedida") UnidadeMedida unidadeMedida,
+            @Param("ativo") Boolean ativo,
+            @Param("estoqueBaixo") Boolean estoqueBaixo,
+            @Param("localArmazenamentoId") UUID localArmazenamentoId
+    );
+
+    /**
+     * SQL de {@link #findSugestoes}; exposto para o benchmark.
+     */
+    String SQL_SUGESTOES = """
+            SELECT p.id, p.codigo, p.descricao, p.marca, p.unidade_medida, p.quantidade_atual, p.valor_venda
+            FROM pecas p
+            WHERE p.oficina_id = :oficinaId
+            AND p.ativo = true
+            AND (p.codigo ILIKE :padrao OR p.descricao ILIKE :padrao OR p.marca ILIKE :padrao)
+            ORDER BY
+                (lower(p.codigo) = lower(:termo)) DESC,
+                (p.codigo ILIKE :prefixo OR p.descricao ILIKE :prefixo) DESC,
+                GREATEST(similarity(:termo, p.codigo), word_similarity(:termo, p.descricao),
+                         word_similarity(:termo, COALESCE(p.marca, ''))) DESC,
+                p.descricao
+            LIMIT :limite
+            """;
+
+    /**
+     * Sugestões de peças ativas para autocomplete, da mais relevante para a menos relevante.
+     *
+     * <p>Filtra por {@code ILIKE :padrao} em código, descrição ou marca (índices trigram, um
+     * {@code BitmapOr} dos três) e ordena: código exato, depois início de código ou descrição,
+     * depois similaridade trigram ({@code similarity}/{@code word_similarity}).</p>
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param termo texto digitado (sem curingas)
+     * @param padrao {@code %termo%} com curingas escapados
+     * @param prefixo {@code termo%} com curingas escapados
+     * @param limite quantidade máxima de sugestões
+     * @return arrays [id, codigo, descricao, marca, unidade_medida, quantidade_atual, valor_venda]
+     */
+    @Query(value = SQL_SUGESTOES, nativeQuery = true)
+    List<Object[]> findSugestoes(
+            @Param("oficinaId") UUID oficinaId,
+            @Param("termo") String termo,
+            @Param("padrao") String padrao,
+            @Param("prefixo") String prefixo,
+            @Param("limite") int limite
+    );
+
     /**
      * Lista peças sem localização física definida em uma oficina.
      * Útil para identificar itens que precisam ser organizados no estoque.
@@ -257,6 +316,17 @@ public interface PecaRepository extends JpaRepository<Peca, UUID> {
     @Query("SELECT p FROM Peca p LEFT JOIN FETCH p.localArmazenamento WHERE p.oficina.id = :oficinaId AND p.id = :id AND p.ativo = true")
     Optional<Peca> findByOficinaIdAndId(@Param("oficinaId") UUID oficinaId, @Param("id") UUID id);
 
+    /**
+     * Busca várias peças ativas por ID em uma oficina (uma única query com {@code IN}).
+     * Usado com {@link com.pitstop.shared.persistence.BatchLoader} para evitar N+1.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param ids IDs das peças
+     * @return peças encontradas (IDs inexistentes ou inativos são omitidos)
+     */
+    @Query("SELECT p FROM Peca p LEFT JOIN FETCH p.localArmazenamento WHERE p.oficina.id = :oficinaId AND p.id IN :ids AND p.ativo = true")
+    List<Peca> findByOficinaIdAndIdIn(@Param("oficinaId") UUID oficinaId, @Param("ids") Collection<UUID> ids);
+
     /**
      * Busca todas as peças de uma oficina com paginação.
      *
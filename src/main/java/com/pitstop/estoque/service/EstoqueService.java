@@ -2,15 +2,21 @@ package com.pitstop.estoque.service;
 
 import com.pitstop.estoque.domain.Peca;
 import com.pitstop.estoque.domain.UnidadeMedida;
+import com.pitstop.estoque.dto.PecaSugestaoDTO;
 import com.pitstop.estoque.exception.CodigoPecaDuplicadoException;
 import com.pitstop.estoque.exception.PecaNotFoundException;
 import com.pitstop.estoque.repository.PecaRepository;
 import com.pitstop.fornecedor.domain.Fornecedor;
+import com.pitstop.shared.pagination.CountMode;
+import com.pitstop.shared.pagination.CountQuery;
+import com.pitstop.shared.pagination.PageCounter;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,7 +40,18 @@ import java.util.UUID;
 @Slf4j
 public class EstoqueService {
 
+    /**
+     * Tamanho mínimo do termo do autocomplete (abaixo de 3 caracteres o índice trigram não filtra).
+     */
+    static final int TAMANHO_MINIMO_TERMO_SUGESTAO = 3;
+
+    /**
+     * Quantidade máxima de sugestões do autocomplete.
+     */
+    static final int MAXIMO_SUGESTOES = 20;
+
     private final PecaRepository pecaRepository;
+    private final PageCounter pageCounter;
 
     /**
      * Cria uma nova peça no catálogo.
@@ -45,6 +62,7 @@ public class EstoqueService {
      * @throws IllegalStateException se validações falharem
      */
     @Transactional
+    @CacheEvict(value = "pageCounts", allEntries = true)
     public Peca criar(Peca peca) {
         log.info("Criando nova peça com código: {}", peca.getCodigo());
 
@@ -78,6 +96,7 @@ public class EstoqueService {
      * @throws CodigoPecaDuplicadoException se novo código já existe
      */
     @Transactional
+    @CacheEvict(value = "pageCounts", allEntries = true)
     public Peca atualizar(UUID id, Peca pecaAtualizada) {
         log.info("Atualizando peça ID: {}", id);
 
@@ -172,10 +191,11 @@ public class EstoqueService {
      * @param estoqueBaixo filtro por estoque baixo (opcional)
      * @param localArmazenamentoId filtro por local de armazenamento (opcional)
      * @param pageable paginação
-     * @return página de peças filtradas
+     * @param countMode como calcular o total (ver {@link PageCounter})
+     * @return página de peças filtradas ({@code Slice} sem total quando {@code countMode} é NONE)
      */
     @Transactional(readOnly = true)
-    public Page<Peca> listarComFiltros(
+    public Slice<Peca> listarComFiltros(
             String codigo,
             String descricao,
             String marca,
@@ -183,10 +203,53 @@ public class EstoqueService {
             Boolean ativo,
             Boolean estoqueBaixo,
             UUID localArmazenamentoId,
-            Pageable pageable
+            Pageable pageable,
+            CountMode countMode
     ) {
         UUID oficinaId = TenantContext.getTenantId();
-        return pecaRepository.findByFilters(oficinaId, codigo, descricao, marca, unidadeMedida, ativo, estoqueBaixo, localArmazenamentoId, pageable);
+        Slice<Peca> pecas = pecaRepository.findByFilters(oficinaId, codigo, descricao, marca, unidadeMedida, ativo, estoqueBaixo, localArmazenamentoId, pageable);
+        return pageCounter.complete(pecas, countMode, CountQuery.of("pecas",
+                () -> pecaRepository.countByFilters(oficinaId, codigo, descricao, marca, unidadeMedida, ativo, estoqueBaixo, localArmazenamentoId),
+                codigo, descricao, marca, unidadeMedida, ativo, estoqueBaixo, localArmazenamentoId));
+    }
+
+    /**
+     * Sugere peças ativas para autocomplete por código, descrição ou marca, das mais relevantes
+     * para as menos relevantes.
+     *
+     * @param termo texto digitado (termos com menos de {@value #TAMANHO_MINIMO_TERMO_SUGESTAO}
+     *              caracteres retornam lista vazia)
+     * @param limite quantidade de sugestões (1 a {@value #MAXIMO_SUGESTOES})
+     * @return sugestões
+     */
+    @Transactional(readOnly = true)
+    public List<PecaSugestaoDTO> sugerir(String termo, int limite) {
+        String texto = termo != null ? termo.strip() : "";
+        if (texto.length() < TAMANHO_MINIMO_TERMO_SUGESTAO) {
+            return List.of();
+        }
+
+        UUID oficinaId = TenantContext.getTenantId();
+        String literal = escaparLike(texto);
+        return pecaRepository.findSugestoes(oficinaId, texto, "%" + literal + "%", literal + "%",
+                        Math.clamp(limite, 1, MAXIMO_SUGESTOES))
+                .stream()
+                .map(row -> new PecaSugestaoDTO(
+                        (UUID) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        row[4] != null ? UnidadeMedida.valueOf((String) row[4]) : null,
+                        row[5] != null ? ((Number) row[5]).intValue() : null,
+                        (BigDecimal) row[6]))
+                .toList();
+    }
+
+    /**
+     * Escapa os curingas do LIKE ({@code %}, {@code _} e a barra de escape) para buscar o texto literal.
+     */
+    static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     /**
@@ -246,6 +309,7 @@ public class EstoqueService {
      * @throws PecaNotFoundException se não encontrada
      */
     @Transactional
+    @CacheEvict(value = "pageCounts", allEntries = true)
     public void desativar(UUID id) {
         log.info("Desativando peça ID: {}", id);
 
@@ -266,6 +330,7 @@ public class EstoqueService {
      * @throws PecaNotFoundException se não encontrada
      */
     @Transactional
+    @CacheEvict(value = "pageCounts", allEntries = true)
     public void reativar(UUID id) {
         log.info("Reativando peça ID: {}", id);
 
@@ -368,6 +433,7 @@ public class EstoqueService {
      * @throws PecaNotFoundException se peça não encontrada
      */
     @Transactional
+    @CacheEvict(value = "pageCounts", allEntries = true)
     public Peca definirLocalizacaoPeca(UUID pecaId, UUID localId) {
         log.info("Definindo localização da peça {} para local {}", pecaId, localId);
 
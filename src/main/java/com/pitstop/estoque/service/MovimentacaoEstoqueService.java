@@ -12,6 +12,7 @@ import com.pitstop.financeiro.service.DespesaService;
 import com.pitstop.ordemservico.domain.ItemOS;
 import com.pitstop.ordemservico.domain.OrigemPeca;
 import com.pitstop.ordemservico.domain.TipoItem;
+import com.pitstop.shared.persistence.BatchLoader;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -65,7 +67,7 @@ public class MovimentacaoEstoqueService {
      * @throws PecaNotFoundException se peça não existe
      */
     @Transactional
-    @CacheEvict(value = {"pecas", "estoqueBaixo"}, allEntries = true)
+    @CacheEvict(value = {"pecas", "estoqueBaixo", "pageCounts"}, allEntries = true)
     public MovimentacaoEstoque registrarEntrada(
             UUID pecaId,
             Integer quantidade,
@@ -145,7 +147,7 @@ public class MovimentacaoEstoqueService {
      * @throws EstoqueInsuficienteException se não há estoque suficiente
      */
     @Transactional
-    @CacheEvict(value = {"pecas", "estoqueBaixo"}, allEntries = true)
+    @CacheEvict(value = {"pecas", "estoqueBaixo", "pageCounts"}, allEntries = true)
     public MovimentacaoEstoque registrarSaida(
             UUID pecaId,
             Integer quantidade,
@@ -213,7 +215,7 @@ public class MovimentacaoEstoqueService {
      * @throws PecaNotFoundException se peça não existe
      */
     @Transactional
-    @CacheEvict(value = {"pecas", "estoqueBaixo"}, allEntries = true)
+    @CacheEvict(value = {"pecas", "estoqueBaixo", "pageCounts"}, allEntries = true)
     public MovimentacaoEstoque registrarAjuste(
             UUID pecaId,
             Integer quantidadeNova,
@@ -284,7 +286,7 @@ public class MovimentacaoEstoqueService {
      * @throws EstoqueInsuficienteException se alguma peça não tem estoque suficiente
      */
     @Transactional
-    @CacheEvict(value = {"pecas", "estoqueBaixo"}, allEntries = true)
+    @CacheEvict(value = {"pecas", "estoqueBaixo", "pageCounts"}, allEntries = true)
     public List<MovimentacaoEstoque> baixarEstoquePorOS(
             UUID ordemServicoId,
             List<ItemOS> itens,
@@ -323,10 +325,19 @@ public class MovimentacaoEstoqueService {
         log.info("OS {}: {} peças do ESTOQUE para baixar (total: {} peças, {} avulsas, {} do cliente)",
                 ordemServicoId, itensPeca.size(), totalPecas, pecasAvulsas, pecasCliente);
 
-        // FASE 1: Valida estoque de TODAS as peças ANTES de baixar
+        // FASE 1: Valida estoque de TODAS as peças ANTES de baixar (peças carregadas em uma query)
+        Map<UUID, Peca> pecas = BatchLoader.loadByIds(
+                itensPeca,
+                ItemOS::getPecaId,
+                ids -> pecaRepository.findByOficinaIdAndIdIn(oficinaId, ids),
+                Peca::getId
+        );
+
         for (ItemOS item : itensPeca) {
-            Peca peca = pecaRepository.findByOficinaIdAndId(oficinaId, item.getPecaId())
-                    .orElseThrow(() -> new PecaNotFoundException(item.getPecaId()));
+            Peca peca = pecas.get(item.getPecaId());
+            if (peca == null) {
+                throw new PecaNotFoundException(item.getPecaId());
+            }
 
             if (!peca.temEstoqueDisponivel(item.getQuantidade())) {
                 log.error("Estoque insuficiente ao finalizar OS {} - Peça: {}, Requerido: {}, Disponível: {}",
@@ -392,7 +403,7 @@ public class MovimentacaoEstoqueService {
      * @return lista de movimentações de estorno criadas
      */
     @Transactional
-    @CacheEvict(value = {"pecas", "estoqueBaixo"}, allEntries = true)
+    @CacheEvict(value = {"pecas", "estoqueBaixo", "pageCounts"}, allEntries = true)
     public List<MovimentacaoEstoque> estornarEstoquePorOS(UUID ordemServicoId, UUID usuarioId) {
         log.info("Iniciando estorno de estoque para OS cancelada ID: {}", ordemServicoId);
 
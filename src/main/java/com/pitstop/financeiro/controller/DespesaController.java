@@ -4,6 +4,7 @@ import com.pitstop.financeiro.domain.CategoriaDespesa;
 import com.pitstop.financeiro.domain.StatusDespesa;
 import com.pitstop.financeiro.dto.DespesaDTO;
 import com.pitstop.financeiro.service.DespesaService;
+import com.pitstop.shared.pagination.CountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,8 +12,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -66,7 +67,7 @@ public class DespesaController {
     @GetMapping
     @Operation(summary = "Listar despesas com filtros")
     @ApiResponse(responseCode = "200", description = "Lista de despesas")
-    public ResponseEntity<Page<DespesaDTO.ListItem>> listar(
+    public ResponseEntity<Slice<DespesaDTO.ListItem>> listar(
             @Parameter(description = "Filtrar por status")
             @RequestParam(required = false) StatusDespesa status,
 
@@ -80,11 +81,14 @@ public class DespesaController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
 
             @PageableDefault(size = 20, sort = "dataVencimento", direction = Sort.Direction.DESC)
-            Pageable pageable
+            Pageable pageable,
+
+            @Parameter(description = CountMode.PARAM_DESCRIPTION)
+            @RequestParam(defaultValue = "EXACT") CountMode count
     ) {
         log.debug("GET /api/financeiro/despesas - status={}, categoria={}", status, categoria);
-        Page<DespesaDTO.ListItem> despesas = despesaService.listar(
-            status, categoria, dataInicio, dataFim, pageable
+        Slice<DespesaDTO.ListItem> despesas = despesaService.listar(
+            status, categoria, dataInicio, dataFim, pageable, count
         );
         return ResponseEntity.ok(despesas);
     }
@@ -60,7 +60,7 @@ import java.util.UUID;
         @Index(name = "idx_notas_fiscais_data_emissao", columnList = "data_emissao")
     },
     uniqueConstraints = {
-        @UniqueConstraint(name = "uk_nfe_numero_serie", columnNames = {"numero", "serie"})
+        @UniqueConstraint(name = "uk_nfe_oficina_serie_numero", columnNames = {"oficina_id", "serie", "numero"})
     }
 )
 @EntityListeners(AuditingEntityListener.class)
@@ -0,0 +1,76 @@
+package com.pitstop.financeiro.event;
+
+import com.pitstop.financeiro.domain.Pagamento;
+import com.pitstop.financeiro.domain.StatusPagamento;
+import com.pitstop.financeiro.domain.TipoPagamento;
+import com.pitstop.shared.outbox.OutboxEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Evento de mudança de status de um pagamento (confirmação, cancelamento ou estorno).
+ *
+ * <p>Gravado no outbox na mesma transação da mudança, agregado pela OS do pagamento:
+ * os consumidores recebem os eventos de pagamento de uma OS na ordem em que ocorreram.</p>
+ *
+ * @param tipo tipo da mudança
+ * @param oficinaId ID da oficina (tenant)
+ * @param pagamentoId ID do pagamento
+ * @param ordemServicoId ID da OS do pagamento
+ * @param tipoPagamento forma de pagamento
+ * @param valor valor do pagamento
+ * @param dataPagamento data do pagamento (null se não pago)
+ * @param status status após a mudança
+ *
+ * @author PitStop Team
+ */
+public record PagamentoEvent(
+    Tipo tipo,
+    UUID oficinaId,
+    UUID pagamentoId,
+    UUID ordemServicoId,
+    TipoPagamento tipoPagamento,
+    BigDecimal valor,
+    LocalDate dataPagamento,
+    StatusPagamento status
+) {
+
+    /**
+     * Tipo do evento no outbox.
+     */
+    public static final String OUTBOX_EVENTO = "PAGAMENTO";
+
+    /**
+     * Mudanças de status publicadas.
+     */
+    public enum Tipo {
+        CONFIRMADO,
+        CANCELADO,
+        ESTORNADO
+    }
+
+    /**
+     * Cria o evento a partir do pagamento já alterado.
+     */
+    public static PagamentoEvent of(Tipo tipo, UUID oficinaId, Pagamento pagamento) {
+        return new PagamentoEvent(
+            tipo,
+            oficinaId,
+            pagamento.getId(),
+            pagamento.getOrdemServicoId(),
+            pagamento.getTipo(),
+            pagamento.getValor(),
+            pagamento.getDataPagamento(),
+            pagamento.getStatus()
+        );
+    }
+
+    /**
+     * Converte para evento do outbox, agregado pela OS.
+     */
+    public OutboxEvent toOutbox() {
+        return new OutboxEvent(oficinaId, "OrdemServico", ordemServicoId, OUTBOX_EVENTO, this);
+    }
+}
@@ -5,6 +5,7 @@ import com.pitstop.financeiro.domain.Despesa;
 import com.pitstop.financeiro.domain.StatusDespesa;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -41,7 +42,7 @@ public interface DespesaRepository extends JpaRepository<Despesa, UUID> {
         AND (:dataFim IS NULL OR d.dataVencimento <= :dataFim)
         ORDER BY d.dataVencimento DESC
         """)
-    Page<Despesa> findByFilters(
+    Slice<Despesa> findByFilters(
         @Param("oficinaId") UUID oficinaId,
         @Param("status") StatusDespesa status,
         @Param("categoria") CategoriaDespesa categoria,
@@ -50,6 +51,22 @@ public interface DespesaRepository extends JpaRepository<Despesa, UUID> {
         Pageable pageable
     );
 
+    @Query("""
+        SELECT COUNT(d) FROM Despesa d
+        WHERE d.oficina.id = :oficinaId
+        AND (:status IS NULL OR d.status = :status)
+        AND (:categoria IS NULL OR d.categoria = :categoria)
+        AND (:dataInicio IS NULL OR d.dataVencimento >= :dataInicio)
+        AND (:dataFim IS NULL OR d.dataVencimento <= :dataFim)
+        """)
+    long countByFilters(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("status") StatusDespesa status,
+        @Param("categoria") CategoriaDespesa categoria,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim
+    );
+
     // ==================== QUERIES PARA FLUXO DE CAIXA ====================
 
     /**
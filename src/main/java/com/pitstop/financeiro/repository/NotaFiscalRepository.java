@@ -88,16 +88,6 @@ public interface NotaFiscalRepository extends JpaRepository<NotaFiscal, UUID> {
     @Query("SELECT CASE WHEN COUNT(nf) > 0 THEN true ELSE false END FROM NotaFiscal nf WHERE nf.oficina.id = :oficinaId AND nf.ordemServicoId = :ordemServicoId")
     boolean existsByOficinaIdAndOrdemServicoId(@Param("oficinaId") UUID oficinaId, @Param("ordemServicoId") UUID ordemServicoId);
 
-    /**
-     * Busca o próximo número disponível para uma série em uma oficina.
-     *
-     * @param oficinaId ID da oficina (tenant)
-     * @param serie série da nota
-     * @return próximo número disponível
-     */
-    @Query("SELECT COALESCE(MAX(nf.numero), 0) + 1 FROM NotaFiscal nf WHERE nf.oficina.id = :oficinaId AND nf.serie = :serie")
-    Long findProximoNumeroByOficinaId(@Param("oficinaId") UUID oficinaId, @Param("serie") Integer serie);
-
     /**
      * Busca nota fiscal por ID em uma oficina.
      *
@@ -119,17 +109,6 @@ public interface NotaFiscalRepository extends JpaRepository<NotaFiscal, UUID> {
         return findAllByOficinaId(oficinaId, pageable);
     }
 
-    /**
-     * Alias para findProximoNumeroByOficinaId (compatibilidade).
-     *
-     * @param oficinaId ID da oficina (tenant)
-     * @param serie série da nota
-     * @return próximo número disponível
-     */
-    default Long findProximoNumero(UUID oficinaId, Integer serie) {
-        return findProximoNumeroByOficinaId(oficinaId, serie);
-    }
-
     // ==================== MÉTODOS PARA DASHBOARD ====================
 
     /**
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -136,6 +137,25 @@ public interface PagamentoRepository extends JpaRepository<Pagamento, UUID> {
         """)
     boolean isOrdemServicoQuitadaByOficinaId(@Param("oficinaId") UUID oficinaId, @Param("ordemServicoId") UUID ordemServicoId);
 
+    /**
+     * Dentre as OS informadas, retorna as que ainda têm pagamentos pendentes ou vencidos.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param ordemServicoIds IDs das OS
+     * @return IDs das OS não quitadas
+     */
+    @Query("""
+        SELECT DISTINCT p.ordemServicoId
+        FROM Pagamento p
+        WHERE p.oficina.id = :oficinaId
+        AND p.ordemServicoId IN :ordemServicoIds
+        AND p.status IN ('PENDENTE', 'VENCIDO')
+        """)
+    List<UUID> findOrdemServicoIdsNaoQuitadas(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("ordemServicoIds") Collection<UUID> ordemServicoIds
+    );
+
     /**
      * Busca pagamentos em um período em uma oficina.
      *
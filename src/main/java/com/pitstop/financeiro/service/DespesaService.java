@@ -7,13 +7,16 @@ import com.pitstop.financeiro.dto.DespesaDTO;
 import com.pitstop.financeiro.repository.DespesaRepository;
 import com.pitstop.oficina.domain.Oficina;
 import com.pitstop.shared.exception.ResourceNotFoundException;
+import com.pitstop.shared.pagination.CountMode;
+import com.pitstop.shared.pagination.CountQuery;
+import com.pitstop.shared.pagination.PageCounter;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +37,7 @@ import java.util.stream.Collectors;
 public class DespesaService {
 
     private final DespesaRepository despesaRepository;
+    private final PageCounter pageCounter;
 
     // ==================== CRIAÇÃO PROGRAMÁTICA ====================
 
@@ -42,7 +46,7 @@ public class DespesaService {
      * Chamado internamente pelo módulo de estoque ao registrar entrada.
      */
     @Transactional
-    @CacheEvict(value = {"fluxoCaixa", "dre", "despesasResumo"}, allEntries = true)
+    @CacheEvict(value = {"fluxoCaixa", "dre", "despesasResumo", "pageCounts"}, allEntries = true)
     public Despesa criarDespesaEstoque(
             String descricao,
             BigDecimal valor,
@@ -81,7 +85,7 @@ public class DespesaService {
      * Cria uma nova despesa.
      */
     @Transactional
-    @CacheEvict(value = {"fluxoCaixa", "dre"}, allEntries = true)
+    @CacheEvict(value = {"fluxoCaixa", "dre", "pageCounts"}, allEntries = true)
     public DespesaDTO.Response criar(DespesaDTO.CreateRequest request) {
         UUID oficinaId = TenantContext.getTenantId();
         log.info("Criando despesa para oficina {}: {}", oficinaId, request.getDescricao());
@@ -112,7 +116,7 @@ public class DespesaService {
      * Atualiza uma despesa existente.
      */
     @Transactional
-    @CacheEvict(value = {"fluxoCaixa", "dre"}, allEntries = true)
+    @CacheEvict(value = {"fluxoCaixa", "dre", "pageCounts"}, allEntries = true)
     public DespesaDTO.Response atualizar(UUID id, DespesaDTO.UpdateRequest request) {
         UUID oficinaId = TenantContext.getTenantId();
         log.info("Atualizando despesa {} da oficina {}", id, oficinaId);
@@ -160,7 +164,7 @@ public class DespesaService {
      * Registra o pagamento de uma despesa.
      */
     @Transactional
-    @CacheEvict(value = {"fluxoCaixa", "dre"}, allEntries = true)
+    @CacheEvict(value = {"fluxoCaixa", "dre", "pageCounts"}, allEntries = true)
     public DespesaDTO.Response pagar(UUID id, DespesaDTO.PagamentoRequest request) {
         UUID oficinaId = TenantContext.getTenantId();
         log.info("Registrando pagamento da despesa {} da oficina {}", id, oficinaId);
@@ -186,7 +190,7 @@ public class DespesaService {
      * Cancela uma despesa.
      */
     @Transactional
-    @CacheEvict(value = {"fluxoCaixa", "dre"}, allEntries = true)
+    @CacheEvict(value = {"fluxoCaixa", "dre", "pageCounts"}, allEntries = true)
     public DespesaDTO.Response cancelar(UUID id) {
         UUID oficinaId = TenantContext.getTenantId();
         log.info("Cancelando despesa {} da oficina {}", id, oficinaId);
@@ -209,7 +213,7 @@ public class DespesaService {
      * Exclui uma despesa (soft delete via cancelamento).
      */
     @Transactional
-    @CacheEvict(value = {"fluxoCaixa", "dre"}, allEntries = true)
+    @CacheEvict(value = {"fluxoCaixa", "dre", "pageCounts"}, allEntries = true)
     public void excluir(UUID id) {
         UUID oficinaId = TenantContext.getTenantId();
         log.info("Excluindo despesa {} da oficina {}", id, oficinaId);
@@ -248,23 +252,26 @@ public class DespesaService {
     }
 
     /**
-     * Lista despesas com filtros.
+     * Lista despesas com filtros. O total segue {@code countMode} (ver {@link PageCounter}).
      */
     @Transactional(readOnly = true)
-    public Page<DespesaDTO.ListItem> listar(
+    public Slice<DespesaDTO.ListItem> listar(
             StatusDespesa status,
             CategoriaDespesa categoria,
             LocalDate dataInicio,
             LocalDate dataFim,
-            Pageable pageable
+            Pageable pageable,
+            CountMode countMode
     ) {
         UUID oficinaId = TenantContext.getTenantId();
 
-        Page<Despesa> despesas = despesaRepository.findByFilters(
+        Slice<Despesa> despesas = despesaRepository.findByFilters(
             oficinaId, status, categoria, dataInicio, dataFim, pageable
         );
 
-        return despesas.map(this::toListItem);
+        return pageCounter.complete(despesas.map(this::toListItem), countMode, CountQuery.of("despesas",
+            () -> despesaRepository.countByFilters(oficinaId, status, categoria, dataInicio, dataFim),
+            status, categoria, dataInicio, dataFim));
     }
 
     /**
@@ -23,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -202,6 +203,7 @@ public class MercadoPagoService {
      * Processa notificação webhook do Mercado Pago.
      */
     @Transactional
+    @CacheEvict(value = "dashboard", allEntries = true)
     public void processarWebhook(String topic, String id, Map<String, Object> payload) {
         log.info("Webhook MP recebido - Topic: {}, ID: {}", topic, id);
 
@@ -221,6 +223,7 @@ public class MercadoPagoService {
      * baseado no external_reference (FAT- prefix = fatura SaaS).
      */
     @Transactional
+    @CacheEvict(value = "dashboard", allEntries = true)
     public void processarPagamento(String paymentId) {
         log.info("Processando pagamento MP: {}", paymentId);
 
@@ -473,6 +476,7 @@ public class MercadoPagoService {
      * Para PIX/Boleto, precisamos criar o pagamento via API.
      */
     @Transactional
+    @CacheEvict(value = "dashboard", allEntries = true)
     public Map<String, Object> processarPagamentoBrick(
             Map<String, Object> formData,
             UUID ordemServicoId,
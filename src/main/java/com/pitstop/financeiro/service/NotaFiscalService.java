@@ -8,9 +8,11 @@ import com.pitstop.financeiro.dto.NotaFiscalResumoDTO;
 import com.pitstop.financeiro.mapper.NotaFiscalMapper;
 import com.pitstop.financeiro.repository.NotaFiscalRepository;
 import com.pitstop.shared.exception.ResourceNotFoundException;
+import com.pitstop.shared.persistence.NumberBlockAllocator;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -38,6 +40,14 @@ public class NotaFiscalService {
 
     private final NotaFiscalRepository notaFiscalRepository;
     private final NotaFiscalMapper notaFiscalMapper;
+    private final NumberBlockAllocator numberAllocator;
+
+    /**
+     * Números de NF reservados por nó a cada ida ao banco. O padrão 1 numera na transação da
+     * criação, sem lacunas: número de NF-e pulado precisa ser inutilizado na SEFAZ.
+     */
+    @Value("${numeracao.nota-fiscal.bloco:1}")
+    private int blocoNumeracaoNF;
 
     /**
      * Cria uma nova nota fiscal (modo digitação).
@@ -56,8 +66,8 @@ public class NotaFiscalService {
         // Define status inicial como DIGITACAO
         notaFiscal.setStatus(StatusNotaFiscal.DIGITACAO);
 
-        // Busca próximo número disponível para a série
-        Long proximoNumero = notaFiscalRepository.findProximoNumero(oficinaId, dto.serie());
+        // Próximo número da série na oficina (contador em numeracao_contadores)
+        Long proximoNumero = numberAllocator.next(oficinaId, chaveNumeracao(dto.serie()), blocoNumeracaoNF);
         notaFiscal.setNumero(proximoNumero);
 
         NotaFiscal salva = notaFiscalRepository.save(notaFiscal);
@@ -239,6 +249,13 @@ public class NotaFiscalService {
     @Transactional(readOnly = true)
     public Long buscarProximoNumero(Integer serie) {
         UUID oficinaId = TenantContext.getTenantId();
-        return notaFiscalRepository.findProximoNumero(oficinaId, serie);
+        return numberAllocator.peek(oficinaId, chaveNumeracao(serie));
+    }
+
+    /**
+     * Série de numeração da NF em {@code numeracao_contadores}.
+     */
+    private String chaveNumeracao(Integer serie) {
+        return "NFE:" + (serie != null ? serie : 1);
     }
 }
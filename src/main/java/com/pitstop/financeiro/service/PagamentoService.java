@@ -4,14 +4,17 @@ import com.pitstop.financeiro.domain.Pagamento;
 import com.pitstop.financeiro.domain.StatusPagamento;
 import com.pitstop.financeiro.domain.TipoPagamento;
 import com.pitstop.financeiro.dto.ConfirmarPagamentoDTO;
+import com.pitstop.financeiro.event.PagamentoEvent;
 import com.pitstop.financeiro.dto.PagamentoRequestDTO;
 import com.pitstop.financeiro.dto.PagamentoResponseDTO;
 import com.pitstop.financeiro.mapper.PagamentoMapper;
 import com.pitstop.financeiro.repository.PagamentoRepository;
 import com.pitstop.shared.exception.ResourceNotFoundException;
+import com.pitstop.shared.outbox.OutboxPublisher;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -37,6 +40,7 @@ public class PagamentoService {
 
     private final PagamentoRepository pagamentoRepository;
     private final PagamentoMapper pagamentoMapper;
+    private final OutboxPublisher outboxPublisher;
 
     /**
      * Cria um novo pagamento.
@@ -133,6 +137,7 @@ public class PagamentoService {
      * @return pagamento atualizado
      */
     @Transactional
+    @CacheEvict(value = "dashboard", allEntries = true)
     public PagamentoResponseDTO confirmar(UUID id, ConfirmarPagamentoDTO dto) {
         log.info("Confirmando pagamento ID: {}", id);
 
@@ -147,6 +152,7 @@ public class PagamentoService {
         }
 
         Pagamento atualizado = pagamentoRepository.save(pagamento);
+        outboxPublisher.publish(PagamentoEvent.of(PagamentoEvent.Tipo.CONFIRMADO, oficinaId, atualizado).toOutbox());
 
         log.info("Pagamento confirmado. ID: {}", atualizado.getId());
         return pagamentoMapper.toResponseDTO(atualizado);
@@ -158,6 +164,7 @@ public class PagamentoService {
      * @param id ID do pagamento
      */
     @Transactional
+    @CacheEvict(value = "dashboard", allEntries = true)
     public void cancelar(UUID id) {
         log.info("Cancelando pagamento ID: {}", id);
 
@@ -167,6 +174,7 @@ public class PagamentoService {
 
         pagamento.cancelar();
         pagamentoRepository.save(pagamento);
+        outboxPublisher.publish(PagamentoEvent.of(PagamentoEvent.Tipo.CANCELADO, oficinaId, pagamento).toOutbox());
 
         log.info("Pagamento cancelado. ID: {}", id);
     }
@@ -177,6 +185,7 @@ public class PagamentoService {
      * @param id ID do pagamento
      */
     @Transactional
+    @CacheEvict(value = "dashboard", allEntries = true)
     public void estornar(UUID id) {
         log.info("Estornando pagamento ID: {}", id);
 
@@ -186,6 +195,7 @@ public class PagamentoService {
 
         pagamento.estornar();
         pagamentoRepository.save(pagamento);
+        outboxPublisher.publish(PagamentoEvent.of(PagamentoEvent.Tipo.ESTORNADO, oficinaId, pagamento).toOutbox());
 
         log.info("Pagamento estornado. ID: {}", id);
     }
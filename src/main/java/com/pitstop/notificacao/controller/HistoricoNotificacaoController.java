@@ -7,13 +7,16 @@ import com.pitstop.notificacao.dto.HistoricoNotificacaoDTO;
 import com.pitstop.notificacao.dto.NotificacaoMetricasDTO;
 import com.pitstop.notificacao.service.HistoricoNotificacaoService;
 import com.pitstop.notificacao.service.WhatsAppService;
+import com.pitstop.shared.pagination.CountMode;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -48,15 +51,16 @@ public class HistoricoNotificacaoController {
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE')")
     @Operation(summary = "Listar historico", description = "Lista historico de notificacoes com paginacao e filtros")
-    public ResponseEntity<Page<HistoricoNotificacaoDTO.Resumido>> listar(
+    public ResponseEntity<Slice<HistoricoNotificacaoDTO.Resumido>> listar(
         @RequestParam(required = false) TipoNotificacao tipo,
         @RequestParam(required = false) StatusNotificacao status,
         @RequestParam(required = false) EventoNotificacao evento,
         @RequestParam(required = false) String destinatario,
-        @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
+        @PageableDefault(size = 20, sort = "createdAt") Pageable pageable,
+        @Parameter(description = CountMode.PARAM_DESCRIPTION) @RequestParam(defaultValue = "EXACT") CountMode count
     ) {
         // Usa metodo com filtros combinados
-        Page<HistoricoNotificacaoDTO.Resumido> page = historicoService.listarComFiltros(tipo, status, evento, pageable);
+        Slice<HistoricoNotificacaoDTO.Resumido> page = historicoService.listarComFiltros(tipo, status, evento, pageable, count);
 
         return ResponseEntity.ok(page);
     }
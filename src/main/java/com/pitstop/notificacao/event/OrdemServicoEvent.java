@@ -1,6 +1,7 @@
 package com.pitstop.notificacao.event;
 
 import com.pitstop.notificacao.domain.EventoNotificacao;
+import com.pitstop.shared.outbox.OutboxEvent;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -15,6 +16,9 @@ import java.util.UUID;
 /**
  * Evento de aplicacao para mudancas em Ordem de Servico.
  *
+ * <p>Gravado no outbox ({@link #toOutbox()}) na mesma transacao da mudanca e entregue aos
+ * consumidores (notificacao, webhook, WebSocket) pelo relay, como {@link Payload}.</p>
+ *
  * @author PitStop Team
  */
 @Getter
@@ -24,6 +28,16 @@ public class OrdemServicoEvent extends ApplicationEvent {
     private static final DateTimeFormatter DATE_FORMAT_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMAT_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy 'às' HH:mm");
 
+    /**
+     * Tipo do evento no outbox.
+     */
+    public static final String OUTBOX_EVENTO = "ORDEM_SERVICO";
+
+    /**
+     * Tipo do agregado no outbox (ordenacao por OS).
+     */
+    public static final String AGREGADO = "OrdemServico";
+
     private final EventoNotificacao tipoEvento;
     private final UUID oficinaId;
     private final UUID ordemServicoId;
@@ -77,6 +91,72 @@ public class OrdemServicoEvent extends ApplicationEvent {
         return this;
     }
 
+    /**
+     * Dados do evento serializados no outbox.
+     */
+    public record Payload(
+        EventoNotificacao tipoEvento,
+        UUID oficinaId,
+        UUID ordemServicoId,
+        Long numeroOS,
+        UUID clienteId,
+        String nomeCliente,
+        String emailCliente,
+        String telefoneCliente,
+        String veiculoPlaca,
+        String veiculoModelo,
+        BigDecimal valorTotal,
+        String nomeOficina,
+        Map<String, Object> dadosExtras
+    ) {
+    }
+
+    /**
+     * Converte para evento do outbox, agregado pela OS.
+     */
+    public OutboxEvent toOutbox() {
+        return new OutboxEvent(oficinaId, AGREGADO, ordemServicoId, OUTBOX_EVENTO, new Payload(
+            tipoEvento,
+            oficinaId,
+            ordemServicoId,
+            numeroOS,
+            clienteId,
+            nomeCliente,
+            emailCliente,
+            telefoneCliente,
+            veiculoPlaca,
+            veiculoModelo,
+            valorTotal,
+            nomeOficina,
+            dadosExtras
+        ));
+    }
+
+    /**
+     * Recria o evento a partir do payload entregue pelo outbox.
+     */
+    public static OrdemServicoEvent fromPayload(Object source, Payload payload) {
+        OrdemServicoEvent event = new OrdemServicoEvent(
+            source,
+            payload.tipoEvento(),
+            payload.oficinaId(),
+            payload.ordemServicoId(),
+            payload.numeroOS(),
+            payload.clienteId(),
+            payload.nomeCliente(),
+            payload.emailCliente(),
+            payload.telefoneCliente(),
+            payload.veiculoPlaca(),
+            payload.veiculoModelo(),
+            payload.valorTotal(),
+            payload.nomeOficina()
+        );
+        if (payload.dadosExtras() != null) {
+            event.dadosExtras.putAll(payload.dadosExtras());
+        }
+        return event;
+    }
+
     /**
      * Converte para mapa de variaveis para template.
      */
@@ -1,64 +1,74 @@
 package com.pitstop.notificacao.event;
 
 import com.pitstop.notificacao.service.NotificacaoOrchestrator;
-import com.pitstop.shared.security.tenant.TenantContext;
+import com.pitstop.shared.outbox.OutboxHandler;
+import com.pitstop.shared.outbox.OutboxIdempotency;
+import com.pitstop.shared.outbox.OutboxMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Listener para eventos de Ordem de Servico.
  * Processa eventos e dispara notificacoes de forma assincrona.
  *
- * Usa @TransactionalEventListener para garantir que o evento seja processado
- * APOS o commit da transacao que criou/alterou a OS.
+ * Consome o outbox: o evento so chega aqui depois do commit da transacao que
+ * criou/alterou a OS, ja com o tenant da oficina do evento. Falhas de canal sao
+ * tratadas pelo orchestrator; uma excecao que escape daqui e reprocessada pelo relay.
+ * Reentregas da mesma linha (lease expirado, no que caiu antes do ack) sao descartadas
+ * por {@link OutboxIdempotency}, para o cliente nao receber a notificacao duas vezes.
  *
  * @author PitStop Team
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class OrdemServicoEventListener {
+public class OrdemServicoEventListener implements OutboxHandler<OrdemServicoEvent.Payload> {
 
     private final NotificacaoOrchestrator orchestrator;
+    private final OutboxIdempotency idempotency;
+
+    @Override
+    public String consumer() {
+        return "notificacao";
+    }
+
+    @Override
+    public String eventType() {
+        return OrdemServicoEvent.OUTBOX_EVENTO;
+    }
+
+    @Override
+    public Class<OrdemServicoEvent.Payload> payloadType() {
+        return OrdemServicoEvent.Payload.class;
+    }
 
     /**
      * Processa evento de Ordem de Servico e dispara notificacoes.
-     * Executa APOS o commit da transacao para garantir que os dados estejam persistidos.
      *
-     * @param event Evento de OS
+     * @param message Linha do outbox
+     * @param payload Evento de OS
      */
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
-    public void handleOrdemServicoEvent(OrdemServicoEvent event) {
+    @Override
+    public void handle(OutboxMessage message, OrdemServicoEvent.Payload payload) {
+        OrdemServicoEvent event = OrdemServicoEvent.fromPayload(this, payload);
         log.info("Processando evento {} para OS #{}", event.getTipoEvento(), event.getNumeroOS());
 
-        try {
-            // Configura contexto de tenant
-            TenantContext.setTenantId(event.getOficinaId());
-
-            // Dispara notificacoes
-            orchestrator.notificarEventoOS(
-                event.getTipoEvento(),
-                event.getEmailCliente(),
-                event.getTelefoneCliente(),
-                event.getNomeCliente(),
-                event.toVariaveis(),
-                event.getOrdemServicoId(),
-                event.getClienteId()
-            );
-
-            log.info("Notificacoes disparadas para evento {} (OS #{})",
-                event.getTipoEvento(), event.getNumeroOS());
-
-        } catch (Exception e) {
-            log.error("Erro ao processar evento {} para OS #{}: {}",
-                event.getTipoEvento(), event.getNumeroOS(), e.getMessage(), e);
-        } finally {
-            TenantContext.clear();
+        // Dispara notificacoes (uma vez por linha do outbox)
+        boolean enviado = idempotency.runOnce(message, () -> orchestrator.notificarEventoOS(
+            event.getTipoEvento(),
+            event.getEmailCliente(),
+            event.getTelefoneCliente(),
+            event.getNomeCliente(),
+            event.toVariaveis(),
+            event.getOrdemServicoId(),
+            event.getClienteId()
+        ));
+        if (!enviado) {
+            return;
         }
+
+        log.info("Notificacoes disparadas para evento {} (OS #{})",
+            event.getTipoEvento(), event.getNumeroOS());
     }
 }
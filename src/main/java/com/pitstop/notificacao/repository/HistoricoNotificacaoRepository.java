@@ -6,6 +6,7 @@ import com.pitstop.notificacao.domain.StatusNotificacao;
 import com.pitstop.notificacao.domain.TipoNotificacao;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -87,7 +88,7 @@ public interface HistoricoNotificacaoRepository extends JpaRepository<HistoricoN
      * @param status Status (opcional)
      * @param evento Evento (opcional)
      * @param pageable Paginacao
-     * @return Pagina de historico
+     * @return Fatia de historico (sem COUNT, ver {@link #countWithFilters})
      */
     @Query("""
         SELECT h FROM HistoricoNotificacao h
@@ -97,7 +98,7 @@ public interface HistoricoNotificacaoRepository extends JpaRepository<HistoricoN
           AND (:evento IS NULL OR h.evento = :evento)
         ORDER BY h.createdAt DESC
         """)
-    Page<HistoricoNotificacao> findWithFilters(
+    Slice<HistoricoNotificacao> findWithFilters(
         @Param("oficinaId") UUID oficinaId,
         @Param("tipoNotificacao") TipoNotificacao tipoNotificacao,
         @Param("status") StatusNotificacao status,
@@ -105,6 +106,29 @@ public interface HistoricoNotificacaoRepository extends JpaRepository<HistoricoN
         Pageable pageable
     );
 
+    /**
+     * Conta o historico de {@link #findWithFilters} (mesmos filtros).
+     *
+     * @param oficinaId ID da oficina
+     * @param tipoNotificacao Canal (opcional)
+     * @param status Status (opcional)
+     * @param evento Evento (opcional)
+     * @return Total de notificacoes
+     */
+    @Query("""
+        SELECT COUNT(h) FROM HistoricoNotificacao h
+        WHERE h.oficinaId = :oficinaId
+          AND (:tipoNotificacao IS NULL OR h.tipoNotificacao = :tipoNotificacao)
+          AND (:status IS NULL OR h.status = :status)
+          AND (:evento IS NULL OR h.evento = :evento)
+        """)
+    long countWithFilters(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("tipoNotificacao") TipoNotificacao tipoNotificacao,
+        @Param("status") StatusNotificacao status,
+        @Param("evento") EventoNotificacao evento
+    );
+
     // ===== BUSCAS POR ORDEM DE SERVICO =====
 
     /**
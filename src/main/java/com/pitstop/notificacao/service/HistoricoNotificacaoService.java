@@ -7,11 +7,15 @@ import com.pitstop.notificacao.domain.TipoNotificacao;
 import com.pitstop.notificacao.dto.HistoricoNotificacaoDTO;
 import com.pitstop.notificacao.dto.NotificacaoMetricasDTO;
 import com.pitstop.notificacao.repository.HistoricoNotificacaoRepository;
+import com.pitstop.shared.pagination.CountMode;
+import com.pitstop.shared.pagination.CountQuery;
+import com.pitstop.shared.pagination.PageCounter;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +38,7 @@ import java.util.UUID;
 public class HistoricoNotificacaoService {
 
     private final HistoricoNotificacaoRepository repository;
+    private final PageCounter pageCounter;
 
     /**
      * Lista historico da oficina atual com paginacao.
@@ -55,17 +60,23 @@ public class HistoricoNotificacaoService {
      * @param status Status (opcional)
      * @param evento Evento (opcional)
      * @param pageable Paginacao
-     * @return Pagina de historico
+     * @param countMode Calculo do total (ver {@link PageCounter})
+     * @return Pagina de historico (Slice sem total quando countMode for NONE)
      */
     @Transactional(readOnly = true)
-    public Page<HistoricoNotificacaoDTO.Resumido> listarComFiltros(
+    public Slice<HistoricoNotificacaoDTO.Resumido> listarComFiltros(
             TipoNotificacao tipo,
             StatusNotificacao status,
             EventoNotificacao evento,
-            Pageable pageable) {
+            Pageable pageable,
+            CountMode countMode) {
         UUID oficinaId = TenantContext.getTenantId();
-        return repository.findWithFilters(oficinaId, tipo, status, evento, pageable)
+        Slice<HistoricoNotificacaoDTO.Resumido> historico = repository.findWithFilters(oficinaId, tipo, status, evento, pageable)
             .map(HistoricoNotificacaoDTO.Resumido::fromEntity);
+        // Sem evict: o historico so cresce e o total cacheado expira pelo TTL
+        return pageCounter.complete(historico, countMode, CountQuery.of("historico_notificacoes",
+            () -> repository.countWithFilters(oficinaId, tipo, status, evento),
+            tipo, status, evento));
     }
 
     /**
@@ -2,15 +2,16 @@ package com.pitstop.notificacao.service;
 
 import com.pitstop.notificacao.domain.EventoNotificacao;
 import com.pitstop.notificacao.event.OrdemServicoEvent;
+import com.pitstop.shared.outbox.OutboxPublisher;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,6 +20,9 @@ import java.util.UUID;
  * Esta classe e injetada nos services de dominio (OrdemServicoService, etc.)
  * para publicar eventos de notificacao de forma assincrona.
  *
+ * Os eventos sao gravados no outbox na transacao do chamador: se a transacao
+ * for desfeita, nenhuma notificacao e enviada.
+ *
  * @author PitStop Team
  */
 @Service
@@ -26,7 +30,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class NotificacaoEventPublisher {
 
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxPublisher outboxPublisher;
 
     /**
      * URL base do frontend para geração de links (ex: aprovação de orçamento).
@@ -75,7 +79,7 @@ public class NotificacaoEventPublisher {
             log.debug("Link de aprovação gerado: {}", linkAprovacao);
         }
 
-        eventPublisher.publishEvent(event);
+        outboxPublisher.publish(event.toOutbox());
         log.debug("Evento OS_CRIADA publicado para OS #{}", numeroOS);
     }
 
@@ -105,7 +109,7 @@ public class NotificacaoEventPublisher {
             nomeOficina
         );
 
-        eventPublisher.publishEvent(event);
+        outboxPublisher.publish(event.toOutbox());
         log.debug("Evento OS_APROVADA publicado para OS #{}", numeroOS);
     }
 
@@ -137,7 +141,7 @@ public class NotificacaoEventPublisher {
             nomeOficina
         );
 
-        eventPublisher.publishEvent(event);
+        outboxPublisher.publish(event.toOutbox());
         log.debug("Evento OS_REJEITADA publicado para OS #{}", numeroOS);
     }
 
@@ -175,7 +179,7 @@ public class NotificacaoEventPublisher {
             nomeOficina
         );
 
-        eventPublisher.publishEvent(event);
+        outboxPublisher.publish(event.toOutbox());
         log.debug("Evento OS_EM_ANDAMENTO publicado para OS #{}", numeroOS);
     }
 
@@ -213,7 +217,7 @@ public class NotificacaoEventPublisher {
             nomeOficina
         );
 
-        eventPublisher.publishEvent(event);
+        outboxPublisher.publish(event.toOutbox());
         log.debug("Evento OS_FINALIZADA publicado para OS #{}", numeroOS);
     }
 
@@ -245,10 +249,23 @@ public class NotificacaoEventPublisher {
             nomeOficina
         );
 
-        eventPublisher.publishEvent(event);
+        outboxPublisher.publish(event.toOutbox());
         log.debug("Evento OS_ENTREGUE publicado para OS #{}", numeroOS);
     }
 
+    /**
+     * Publica os eventos de uma transicao em lote com uma unica gravacao no outbox.
+     * Nao publica nada se a lista estiver vazia.
+     */
+    public void publicarLote(List<OrdemServicoEvent> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        outboxPublisher.publishAll(eventos.stream().map(OrdemServicoEvent::toOutbox).toList());
+        log.debug("Lote com {} eventos de OS publicado", eventos.size());
+    }
+
     /**
      * Publica evento generico de OS.
      */
@@ -283,7 +300,7 @@ public class NotificacaoEventPublisher {
             nomeOficina
         );
 
-        eventPublisher.publishEvent(event);
+        outboxPublisher.publish(event.toOutbox());
         log.debug("Evento {} publicado para OS #{}", evento, numeroOS);
     }
 }
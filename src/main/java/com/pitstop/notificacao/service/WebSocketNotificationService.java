@@ -1,11 +1,12 @@
 package com.pitstop.notificacao.service;
 
 import com.pitstop.notificacao.event.OrdemServicoEvent;
+import com.pitstop.shared.outbox.OutboxHandler;
+import com.pitstop.shared.outbox.OutboxIdempotency;
+import com.pitstop.shared.outbox.OutboxMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -19,23 +20,41 @@ import java.util.UUID;
  *
  * Escuta eventos de domínio (OrdemServicoEvent, etc.) e envia mensagens para o frontend
  * através de WebSocket/STOMP, permitindo que a interface seja atualizada automaticamente.
+ * Os eventos de OS chegam pelo outbox, depois do commit; cada linha é enviada uma vez
+ * ({@link OutboxIdempotency}) e leva {@code eventoId} para o frontend descartar duplicatas.
  *
  * @author PitStop Team
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class WebSocketNotificationService {
+public class WebSocketNotificationService implements OutboxHandler<OrdemServicoEvent.Payload> {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final OutboxIdempotency idempotency;
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
+    @Override
+    public String consumer() {
+        return "websocket";
+    }
+
+    @Override
+    public String eventType() {
+        return OrdemServicoEvent.OUTBOX_EVENTO;
+    }
+
+    @Override
+    public Class<OrdemServicoEvent.Payload> payloadType() {
+        return OrdemServicoEvent.Payload.class;
+    }
+
     /**
-     * Escuta eventos de Ordem de Serviço e envia notificação via WebSocket.
+     * Recebe eventos de Ordem de Serviço do outbox e envia notificação via WebSocket.
      */
-    @EventListener
-    @Async
-    public void handleOrdemServicoEvent(OrdemServicoEvent event) {
+    @Override
+    public void handle(OutboxMessage message, OrdemServicoEvent.Payload payload) {
+        OrdemServicoEvent event = OrdemServicoEvent.fromPayload(this, payload);
         try {
             String tipo = mapEventoToTipo(event.getTipoEvento().name());
 
@@ -44,6 +63,7 @@ public class WebSocketNotificationService {
             notification.put("titulo", getTitulo(event));
             notification.put("mensagem", getMensagem(event));
             notification.put("timestamp", LocalDateTime.now().format(DATETIME_FORMATTER));
+            notification.put("eventoId", message.id());
 
             // Dados adicionais para o frontend
             Map<String, Object> dados = new HashMap<>();
@@ -58,8 +78,10 @@ public class WebSocketNotificationService {
             }
             notification.put("dados", dados);
 
-            // Envia para o tópico broadcast (todos os usuários da oficina)
-            messagingTemplate.convertAndSend("/topic/os-updates", notification);
+            // Envia para o tópico broadcast (todos os usuários da oficina), uma vez por linha do outbox
+            if (!idempotency.runOnce(message, () -> messagingTemplate.convertAndSend("/topic/os-updates", notification))) {
+                return;
+            }
 
             // Também envia para a fila do usuário específico (se tiver userId)
             // messagingTemplate.convertAndSendToUser(userId, "/queue/notifications", notification);
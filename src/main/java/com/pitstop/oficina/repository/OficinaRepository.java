@@ -355,4 +355,23 @@ public interface OficinaRepository extends JpaRepository<Oficina, UUID> {
     @Modifying
     @Query("UPDATE Oficina o SET o.dataVencimentoPlano = :novaDataVencimento, o.status = :novoStatus, o.updatedAt = CURRENT_TIMESTAMP WHERE o.id = :id")
     int updateAssinaturaEStatus(@Param("id") UUID id, @Param("novaDataVencimento") LocalDate novaDataVencimento, @Param("novoStatus") StatusOficina novoStatus);
+
+    /**
+     * Busca apenas o plano da oficina (sem carregar a entidade).
+     * Usado pelo admission control por tenant.
+     *
+     * @param id ID da oficina
+     * @return Optional com o plano da oficina
+     */
+    @Query("SELECT o.plano FROM Oficina o WHERE o.id = :id")
+    Optional<PlanoAssinatura> findPlanoById(@Param("id") UUID id);
+
+    /**
+     * Lista ID e plano de todas as oficinas (sem carregar as entidades).
+     * Usado pelo snapshot de feature flags.
+     *
+     * @return lista de [id (UUID), plano (PlanoAssinatura)]
+     */
+    @Query("SELECT o.id, o.plano FROM Oficina o")
+    List<Object[]> findAllIdAndPlano();
 }
@@ -13,6 +13,7 @@ import com.pitstop.oficina.mapper.OficinaMapper;
 import com.pitstop.oficina.repository.OficinaRepository;
 import com.pitstop.oficina.domain.PlanoAssinatura;
 import com.pitstop.oficina.domain.StatusOficina;
+import com.pitstop.saas.service.FeatureFlagSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -24,6 +25,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pitstop.shared.security.tenant.TenantAdmissionLimiter;
 import com.pitstop.shared.security.tenant.TenantContext;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -49,6 +51,8 @@ public class OficinaService {
 
     private final OficinaRepository oficinaRepository;
     private final OficinaMapper oficinaMapper;
+    private final FeatureFlagSnapshotService featureFlagSnapshotService;
+    private final TenantAdmissionLimiter tenantAdmissionLimiter;
 
     /**
      * Cria uma nova oficina (onboarding).
@@ -427,6 +431,8 @@ public class OficinaService {
         oficina.setValorMensalidade(getValorPlano(novoPlano));
 
         oficina = oficinaRepository.save(oficina);
+        featureFlagSnapshotService.invalidate();
+        tenantAdmissionLimiter.evictPlano(id);
 
         log.info("Plano atualizado com sucesso. Oficina: {}, Plano anterior: {}, Novo plano: {}",
             id, planoAtual, novoPlano);
@@ -469,6 +475,8 @@ public class OficinaService {
         oficina.setValorMensalidade(getValorPlano(novoPlano));
 
         oficina = oficinaRepository.save(oficina);
+        featureFlagSnapshotService.invalidate();
+        tenantAdmissionLimiter.evictPlano(id);
 
         log.info("Downgrade agendado. Aplicará na renovação em: {}", oficina.getDataVencimentoPlano());
 
@@ -9,11 +9,14 @@ import com.pitstop.oficina.domain.Oficina;
 import com.pitstop.oficina.repository.OficinaRepository;
 import com.pitstop.ordemservico.domain.OrdemServico;
 import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.ordemservico.service.OrcamentoPublicoSnapshot;
+import com.pitstop.ordemservico.service.OrcamentoPublicoSnapshotService;
 import com.pitstop.notificacao.service.NotificacaoEventPublisher;
 import com.pitstop.shared.security.RateLimitService;
 import com.pitstop.veiculo.domain.Veiculo;
 import com.pitstop.veiculo.repository.VeiculoRepository;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,10 +30,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,22 +57,27 @@ public class OrcamentoPublicoController {
     private final NotificacaoEventPublisher notificacaoEventPublisher;
     private final RateLimitService rateLimitService;
     private final AnexoService anexoService;
+    private final OrcamentoPublicoSnapshotService snapshotService;
 
     /**
      * Consulta dados do orçamento pelo token.
      * Permite que o cliente visualize os detalhes antes de aprovar.
      *
+     * <p>Servido do snapshot pré-montado ({@link OrcamentoPublicoSnapshotService}), sem acesso ao banco,
+     * com ETag forte: o navegador revalida a cada visualização e recebe 304 se o orçamento não mudou.</p>
+     *
      * <p><b>Security:</b> Rate limited to prevent brute-force token guessing.</p>
      *
      * @param token Token de aprovação único
+     * @param ifNoneMatch ETag da versão que o cliente já tem (opcional)
      * @param request HTTP request for IP extraction
      * @return Dados do orçamento
      */
     @GetMapping("/{token}")
     @Operation(summary = "Consultar orçamento", description = "Retorna dados do orçamento para visualização pelo cliente")
-    @Transactional(readOnly = true)
     public ResponseEntity<?> consultarOrcamento(
             @PathVariable String token,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             HttpServletRequest request
     ) {
         String clientIp = getClientIp(request);
@@ -88,77 +93,36 @@ public class OrcamentoPublicoController {
                 ));
         }
 
-        OrdemServico os = ordemServicoRepository.findByTokenAprovacao(token)
+        OrcamentoPublicoSnapshot snapshot = snapshotService.buscar(token)
             .orElse(null);
 
-        if (os == null) {
+        if (snapshot == null) {
             return ResponseEntity.notFound().build();
         }
 
         // Verifica se token ainda é válido
-        if (os.getTokenAprovacaoExpiracao() != null &&
-            LocalDateTime.now().isAfter(os.getTokenAprovacaoExpiracao())) {
+        if (snapshot.expirado()) {
             return ResponseEntity.badRequest().body(Map.of(
                 "erro", "TOKEN_EXPIRADO",
                 "mensagem", "Este link de aprovação expirou. Solicite um novo orçamento à oficina."
             ));
         }
 
-        // Verifica se já foi aprovado
-        if (os.getAprovadoPeloCliente() != null && os.getAprovadoPeloCliente()) {
-            return ResponseEntity.ok(Map.of(
-                "status", "JA_APROVADO",
-                "mensagem", "Este orçamento já foi aprovado anteriormente.",
-                "numero", os.getNumero(),
-                "dataAprovacao", os.getUpdatedAt()
-            ));
-        }
+        // Link privado: só o navegador do cliente guarda, sempre revalidando pelo ETag
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
 
-        // Formatter para datas
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-
-        // Retorna dados do orçamento
-        Map<String, Object> response = new HashMap<>();
-        response.put("numero", os.getNumero());
-        response.put("status", os.getStatus().name());
-        response.put("statusDescricao", os.getStatus().getDescricao());
-        response.put("problemasRelatados", os.getProblemasRelatados() != null ? os.getProblemasRelatados() : "");
-        response.put("diagnostico", os.getDiagnostico() != null ? os.getDiagnostico() : "");
-
-        // Modelo híbrido de mão de obra
-        response.put("tipoCobrancaMaoObra", os.getTipoCobrancaMaoObra() != null ? os.getTipoCobrancaMaoObra().name() : "VALOR_FIXO");
-        response.put("valorMaoObra", os.getValorMaoObra());
-        response.put("tempoEstimadoHoras", os.getTempoEstimadoHoras());
-        response.put("limiteHorasAprovado", os.getLimiteHorasAprovado());
-        response.put("valorHoraSnapshot", os.getValorHoraSnapshot());
-
-        response.put("valorPecas", os.getValorPecas());
-        response.put("valorTotal", os.getValorTotal());
-        response.put("descontoPercentual", os.getDescontoPercentual() != null ? os.getDescontoPercentual() : BigDecimal.ZERO);
-        response.put("descontoValor", os.getDescontoValor() != null ? os.getDescontoValor() : BigDecimal.ZERO);
-        response.put("valorFinal", os.getValorFinal());
-        response.put("dataPrevisao", os.getDataPrevisao() != null ? os.getDataPrevisao().format(dateFormatter) : null);
-        response.put("dataAbertura", os.getDataAbertura() != null ? os.getDataAbertura().format(dateTimeFormatter) : null);
-        response.put("podeAprovar", os.getStatus().name().equals("ORCAMENTO"));
-
-        // Adiciona itens (peças e serviços)
-        List<Map<String, Object>> itens = new ArrayList<>();
-        if (os.getItens() != null) {
-            os.getItens().forEach(item -> {
-                Map<String, Object> itemMap = new HashMap<>();
-                itemMap.put("tipo", item.getTipo().name());
-                itemMap.put("tipoDescricao", item.getTipo().name().equals("PECA") ? "Peça" : "Serviço");
-                itemMap.put("descricao", item.getDescricao());
-                itemMap.put("quantidade", item.getQuantidade());
-                itemMap.put("valorUnitario", item.getValorUnitario());
-                itemMap.put("valorTotal", item.getValorTotal());
-                itens.add(itemMap);
-            });
+        if (correspondeEtag(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .build();
         }
-        response.put("itens", itens);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(snapshot.etag())
+            .cacheControl(cacheControl)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.corpo());
     }
 
     /**
@@ -470,6 +434,29 @@ public class OrcamentoPublicoController {
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Checks an If-None-Match header (one or more ETags, or {@code *}) against the current ETag.
+     *
+     * @param ifNoneMatch If-None-Match header value (may be null)
+     * @param etag current strong ETag, quoted
+     * @return true if the client already has the current version
+     */
+    private boolean correspondeEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Extracts the real client IP address from the request.
      * Handles proxies, load balancers, and CDNs.
@@ -2,14 +2,21 @@ package com.pitstop.ordemservico.controller;
 
 import com.pitstop.ordemservico.domain.StatusOS;
 import com.pitstop.ordemservico.dto.AguardarPecaDTO;
+import com.pitstop.ordemservico.dto.BuscaOrdemServicoDTO;
 import com.pitstop.ordemservico.dto.CancelarOrdemServicoDTO;
 import com.pitstop.ordemservico.dto.CreateOrdemServicoDTO;
+import com.pitstop.ordemservico.dto.ExportacaoPdfDTO;
 import com.pitstop.ordemservico.dto.FinalizarOSDTO;
 import com.pitstop.ordemservico.dto.HistoricoStatusOSDTO;
 import com.pitstop.ordemservico.dto.OrdemServicoResponseDTO;
+import com.pitstop.ordemservico.dto.TransicaoLoteOSDTO;
 import com.pitstop.ordemservico.dto.UpdateOrdemServicoDTO;
+import com.pitstop.ordemservico.service.OrdemServicoLoteService;
 import com.pitstop.ordemservico.service.OrdemServicoService;
 import com.pitstop.ordemservico.service.OrdemServicoPDFService;
+import com.pitstop.ordemservico.service.OrdemServicoPdfExportService;
+import com.pitstop.shared.dto.CursorPageResponse;
+import com.pitstop.shared.pagination.CountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,19 +24,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -58,7 +72,9 @@ import java.util.UUID;
 public class OrdemServicoController {
 
     private final OrdemServicoService service;
+    private final OrdemServicoLoteService loteService;
     private final OrdemServicoPDFService pdfService;
+    private final OrdemServicoPdfExportService pdfExportService;
 
     // ===== CREATE =====
 
@@ -142,6 +158,7 @@ public class OrdemServicoController {
      * @param dataInicio data inicial do período (opcional)
      * @param dataFim data final do período (opcional)
      * @param pageable configuração de paginação e ordenação
+     * @param count modo de contagem do total (EXACT, ESTIMATED ou NONE)
      * @return página de OS (HTTP 200)
      */
     @GetMapping
@@ -152,7 +169,7 @@ public class OrdemServicoController {
             content = @Content(schema = @Schema(implementation = Page.class))),
         @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content)
     })
-    public ResponseEntity<Page<OrdemServicoResponseDTO>> listar(
+    public ResponseEntity<Slice<OrdemServicoResponseDTO>> listar(
         @Parameter(description = "Status da OS", example = "EM_ANDAMENTO")
         @RequestParam(required = false) StatusOS status,
 
@@ -168,13 +185,104 @@ public class OrdemServicoController {
         @Parameter(description = "Data final (formato ISO 8601)", example = "2025-11-30T23:59:59")
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
 
-        @PageableDefault(size = 20, sort = "dataAbertura", direction = Sort.Direction.DESC) Pageable pageable
+        @PageableDefault(size = 20, sort = "dataAbertura", direction = Sort.Direction.DESC) Pageable pageable,
+
+        @Parameter(description = CountMode.PARAM_DESCRIPTION)
+        @RequestParam(defaultValue = "EXACT") CountMode count
     ) {
         log.info("GET /api/ordens-servico - Filtros: status={}, veiculoId={}, usuarioId={}", status, veiculoId, usuarioId);
-        Page<OrdemServicoResponseDTO> page = service.listar(status, veiculoId, usuarioId, dataInicio, dataFim, pageable);
+        Slice<OrdemServicoResponseDTO> page = service.listar(status, veiculoId, usuarioId, dataInicio, dataFim, pageable, count);
         return ResponseEntity.ok(page);
     }
 
+    /**
+     * Lista OS com paginação por cursor (keyset), mais recentes primeiro.
+     * Alternativa a {@link #listar} para listas longas: páginas profundas custam o mesmo que a primeira.
+     *
+     * @param status status da OS (opcional)
+     * @param veiculoId ID do veículo (opcional)
+     * @param usuarioId ID do mecânico (opcional)
+     * @param dataInicio data inicial do período (opcional)
+     * @param dataFim data final do período (opcional)
+     * @param cursor token {@code nextCursor} da página anterior (omitir na primeira página)
+     * @param size tamanho da página (máximo 100)
+     * @param incluirTotal se deve retornar o total de OS dos filtros
+     * @return página de OS com cursor da próxima (HTTP 200)
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE', 'MECANICO')")
+    @Operation(summary = "Listar OS por cursor",
+        description = "Lista OS com filtros opcionais e paginação por cursor (ordem: data de abertura decrescente)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de OS",
+            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content)
+    })
+    public ResponseEntity<CursorPageResponse<OrdemServicoResponseDTO>> listarPorCursor(
+        @Parameter(description = "Status da OS", example = "EM_ANDAMENTO")
+        @RequestParam(required = false) StatusOS status,
+
+        @Parameter(description = "ID do veículo", example = "123e4567-e89b-12d3-a456-426614174000")
+        @RequestParam(required = false) UUID veiculoId,
+
+        @Parameter(description = "ID do mecânico", example = "123e4567-e89b-12d3-a456-426614174000")
+        @RequestParam(required = false) UUID usuarioId,
+
+        @Parameter(description = "Data inicial (formato ISO 8601)", example = "2025-11-01T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+
+        @Parameter(description = "Data final (formato ISO 8601)", example = "2025-11-30T23:59:59")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+
+        @Parameter(description = "Cursor retornado em nextCursor (omitir na primeira página)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Tamanho da página (máximo 100)", example = "20")
+        @RequestParam(defaultValue = "20") int size,
+
+        @Parameter(description = "Retornar o total de OS dos filtros (executa COUNT)", example = "false")
+        @RequestParam(defaultValue = "false") boolean incluirTotal
+    ) {
+        log.info("GET /api/ordens-servico/cursor - Filtros: status={}, veiculoId={}, usuarioId={}", status, veiculoId, usuarioId);
+        CursorPageResponse<OrdemServicoResponseDTO> page = service.listarPorCursor(
+            status, veiculoId, usuarioId, dataInicio, dataFim, cursor, size, incluirTotal);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Busca OS por texto (problemas relatados, diagnóstico e observações), por relevância.
+     *
+     * @param q texto buscado
+     * @param cursor token {@code nextCursor} da página anterior (omitir na primeira página)
+     * @param size tamanho da página (máximo 100)
+     * @return página de resultados com trechos destacados (HTTP 200)
+     */
+    @GetMapping("/busca")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE', 'MECANICO')")
+    @Operation(summary = "Buscar OS por texto",
+        description = "Busca em problemas relatados, diagnóstico e observações, ignorando acentos e flexões. "
+            + "Aceita \"frase exata\", or e -excluir. Trechos destacados vêm com <mark>, demais caracteres escapados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de resultados",
+            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Texto ou cursor inválido", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content)
+    })
+    public ResponseEntity<CursorPageResponse<BuscaOrdemServicoDTO>> buscarTexto(
+        @Parameter(description = "Texto buscado", example = "barulho freio", required = true)
+        @RequestParam String q,
+
+        @Parameter(description = "Cursor retornado em nextCursor (omitir na primeira página)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Tamanho da página (máximo 100)", example = "20")
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        log.debug("GET /api/ordens-servico/busca - size={}", size);
+        return ResponseEntity.ok(service.buscarTexto(q, cursor, size));
+    }
+
     /**
      * Busca histórico de OS de um veículo.
      *
@@ -412,6 +520,101 @@ public class OrdemServicoController {
         return ResponseEntity.noContent().build();
     }
 
+    // ===== BULK STATUS TRANSITIONS =====
+
+    /**
+     * Aprova orçamentos em lote (ORCAMENTO → APROVADO), em uma única transação.
+     *
+     * @param dto IDs das OS
+     * @param aprovadoPeloCliente indicador de aprovação do cliente (false é recusado: nada a aprovar)
+     * @return HTTP 204 (No Content)
+     */
+    @PatchMapping("/lote/aprovar")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE')")
+    @Operation(summary = "Aprovar orçamentos em lote", description = "Aprova várias OS de uma vez. Se alguma transição for inválida, nenhuma OS é alterada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "OS aprovadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cliente não aprovou, ou transição inválida em alguma OS (nenhuma é alterada)", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Alguma OS não encontrada", content = @Content)
+    })
+    public ResponseEntity<Void> aprovarEmLote(
+        @Valid @RequestBody TransicaoLoteOSDTO dto,
+
+        @Parameter(description = "Cliente aprovou os orçamentos?", example = "true")
+        @RequestParam Boolean aprovadoPeloCliente
+    ) {
+        log.info("PATCH /api/ordens-servico/lote/aprovar - {} OS", dto.ids().size());
+        loteService.aprovar(dto.ids(), aprovadoPeloCliente);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Inicia execução de várias OS (APROVADO → EM_ANDAMENTO), em uma única transação.
+     *
+     * @param dto IDs das OS
+     * @return HTTP 204 (No Content)
+     */
+    @PatchMapping("/lote/iniciar")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'MECANICO')")
+    @Operation(summary = "Iniciar execução em lote", description = "Inicia várias OS de uma vez. Se alguma transição for inválida, nenhuma OS é alterada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "OS iniciadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Transição inválida em alguma OS (nenhuma é alterada)", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Alguma OS não encontrada", content = @Content)
+    })
+    public ResponseEntity<Void> iniciarEmLote(
+        @Valid @RequestBody TransicaoLoteOSDTO dto
+    ) {
+        log.info("PATCH /api/ordens-servico/lote/iniciar - {} OS", dto.ids().size());
+        loteService.iniciar(dto.ids());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Finaliza várias OS sem informar horas (modelo VALOR_FIXO), em uma única transação.
+     *
+     * @param dto IDs das OS
+     * @return HTTP 204 (No Content)
+     */
+    @PatchMapping("/lote/finalizar")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'MECANICO')")
+    @Operation(summary = "Finalizar OS em lote (VALOR_FIXO)", description = "Finaliza várias OS de uma vez com baixa de estoque. Se alguma falhar, nenhuma OS é alterada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "OS finalizadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Transição inválida em alguma OS (nenhuma é alterada)", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Alguma OS não encontrada", content = @Content)
+    })
+    public ResponseEntity<Void> finalizarEmLote(
+        @Valid @RequestBody TransicaoLoteOSDTO dto
+    ) {
+        log.info("PATCH /api/ordens-servico/lote/finalizar - {} OS", dto.ids().size());
+        loteService.finalizar(dto.ids());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Entrega veículos de várias OS (FINALIZADO → ENTREGUE), em uma única transação.
+     *
+     * @param dto IDs das OS
+     * @return HTTP 204 (No Content)
+     */
+    @PatchMapping("/lote/entregar")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE')")
+    @Operation(summary = "Entregar veículos em lote", description = "Registra a entrega de várias OS quitadas de uma vez. Se alguma falhar, nenhuma OS é alterada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Veículos entregues com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Transição inválida em alguma OS (nenhuma é alterada)", content = @Content),
+        @ApiResponse(responseCode = "402", description = "Alguma OS não está quitada", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Alguma OS não encontrada", content = @Content)
+    })
+    public ResponseEntity<Void> entregarEmLote(
+        @Valid @RequestBody TransicaoLoteOSDTO dto
+    ) {
+        log.info("PATCH /api/ordens-servico/lote/entregar - {} OS", dto.ids().size());
+        loteService.entregar(dto.ids());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Cancela OS (qualquer status exceto ENTREGUE).
      *
@@ -540,8 +743,10 @@ public class OrdemServicoController {
     /**
      * Gera e baixa PDF da Ordem de Serviço.
      *
+     * <p>O PDF é escrito direto na resposta (ou servido do cache se a OS não mudou).</p>
+     *
      * @param id ID da OS
-     * @return PDF da OS (HTTP 200)
+     * @param response resposta HTTP (PDF, HTTP 200)
      */
     @PostMapping("/{id}/gerar-pdf")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE', 'ATENDENTE')")
@@ -553,17 +758,152 @@ public class OrdemServicoController {
         @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content),
         @ApiResponse(responseCode = "500", description = "Erro ao gerar PDF", content = @Content)
     })
-    public ResponseEntity<byte[]> gerarPDF(
+    public void gerarPDF(
         @Parameter(description = "ID da OS", example = "123e4567-e89b-12d3-a456-426614174000")
-        @PathVariable UUID id
-    ) {
+        @PathVariable UUID id,
+        HttpServletResponse response
+    ) throws IOException {
         log.info("POST /api/ordens-servico/{}/gerar-pdf", id);
 
-        byte[] pdfBytes = pdfService.gerarPDF(id);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"OS-" + id + ".pdf\"");
+        pdfService.escreverPDF(id, response.getOutputStream());
+    }
+
+    // ===== BULK PDF EXPORT =====
+
+    /**
+     * Baixa os PDFs das OS do filtro num ZIP, escrito na resposta à medida que os PDFs são gerados.
+     *
+     * <p>Roda no pool de downloads da exportação, fora da thread da requisição, com o timeout próprio
+     * ({@code pdf.export.timeout-sincrono-ms}); as demais requisições assíncronas mantêm o padrão.
+     * Downloads acima do limite do nó ou da oficina são recusados antes de a resposta começar.</p>
+     *
+     * @param status status da OS (opcional)
+     * @param dataInicio data inicial da abertura (opcional)
+     * @param dataFim data final da abertura (opcional)
+     * @param response resposta HTTP onde o ZIP é escrito
+     * @return tarefa assíncrona que escreve o ZIP com um PDF por OS (HTTP 200)
+     */
+    @GetMapping("/exportar-pdf")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE')")
+    @Operation(summary = "Exportar PDFs das OS",
+        description = "Baixa os PDFs das OS do filtro num ZIP. Para muitas OS, use a exportação assíncrona")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "ZIP com os PDFs",
+            content = @Content(mediaType = "application/zip")),
+        @ApiResponse(responseCode = "400",
+            description = "Filtro inválido, OS demais ou downloads demais em andamento para o download direto",
+            content = @Content),
+        @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content)
+    })
+    public WebAsyncTask<Void> exportarPDFs(
+        @Parameter(description = "Status da OS", example = "ENTREGUE")
+        @RequestParam(required = false) StatusOS status,
+
+        @Parameter(description = "Data inicial da abertura (formato ISO 8601)", example = "2025-11-01T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+
+        @Parameter(description = "Data final da abertura (formato ISO 8601)", example = "2025-11-30T23:59:59")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+
+        HttpServletResponse response
+    ) {
+        log.info("GET /api/ordens-servico/exportar-pdf - Filtros: status={}, dataInicio={}, dataFim={}",
+            status, dataInicio, dataFim);
+
+        // Valida o filtro e a vaga antes de a resposta começar (erros ainda saem como ProblemDetail)
+        WebAsyncTask<Void> zip = pdfExportService.exportar(
+            new OrdemServicoPdfExportService.Filtro(status, dataInicio, dataFim), response::getOutputStream);
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ordens-servico.zip\"");
+        return zip;
+    }
+
+    /**
+     * Inicia a exportação assíncrona dos PDFs das OS do filtro.
+     *
+     * @param status status da OS (opcional)
+     * @param dataInicio data inicial da abertura (opcional)
+     * @param dataFim data final da abertura (opcional)
+     * @return token para acompanhar e baixar a exportação (HTTP 202)
+     */
+    @PostMapping("/exportacoes-pdf")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE')")
+    @Operation(summary = "Iniciar exportação de PDFs das OS",
+        description = "Gera o ZIP com os PDFs das OS do filtro em segundo plano e retorna um token de download")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Exportação iniciada",
+            content = @Content(schema = @Schema(implementation = ExportacaoPdfDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Filtro inválido ou OS demais", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content)
+    })
+    public ResponseEntity<ExportacaoPdfDTO> iniciarExportacaoPDFs(
+        @Parameter(description = "Status da OS", example = "ENTREGUE")
+        @RequestParam(required = false) StatusOS status,
+
+        @Parameter(description = "Data inicial da abertura (formato ISO 8601)", example = "2025-11-01T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+
+        @Parameter(description = "Data final da abertura (formato ISO 8601)", example = "2025-11-30T23:59:59")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim
+    ) {
+        log.info("POST /api/ordens-servico/exportacoes-pdf - Filtros: status={}, dataInicio={}, dataFim={}",
+            status, dataInicio, dataFim);
+
+        ExportacaoPdfDTO exportacao = pdfExportService.iniciarExportacao(
+            new OrdemServicoPdfExportService.Filtro(status, dataInicio, dataFim));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportacao);
+    }
+
+    /**
+     * Consulta a situação de uma exportação assíncrona.
+     *
+     * @param token token da exportação
+     * @return situação da exportação (HTTP 200)
+     */
+    @GetMapping("/exportacoes-pdf/{token}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE')")
+    @Operation(summary = "Consultar exportação de PDFs", description = "Retorna a situação de uma exportação assíncrona")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Situação da exportação",
+            content = @Content(schema = @Schema(implementation = ExportacaoPdfDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Exportação não encontrada ou expirada", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content)
+    })
+    public ResponseEntity<ExportacaoPdfDTO> consultarExportacaoPDFs(
+        @Parameter(description = "Token da exportação", example = "123e4567-e89b-12d3-a456-426614174000")
+        @PathVariable UUID token
+    ) {
+        return ResponseEntity.ok(pdfExportService.consultar(token));
+    }
+
+    /**
+     * Baixa o ZIP de uma exportação assíncrona concluída.
+     *
+     * @param token token da exportação
+     * @return ZIP com um PDF por OS (HTTP 200)
+     */
+    @GetMapping("/exportacoes-pdf/{token}/download")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'GERENTE')")
+    @Operation(summary = "Baixar exportação de PDFs", description = "Baixa o ZIP de uma exportação assíncrona concluída")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "ZIP com os PDFs",
+            content = @Content(mediaType = "application/zip")),
+        @ApiResponse(responseCode = "400", description = "Exportação ainda não concluída", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Exportação não encontrada ou expirada", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Sem permissão", content = @Content)
+    })
+    public ResponseEntity<Resource> baixarExportacaoPDFs(
+        @Parameter(description = "Token da exportação", example = "123e4567-e89b-12d3-a456-426614174000")
+        @PathVariable UUID token
+    ) {
+        log.info("GET /api/ordens-servico/exportacoes-pdf/{}/download", token);
 
         return ResponseEntity.ok()
-            .contentType(org.springframework.http.MediaType.APPLICATION_PDF)
-            .header("Content-Disposition", "attachment; filename=\"OS-" + id + ".pdf\"")
-            .body(pdfBytes);
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ordens-servico-" + token + ".zip\"")
+            .body(pdfExportService.baixar(token));
     }
 }
@@ -2,6 +2,7 @@ package com.pitstop.ordemservico.domain;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.ordemservico.domain.listener.OrcamentoPublicoSnapshotListener;
 import com.pitstop.shared.security.tenant.TenantContext;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -47,7 +48,7 @@ import java.util.UUID;
         @Index(name = "idx_item_os_created_at", columnList = "created_at")
     }
 )
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, OrcamentoPublicoSnapshotListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,7 @@ package com.pitstop.ordemservico.domain;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.ordemservico.domain.listener.OrcamentoPublicoSnapshotListener;
 import com.pitstop.shared.security.tenant.TenantContext;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -57,9 +58,12 @@ import java.util.UUID;
         @Index(name = "idx_ordem_servico_data_abertura", columnList = "data_abertura"),
         @Index(name = "idx_ordem_servico_status_data", columnList = "status, data_abertura"),
         @Index(name = "idx_ordem_servico_created_at", columnList = "created_at")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ordem_servico_oficina_numero", columnNames = {"oficina_id", "numero"})
     }
 )
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, OrcamentoPublicoSnapshotListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -102,10 +106,10 @@ public class OrdemServico implements Serializable {
     private Oficina oficina;
 
     /**
-     * Número sequencial único da OS (gerado por sequence do PostgreSQL).
-     * Exemplo: 1, 2, 3, ...
+     * Número sequencial da OS, único por oficina (gerado por {@code NumberBlockAllocator}).
+     * Exemplo: 1, 2, 3, ... (pode ter lacunas)
      */
-    @Column(name = "numero", nullable = false, unique = true, updatable = false)
+    @Column(name = "numero", nullable = false, updatable = false)
     private Long numero;
 
     /**
@@ -663,6 +667,16 @@ public class OrdemServico implements Serializable {
         this.tokenAprovacaoExpiracao = LocalDateTime.now().plusDays(7);
     }
 
+    /**
+     * Indica se a OS tem consulta pública de orçamento: token de aprovação gerado e não expirado.
+     *
+     * @return true se o link de aprovação ainda pode ser aberto
+     */
+    public boolean temOrcamentoPublicoAtivo() {
+        return this.tokenAprovacao != null
+            && (this.tokenAprovacaoExpiracao == null || !LocalDateTime.now().isAfter(this.tokenAprovacaoExpiracao));
+    }
+
     /**
      * Verifica se o token de aprovação é válido.
      *
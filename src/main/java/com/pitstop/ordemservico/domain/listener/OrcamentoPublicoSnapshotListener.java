@@ -0,0 +1,48 @@
+package com.pitstop.ordemservico.domain.listener;
+
+import com.pitstop.ordemservico.domain.ItemOS;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.service.OrcamentoPublicoSnapshotService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@link OrdemServico} e {@link ItemOS}: agenda a reconstrução do snapshot público
+ * do orçamento ({@link OrcamentoPublicoSnapshotService}) após o commit. OS sem token de aprovação
+ * ou com o token expirado não têm consulta pública e são ignoradas.
+ *
+ * <p>Instanciado pelo Hibernate via Spring; o service é resolvido sob demanda para não criar um ciclo
+ * com o {@code EntityManagerFactory}.</p>
+ *
+ * @author PitStop Team
+ */
+@Component
+public class OrcamentoPublicoSnapshotListener {
+
+    private final ObjectProvider<OrcamentoPublicoSnapshotService> snapshotService;
+
+    public OrcamentoPublicoSnapshotListener(ObjectProvider<OrcamentoPublicoSnapshotService> snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aoAlterar(Object entidade) {
+        OrdemServico os = switch (entidade) {
+            case OrdemServico ordemServico -> ordemServico;
+            case ItemOS item -> item.getOrdemServico();
+            default -> null;
+        };
+        if (os == null || !os.temOrcamentoPublicoAtivo()) {
+            return;
+        }
+        OrcamentoPublicoSnapshotService service = snapshotService.getIfAvailable();
+        if (service != null) {
+            service.agendarReconstrucao(os);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pitstop.ordemservico.dto;
+
+import com.pitstop.ordemservico.domain.StatusOS;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resultado da busca textual de OS.
+ *
+ * <p>Os destaques são trechos do texto com os termos encontrados entre {@code <mark>} e
+ * {@code </mark>}; o restante do texto já vem com HTML escapado.</p>
+ *
+ * @author PitStop Team
+ * @since 1.0.0
+ */
+@Schema(description = "OS encontrada na busca textual")
+public record BuscaOrdemServicoDTO(
+
+    @Schema(description = "ID da OS", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID id,
+
+    @Schema(description = "Número da OS", example = "1234")
+    Long numero,
+
+    @Schema(description = "Status da OS", example = "ENTREGUE")
+    StatusOS status,
+
+    @Schema(description = "Data de abertura", example = "2025-11-01T10:00:00")
+    LocalDateTime dataAbertura,
+
+    @Schema(description = "Placa do veículo", example = "ABC1D23")
+    String veiculoPlaca,
+
+    @Schema(description = "Nome do cliente", example = "Maria da Silva")
+    String clienteNome,
+
+    @Schema(description = "Relevância (maior = mais relevante)", example = "0.35")
+    float relevancia,
+
+    @Schema(description = "Trecho destacado dos problemas relatados", example = "<mark>barulho</mark> no <mark>freio</mark> dianteiro")
+    String destaqueProblemas,
+
+    @Schema(description = "Trecho destacado do diagnóstico")
+    String destaqueDiagnostico,
+
+    @Schema(description = "Trecho destacado das observações")
+    String destaqueObservacoes
+) {
+}
@@ -0,0 +1,40 @@
+package com.pitstop.ordemservico.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Situação de uma exportação assíncrona de PDFs de OS.
+ *
+ * @author PitStop Team
+ * @since 1.0.0
+ */
+@Schema(description = "Exportação assíncrona de PDFs de OS")
+public record ExportacaoPdfDTO(
+
+    @Schema(description = "Token de download da exportação", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID token,
+
+    @Schema(description = "Situação da exportação", example = "PROCESSANDO")
+    Status status,
+
+    @Schema(description = "Tamanho do ZIP em bytes (quando concluída)", example = "15728640")
+    Long tamanhoBytes,
+
+    @Schema(description = "Motivo da falha (quando com erro)")
+    String erro
+) {
+
+    /**
+     * Situação da exportação.
+     */
+    public enum Status {
+        /** Na fila ou gerando o ZIP */
+        PROCESSANDO,
+        /** ZIP pronto para download */
+        CONCLUIDO,
+        /** Falhou; gere novamente */
+        ERRO
+    }
+}
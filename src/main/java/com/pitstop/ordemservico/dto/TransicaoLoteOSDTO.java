@@ -0,0 +1,27 @@
+package com.pitstop.ordemservico.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para transição de status de várias OS em uma única operação.
+ *
+ * @author PitStop Team
+ * @since 1.0.0
+ */
+@Schema(description = "OS a transicionar em lote")
+public record TransicaoLoteOSDTO(
+
+    @Schema(description = "IDs das OS (máximo 100)",
+            example = "[\"123e4567-e89b-12d3-a456-426614174000\"]",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "Informe ao menos uma OS")
+    @Size(max = 100, message = "Máximo de 100 OS por lote")
+    List<@NotNull(message = "ID da OS é obrigatório") UUID> ids
+) {
+}
@@ -4,11 +4,13 @@ import com.pitstop.ordemservico.domain.StatusOS;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * Evento disparado quando uma Ordem de Serviço é cancelada.
- * Este evento é consumido pelo módulo de estoque para estornar baixas (se OS estava finalizada).
+ * Este evento é consumido pelo módulo de estoque para estornar baixas (se OS estava finalizada)
+ * e pelos contadores de uso do plano (OS/mês).
  *
  * <p><strong>Características:</strong></p>
  * <ul>
@@ -25,6 +27,8 @@ import java.util.UUID;
 public class OrdemServicoCanceladaEvent extends ApplicationEvent {
 
     private final UUID ordemServicoId;
+    private final UUID oficinaId;
+    private final LocalDateTime dataAbertura;
     private final Long numeroOS;
     private final UUID usuarioId;
     private final StatusOS statusAnterior;
@@ -35,6 +39,8 @@ public class OrdemServicoCanceladaEvent extends ApplicationEvent {
      *
      * @param source objeto que disparou o evento
      * @param ordemServicoId ID da OS cancelada
+     * @param oficinaId ID da oficina (tenant)
+     * @param dataAbertura data de abertura da OS (mês em que contou no limite do plano)
      * @param numeroOS número sequencial da OS
      * @param usuarioId ID do usuário que cancelou
      * @param statusAnterior status da OS antes do cancelamento
@@ -43,6 +49,8 @@ public class OrdemServicoCanceladaEvent extends ApplicationEvent {
     public OrdemServicoCanceladaEvent(
             Object source,
             UUID ordemServicoId,
+            UUID oficinaId,
+            LocalDateTime dataAbertura,
             Long numeroOS,
             UUID usuarioId,
             StatusOS statusAnterior,
@@ -50,6 +58,8 @@ public class OrdemServicoCanceladaEvent extends ApplicationEvent {
     ) {
         super(source);
         this.ordemServicoId = ordemServicoId;
+        this.oficinaId = oficinaId;
+        this.dataAbertura = dataAbertura;
         this.numeroOS = numeroOS;
         this.usuarioId = usuarioId;
         this.statusAnterior = statusAnterior;
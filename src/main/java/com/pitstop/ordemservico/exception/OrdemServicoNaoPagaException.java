@@ -1,6 +1,8 @@
 package com.pitstop.ordemservico.exception;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Exception lançada quando tenta-se entregar uma OS que não está quitada.
@@ -14,4 +16,9 @@ public class OrdemServicoNaoPagaException extends RuntimeException {
     public OrdemServicoNaoPagaException(Long numero) {
         super(String.format("Ordem de Serviço #%d não pode ser entregue pois não está quitada", numero));
     }
+
+    public OrdemServicoNaoPagaException(List<Long> numeros) {
+        super(String.format("Ordens de Serviço %s não podem ser entregues pois não estão quitadas",
+            numeros.stream().map(numero -> "#" + numero).collect(Collectors.joining(", "))));
+    }
 }
@@ -2,16 +2,21 @@ package com.pitstop.ordemservico.repository;
 
 import com.pitstop.ordemservico.domain.OrdemServico;
 import com.pitstop.ordemservico.domain.StatusOS;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,15 +41,6 @@ import java.util.UUID;
 @Repository
 public interface OrdemServicoRepository extends JpaRepository<OrdemServico, UUID> {
 
-    /**
-     * Gera o próximo número sequencial de OS.
-     * Usa a sequence do PostgreSQL (ordem_servico_numero_seq).
-     *
-     * @return próximo número disponível
-     */
-    @Query(value = "SELECT nextval('ordem_servico_numero_seq')", nativeQuery = true)
-    Long getNextNumero();
-
     /**
      * Busca OS por número sequencial em uma oficina específica.
      *
@@ -381,6 +377,112 @@ public interface OrdemServicoRepository extends JpaRepository<OrdemServico, UUID
     @Query("SELECT os FROM OrdemServico os WHERE os.oficina.id = :oficinaId AND os.id = :id")
     Optional<OrdemServico> findByOficinaIdAndId(@Param("oficinaId") UUID oficinaId, @Param("id") UUID id);
 
+    /**
+     * Lista ID e número das OS do período/status, em ordem de número, para a exportação de PDFs.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param status status da OS (null para ignorar)
+     * @param dataInicio data inicial da abertura (null para ignorar)
+     * @param dataFim data final da abertura (null para ignorar)
+     * @return linhas {@code [id, numero]}
+     */
+    @Query("""
+        SELECT os.id, os.numero FROM OrdemServico os
+        WHERE os.oficina.id = :oficinaId
+        AND (:status IS NULL OR CAST(os.status AS string) = :status)
+        AND os.dataAbertura >= COALESCE(:dataInicio, CAST('1900-01-01 00:00:00' AS timestamp))
+        AND os.dataAbertura <= COALESCE(:dataFim, CAST('9999-12-31 23:59:59' AS timestamp))
+        ORDER BY os.numero
+        """)
+    List<Object[]> findIdNumeroParaExportacao(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("status") String status,
+        @Param("dataInicio") LocalDateTime dataInicio,
+        @Param("dataFim") LocalDateTime dataFim
+    );
+
+    /**
+     * Busca a versão do PDF da OS, usada como chave do cache de PDF: a alteração mais recente
+     * entre a OS, a oficina, o veículo, o cliente (inclusive inativo) e o mecânico, que são os
+     * dados impressos no PDF.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param id ID da ordem de serviço
+     * @return data da última alteração, ou vazio se a OS não existir na oficina
+     */
+    @Query(value = """
+        SELECT GREATEST(os.updated_at, o.updated_at, v.updated_at, c.updated_at, u.updated_at)
+        FROM ordem_servico os
+        INNER JOIN oficinas o ON o.id = os.oficina_id
+        LEFT JOIN veiculos v ON v.id = os.veiculo_id AND v.oficina_id = os.oficina_id
+        LEFT JOIN clientes c ON c.id = v.cliente_id AND c.oficina_id = os.oficina_id
+        LEFT JOIN usuarios u ON u.id = os.usuario_id AND u.oficina_id = os.oficina_id
+        WHERE os.oficina_id = CAST(:oficinaId AS UUID) AND os.id = CAST(:id AS UUID)
+        """, nativeQuery = true)
+    Optional<LocalDateTime> findVersaoPdfByOficinaIdAndId(@Param("oficinaId") UUID oficinaId, @Param("id") UUID id);
+
+    /**
+     * Busca a OS para a tela de detalhe em uma única query: itens (fetch join), veículo,
+     * mecânico e cliente.
+     *
+     * <p>Retorna uma linha {@code [OrdemServico, Veiculo, Usuario, Cliente]} por item (todas com a
+     * mesma OS), ou lista vazia se a OS não existir na oficina. Veículo e mecânico vêm nulos se não
+     * pertencerem à oficina. O cliente vem nulo se estiver inativo ({@code @Where} de Cliente
+     * também se aplica ao join); nesse caso o chamador busca com
+     * {@code ClienteRepository.findByOficinaIdAndIdIncludingInactive}.</p>
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param id ID da ordem de serviço
+     * @return linhas da OS com dados relacionados
+     */
+    @Query("""
+        SELECT os, v, u, c FROM OrdemServico os
+        LEFT JOIN FETCH os.itens
+        LEFT JOIN Veiculo v ON v.id = os.veiculoId AND v.oficina.id = :oficinaId
+        LEFT JOIN Usuario u ON u.id = os.usuarioId AND u.oficina.id = :oficinaId
+        LEFT JOIN Cliente c ON c.id = v.clienteId AND c.oficina.id = :oficinaId
+        WHERE os.oficina.id = :oficinaId AND os.id = :id
+        """)
+    List<Object[]> findDetalheByOficinaIdAndId(@Param("oficinaId") UUID oficinaId, @Param("id") UUID id);
+
+    /**
+     * Igual a {@link #findDetalheByOficinaIdAndId}, buscando pelo número sequencial.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param numero número da OS
+     * @return linhas da OS com dados relacionados
+     */
+    @Query("""
+        SELECT os, v, u, c FROM OrdemServico os
+        LEFT JOIN FETCH os.itens
+        LEFT JOIN Veiculo v ON v.id = os.veiculoId AND v.oficina.id = :oficinaId
+        LEFT JOIN Usuario u ON u.id = os.usuarioId AND u.oficina.id = :oficinaId
+        LEFT JOIN Cliente c ON c.id = v.clienteId AND c.oficina.id = :oficinaId
+        WHERE os.oficina.id = :oficinaId AND os.numero = :numero
+        """)
+    List<Object[]> findDetalheByOficinaIdAndNumero(@Param("oficinaId") UUID oficinaId, @Param("numero") Long numero);
+
+    /**
+     * Busca várias OS de uma oficina com os itens (fetch join), para transições em lote.
+     *
+     * <p>As entidades são carregadas como somente leitura: a transição é aplicada em memória para
+     * validar a máquina de estados e gravada com JDBC em lote, sem dirty checking do Hibernate.</p>
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param ids IDs das ordens de serviço
+     * @return OS encontradas (IDs de outra oficina ficam de fora)
+     */
+    @Query("""
+        SELECT DISTINCT os FROM OrdemServico os
+        LEFT JOIN FETCH os.itens
+        WHERE os.oficina.id = :oficinaId AND os.id IN :ids
+        """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OrdemServico> findParaTransicaoByOficinaIdAndIdIn(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("ids") Collection<UUID> ids
+    );
+
     /**
      * Busca todas as ordens de serviço de uma oficina com paginação.
      *
@@ -499,6 +601,27 @@ public interface OrdemServicoRepository extends JpaRepository<OrdemServico, UUID
     @Query("SELECT os FROM OrdemServico os WHERE os.tokenAprovacao = :tokenAprovacao")
     Optional<OrdemServico> findByTokenAprovacao(@Param("tokenAprovacao") String tokenAprovacao);
 
+    /**
+     * Busca OS por token de aprovação com os itens (fetch join), para montar o snapshot público
+     * do orçamento. Acesso público, sem verificação de tenant.
+     *
+     * @param tokenAprovacao token único de aprovação
+     * @return Optional contendo a OS se encontrada
+     */
+    @Query("SELECT DISTINCT os FROM OrdemServico os LEFT JOIN FETCH os.itens WHERE os.tokenAprovacao = :tokenAprovacao")
+    Optional<OrdemServico> findComItensByTokenAprovacao(@Param("tokenAprovacao") String tokenAprovacao);
+
+    /**
+     * Busca OS por ID com os itens (fetch join), para reconstruir os snapshots públicos de
+     * orçamento das OS alteradas numa transação com uma query. Sem verificação de tenant
+     * (executado após o commit).
+     *
+     * @param ids IDs das ordens de serviço
+     * @return OS encontradas, com os itens
+     */
+    @Query("SELECT DISTINCT os FROM OrdemServico os LEFT JOIN FETCH os.itens WHERE os.id IN :ids")
+    List<OrdemServico> findComItensByIdIn(@Param("ids") Collection<UUID> ids);
+
     // ========== QUERIES PARA LIMITES DE PLANO ==========
 
     /**
@@ -593,7 +716,7 @@ public interface OrdemServicoRepository extends JpaRepository<OrdemServico, UUID
      * @param dataInicio data inicial do período (null para ignorar)
      * @param dataFim data final do período (null para ignorar)
      * @param pageable configuração de paginação e ordenação
-     * @return página de arrays com dados completos
+     * @return fatia de arrays com dados completos (sem COUNT, ver {@link #countByFiltros})
      */
     @Query(value = """
         SELECT
@@ -636,24 +759,241 @@ public interface OrdemServicoRepository extends JpaRepository<OrdemServico, UUID
         AND (CAST(:dataFim AS timestamp) IS NULL OR os.data_abertura <= :dataFim)
         ORDER BY os.data_abertura DESC
         """,
-        countQuery = """
-        SELECT COUNT(*)
+        nativeQuery = true)
+    Slice<Object[]> findByFiltrosOptimized(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("status") String status,
+        @Param("veiculoId") UUID veiculoId,
+        @Param("usuarioId") UUID usuarioId,
+        @Param("dataInicio") LocalDateTime dataInicio,
+        @Param("dataFim") LocalDateTime dataFim,
+        Pageable pageable
+    );
+
+    /**
+     * Listagem por cursor (keyset): mesmos filtros e colunas de {@link #findByFiltrosOptimized}, sem
+     * OFFSET nem COUNT. Retorna as OS anteriores ao cursor {@code (data_abertura, id)} na ordem
+     * {@code data_abertura DESC, id DESC}; a primeira página é pedida com cursor nulo.
+     * Usa o índice {@code idx_ordem_servico_oficina_data_id}.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param status status da OS (null para ignorar)
+     * @param veiculoId ID do veículo (null para ignorar)
+     * @param usuarioId ID do mecânico (null para ignorar)
+     * @param dataInicio data inicial do período (null para ignorar)
+     * @param dataFim data final do período (null para ignorar)
+     * @param cursorData data de abertura da última OS da página anterior (null na primeira página)
+     * @param cursorId ID da última OS da página anterior (null na primeira página)
+     * @param limite quantidade máxima de linhas
+     * @return arrays com dados completos, índices conforme {@link #findByFiltrosOptimized}
+     */
+    @Query(value = """
+        SELECT
+            os.id AS os_id,
+            os.numero,
+            os.status,
+            os.data_abertura,
+            os.data_previsao,
+            os.data_finalizacao,
+            os.data_entrega,
+            os.valor_mao_obra,
+            os.valor_pecas,
+            os.valor_total,
+            os.desconto_percentual,
+            os.valor_final,
+            os.problemas_relatados,
+            os.diagnostico,
+            os.observacoes,
+            os.veiculo_id,
+            os.usuario_id,
+            v.placa AS veiculo_placa,
+            v.marca AS veiculo_marca,
+            v.modelo AS veiculo_modelo,
+            v.ano AS veiculo_ano,
+            v.cor AS veiculo_cor,
+            v.cliente_id,
+            c.nome AS cliente_nome,
+            c.telefone AS cliente_telefone,
+            c.email AS cliente_email,
+            u.nome AS mecanico_nome
         FROM ordem_servico os
+        LEFT JOIN veiculos v ON os.veiculo_id = v.id
+        LEFT JOIN clientes c ON v.cliente_id = c.id
+        LEFT JOIN usuarios u ON os.usuario_id = u.id
         WHERE os.oficina_id = :oficinaId
         AND (:status IS NULL OR os.status = :status)
         AND (:veiculoId IS NULL OR os.veiculo_id = :veiculoId)
         AND (:usuarioId IS NULL OR os.usuario_id = :usuarioId)
         AND (CAST(:dataInicio AS timestamp) IS NULL OR os.data_abertura >= :dataInicio)
         AND (CAST(:dataFim AS timestamp) IS NULL OR os.data_abertura <= :dataFim)
+        AND (CAST(:cursorData AS timestamp) IS NULL
+             OR (os.data_abertura, os.id) < (CAST(:cursorData AS timestamp), CAST(:cursorId AS uuid)))
+        ORDER BY os.data_abertura DESC, os.id DESC
+        LIMIT :limite
         """,
         nativeQuery = true)
-    Page<Object[]> findByFiltrosOptimized(
+    List<Object[]> findByFiltrosKeyset(
         @Param("oficinaId") UUID oficinaId,
         @Param("status") String status,
         @Param("veiculoId") UUID veiculoId,
         @Param("usuarioId") UUID usuarioId,
         @Param("dataInicio") LocalDateTime dataInicio,
         @Param("dataFim") LocalDateTime dataFim,
+        @Param("cursorData") LocalDateTime cursorData,
+        @Param("cursorId") UUID cursorId,
+        @Param("limite") int limite
+    );
+
+    /**
+     * Busca textual da OS (coluna gerada {@code busca}, configuração {@code pitstop_pt}, índice GIN
+     * {@code (oficina_id, busca)}). Usada por {@link #buscarTexto} e pelo benchmark da busca.
+     */
+    String SQL_BUSCA_TEXTO = """
+        WITH q AS (SELECT websearch_to_tsquery('pitstop_pt', :termo) AS consulta)
+        SELECT
+            p.id,
+            p.numero,
+            p.status,
+            p.data_abertura,
+            p.relevancia,
+            ts_headline('pitstop_pt', COALESCE(p.problemas_relatados, ''), q.consulta, :opcoesDestaque) AS destaque_problemas,
+            ts_headline('pitstop_pt', COALESCE(p.diagnostico, ''), q.consulta, :opcoesDestaque) AS destaque_diagnostico,
+            ts_headline('pitstop_pt', COALESCE(p.observacoes, ''), q.consulta, :opcoesDestaque) AS destaque_observacoes,
+            v.placa AS veiculo_placa,
+            c.nome AS cliente_nome
+        FROM (
+            SELECT os.id, os.numero, os.status, os.data_abertura, os.veiculo_id,
+                   os.problemas_relatados, os.diagnostico, os.observacoes,
+                   ts_rank_cd(os.busca, q.consulta) AS relevancia
+            FROM ordem_servico os, q
+            WHERE os.oficina_id = :oficinaId
+            AND os.busca @@ q.consulta
+            AND (CAST(:cursorRelevancia AS real) IS NULL
+                 OR (ts_rank_cd(os.busca, q.consulta), os.id) < (CAST(:cursorRelevancia AS real), CAST(:cursorId AS uuid)))
+            ORDER BY relevancia DESC, os.id DESC
+            LIMIT :limite
+        ) p
+        CROSS JOIN q
+        LEFT JOIN veiculos v ON p.veiculo_id = v.id
+        LEFT JOIN clientes c ON v.cliente_id = c.id
+        ORDER BY p.relevancia DESC, p.id DESC
+        """;
+
+    /**
+     * Busca OS da oficina por texto em problemas relatados, diagnóstico e observações, por relevância,
+     * com paginação por cursor (keyset em {@code (relevancia, id)}).
+     *
+     * <p>O termo aceita a sintaxe de {@code websearch_to_tsquery}: palavras (todas obrigatórias),
+     * {@code "frase exata"}, {@code or} e {@code -excluir}. Os trechos destacados ({@code ts_headline})
+     * só são calculados para as linhas da página.</p>
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param termo texto buscado
+     * @param opcoesDestaque opções do {@code ts_headline} (marcadores, tamanho dos trechos)
+     * @param cursorRelevancia relevância da última OS da página anterior (null na primeira página)
+     * @param cursorId ID da última OS da página anterior (null na primeira página)
+     * @param limite quantidade máxima de linhas
+     * @return arrays [id, numero, status, data_abertura, relevancia, destaque_problemas,
+     *         destaque_diagnostico, destaque_observacoes, veiculo_placa, cliente_nome]
+     */
+    @Query(value = SQL_BUSCA_TEXTO, nativeQuery = true)
+    List<Object[]> buscarTexto(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("termo") String termo,
+        @Param("opcoesDestaque") String opcoesDestaque,
+        @Param("cursorRelevancia") Float cursorRelevancia,
+        @Param("cursorId") UUID cursorId,
+        @Param("limite") int limite
+    );
+
+    /**
+     * Total de OS para os filtros de {@link #findByFiltrosOptimized}.
+     * Só é executado quando o cliente pede o total (cacheado pelo {@code PageCounter} na listagem paginada).
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param status status da OS (null para ignorar)
+     * @param veiculoId ID do veículo (null para ignorar)
+     * @param usuarioId ID do mecânico (null para ignorar)
+     * @param dataInicio data inicial do período (null para ignorar)
+     * @param dataFim data final do período (null para ignorar)
+     * @return quantidade de OS
+     */
+    @Query(value = """
+        SELECT COUNT(*)
+        FROM ordem_servico os
+        WHERE os.oficina_id = :oficinaId
+        AND (:status IS NULL OR os.status = :status)
+        AND (:veiculoId IS NULL OR os.veiculo_id = :veiculoId)
+        AND (:usuarioId IS NULL OR os.usuario_id = :usuarioId)
+        AND (CAST(:dataInicio AS timestamp) IS NULL OR os.data_abertura >= :dataInicio)
+        AND (CAST(:dataFim AS timestamp) IS NULL OR os.data_abertura <= :dataFim)
+        """,
+        nativeQuery = true)
+    long countByFiltros(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("status") String status,
+        @Param("veiculoId") UUID veiculoId,
+        @Param("usuarioId") UUID usuarioId,
+        @Param("dataInicio") LocalDateTime dataInicio,
+        @Param("dataFim") LocalDateTime dataFim
+    );
+
+    /**
+     * Histórico de OS de um veículo com JOINs - evita N+1.
+     * Mesmas colunas (e ordem) de {@link #findByFiltrosOptimized}, para usar o mesmo mapeamento.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param veiculoId ID do veículo
+     * @param pageable configuração de paginação
+     * @return página de arrays com dados completos, da OS mais recente para a mais antiga
+     */
+    @Query(value = """
+        SELECT
+            os.id AS os_id,
+            os.numero,
+            os.status,
+            os.data_abertura,
+            os.data_previsao,
+            os.data_finalizacao,
+            os.data_entrega,
+            os.valor_mao_obra,
+            os.valor_pecas,
+            os.valor_total,
+            os.desconto_percentual,
+            os.valor_final,
+            os.problemas_relatados,
+            os.diagnostico,
+            os.observacoes,
+            os.veiculo_id,
+            os.usuario_id,
+            v.placa AS veiculo_placa,
+            v.marca AS veiculo_marca,
+            v.modelo AS veiculo_modelo,
+            v.ano AS veiculo_ano,
+            v.cor AS veiculo_cor,
+            v.cliente_id,
+            c.nome AS cliente_nome,
+            c.telefone AS cliente_telefone,
+            c.email AS cliente_email,
+            u.nome AS mecanico_nome
+        FROM ordem_servico os
+        LEFT JOIN veiculos v ON os.veiculo_id = v.id
+        LEFT JOIN clientes c ON v.cliente_id = c.id
+        LEFT JOIN usuarios u ON os.usuario_id = u.id
+        WHERE os.oficina_id = :oficinaId
+        AND os.veiculo_id = :veiculoId
+        ORDER BY os.data_abertura DESC
+        """,
+        countQuery = """
+        SELECT COUNT(*)
+        FROM ordem_servico os
+        WHERE os.oficina_id = :oficinaId
+        AND os.veiculo_id = :veiculoId
+        """,
+        nativeQuery = true)
+    Page<Object[]> findHistoricoVeiculoOptimized(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("veiculoId") UUID veiculoId,
         Pageable pageable
     );
 }
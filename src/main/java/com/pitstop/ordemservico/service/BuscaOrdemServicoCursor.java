@@ -0,0 +1,51 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.ordemservico.exception.OrdemServicoValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição na busca textual de OS: última {@code (relevancia, id)} da página anterior.
+ *
+ * <p>Serializada como Base64 URL-safe de {@code relevancia|id}. Só vale para o mesmo termo.</p>
+ *
+ * @param relevancia relevância da última OS retornada
+ * @param id ID da última OS retornada (desempate entre OS com a mesma relevância)
+ */
+record BuscaOrdemServicoCursor(float relevancia, UUID id) {
+
+    private static final char SEPARADOR = '|';
+
+    /**
+     * Gera o token opaco do cursor.
+     */
+    String encode() {
+        String raw = Float.toString(relevancia) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê o token recebido do cliente.
+     *
+     * @param token token de {@code nextCursor}
+     * @return cursor
+     * @throws OrdemServicoValidationException se o token for inválido
+     */
+    static BuscaOrdemServicoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = raw.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("separador ausente");
+            }
+            return new BuscaOrdemServicoCursor(
+                Float.parseFloat(raw.substring(0, separador)),
+                UUID.fromString(raw.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new OrdemServicoValidationException("Cursor de paginação inválido");
+        }
+    }
+}
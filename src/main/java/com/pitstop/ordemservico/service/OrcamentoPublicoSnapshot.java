@@ -0,0 +1,24 @@
+package com.pitstop.ordemservico.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta pronta da consulta pública de orçamento ({@code GET /api/public/orcamento/{token}}).
+ *
+ * <p>Imutável: montada quando o token é gerado ou a OS muda, e servida sem acessar o banco.</p>
+ *
+ * @param etag ETag forte do corpo (entre aspas)
+ * @param expiraEm expiração do token de aprovação (null se não expira)
+ * @param corpo corpo JSON da resposta
+ * @param versao versão da OS ({@code @Version}) usada na montagem; um snapshot nunca substitui
+ *               outro de versão mais nova
+ */
+public record OrcamentoPublicoSnapshot(String etag, LocalDateTime expiraEm, String corpo, long versao) {
+
+    /**
+     * @return se o token de aprovação já expirou
+     */
+    public boolean expirado() {
+        return expiraEm != null && LocalDateTime.now().isAfter(expiraEm);
+    }
+}
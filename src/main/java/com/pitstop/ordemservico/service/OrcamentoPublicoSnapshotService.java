@@ -0,0 +1,298 @@
+package com.pitstop.ordemservico.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.listener.OrcamentoPublicoSnapshotListener;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.domain.TipoItem;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.shared.redis.CircuitBreakingRedisConnectionFactory;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Snapshots da consulta pública de orçamento, no Redis, por token de aprovação.
+ *
+ * <p>O cliente abre o link do WhatsApp várias vezes; cada visualização repetida é uma leitura
+ * no Redis (ou um 304 pelo ETag), sem acessar o banco.</p>
+ *
+ * <p><b>Montagem:</b> o snapshot é (re)montado após o commit de qualquer transação que grave a OS
+ * ou seus itens ({@link OrcamentoPublicoSnapshotListener}, e {@link OrdemServicoLoteService} para a
+ * gravação via JDBC), inclusive a criação, quando o token é gerado. As OS alteradas numa transação
+ * são carregadas com uma única query ({@value #LOTE_RECONSTRUCAO} por vez). OS sem token ativo
+ * não são agendadas. Se não estiver no Redis (expirado, Redis fora), é montado na consulta a
+ * partir do banco.</p>
+ *
+ * <p><b>Concorrência:</b> cada snapshot leva a versão da OS ({@code @Version}) e a gravação é
+ * condicional (script Lua): um snapshot mais antigo, montado por uma consulta que leu o banco antes
+ * de um commit concorrente, nunca substitui o mais novo.</p>
+ *
+ * <p><b>Validade:</b> o snapshot expira junto com o token de aprovação. Falhas do Redis são
+ * ignoradas: a consulta vai ao banco.</p>
+ *
+ * @author PitStop Team
+ */
+@Slf4j
+@Component
+public class OrcamentoPublicoSnapshotService {
+
+    private static final String KEY_PREFIX = "orcamento:publico:";
+
+    /** OS carregadas por query na reconstrução após o commit. */
+    private static final int LOTE_RECONSTRUCAO = 500;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final ObjectMapper objectMapper;
+    private final DefaultRedisScript<Long> guardarScript;
+
+    @Autowired
+    public OrcamentoPublicoSnapshotService(
+            RedisConnectionFactory connectionFactory,
+            RedisCircuitBreaker circuitBreaker,
+            OrdemServicoRepository ordemServicoRepository,
+            ObjectMapper objectMapper
+    ) {
+        this(template(new CircuitBreakingRedisConnectionFactory(connectionFactory, circuitBreaker)),
+                ordemServicoRepository, objectMapper);
+    }
+
+    OrcamentoPublicoSnapshotService(
+            RedisTemplate<String, byte[]> redisTemplate,
+            OrdemServicoRepository ordemServicoRepository,
+            ObjectMapper objectMapper
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.objectMapper = objectMapper;
+
+        this.guardarScript = new DefaultRedisScript<>();
+        this.guardarScript.setScriptSource(
+                new ResourceScriptSource(new ClassPathResource("redis/orcamento_snapshot_guardar.lua")));
+        this.guardarScript.setResultType(Long.class);
+    }
+
+    private static RedisTemplate<String, byte[]> template(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Busca o snapshot do orçamento: do Redis, ou montado a partir do banco (e guardado).
+     *
+     * @param token token de aprovação
+     * @return snapshot (pode estar expirado: ver {@link OrcamentoPublicoSnapshot#expirado()}),
+     *         ou vazio se nenhuma OS tiver o token
+     */
+    public Optional<OrcamentoPublicoSnapshot> buscar(String token) {
+        OrcamentoPublicoSnapshot cached = ler(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return ordemServicoRepository.findComItensByTokenAprovacao(token)
+                .map(this::montarEGuardar);
+    }
+
+    /**
+     * Reconstrói o snapshot da OS após o commit da transação atual (ou já, sem transação).
+     * Várias chamadas para a mesma OS numa transação reconstroem uma vez; OS sem token de
+     * aprovação ativo são ignoradas.
+     *
+     * @param os OS alterada
+     */
+    public void agendarReconstrucao(OrdemServico os) {
+        if (os == null || os.getId() == null || !os.temOrcamentoPublicoAtivo()) {
+            return;
+        }
+        UUID osId = os.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reconstruir(Set.of(osId));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<UUID> pendentes = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            Set<UUID> novas = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconstruir(novas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrcamentoPublicoSnapshotService.this);
+                }
+            });
+            pendentes = novas;
+        }
+        pendentes.add(osId);
+    }
+
+    private void reconstruir(Set<UUID> osIds) {
+        List<UUID> ids = List.copyOf(osIds);
+        for (int inicio = 0; inicio < ids.size(); inicio += LOTE_RECONSTRUCAO) {
+            List<UUID> lote = ids.subList(inicio, Math.min(inicio + LOTE_RECONSTRUCAO, ids.size()));
+            try {
+                ordemServicoRepository.findComItensByIdIn(lote).stream()
+                        .filter(OrdemServico::temOrcamentoPublicoAtivo)
+                        .forEach(this::montarEGuardar);
+            } catch (Exception e) {
+                log.warn("Falha ao reconstruir snapshots de orçamento de {} OS: {}", lote.size(), e.getMessage());
+            }
+        }
+    }
+
+    private OrcamentoPublicoSnapshot montarEGuardar(OrdemServico os) {
+        OrcamentoPublicoSnapshot snapshot = montar(os);
+        if (!snapshot.expirado()) {
+            guardar(os.getTokenAprovacao(), snapshot);
+        }
+        return snapshot;
+    }
+
+    private OrcamentoPublicoSnapshot montar(OrdemServico os) {
+        try {
+            String corpo = objectMapper.writeValueAsString(corpo(os));
+            long versao = os.getVersion() != null ? os.getVersion() : 0L;
+            return new OrcamentoPublicoSnapshot(etag(corpo), os.getTokenAprovacaoExpiracao(), corpo, versao);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o orçamento da OS " + os.getId(), e);
+        }
+    }
+
+    private Map<String, Object> corpo(OrdemServico os) {
+        Map<String, Object> response = new LinkedHashMap<>();
+
+        // Já aprovado: só a confirmação
+        if (Boolean.TRUE.equals(os.getAprovadoPeloCliente())) {
+            response.put("status", "JA_APROVADO");
+            response.put("mensagem", "Este orçamento já foi aprovado anteriormente.");
+            response.put("numero", os.getNumero());
+            response.put("dataAprovacao", os.getUpdatedAt());
+            return response;
+        }
+
+        response.put("numero", os.getNumero());
+        response.put("status", os.getStatus().name());
+        response.put("statusDescricao", os.getStatus().getDescricao());
+        response.put("problemasRelatados", os.getProblemasRelatados() != null ? os.getProblemasRelatados() : "");
+        response.put("diagnostico", os.getDiagnostico() != null ? os.getDiagnostico() : "");
+
+        // Modelo híbrido de mão de obra
+        response.put("tipoCobrancaMaoObra", os.getTipoCobrancaMaoObra() != null ? os.getTipoCobrancaMaoObra().name() : "VALOR_FIXO");
+        response.put("valorMaoObra", os.getValorMaoObra());
+        response.put("tempoEstimadoHoras", os.getTempoEstimadoHoras());
+        response.put("limiteHorasAprovado", os.getLimiteHorasAprovado());
+        response.put("valorHoraSnapshot", os.getValorHoraSnapshot());
+
+        response.put("valorPecas", os.getValorPecas());
+        response.put("valorTotal", os.getValorTotal());
+        response.put("descontoPercentual", os.getDescontoPercentual() != null ? os.getDescontoPercentual() : BigDecimal.ZERO);
+        response.put("descontoValor", os.getDescontoValor() != null ? os.getDescontoValor() : BigDecimal.ZERO);
+        response.put("valorFinal", os.getValorFinal());
+        response.put("dataPrevisao", os.getDataPrevisao() != null ? os.getDataPrevisao().format(DATE_FORMATTER) : null);
+        response.put("dataAbertura", os.getDataAbertura() != null ? os.getDataAbertura().format(DATETIME_FORMATTER) : null);
+        response.put("podeAprovar", os.getStatus() == StatusOS.ORCAMENTO);
+
+        // Itens (peças e serviços)
+        List<Map<String, Object>> itens = new ArrayList<>();
+        if (os.getItens() != null) {
+            os.getItens().forEach(item -> {
+                Map<String, Object> itemMap = new LinkedHashMap<>();
+                itemMap.put("tipo", item.getTipo().name());
+                itemMap.put("tipoDescricao", item.getTipo() == TipoItem.PECA ? "Peça" : "Serviço");
+                itemMap.put("descricao", item.getDescricao());
+                itemMap.put("quantidade", item.getQuantidade());
+                itemMap.put("valorUnitario", item.getValorUnitario());
+                itemMap.put("valorTotal", item.getValorTotal());
+                itens.add(itemMap);
+            });
+        }
+        response.put("itens", itens);
+
+        return response;
+    }
+
+    private OrcamentoPublicoSnapshot ler(String token) {
+        try {
+            byte[] valor = redisTemplate.opsForValue().get(KEY_PREFIX + token);
+            return valor != null ? objectMapper.readValue(valor, OrcamentoPublicoSnapshot.class) : null;
+        } catch (Exception e) {
+            log.warn("Falha ao ler snapshot de orçamento do cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void guardar(String token, OrcamentoPublicoSnapshot snapshot) {
+        // Expira junto com o token; tokens sem expiração ficam 7 dias
+        Duration ttl = snapshot.expiraEm() != null
+                ? Duration.between(LocalDateTime.now(), snapshot.expiraEm())
+                : Duration.ofDays(7);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        try {
+            // Compara a versão no Redis: uma leitura antiga (miss na consulta, reconstrução atrasada)
+            // não sobrescreve o snapshot gravado depois de um commit mais novo
+            Long gravado = redisTemplate.execute(
+                    guardarScript,
+                    List.of(KEY_PREFIX + token),
+                    String.valueOf(snapshot.versao()).getBytes(StandardCharsets.UTF_8),
+                    objectMapper.writeValueAsBytes(snapshot),
+                    String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8));
+            if (gravado != null && gravado == 0L) {
+                log.debug("Snapshot de orçamento da versão {} descartado: já existe versão mais nova", snapshot.versao());
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao gravar snapshot de orçamento no cache: {}", e.getMessage());
+        }
+    }
+
+    private static String etag(String corpo) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(corpo.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.ordemservico.exception.OrdemServicoValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição na listagem por cursor de OS: última {@code (data_abertura, id)} da página anterior.
+ *
+ * <p>Serializada como Base64 URL-safe de {@code dataAbertura|id}. O formato é interno: o cliente
+ * só devolve o token recebido em {@code nextCursor}.</p>
+ *
+ * @param dataAbertura data de abertura da última OS retornada
+ * @param id ID da última OS retornada (desempate entre OS abertas no mesmo instante)
+ */
+record OrdemServicoCursor(LocalDateTime dataAbertura, UUID id) {
+
+    private static final char SEPARADOR = '|';
+
+    /**
+     * Gera o token opaco do cursor.
+     */
+    String encode() {
+        String raw = dataAbertura.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê o token recebido do cliente.
+     *
+     * @param token token de {@code nextCursor}
+     * @return cursor
+     * @throws OrdemServicoValidationException se o token for inválido
+     */
+    static OrdemServicoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = raw.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("separador ausente");
+            }
+            return new OrdemServicoCursor(
+                LocalDateTime.parse(raw.substring(0, separador)),
+                UUID.fromString(raw.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new OrdemServicoValidationException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.cliente.domain.Cliente;
+import com.pitstop.cliente.repository.ClienteRepository;
+import com.pitstop.financeiro.repository.PagamentoRepository;
+import com.pitstop.notificacao.event.OrdemServicoEvent;
+import com.pitstop.notificacao.service.NotificacaoEventPublisher;
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.pitstop.ordemservico.domain.ItemOS;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.event.OrdemServicoFinalizadaEvent;
+import com.pitstop.ordemservico.exception.OrdemServicoNaoPagaException;
+import com.pitstop.ordemservico.exception.OrdemServicoNotFoundException;
+import com.pitstop.ordemservico.exception.TransicaoStatusInvalidaException;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.shared.persistence.BatchLoader;
+import com.pitstop.shared.security.CustomUserDetails;
+import com.pitstop.shared.security.tenant.TenantContext;
+import com.pitstop.usuario.domain.Usuario;
+import com.pitstop.usuario.repository.UsuarioRepository;
+import com.pitstop.veiculo.domain.Veiculo;
+import com.pitstop.veiculo.repository.VeiculoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service para transições de status de várias Ordens de Serviço em uma única transação.
+ *
+ * <p>Equivalente a chamar {@code aprovar}, {@code iniciar}, {@code finalizar} ou {@code entregar}
+ * de {@link OrdemServicoService} para cada OS, mas:</p>
+ * <ul>
+ *   <li>As OS são carregadas com uma query e a máquina de estados é validada em memória para todas;
+ *       se alguma transição for inválida, nada é gravado e o erro lista todas as OS recusadas</li>
+ *   <li>{@code ordem_servico} e {@code historico_status_os} são gravados com JDBC em lote
+ *       (um round trip por tabela), com controle de concorrência pela coluna {@code version}</li>
+ *   <li>O cache é invalidado uma vez por lote (por oficina); os snapshots públicos de orçamento
+ *       são reconstruídos após o commit</li>
+ *   <li>As notificações são gravadas no outbox com um único batch, com veículos, clientes e
+ *       mecânicos carregados em lote</li>
+ * </ul>
+ *
+ * <p>A baixa de estoque na finalização continua por OS ({@link OrdemServicoFinalizadaEvent},
+ * síncrona, na mesma transação).</p>
+ *
+ * @author PitStop Team
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class OrdemServicoLoteService {
+
+    private static final String SQL_ATUALIZAR_STATUS = """
+        UPDATE ordem_servico
+        SET status = ?, aprovado_pelo_cliente = ?, data_finalizacao = ?, data_entrega = ?,
+            updated_at = ?, version = version + 1
+        WHERE id = ? AND oficina_id = ? AND version = ?
+        """;
+
+    private static final int[] TIPOS_ATUALIZAR_STATUS = {
+        Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP,
+        Types.TIMESTAMP, Types.OTHER, Types.OTHER, Types.INTEGER
+    };
+
+    private static final String SQL_INSERIR_HISTORICO = """
+        INSERT INTO historico_status_os
+            (id, oficina_id, ordem_servico_id, status_anterior, status_novo,
+             usuario_id, usuario_nome, observacao, data_alteracao, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final int[] TIPOS_INSERIR_HISTORICO = {
+        Types.OTHER, Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR,
+        Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+
+    private final OrdemServicoRepository repository;
+    private final VeiculoRepository veiculoRepository;
+    private final ClienteRepository clienteRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final OficinaRepository oficinaRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final NotificacaoEventPublisher notificacaoEventPublisher;
+    private final AsyncPdfMailService asyncPdfMailService;
+    private final OrcamentoPublicoSnapshotService snapshotService;
+
+    /**
+     * Transição aplicada em memória, pendente de gravação.
+     *
+     * @param os OS já no novo status (entidade somente leitura)
+     * @param statusAnterior status antes da transição
+     * @param observacao observação do histórico
+     */
+    private record Transicao(OrdemServico os, StatusOS statusAnterior, String observacao) {
+    }
+
+    /**
+     * Dados para montar a notificação de uma OS.
+     */
+    private record Destinatario(OrdemServico os, Veiculo veiculo, Cliente cliente, Usuario mecanico) {
+
+        String telefone() {
+            return cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone();
+        }
+    }
+
+    // ===== STATUS TRANSITIONS =====
+
+    /**
+     * Aprova orçamentos em lote (ORCAMENTO → APROVADO).
+     *
+     * <p>Sem a aprovação do cliente a OS continua em ORCAMENTO ({@link OrdemServico#aprovar(boolean)}),
+     * então o lote não teria transição a gravar: é recusado antes de carregar as OS, em vez de
+     * gravar histórico ORCAMENTO → ORCAMENTO e notificar uma aprovação que não houve.</p>
+     *
+     * @param ids IDs das OS
+     * @param aprovadoPeloCliente indicador de aprovação do cliente (precisa ser true)
+     * @throws TransicaoStatusInvalidaException se o cliente não aprovou ou se alguma OS não estiver em ORCAMENTO
+     * @throws OrdemServicoNotFoundException se alguma OS não existir na oficina
+     */
+    @Transactional
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
+    public void aprovar(List<UUID> ids, Boolean aprovadoPeloCliente) {
+        log.info("Aprovando {} OS em lote, aprovado pelo cliente: {}", ids.size(), aprovadoPeloCliente);
+
+        if (!Boolean.TRUE.equals(aprovadoPeloCliente)) {
+            throw new TransicaoStatusInvalidaException(
+                "Nenhuma OS foi alterada. A aprovação em lote exige a aprovação do cliente");
+        }
+
+        UUID oficinaId = TenantContext.getTenantId();
+        List<Transicao> transicoes = aplicar(oficinaId, ids, os -> os.aprovar(true), "Orçamento aprovado pelo cliente");
+
+        gravar(oficinaId, transicoes);
+        log.info("{} OS aprovadas em lote", transicoes.size());
+
+        publicarNotificacoes(oficinaId, transicoes, false, (d, nomeOficina) -> OrdemServicoEvent.osAprovada(
+            this,
+            oficinaId,
+            d.os().getId(),
+            d.os().getNumero(),
+            d.cliente().getId(),
+            d.cliente().getNome(),
+            d.cliente().getEmail(),
+            d.telefone(),
+            nomeOficina
+        ));
+    }
+
+    /**
+     * Inicia a execução de várias OS (APROVADO → EM_ANDAMENTO).
+     *
+     * @param ids IDs das OS
+     * @throws OrdemServicoNotFoundException se alguma OS não existir na oficina
+     * @throws TransicaoStatusInvalidaException se alguma transição for inválida
+     */
+    @Transactional
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
+    public void iniciar(List<UUID> ids) {
+        log.info("Iniciando execução de {} OS em lote", ids.size());
+
+        UUID oficinaId = TenantContext.getTenantId();
+        List<Transicao> transicoes = aplicar(oficinaId, ids, OrdemServico::iniciar, "Execução do serviço iniciada");
+
+        gravar(oficinaId, transicoes);
+        log.info("{} OS iniciadas em lote", transicoes.size());
+
+        publicarNotificacoes(oficinaId, transicoes, true, (d, nomeOficina) -> OrdemServicoEvent.osEmAndamento(
+            this,
+            oficinaId,
+            d.os().getId(),
+            d.os().getNumero(),
+            d.cliente().getId(),
+            d.cliente().getNome(),
+            d.cliente().getEmail(),
+            d.telefone(),
+            d.veiculo().getPlacaFormatada(),
+            d.veiculo().getMarca() + " " + d.veiculo().getModelo(),
+            d.mecanico() != null ? d.mecanico().getNome() : "Equipe",
+            d.os().getDataPrevisao() != null ? d.os().getDataPrevisao().atStartOfDay() : null,
+            nomeOficina
+        ));
+    }
+
+    /**
+     * Finaliza várias OS sem informar horas (modelo VALOR_FIXO).
+     * A baixa de estoque ocorre por OS, na mesma transação.
+     *
+     * @param ids IDs das OS
+     * @throws OrdemServicoNotFoundException se alguma OS não existir na oficina
+     * @throws TransicaoStatusInvalidaException se alguma transição for inválida
+     * @throws com.pitstop.estoque.exception.EstoqueInsuficienteException se estoque insuficiente (rollback completo)
+     */
+    @Transactional
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
+    public void finalizar(List<UUID> ids) {
+        log.info("Finalizando {} OS em lote", ids.size());
+
+        UUID oficinaId = TenantContext.getTenantId();
+        List<Transicao> transicoes = aplicar(oficinaId, ids, OrdemServico::finalizar, "Serviço finalizado");
+
+        // Baixa automática de estoque (síncrono - mesma transação)
+        for (Transicao transicao : transicoes) {
+            OrdemServico os = transicao.os();
+            applicationEventPublisher.publishEvent(new OrdemServicoFinalizadaEvent(
+                this,
+                os.getId(),
+                os.getNumero(),
+                os.getUsuarioId(),
+                os.getItens()
+            ));
+        }
+
+        gravar(oficinaId, transicoes);
+        log.info("{} OS finalizadas em lote", transicoes.size());
+
+        publicarNotificacoes(oficinaId, transicoes, false, (d, nomeOficina) -> {
+            // Envia PDF por email de forma assíncrona (não bloqueia a resposta)
+            asyncPdfMailService.enviarPdfFinalizacaoAsync(
+                d.os().getId(),
+                d.os().getNumero(),
+                d.cliente(),
+                d.veiculo(),
+                d.os().getValorFinal(),
+                nomeOficina
+            );
+
+            return OrdemServicoEvent.osFinalizada(
+                this,
+                oficinaId,
+                d.os().getId(),
+                d.os().getNumero(),
+                d.cliente().getId(),
+                d.cliente().getNome(),
+                d.cliente().getEmail(),
+                d.telefone(),
+                d.veiculo().getPlacaFormatada(),
+                d.veiculo().getMarca() + " " + d.veiculo().getModelo(),
+                d.os().getValorFinal(),
+                d.os().getItens().stream().map(ItemOS::getDescricao).collect(Collectors.joining(", ")),
+                nomeOficina
+            );
+        });
+    }
+
+    /**
+     * Entrega vários veículos (FINALIZADO → ENTREGUE). Todas as OS precisam estar quitadas.
+     *
+     * @param ids IDs das OS
+     * @throws OrdemServicoNotFoundException se alguma OS não existir na oficina
+     * @throws TransicaoStatusInvalidaException se alguma transição for inválida
+     * @throws OrdemServicoNaoPagaException se alguma OS não estiver quitada
+     */
+    @Transactional
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
+    public void entregar(List<UUID> ids) {
+        log.info("Entregando veículos de {} OS em lote", ids.size());
+
+        UUID oficinaId = TenantContext.getTenantId();
+        List<Transicao> transicoes = aplicar(oficinaId, ids, OrdemServico::entregar, "Veículo entregue ao cliente");
+
+        // Valida quitação de todas as OS com uma query (integração com módulo Financeiro)
+        Set<UUID> naoQuitadas = new HashSet<>(pagamentoRepository.findOrdemServicoIdsNaoQuitadas(
+            oficinaId, transicoes.stream().map(t -> t.os().getId()).toList()));
+        if (!naoQuitadas.isEmpty()) {
+            throw new OrdemServicoNaoPagaException(transicoes.stream()
+                .map(Transicao::os)
+                .filter(os -> naoQuitadas.contains(os.getId()))
+                .map(OrdemServico::getNumero)
+                .toList());
+        }
+
+        gravar(oficinaId, transicoes);
+        log.info("{} OS entregues em lote", transicoes.size());
+
+        publicarNotificacoes(oficinaId, transicoes, false, (d, nomeOficina) -> OrdemServicoEvent.osEntregue(
+            this,
+            oficinaId,
+            d.os().getId(),
+            d.os().getNumero(),
+            d.cliente().getId(),
+            d.cliente().getNome(),
+            d.cliente().getEmail(),
+            d.telefone(),
+            d.veiculo().getPlacaFormatada(),
+            nomeOficina
+        ));
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    /**
+     * Carrega as OS e aplica a transição em memória, validando a máquina de estados de todas.
+     *
+     * @param oficinaId ID da oficina
+     * @param ids IDs das OS (duplicados são ignorados)
+     * @param transicao método de domínio da transição
+     * @param observacao observação do histórico
+     * @return transições aplicadas, na ordem dos IDs
+     * @throws OrdemServicoNotFoundException se alguma OS não existir na oficina
+     * @throws TransicaoStatusInvalidaException com todas as OS recusadas, se houver alguma
+     */
+    private List<Transicao> aplicar(UUID oficinaId, List<UUID> ids, Consumer<OrdemServico> transicao, String observacao) {
+        List<UUID> distintos = ids.stream().distinct().toList();
+        Map<UUID, OrdemServico> encontradas = repository.findParaTransicaoByOficinaIdAndIdIn(oficinaId, distintos)
+            .stream()
+            .collect(Collectors.toMap(OrdemServico::getId, Function.identity()));
+
+        for (UUID id : distintos) {
+            if (!encontradas.containsKey(id)) {
+                throw new OrdemServicoNotFoundException(id);
+            }
+        }
+
+        List<Transicao> transicoes = new ArrayList<>(distintos.size());
+        List<String> recusadas = new ArrayList<>();
+        for (UUID id : distintos) {
+            OrdemServico os = encontradas.get(id);
+            StatusOS statusAnterior = os.getStatus();
+            try {
+                transicao.accept(os);
+                transicoes.add(new Transicao(os, statusAnterior, observacao));
+            } catch (IllegalStateException e) {
+                recusadas.add("OS #" + os.getNumero() + ": " + e.getMessage());
+            }
+        }
+
+        if (!recusadas.isEmpty()) {
+            throw new TransicaoStatusInvalidaException(
+                "Nenhuma OS foi alterada. " + String.join("; ", recusadas));
+        }
+        return transicoes;
+    }
+
+    /**
+     * Grava status e histórico das transições com um batch JDBC por tabela.
+     *
+     * <p>O {@code UPDATE} só altera a OS se a {@code version} ainda for a lida; se outra operação
+     * alterou alguma OS no meio do caminho, o lote inteiro é desfeito.</p>
+     */
+    private void gravar(UUID oficinaId, List<Transicao> transicoes) {
+        LocalDateTime agora = LocalDateTime.now();
+
+        List<Object[]> atualizacoes = new ArrayList<>(transicoes.size());
+        for (Transicao transicao : transicoes) {
+            OrdemServico os = transicao.os();
+            atualizacoes.add(new Object[] {
+                os.getStatus().name(),
+                os.getAprovadoPeloCliente(),
+                os.getDataFinalizacao(),
+                os.getDataEntrega(),
+                agora,
+                os.getId(),
+                oficinaId,
+                os.getVersion()
+            });
+        }
+
+        int[] alteradas = jdbcTemplate.batchUpdate(SQL_ATUALIZAR_STATUS, atualizacoes, TIPOS_ATUALIZAR_STATUS);
+        for (int i = 0; i < alteradas.length; i++) {
+            if (alteradas[i] != 1) {
+                throw new TransicaoStatusInvalidaException(String.format(
+                    "OS #%d foi alterada por outra operação. Nenhuma OS foi alterada; tente novamente",
+                    transicoes.get(i).os().getNumero()));
+            }
+        }
+
+        // Obtém usuário atual do contexto de segurança
+        UUID usuarioId = null;
+        String usuarioNome = "Sistema";
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            usuarioId = userDetails.getUserId();
+            usuarioNome = userDetails.getNome();
+        }
+
+        List<Object[]> historicos = new ArrayList<>(transicoes.size());
+        for (Transicao transicao : transicoes) {
+            historicos.add(new Object[] {
+                UUID.randomUUID(),
+                oficinaId,
+                transicao.os().getId(),
+                transicao.statusAnterior().name(),
+                transicao.os().getStatus().name(),
+                usuarioId,
+                usuarioNome,
+                transicao.observacao(),
+                agora,
+                agora
+            });
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERIR_HISTORICO, historicos, TIPOS_INSERIR_HISTORICO);
+
+        // Gravação via JDBC não passa pelo listener JPA do snapshot público
+        transicoes.forEach(transicao -> snapshotService.agendarReconstrucao(transicao.os()));
+    }
+
+    /**
+     * Monta as notificações das OS transicionadas e publica como um único lote.
+     *
+     * <p>Veículos, clientes e (se pedido) mecânicos são carregados com uma query cada. OS sem
+     * veículo ou cliente na oficina não são notificadas, como nas transições individuais.</p>
+     *
+     * <p>Só a montagem fica no try: a publicação grava no outbox na transação do lote, e uma falha
+     * ali aborta a transação no PostgreSQL, então precisa chegar ao chamador.</p>
+     */
+    private void publicarNotificacoes(
+        UUID oficinaId,
+        List<Transicao> transicoes,
+        boolean comMecanico,
+        BiFunction<Destinatario, String, OrdemServicoEvent> evento
+    ) {
+        List<OrdemServicoEvent> eventos;
+        try {
+            List<OrdemServico> ordens = transicoes.stream().map(Transicao::os).toList();
+
+            Map<UUID, Veiculo> veiculos = BatchLoader.loadByIds(
+                ordens, OrdemServico::getVeiculoId,
+                ids -> veiculoRepository.findByOficinaIdAndIdIn(oficinaId, ids),
+                Veiculo::getId);
+            Map<UUID, Cliente> clientes = BatchLoader.loadByIds(
+                veiculos.values(), Veiculo::getClienteId,
+                ids -> clienteRepository.findByOficinaIdAndIdIn(oficinaId, ids),
+                Cliente::getId);
+            Map<UUID, Usuario> mecanicos = comMecanico
+                ? BatchLoader.loadByIds(
+                    ordens, OrdemServico::getUsuarioId,
+                    ids -> usuarioRepository.findByOficinaIdAndIdIn(oficinaId, ids),
+                    Usuario::getId)
+                : Map.of();
+
+            String nomeOficina = oficinaRepository.findById(oficinaId)
+                .map(Oficina::getNomeFantasia)
+                .orElse("PitStop");
+
+            eventos = new ArrayList<>(ordens.size());
+            for (OrdemServico os : ordens) {
+                Veiculo veiculo = veiculos.get(os.getVeiculoId());
+                Cliente cliente = veiculo != null ? clientes.get(veiculo.getClienteId()) : null;
+                if (cliente == null) {
+                    continue;
+                }
+                Destinatario destinatario = new Destinatario(os, veiculo, cliente, mecanicos.get(os.getUsuarioId()));
+                eventos.add(evento.apply(destinatario, nomeOficina));
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao montar notificacoes do lote de OS: {}", e.getMessage());
+            return;
+        }
+
+        notificacaoEventPublisher.publicarLote(eventos);
+    }
+}
@@ -13,47 +13,172 @@ import com.pitstop.ordemservico.exception.OrdemServicoNotFoundException;
 import com.pitstop.ordemservico.repository.OrdemServicoRepository;
 import com.pitstop.shared.security.tenant.TenantContext;
 import com.pitstop.usuario.domain.Usuario;
-import com.pitstop.usuario.repository.UsuarioRepository;
 import com.pitstop.veiculo.domain.Veiculo;
-import com.pitstop.veiculo.repository.VeiculoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
-
+import java.util.function.Supplier;
+
+import static com.pitstop.ordemservico.service.OrdemServicoPdfPalette.*;
+
+/**
+ * Service de geração do PDF da Ordem de Serviço.
+ *
+ * <p>Os PDFs renderizados ficam no {@link OrdemServicoPdfCache}, por versão da OS (o
+ * {@code updatedAt} mais recente entre OS, oficina, veículo, cliente e mecânico): download, e-mail de finalização e notificação de entrega da mesma versão
+ * renderizam uma vez só. Num acerto do cache, a única query é a da versão da OS.</p>
+ *
+ * <p>Num erro do cache, a OS, itens, veículo, cliente e mecânico vêm de uma query
+ * ({@link OrdemServicoRepository#findDetalheByOficinaIdAndId}). Fontes e cores são as instâncias
+ * compartilhadas de {@link OrdemServicoPdfPalette}.</p>
+ *
+ * <p>As leituras rodam em transações curtas; renderização e escrita na resposta acontecem fora
+ * delas, para não segurar conexão do pool durante a transferência.</p>
+ *
+ * @author PitStop Team
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrdemServicoPDFService {
 
     private final OrdemServicoRepository ordemServicoRepository;
-    private final VeiculoRepository veiculoRepository;
     private final ClienteRepository clienteRepository;
-    private final UsuarioRepository usuarioRepository;
     private final OficinaRepository oficinaRepository;
+    private final OrdemServicoPdfCache pdfCache;
+    private final PlatformTransactionManager transactionManager;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-    private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
 
-    // Cores do tema
-    private static final Color PRIMARY_COLOR = new Color(37, 99, 235);
-    private static final Color SECONDARY_COLOR = new Color(100, 116, 139);
-    private static final Color LIGHT_BG = new Color(243, 244, 246);
+    // NumberFormat não é thread-safe: uma instância por thread
+    private static final ThreadLocal<NumberFormat> CURRENCY_FORMATTER =
+        ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(Locale.of("pt", "BR")));
+
+    /**
+     * Dados carregados para renderizar o PDF.
+     *
+     * @param os OS com itens
+     * @param oficina oficina da OS
+     * @param veiculo veículo da OS
+     * @param cliente dono do veículo (incluindo inativo)
+     * @param mecanico mecânico responsável (null se não houver)
+     */
+    record DadosPdf(OrdemServico os, Oficina oficina, Veiculo veiculo, Cliente cliente, Usuario mecanico) {
+    }
 
-    @Transactional(readOnly = true)
+    /**
+     * Gera o PDF da OS em memória (anexos de e-mail, WhatsApp/Telegram).
+     *
+     * <p>Só a leitura da versão e dos dados usa conexão do banco; a renderização roda fora da
+     * transação.</p>
+     *
+     * @param osId ID da OS
+     * @return PDF
+     * @throws OrdemServicoNotFoundException se a OS não existir na oficina
+     */
     public byte[] gerarPDF(UUID osId) {
+        UUID oficinaId = exigirTenant();
+        LocalDateTime versao = lerEmTransacao(() -> buscarVersao(oficinaId, osId));
+
+        byte[] cached = pdfCache.get(oficinaId, osId, versao);
+        if (cached != null) {
+            log.debug("PDF da OS {} servido do cache", osId);
+            return cached;
+        }
+
+        log.info("Gerando PDF para OS ID: {}", osId);
+        DadosPdf dados = lerEmTransacao(() -> carregar(oficinaId, osId));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(32 * 1024);
+        renderizar(dados, baos);
+        byte[] pdf = baos.toByteArray();
+
+        pdfCache.put(oficinaId, osId, versao, pdf);
+        log.info("PDF gerado com sucesso para OS {} ({} bytes)", osId, pdf.length);
+        return pdf;
+    }
+
+    /**
+     * Escreve o PDF da OS direto no stream (download), sem montar o arquivo inteiro antes.
+     * O stream não é fechado.
+     *
+     * <p>A versão e os dados são lidos em transações curtas; a renderização e a escrita no stream
+     * (que pode ser um cliente lento) acontecem depois, sem segurar conexão do pool.</p>
+     *
+     * @param osId ID da OS
+     * @param out destino do PDF (ex.: corpo da resposta HTTP)
+     * @throws OrdemServicoNotFoundException se a OS não existir na oficina (antes de escrever qualquer byte)
+     * @throws IOException se a escrita no stream falhar
+     */
+    public void escreverPDF(UUID osId, OutputStream out) throws IOException {
+        UUID oficinaId = exigirTenant();
+        LocalDateTime versao = lerEmTransacao(() -> buscarVersao(oficinaId, osId));
+
+        byte[] cached = pdfCache.get(oficinaId, osId, versao);
+        if (cached != null) {
+            log.debug("PDF da OS {} servido do cache", osId);
+            out.write(cached);
+            return;
+        }
+
         log.info("Gerando PDF para OS ID: {}", osId);
+        DadosPdf dados = lerEmTransacao(() -> carregar(oficinaId, osId));
+
+        // Escreve no destino e guarda uma cópia para o cache (descartada se passar do limite)
+        CopiaOutputStream copia = new CopiaOutputStream(out, pdfCache.isEnabled() ? pdfCache.getMaxBytes() : 0);
+        renderizar(dados, copia);
+        out.flush();
+
+        byte[] pdf = copia.copia();
+        if (pdf != null) {
+            pdfCache.put(oficinaId, osId, versao, pdf);
+        }
+        log.info("PDF gerado com sucesso para OS {}", osId);
+    }
 
+    /**
+     * Renderiza o PDF com os dados já carregados. Não acessa o banco.
+     * O {@code Document} fecha o stream ao final.
+     */
+    void renderizar(DadosPdf dados, OutputStream out) {
+        try {
+            Document document = new Document(PageSize.A4, 36, 36, 54, 54);
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            adicionarCabecalho(document, dados.os(), dados.oficina());
+            adicionarDadosOficina(document, dados.oficina());
+            adicionarDadosCliente(document, dados.cliente());
+            adicionarDadosVeiculo(document, dados.veiculo());
+            adicionarTabelaItens(document, dados.os());
+            adicionarTotais(document, dados.os());
+            adicionarInformacoesAdicionais(document, dados.os(), dados.mecanico());
+            adicionarRodape(document, dados.oficina());
+
+            document.close();
+
+        } catch (Exception e) {
+            log.error("Erro ao gerar PDF para OS {}", dados.os().getId(), e);
+            throw new RuntimeException("Erro ao gerar PDF da Ordem de Serviço", e);
+        }
+    }
+
+    private UUID exigirTenant() {
         UUID oficinaId = TenantContext.getTenantId();
 
         // Valida que o contexto de tenant está definido
@@ -61,75 +186,77 @@ public class OrdemServicoPDFService {
             log.error("Tentativa de gerar PDF sem contexto de tenant definido");
             throw new IllegalStateException("Contexto de tenant não definido. Autenticação inválida.");
         }
+        return oficinaId;
+    }
+
+    /**
+     * Executa uma leitura numa transação read-only própria, que termina antes de retornar.
+     * Os dados do PDF são todos carregados por fetch join ou embutidos, então a renderização
+     * depois da transação não dispara lazy loading.
+     */
+    private <T> T lerEmTransacao(Supplier<T> leitura) {
+        TransactionTemplate readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        return readTx.execute(status -> leitura.get());
+    }
+
+    /**
+     * Versão dos dados do PDF para a chave do cache. Também valida que a OS pertence à oficina
+     * (404 para não revelar existência).
+     */
+    private LocalDateTime buscarVersao(UUID oficinaId, UUID osId) {
+        return ordemServicoRepository.findVersaoPdfByOficinaIdAndId(oficinaId, osId)
+                .orElseThrow(() -> new OrdemServicoNotFoundException(osId));
+    }
 
+    private DadosPdf carregar(UUID oficinaId, UUID osId) {
         // Busca dados da oficina
         Oficina oficina = oficinaRepository.findById(oficinaId)
                 .orElseThrow(() -> new RuntimeException("Oficina não encontrada"));
 
-        OrdemServico os = ordemServicoRepository.findById(osId)
-                .orElseThrow(() -> new OrdemServicoNotFoundException(osId));
-
-        // Valida que a OS pertence à oficina do usuário atual (segurança multi-tenancy)
-        if (!os.getOficina().getId().equals(oficinaId)) {
-            log.warn("Tentativa de acesso não autorizado à OS {} por oficina {}", osId, oficinaId);
-            throw new OrdemServicoNotFoundException(osId); // Retorna 404 para não revelar existência
+        // OS, itens, veículo, mecânico e cliente em uma query
+        List<Object[]> detalhe = ordemServicoRepository.findDetalheByOficinaIdAndId(oficinaId, osId);
+        if (detalhe.isEmpty()) {
+            throw new OrdemServicoNotFoundException(osId);
         }
+        Object[] linha = detalhe.get(0);
+        OrdemServico os = (OrdemServico) linha[0];
 
-        Veiculo veiculo = veiculoRepository.findById(os.getVeiculoId())
-                .orElseThrow(() -> new RuntimeException("Veículo não encontrado"));
-
-        // Busca cliente incluindo inativos para permitir gerar PDF de OS antigas
-        Cliente cliente = clienteRepository.findByOficinaIdAndIdIncludingInactive(oficinaId, veiculo.getClienteId())
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
-
-        Usuario mecanico = os.getUsuarioId() != null
-                ? usuarioRepository.findById(os.getUsuarioId()).orElse(null)
-                : null;
+        if (!(linha[1] instanceof Veiculo veiculo)) {
+            throw new RuntimeException("Veículo não encontrado");
+        }
 
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            Document document = new Document(PageSize.A4, 36, 36, 54, 54);
-            PdfWriter.getInstance(document, baos);
-            document.open();
+        // Cliente inativo não vem no join: busca incluindo inativos para permitir gerar PDF de OS antigas
+        Cliente cliente = linha[3] instanceof Cliente c
+                ? c
+                : clienteRepository.findByOficinaIdAndIdIncludingInactive(oficinaId, veiculo.getClienteId())
+                    .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
 
-            adicionarCabecalho(document, os, oficina);
-            adicionarDadosOficina(document, oficina);
-            adicionarDadosCliente(document, cliente);
-            adicionarDadosVeiculo(document, veiculo);
-            adicionarTabelaItens(document, os);
-            adicionarTotais(document, os);
-            adicionarInformacoesAdicionais(document, os, mecanico);
-            adicionarRodape(document, oficina);
+        Usuario mecanico = linha[2] instanceof Usuario u ? u : null;
 
-            document.close();
-            log.info("PDF gerado com sucesso para OS {}", osId);
-            return baos.toByteArray();
+        return new DadosPdf(os, oficina, veiculo, cliente, mecanico);
+    }
 
-        } catch (Exception e) {
-            log.error("Erro ao gerar PDF para OS {}", osId, e);
-            throw new RuntimeException("Erro ao gerar PDF da Ordem de Serviço", e);
-        }
+    private static String moeda(BigDecimal valor) {
+        return CURRENCY_FORMATTER.get().format(valor);
     }
 
     private void adicionarCabecalho(Document document, OrdemServico os, Oficina oficina) throws DocumentException {
         // Nome da oficina
-        Font titleFont = new Font(Font.HELVETICA, 18, Font.BOLD, PRIMARY_COLOR);
         String nomeOficina = oficina.getNomeFantasia() != null ? oficina.getNomeFantasia() : oficina.getRazaoSocial();
-        Paragraph title = new Paragraph(nomeOficina, titleFont);
+        Paragraph title = new Paragraph(nomeOficina, TITLE);
         title.setAlignment(Element.ALIGN_CENTER);
         title.setSpacingAfter(10);
         document.add(title);
 
         // Número da OS
-        Font subtitleFont = new Font(Font.HELVETICA, 14, Font.BOLD);
-        Paragraph subtitle = new Paragraph("ORDEM DE SERVIÇO Nº " + os.getNumero(), subtitleFont);
+        Paragraph subtitle = new Paragraph("ORDEM DE SERVIÇO Nº " + os.getNumero(), SUBTITLE);
         subtitle.setAlignment(Element.ALIGN_CENTER);
         subtitle.setSpacingAfter(5);
         document.add(subtitle);
 
         // Status
-        Font statusFont = new Font(Font.HELVETICA, 10, Font.NORMAL, Color.DARK_GRAY);
-        Paragraph status = new Paragraph("Status: " + os.getStatus().name(), statusFont);
+        Paragraph status = new Paragraph("Status: " + os.getStatus().name(), STATUS);
         status.setAlignment(Element.ALIGN_CENTER);
         status.setSpacingAfter(20);
         document.add(status);
@@ -140,9 +267,8 @@ public class OrdemServicoPDFService {
         table.setWidthPercentage(100);
         table.setSpacingAfter(15);
 
-        Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
-        PdfPCell headerCell = new PdfPCell(new Phrase("DADOS DA OFICINA", headerFont));
-        headerCell.setBackgroundColor(PRIMARY_COLOR);
+        PdfPCell headerCell = new PdfPCell(new Phrase("DADOS DA OFICINA", SECTION_HEADER));
+        headerCell.setBackgroundColor(PRIMARY);
         headerCell.setPadding(8);
         headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
         table.addCell(headerCell);
@@ -182,8 +308,7 @@ public class OrdemServicoPDFService {
             dados.append("\nHorário: ").append(oficina.getInformacoesOperacionais().getHorarioFuncionamento());
         }
 
-        Font dataFont = new Font(Font.HELVETICA, 9, Font.NORMAL);
-        PdfPCell dataCell = new PdfPCell(new Phrase(dados.toString(), dataFont));
+        PdfPCell dataCell = new PdfPCell(new Phrase(dados.toString(), TEXT));
         dataCell.setPadding(8);
         table.addCell(dataCell);
 
@@ -222,27 +347,24 @@ public class OrdemServicoPDFService {
         table.setSpacingAfter(10);
         table.setWidths(new int[]{1, 2});
 
-        Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
-        PdfPCell headerCell = new PdfPCell(new Phrase("DADOS DO CLIENTE", headerFont));
-        headerCell.setBackgroundColor(new Color(37, 99, 235));
+        PdfPCell headerCell = new PdfPCell(new Phrase("DADOS DO CLIENTE", SECTION_HEADER));
+        headerCell.setBackgroundColor(PRIMARY);
         headerCell.setPadding(8);
         headerCell.setColspan(2);
         table.addCell(headerCell);
 
-        Font labelFont = new Font(Font.HELVETICA, 9, Font.BOLD);
-        Font dataFont = new Font(Font.HELVETICA, 9, Font.NORMAL);
 
-        table.addCell(new PdfPCell(new Phrase("Nome:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(cliente.getNome(), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Nome:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(cliente.getNome(), TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("CPF/CNPJ:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(cliente.getCpfCnpj(), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("CPF/CNPJ:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(cliente.getCpfCnpj(), TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("Telefone:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(cliente.getCelular() != null ? cliente.getCelular() : "-", dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Telefone:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(cliente.getCelular() != null ? cliente.getCelular() : "-", TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("Email:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(cliente.getEmail() != null ? cliente.getEmail() : "-", dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Email:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(cliente.getEmail() != null ? cliente.getEmail() : "-", TEXT)));
 
         document.add(table);
     }
@@ -253,27 +375,24 @@ public class OrdemServicoPDFService {
         table.setSpacingAfter(15);
         table.setWidths(new int[]{1, 2});
 
-        Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
-        PdfPCell headerCell = new PdfPCell(new Phrase("DADOS DO VEÍCULO", headerFont));
-        headerCell.setBackgroundColor(new Color(37, 99, 235));
+        PdfPCell headerCell = new PdfPCell(new Phrase("DADOS DO VEÍCULO", SECTION_HEADER));
+        headerCell.setBackgroundColor(PRIMARY);
         headerCell.setPadding(8);
         headerCell.setColspan(2);
         table.addCell(headerCell);
 
-        Font labelFont = new Font(Font.HELVETICA, 9, Font.BOLD);
-        Font dataFont = new Font(Font.HELVETICA, 9, Font.NORMAL);
 
-        table.addCell(new PdfPCell(new Phrase("Placa:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(veiculo.getPlaca(), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Placa:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(veiculo.getPlaca(), TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("Modelo:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(veiculo.getModelo() + " - " + veiculo.getAno(), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Modelo:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(veiculo.getModelo() + " - " + veiculo.getAno(), TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("Marca/Cor:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(veiculo.getMarca() + " / " + veiculo.getCor(), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Marca/Cor:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(veiculo.getMarca() + " / " + veiculo.getCor(), TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("KM:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(veiculo.getQuilometragem() != null ? veiculo.getQuilometragem().toString() : "-", dataFont)));
+        table.addCell(new PdfPCell(new Phrase("KM:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(veiculo.getQuilometragem() != null ? veiculo.getQuilometragem().toString() : "-", TEXT)));
 
         document.add(table);
     }
@@ -284,29 +403,26 @@ public class OrdemServicoPDFService {
         table.setSpacingAfter(10);
         table.setWidths(new int[]{3, 1, 2, 2, 2});
 
-        Font headerFont = new Font(Font.HELVETICA, 9, Font.BOLD, Color.WHITE);
-        Color headerColor = new Color(37, 99, 235);
 
         String[] headers = {"Descrição", "Qtd", "Valor Unit.", "Desconto", "Total"};
         for (String header : headers) {
-            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
-            cell.setBackgroundColor(headerColor);
+            PdfPCell cell = new PdfPCell(new Phrase(header, TABLE_HEADER));
+            cell.setBackgroundColor(PRIMARY);
             cell.setPadding(6);
             cell.setHorizontalAlignment(Element.ALIGN_CENTER);
             table.addCell(cell);
         }
 
-        Font dataFont = new Font(Font.HELVETICA, 8, Font.NORMAL);
         if (os.getItens() != null && !os.getItens().isEmpty()) {
             for (ItemOS item : os.getItens()) {
-                table.addCell(new PdfPCell(new Phrase(item.getDescricao(), dataFont)));
-                table.addCell(new PdfPCell(new Phrase(item.getQuantidade().toString(), dataFont)));
-                table.addCell(new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(item.getValorUnitario()), dataFont)));
-                table.addCell(new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(item.getDesconto()), dataFont)));
-                table.addCell(new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(item.getValorTotal()), dataFont)));
+                table.addCell(new PdfPCell(new Phrase(item.getDescricao(), ITEM)));
+                table.addCell(new PdfPCell(new Phrase(item.getQuantidade().toString(), ITEM)));
+                table.addCell(new PdfPCell(new Phrase(moeda(item.getValorUnitario()), ITEM)));
+                table.addCell(new PdfPCell(new Phrase(moeda(item.getDesconto()), ITEM)));
+                table.addCell(new PdfPCell(new Phrase(moeda(item.getValorTotal()), ITEM)));
             }
         } else {
-            PdfPCell emptyCell = new PdfPCell(new Phrase("Nenhum item adicionado", dataFont));
+            PdfPCell emptyCell = new PdfPCell(new Phrase("Nenhum item adicionado", ITEM));
             emptyCell.setColspan(5);
             emptyCell.setHorizontalAlignment(Element.ALIGN_CENTER);
             emptyCell.setPadding(10);
@@ -322,10 +438,6 @@ public class OrdemServicoPDFService {
         table.setHorizontalAlignment(Element.ALIGN_RIGHT);
         table.setSpacingAfter(15);
 
-        Font labelFont = new Font(Font.HELVETICA, 9, Font.BOLD);
-        Font dataFont = new Font(Font.HELVETICA, 9, Font.NORMAL);
-        Font totalFont = new Font(Font.HELVETICA, 10, Font.BOLD);
-        Font infoFont = new Font(Font.HELVETICA, 8, Font.ITALIC, new Color(37, 99, 235));
 
         // Verifica se é cobrança por hora
         boolean isPorHora = os.getTipoCobrancaMaoObra() != null &&
@@ -333,50 +445,50 @@ public class OrdemServicoPDFService {
 
         if (isPorHora) {
             // Cabeçalho indicando cobrança por hora
-            PdfPCell headerCell = new PdfPCell(new Phrase("Mão de Obra (Por Hora)", labelFont));
+            PdfPCell headerCell = new PdfPCell(new Phrase("Mão de Obra (Por Hora)", LABEL));
             headerCell.setColspan(2);
-            headerCell.setBackgroundColor(new Color(219, 234, 254)); // azul claro
+            headerCell.setBackgroundColor(HIGHLIGHT_BG);
             headerCell.setPadding(5);
             table.addCell(headerCell);
 
             // Valor/hora
             if (os.getValorHoraSnapshot() != null) {
-                table.addCell(new PdfPCell(new Phrase("Valor/Hora:", dataFont)));
-                table.addCell(new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(os.getValorHoraSnapshot()), dataFont)));
+                table.addCell(new PdfPCell(new Phrase("Valor/Hora:", TEXT)));
+                table.addCell(new PdfPCell(new Phrase(moeda(os.getValorHoraSnapshot()), TEXT)));
             }
 
             // Tempo estimado
             if (os.getTempoEstimadoHoras() != null) {
-                table.addCell(new PdfPCell(new Phrase("Tempo Estimado:", dataFont)));
-                table.addCell(new PdfPCell(new Phrase(os.getTempoEstimadoHoras() + "h", dataFont)));
+                table.addCell(new PdfPCell(new Phrase("Tempo Estimado:", TEXT)));
+                table.addCell(new PdfPCell(new Phrase(os.getTempoEstimadoHoras() + "h", TEXT)));
             }
 
             // Limite aprovado
             if (os.getLimiteHorasAprovado() != null) {
-                table.addCell(new PdfPCell(new Phrase("Limite Aprovado:", dataFont)));
+                table.addCell(new PdfPCell(new Phrase("Limite Aprovado:", TEXT)));
                 String limiteStr = os.getLimiteHorasAprovado() + "h";
                 if (os.getValorHoraSnapshot() != null) {
-                    limiteStr += " (máx. " + CURRENCY_FORMATTER.format(
+                    limiteStr += " (máx. " + moeda(
                         os.getLimiteHorasAprovado().multiply(os.getValorHoraSnapshot())) + ")";
                 }
-                table.addCell(new PdfPCell(new Phrase(limiteStr, dataFont)));
+                table.addCell(new PdfPCell(new Phrase(limiteStr, TEXT)));
             }
 
             // Horas trabalhadas (se já finalizada)
             if (os.getHorasTrabalhadas() != null) {
-                table.addCell(new PdfPCell(new Phrase("Horas Trabalhadas:", labelFont)));
-                table.addCell(new PdfPCell(new Phrase(os.getHorasTrabalhadas() + "h", labelFont)));
+                table.addCell(new PdfPCell(new Phrase("Horas Trabalhadas:", LABEL)));
+                table.addCell(new PdfPCell(new Phrase(os.getHorasTrabalhadas() + "h", LABEL)));
             }
         }
 
-        table.addCell(new PdfPCell(new Phrase("Mão de Obra:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(os.getValorMaoObra()), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Mão de Obra:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(moeda(os.getValorMaoObra()), TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("Peças:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(os.getValorPecas()), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Peças:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(moeda(os.getValorPecas()), TEXT)));
 
-        table.addCell(new PdfPCell(new Phrase("Subtotal:", labelFont)));
-        table.addCell(new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(os.getValorTotal()), dataFont)));
+        table.addCell(new PdfPCell(new Phrase("Subtotal:", LABEL)));
+        table.addCell(new PdfPCell(new Phrase(moeda(os.getValorTotal()), TEXT)));
 
         // Calcula desconto total (percentual + valor absoluto)
         java.math.BigDecimal descontoTotal = java.math.BigDecimal.ZERO;
@@ -392,70 +504,67 @@ public class OrdemServicoPDFService {
         }
 
         if (descontoTotal.compareTo(java.math.BigDecimal.ZERO) > 0) {
-            Font descontoFont = new Font(Font.HELVETICA, 9, Font.NORMAL, new Color(220, 38, 38)); // vermelho
-            table.addCell(new PdfPCell(new Phrase(descontoLabel, labelFont)));
-            table.addCell(new PdfPCell(new Phrase("-" + CURRENCY_FORMATTER.format(descontoTotal), descontoFont)));
+            table.addCell(new PdfPCell(new Phrase(descontoLabel, LABEL)));
+            table.addCell(new PdfPCell(new Phrase("-" + moeda(descontoTotal), DISCOUNT)));
         }
 
-        PdfPCell totalLabelCell = new PdfPCell(new Phrase("VALOR FINAL:", totalFont));
-        totalLabelCell.setBackgroundColor(new Color(243, 244, 246));
+        PdfPCell totalLabelCell = new PdfPCell(new Phrase("VALOR FINAL:", TOTAL));
+        totalLabelCell.setBackgroundColor(LIGHT_BG);
         table.addCell(totalLabelCell);
 
-        PdfPCell totalValueCell = new PdfPCell(new Phrase(CURRENCY_FORMATTER.format(os.getValorFinal()), totalFont));
-        totalValueCell.setBackgroundColor(new Color(243, 244, 246));
+        PdfPCell totalValueCell = new PdfPCell(new Phrase(moeda(os.getValorFinal()), TOTAL));
+        totalValueCell.setBackgroundColor(LIGHT_BG);
         table.addCell(totalValueCell);
 
         document.add(table);
     }
 
     private void adicionarInformacoesAdicionais(Document document, OrdemServico os, Usuario mecanico) throws DocumentException {
-        Font labelFont = new Font(Font.HELVETICA, 9, Font.BOLD);
-        Font dataFont = new Font(Font.HELVETICA, 9, Font.NORMAL);
 
         if (os.getDataAbertura() != null) {
             Paragraph abertura = new Paragraph();
-            abertura.add(new Phrase("Data de Abertura: ", labelFont));
-            abertura.add(new Phrase(os.getDataAbertura().format(DATETIME_FORMATTER), dataFont));
+            abertura.add(new Phrase("Data de Abertura: ", LABEL));
+            abertura.add(new Phrase(os.getDataAbertura().format(DATETIME_FORMATTER), TEXT));
             abertura.setSpacingAfter(5);
             document.add(abertura);
         }
 
         if (os.getDataPrevisao() != null) {
             Paragraph previsao = new Paragraph();
-            previsao.add(new Phrase("Previsão de Entrega: ", labelFont));
-            previsao.add(new Phrase(os.getDataPrevisao().format(DATE_FORMATTER), dataFont));
+            previsao.add(new Phrase("Previsão de Entrega: ", LABEL));
+            previsao.add(new Phrase(os.getDataPrevisao().format(DATE_FORMATTER), TEXT));
             previsao.setSpacingAfter(5);
             document.add(previsao);
         }
 
         if (mecanico != null) {
             Paragraph mec = new Paragraph();
-            mec.add(new Phrase("Mecânico Responsável: ", labelFont));
-            mec.add(new Phrase(mecanico.getNome(), dataFont));
+            mec.add(new Phrase("Mecânico Responsável: ", LABEL));
+            mec.add(new Phrase(mecanico.getNome(), TEXT));
             mec.setSpacingAfter(5);
             document.add(mec);
         }
 
         if (os.getProblemasRelatados() != null && !os.getProblemasRelatados().isBlank()) {
             Paragraph problemas = new Paragraph();
-            problemas.add(new Phrase("Problemas Relatados: ", labelFont));
-            problemas.add(new Phrase(os.getProblemasRelatados(), dataFont));
+            problemas.add(new Phrase("Problemas Relatados: ", LABEL));
+            problemas.add(new Phrase(os.getProblemasRelatados(), TEXT));
             problemas.setSpacingAfter(5);
             document.add(problemas);
         }
 
         if (os.getDiagnostico() != null && !os.getDiagnostico().isBlank()) {
             Paragraph diagnostico = new Paragraph();
-            diagnostico.add(new Phrase("Diagnóstico: ", labelFont));
-            diagnostico.add(new Phrase(os.getDiagnostico(), dataFont));
+            diagnostico.add(new Phrase("Diagnóstico: ", LABEL));
+            diagnostico.add(new Phrase(os.getDiagnostico(), TEXT));
             diagnostico.setSpacingAfter(5);
             document.add(diagnostico);
         }
 
         if (os.getObservacoes() != null && !os.getObservacoes().isBlank()) {
             Paragraph obs = new Paragraph();
-            obs.add(new Phrase("Observações: ", labelFont));
-            obs.add(new Phrase(os.getObservacoes(), dataFont));
+            obs.add(new Phrase("Observações: ", LABEL));
+            obs.add(new Phrase(os.getObservacoes(), TEXT));
             obs.setSpacingAfter(15);
             document.add(obs);
         }
@@ -471,13 +580,12 @@ public class OrdemServicoPDFService {
         assinaturaTable.setWidthPercentage(100);
         assinaturaTable.setSpacingAfter(20);
 
-        Font labelFont = new Font(Font.HELVETICA, 9, Font.NORMAL);
 
         PdfPCell clienteCell = new PdfPCell();
         clienteCell.setBorder(Rectangle.NO_BORDER);
         Paragraph clienteP = new Paragraph();
-        clienteP.add(new Phrase("_________________________________\n", labelFont));
-        clienteP.add(new Phrase("Assinatura do Cliente", labelFont));
+        clienteP.add(new Phrase("_________________________________\n", TEXT));
+        clienteP.add(new Phrase("Assinatura do Cliente", TEXT));
         clienteP.setAlignment(Element.ALIGN_CENTER);
         clienteCell.addElement(clienteP);
         assinaturaTable.addCell(clienteCell);
@@ -485,8 +593,8 @@ public class OrdemServicoPDFService {
         PdfPCell oficinaCell = new PdfPCell();
         oficinaCell.setBorder(Rectangle.NO_BORDER);
         Paragraph oficinaP = new Paragraph();
-        oficinaP.add(new Phrase("_________________________________\n", labelFont));
-        oficinaP.add(new Phrase("Responsável pela Oficina", labelFont));
+        oficinaP.add(new Phrase("_________________________________\n", TEXT));
+        oficinaP.add(new Phrase("Responsável pela Oficina", TEXT));
         oficinaP.setAlignment(Element.ALIGN_CENTER);
         oficinaCell.addElement(oficinaP);
         assinaturaTable.addCell(oficinaCell);
@@ -526,24 +634,73 @@ public class OrdemServicoPDFService {
             separador.setWidthPercentage(100);
             PdfPCell linhaCell = new PdfPCell();
             linhaCell.setBorder(Rectangle.TOP);
-            linhaCell.setBorderColor(SECONDARY_COLOR);
+            linhaCell.setBorderColor(SECONDARY);
             linhaCell.setFixedHeight(1);
             separador.addCell(linhaCell);
             document.add(separador);
 
             // Redes sociais
-            Font redesFont = new Font(Font.HELVETICA, 8, Font.NORMAL, SECONDARY_COLOR);
-            Paragraph redesP = new Paragraph(String.join("  |  ", redesSociais), redesFont);
+            Paragraph redesP = new Paragraph(String.join("  |  ", redesSociais), FOOTER);
             redesP.setAlignment(Element.ALIGN_CENTER);
             redesP.setSpacingBefore(8);
             document.add(redesP);
         }
 
         // Mensagem de agradecimento
-        Font msgFont = new Font(Font.HELVETICA, 8, Font.ITALIC, SECONDARY_COLOR);
-        Paragraph agradecimento = new Paragraph("Obrigado pela preferência!", msgFont);
+        Paragraph agradecimento = new Paragraph("Obrigado pela preferência!", FOOTER_ITALIC);
         agradecimento.setAlignment(Element.ALIGN_CENTER);
         agradecimento.setSpacingBefore(10);
         document.add(agradecimento);
     }
+
+    /**
+     * Repassa os bytes ao destino e guarda uma cópia de até {@code limite} bytes para o cache.
+     * Não fecha o destino ({@code Document.close()} fecha o stream do writer).
+     */
+    static final class CopiaOutputStream extends FilterOutputStream {
+
+        private final int limite;
+        private ByteArrayOutputStream copia;
+
+        CopiaOutputStream(OutputStream destino, int limite) {
+            super(destino);
+            this.limite = limite;
+            this.copia = limite > 0 ? new ByteArrayOutputStream(Math.min(limite, 32 * 1024)) : null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copiar(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copiar(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        /**
+         * @return bytes escritos, ou null se passaram do limite
+         */
+        byte[] copia() {
+            return copia != null ? copia.toByteArray() : null;
+        }
+
+        private void copiar(byte[] b, int off, int len) {
+            if (copia == null) {
+                return;
+            }
+            if (copia.size() + len > limite) {
+                copia = null;
+                return;
+            }
+            copia.write(b, off, len);
+        }
+    }
 }
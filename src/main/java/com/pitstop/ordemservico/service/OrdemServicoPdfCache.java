@@ -0,0 +1,131 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.shared.redis.CircuitBreakingRedisConnectionFactory;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Cache dos PDFs de Ordem de Serviço já renderizados, no Redis.
+ *
+ * <p>A mesma OS é renderizada pelo download, pelo e-mail de finalização ({@link AsyncPdfMailService})
+ * e pela notificação de entrega; com o cache, só a primeira renderização de cada versão da OS
+ * gera o PDF.</p>
+ *
+ * <p><b>Chave:</b> {@code pdf:os:v{layout}:{oficinaId}:{osId}:{versao}}, onde a versão é o
+ * {@code updated_at} mais recente entre a OS, a oficina, o veículo, o cliente e o mecânico
+ * ({@code OrdemServicoRepository.findVersaoPdfByOficinaIdAndId}). Qualquer alteração desses dados
+ * (status, itens, telefone do cliente, endereço da oficina) muda a versão, então o PDF antigo
+ * deixa de ser lido e expira pelo TTL. {@link #LAYOUT_VERSION} invalida todos os PDFs quando o
+ * layout muda.</p>
+ *
+ * <p><b>Limites:</b> cada PDF expira em {@code pdf.cache.ttl-minutes} e PDFs maiores que
+ * {@code pdf.cache.max-bytes} não são guardados. Falhas do Redis (circuito aberto) são ignoradas:
+ * o PDF é renderizado normalmente.</p>
+ *
+ * @author PitStop Team
+ */
+@Slf4j
+@Component
+public class OrdemServicoPdfCache {
+
+    /**
+     * Versão do layout do PDF. Incrementar ao alterar {@link OrdemServicoPDFService}.
+     */
+    static final int LAYOUT_VERSION = 1;
+
+    private static final String KEY_PREFIX = "pdf:os:v" + LAYOUT_VERSION + ":";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxBytes;
+
+    @Autowired
+    public OrdemServicoPdfCache(
+            RedisConnectionFactory connectionFactory,
+            RedisCircuitBreaker circuitBreaker,
+            @Value("${pdf.cache.enabled:true}") boolean enabled,
+            @Value("${pdf.cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${pdf.cache.max-bytes:2097152}") int maxBytes
+    ) {
+        this(template(new CircuitBreakingRedisConnectionFactory(connectionFactory, circuitBreaker)),
+                enabled, ttlMinutes, maxBytes);
+    }
+
+    OrdemServicoPdfCache(RedisTemplate<String, byte[]> redisTemplate, boolean enabled, long ttlMinutes, int maxBytes) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxBytes = maxBytes;
+    }
+
+    private static RedisTemplate<String, byte[]> template(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Busca o PDF da versão da OS.
+     *
+     * @return PDF, ou null se não estiver no cache (ou o Redis estiver indisponível)
+     */
+    public byte[] get(UUID oficinaId, UUID osId, LocalDateTime versao) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return redisTemplate.opsForValue().get(key(oficinaId, osId, versao));
+        } catch (Exception e) {
+            log.warn("Falha ao ler PDF da OS {} do cache: {}", osId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Guarda o PDF da versão da OS (ignorado se maior que o limite).
+     */
+    public void put(UUID oficinaId, UUID osId, LocalDateTime versao, byte[] pdf) {
+        if (!enabled || pdf == null || pdf.length > maxBytes) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key(oficinaId, osId, versao), pdf, ttl);
+        } catch (Exception e) {
+            log.warn("Falha ao gravar PDF da OS {} no cache: {}", osId, e.getMessage());
+        }
+    }
+
+    /**
+     * @return se o cache está habilitado
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return tamanho máximo de um PDF guardado no cache
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    private static String key(UUID oficinaId, UUID osId, LocalDateTime versao) {
+        long micros = versao.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + versao.getNano() / 1_000;
+        return KEY_PREFIX + oficinaId + ":" + osId + ":" + micros;
+    }
+}
@@ -0,0 +1,573 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.anexo.service.FileStorageService;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.dto.ExportacaoPdfDTO;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.shared.exception.BusinessException;
+import com.pitstop.shared.exception.ResourceNotFoundException;
+import com.pitstop.shared.security.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service de exportação em lote dos PDFs de OS (ex.: todas as OS do mês para a contabilidade),
+ * num único ZIP com um {@code OS-{numero}.pdf} por OS.
+ *
+ * <p><b>Renderização:</b> os PDFs são gerados por {@link OrdemServicoPDFService#gerarPDF} (com o
+ * cache de PDF) num pool compartilhado de {@code pdf.export.paralelismo} threads. Cada exportação
+ * mantém no máximo {@code 2 x paralelismo} PDFs em memória: o próximo só é submetido quando o mais
+ * antigo é escrito no ZIP, na ordem de número. A memória não depende da quantidade de OS.</p>
+ *
+ * <p><b>Síncrona</b> ({@link #exportar}): o ZIP é escrito direto na resposta HTTP, até
+ * {@code pdf.export.max-sincrono} OS e por no máximo {@code pdf.export.timeout-sincrono-ms}
+ * (aplicado só a esta requisição), num pool próprio de {@code pdf.export.downloads-simultaneos}
+ * threads. Cada nó aceita esse número de downloads ao mesmo tempo, no máximo
+ * {@code pdf.export.downloads-por-oficina} por oficina; acima disso o download é recusado.</p>
+ *
+ * <p><b>Assíncrona</b> ({@link #iniciarExportacao}): até {@code pdf.export.max-os} OS. O ZIP é gravado
+ * no storage ({@code oficina-{id}/exportacoes-pdf/{token}.zip}) e baixado pelo token. A situação vem
+ * dos arquivos ({@code .part} gerando, {@code .zip} pronto, {@code .erro} falhou), então qualquer nó
+ * com o mesmo storage responde. Arquivos com mais de {@code pdf.export.retencao-horas} são apagados.</p>
+ *
+ * <p>Cada nó executa {@code pdf.export.jobs-simultaneos} exportações, com até {@code pdf.export.fila-max}
+ * aguardando; cada oficina tem no máximo {@code pdf.export.jobs-por-oficina} na fila ou em execução.
+ * Acima disso a exportação é recusada. O nó dono renova a data de modificação dos seus {@code .part}
+ * a cada {@code pdf.export.heartbeat-interval-ms}; um {@code .part} sem renovação por
+ * {@value #HEARTBEATS_PERDIDOS} intervalos (nó reiniciado) é marcado como erro na consulta.</p>
+ *
+ * <p>OS que falharem na renderização não interrompem a exportação: são listadas em
+ * {@code ERROS.txt} dentro do ZIP.</p>
+ *
+ * @author PitStop Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrdemServicoPdfExportService {
+
+    private static final String PASTA = "exportacoes-pdf";
+    private static final String EXT_ZIP = ".zip";
+    private static final String EXT_PARCIAL = ".part";
+    private static final String EXT_ERRO = ".erro";
+
+    /** Intervalos sem heartbeat até um {@code .part} ser considerado abandonado. */
+    private static final int HEARTBEATS_PERDIDOS = 5;
+
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final OrdemServicoPDFService pdfService;
+    private final FileStorageService fileStorageService;
+
+    @Value("${pdf.export.paralelismo:2}")
+    private int paralelismo;
+
+    @Value("${pdf.export.max-sincrono:500}")
+    private int maxSincrono;
+
+    @Value("${pdf.export.max-os:10000}")
+    private int maxOs;
+
+    @Value("${pdf.export.jobs-simultaneos:2}")
+    private int jobsSimultaneos;
+
+    @Value("${pdf.export.fila-max:20}")
+    private int filaMax;
+
+    @Value("${pdf.export.jobs-por-oficina:2}")
+    private int jobsPorOficina;
+
+    @Value("${pdf.export.retencao-horas:24}")
+    private long retencaoHoras;
+
+    @Value("${pdf.export.heartbeat-interval-ms:60000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${pdf.export.timeout-sincrono-ms:600000}")
+    private long timeoutSincronoMs;
+
+    @Value("${pdf.export.downloads-simultaneos:4}")
+    private int downloadsSimultaneos;
+
+    @Value("${pdf.export.downloads-por-oficina:1}")
+    private int downloadsPorOficina;
+
+    private ExecutorService renderPool;
+    private ExecutorService jobPool;
+    private ExecutorService downloadPool;
+    private AsyncTaskExecutor downloadExecutor;
+
+    /** Exportações assíncronas deste nó por oficina (na fila ou em execução). */
+    private final Map<UUID, Integer> jobsEmAndamento = new ConcurrentHashMap<>();
+
+    /** Downloads diretos deste nó por oficina. */
+    private final Map<UUID, Integer> downloadsEmAndamento = new ConcurrentHashMap<>();
+
+    /** Downloads diretos deste nó, de todas as oficinas. */
+    private final AtomicInteger downloadsNoNo = new AtomicInteger();
+
+    /** {@code .part} das exportações deste nó, renovados pelo {@link #heartbeat()}. */
+    private final Set<Path> parciaisDoNo = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Filtro das OS exportadas (campos null são ignorados).
+     *
+     * @param status status da OS
+     * @param dataInicio data inicial da abertura
+     * @param dataFim data final da abertura
+     */
+    public record Filtro(StatusOS status, LocalDateTime dataInicio, LocalDateTime dataFim) {
+    }
+
+    /**
+     * OS a exportar.
+     */
+    private record Item(UUID id, Long numero) {
+    }
+
+    /**
+     * PDF submetido ao pool, aguardando a vez de entrar no ZIP.
+     */
+    private record Pendente(Item item, Future<byte[]> pdf) {
+    }
+
+    @PostConstruct
+    void init() {
+        renderPool = Executors.newFixedThreadPool(paralelismo, Thread.ofPlatform().name("pdf-export-", 0).factory());
+        jobPool = new ThreadPoolExecutor(jobsSimultaneos, jobsSimultaneos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(filaMax), Thread.ofPlatform().name("pdf-export-job-", 0).factory());
+        // A vaga é liberada ao fim da escrita, um instante antes de a thread voltar ao pool: a fila cobre essa janela
+        downloadPool = new ThreadPoolExecutor(downloadsSimultaneos, downloadsSimultaneos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(downloadsSimultaneos), Thread.ofPlatform().name("pdf-export-download-", 0).factory());
+        downloadExecutor = new TaskExecutorAdapter(downloadPool);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        downloadPool.shutdownNow();
+        jobPool.shutdownNow();
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * Prepara a exportação síncrona: valida o filtro, a quantidade de OS e a vaga de download antes
+     * de a resposta começar.
+     *
+     * <p>A tarefa roda no pool de downloads com o timeout {@code pdf.export.timeout-sincrono-ms} e
+     * libera a vaga ao terminar, inclusive por timeout ou desconexão do cliente.</p>
+     *
+     * @param filtro filtro das OS
+     * @param saida stream onde o ZIP é escrito, obtido já na thread do pool
+     * @return tarefa assíncrona que escreve o ZIP
+     * @throws BusinessException se passar de {@code pdf.export.max-sincrono} OS ou se não houver
+     *         vaga de download no nó ou na oficina
+     */
+    public WebAsyncTask<Void> exportar(Filtro filtro, Callable<? extends OutputStream> saida) {
+        UUID oficinaId = TenantContext.getTenantId();
+        List<Item> itens = buscar(oficinaId, filtro);
+
+        if (itens.size() > maxSincrono) {
+            throw new BusinessException(String.format(
+                "O filtro retornou %d OS; o download direto aceita até %d. Use a exportação assíncrona " +
+                "(POST /api/ordens-servico/exportacoes-pdf).", itens.size(), maxSincrono));
+        }
+
+        Runnable liberar = reservarDownload(oficinaId);
+        log.info("Exportando {} PDFs de OS da oficina {}", itens.size(), oficinaId);
+        WebAsyncTask<Void> task = new WebAsyncTask<>(timeoutSincronoMs, downloadExecutor, () -> {
+            try {
+                escreverZip(oficinaId, itens, saida.call());
+                return null;
+            } finally {
+                liberar.run();
+            }
+        });
+        // Tarefa cancelada antes de rodar (timeout, cliente desconectado) não passa pelo finally
+        task.onCompletion(liberar);
+        return task;
+    }
+
+    /**
+     * Inicia a exportação assíncrona.
+     *
+     * @param filtro filtro das OS
+     * @return situação inicial, com o token de download
+     * @throws BusinessException se passar de {@code pdf.export.max-os} OS, se a oficina já tiver
+     *         {@code pdf.export.jobs-por-oficina} exportações em andamento ou se a fila estiver cheia
+     */
+    public ExportacaoPdfDTO iniciarExportacao(Filtro filtro) {
+        UUID oficinaId = TenantContext.getTenantId();
+        List<Item> itens = buscar(oficinaId, filtro);
+
+        if (itens.size() > maxOs) {
+            throw new BusinessException(String.format(
+                "O filtro retornou %d OS; a exportação aceita até %d. Reduza o período.", itens.size(), maxOs));
+        }
+
+        reservarVaga(oficinaId);
+        UUID token = UUID.randomUUID();
+        Path parcial = arquivo(oficinaId, token, EXT_PARCIAL);
+        try {
+            Files.createDirectories(parcial.getParent());
+            Files.createFile(parcial);
+        } catch (IOException e) {
+            liberarVaga(oficinaId);
+            throw new IllegalStateException("Não foi possível criar o arquivo da exportação", e);
+        }
+
+        parciaisDoNo.add(parcial);
+        try {
+            jobPool.execute(() -> executar(oficinaId, token, itens));
+        } catch (RejectedExecutionException e) {
+            parciaisDoNo.remove(parcial);
+            liberarVaga(oficinaId);
+            apagar(parcial);
+            throw new BusinessException("Há exportações demais na fila. Tente novamente em alguns minutos.");
+        }
+        log.info("Exportação {} de {} PDFs de OS da oficina {} iniciada", token, itens.size(), oficinaId);
+        return new ExportacaoPdfDTO(token, ExportacaoPdfDTO.Status.PROCESSANDO, null, null);
+    }
+
+    /**
+     * Consulta a situação de uma exportação assíncrona da oficina.
+     *
+     * @param token token da exportação
+     * @return situação
+     * @throws ResourceNotFoundException se a exportação não existir (ou já tiver expirado)
+     */
+    public ExportacaoPdfDTO consultar(UUID token) {
+        UUID oficinaId = TenantContext.getTenantId();
+        try {
+            Path zip = arquivo(oficinaId, token, EXT_ZIP);
+            if (Files.exists(zip)) {
+                return new ExportacaoPdfDTO(token, ExportacaoPdfDTO.Status.CONCLUIDO, Files.size(zip), null);
+            }
+            Path erro = arquivo(oficinaId, token, EXT_ERRO);
+            if (Files.exists(erro)) {
+                return new ExportacaoPdfDTO(token, ExportacaoPdfDTO.Status.ERRO, null,
+                    Files.readString(erro, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler a exportação " + token, e);
+        }
+        Path parcial = arquivo(oficinaId, token, EXT_PARCIAL);
+        if (Files.exists(parcial)) {
+            if (abandonada(parcial)) {
+                return marcarInterrompida(oficinaId, token, parcial);
+            }
+            return new ExportacaoPdfDTO(token, ExportacaoPdfDTO.Status.PROCESSANDO, null, null);
+        }
+        throw new ResourceNotFoundException("Exportação não encontrada: " + token);
+    }
+
+    /**
+     * Retorna o ZIP de uma exportação assíncrona concluída.
+     *
+     * @param token token da exportação
+     * @return arquivo ZIP
+     * @throws BusinessException se a exportação ainda não estiver concluída
+     * @throws ResourceNotFoundException se a exportação não existir (ou já tiver expirado)
+     */
+    public Resource baixar(UUID token) {
+        ExportacaoPdfDTO exportacao = consultar(token);
+        if (exportacao.status() != ExportacaoPdfDTO.Status.CONCLUIDO) {
+            throw new BusinessException("Exportação " + token + " não está concluída: " + exportacao.status());
+        }
+        return new FileSystemResource(arquivo(TenantContext.getTenantId(), token, EXT_ZIP));
+    }
+
+    /**
+     * Renova a data de modificação dos {@code .part} das exportações deste nó, para as consultas
+     * (em qualquer nó) distinguirem exportação em andamento de exportação abandonada.
+     */
+    @Scheduled(fixedDelayString = "${pdf.export.heartbeat-interval-ms:60000}")
+    public void heartbeat() {
+        FileTime agora = FileTime.from(Instant.now());
+        for (Path parcial : parciaisDoNo) {
+            try {
+                Files.setLastModifiedTime(parcial, agora);
+            } catch (IOException e) {
+                log.warn("Falha ao renovar a exportação {}: {}", parcial.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Apaga exportações (concluídas, com erro ou interrompidas) mais antigas que a retenção.
+     */
+    @Scheduled(fixedDelayString = "${pdf.export.limpeza-interval-ms:3600000}")
+    public void limparExpiradas() {
+        Instant limite = Instant.now().minus(Duration.ofHours(retencaoHoras));
+        Path base = fileStorageService.getCaminhoAbsoluto("");
+        int removidos = 0;
+
+        try (DirectoryStream<Path> oficinas = Files.newDirectoryStream(base, "oficina-*")) {
+            for (Path oficina : oficinas) {
+                Path pasta = oficina.resolve(PASTA);
+                if (!Files.isDirectory(pasta)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(pasta)) {
+                    for (Path arquivo : arquivos) {
+                        if (Files.getLastModifiedTime(arquivo).toInstant().isBefore(limite)
+                                && Files.deleteIfExists(arquivo)) {
+                            removidos++;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao limpar exportações de PDF: {}", e.getMessage());
+        }
+
+        if (removidos > 0) {
+            log.info("{} arquivos de exportação de PDF expirados removidos", removidos);
+        }
+    }
+
+    private List<Item> buscar(UUID oficinaId, Filtro filtro) {
+        if (filtro.dataInicio() != null && filtro.dataFim() != null && filtro.dataInicio().isAfter(filtro.dataFim())) {
+            throw new BusinessException("Data inicial deve ser anterior à data final");
+        }
+
+        List<Object[]> linhas = ordemServicoRepository.findIdNumeroParaExportacao(
+            oficinaId,
+            filtro.status() != null ? filtro.status().name() : null,
+            filtro.dataInicio(),
+            filtro.dataFim()
+        );
+
+        List<Item> itens = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            itens.add(new Item((UUID) linha[0], (Long) linha[1]));
+        }
+        return itens;
+    }
+
+    private void executar(UUID oficinaId, UUID token, List<Item> itens) {
+        Path parcial = arquivo(oficinaId, token, EXT_PARCIAL);
+        try {
+            gerar(oficinaId, token, itens, parcial);
+        } finally {
+            parciaisDoNo.remove(parcial);
+            liberarVaga(oficinaId);
+        }
+    }
+
+    private void gerar(UUID oficinaId, UUID token, List<Item> itens, Path parcial) {
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(parcial), 64 * 1024)) {
+                escreverZip(oficinaId, itens, out);
+            }
+            Files.move(parcial, arquivo(oficinaId, token, EXT_ZIP), StandardCopyOption.ATOMIC_MOVE);
+            log.info("Exportação {} concluída", token);
+
+        } catch (Exception e) {
+            log.error("Exportação {} da oficina {} falhou", token, oficinaId, e);
+            try {
+                Files.writeString(arquivo(oficinaId, token, EXT_ERRO), "Falha ao gerar a exportação: " + e.getMessage(),
+                    StandardCharsets.UTF_8);
+                Files.deleteIfExists(parcial);
+            } catch (IOException ex) {
+                log.warn("Falha ao registrar o erro da exportação {}: {}", token, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Escreve o ZIP no stream, na ordem de número, com até {@code 2 x paralelismo} PDFs em
+     * renderização ou aguardando. Não fecha o stream.
+     */
+    private void escreverZip(UUID oficinaId, List<Item> itens, OutputStream out) throws IOException {
+        int janela = paralelismo * 2;
+        Deque<Pendente> pendentes = new ArrayDeque<>(janela);
+        List<String> erros = new ArrayList<>();
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDFs já são comprimidos: compressão rápida, quase sem ganho a perder
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        try {
+            for (Item item : itens) {
+                if (pendentes.size() >= janela) {
+                    escreverEntrada(zip, pendentes.poll(), erros);
+                }
+                pendentes.add(new Pendente(item, renderPool.submit(
+                    () -> TenantContext.callWithTenant(oficinaId, () -> pdfService.gerarPDF(item.id())))));
+            }
+            while (!pendentes.isEmpty()) {
+                escreverEntrada(zip, pendentes.poll(), erros);
+            }
+
+            if (!erros.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("ERROS.txt"));
+                zip.write(String.join("\n", erros).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            out.flush();
+
+        } finally {
+            // Cliente desconectou ou exportação falhou: libera o pool
+            pendentes.forEach(p -> p.pdf().cancel(true));
+        }
+
+        if (!erros.isEmpty()) {
+            log.warn("{} de {} PDFs de OS da oficina {} falharam na exportação", erros.size(), itens.size(), oficinaId);
+        }
+    }
+
+    private void escreverEntrada(ZipOutputStream zip, Pendente pendente, List<String> erros) throws IOException {
+        byte[] pdf;
+        try {
+            pdf = pendente.pdf().get(5, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Exportação interrompida");
+        } catch (ExecutionException | TimeoutException e) {
+            pendente.pdf().cancel(true);
+            Throwable causa = e instanceof ExecutionException ? e.getCause() : e;
+            log.warn("Falha ao gerar PDF da OS {} na exportação: {}", pendente.item().id(), causa.getMessage());
+            erros.add("OS " + pendente.item().numero() + " (" + pendente.item().id() + "): " + causa.getMessage());
+            return;
+        }
+
+        zip.putNextEntry(new ZipEntry("OS-" + pendente.item().numero() + ".pdf"));
+        zip.write(pdf);
+        zip.closeEntry();
+    }
+
+    private void reservarVaga(UUID oficinaId) {
+        int jobs = jobsEmAndamento.merge(oficinaId, 1, Integer::sum);
+        if (jobs > jobsPorOficina) {
+            liberarVaga(oficinaId);
+            throw new BusinessException(String.format(
+                "Já existem %d exportações em andamento para a oficina. Aguarde a conclusão de uma delas.",
+                jobsPorOficina));
+        }
+    }
+
+    private void liberarVaga(UUID oficinaId) {
+        jobsEmAndamento.computeIfPresent(oficinaId, (id, jobs) -> jobs > 1 ? jobs - 1 : null);
+    }
+
+    /**
+     * Reserva uma vaga de download direto na oficina e no nó.
+     *
+     * @return libera a vaga; chamadas repetidas são ignoradas
+     */
+    private Runnable reservarDownload(UUID oficinaId) {
+        int downloads = downloadsEmAndamento.merge(oficinaId, 1, Integer::sum);
+        if (downloads > downloadsPorOficina) {
+            liberarDownload(oficinaId);
+            throw new BusinessException(String.format(
+                "Já existem %d downloads de PDFs em andamento para a oficina. Aguarde a conclusão " +
+                "ou use a exportação assíncrona.", downloadsPorOficina));
+        }
+        if (downloadsNoNo.incrementAndGet() > downloadsSimultaneos) {
+            downloadsNoNo.decrementAndGet();
+            liberarDownload(oficinaId);
+            throw new BusinessException(
+                "Há downloads de PDFs demais em andamento. Tente novamente em alguns minutos ou use a exportação assíncrona.");
+        }
+
+        AtomicBoolean liberada = new AtomicBoolean();
+        return () -> {
+            if (liberada.compareAndSet(false, true)) {
+                downloadsNoNo.decrementAndGet();
+                liberarDownload(oficinaId);
+            }
+        };
+    }
+
+    private void liberarDownload(UUID oficinaId) {
+        downloadsEmAndamento.computeIfPresent(oficinaId, (id, downloads) -> downloads > 1 ? downloads - 1 : null);
+    }
+
+    /**
+     * {@code .part} sem heartbeat há {@value #HEARTBEATS_PERDIDOS} intervalos: o nó que gerava caiu.
+     */
+    private boolean abandonada(Path parcial) {
+        if (parciaisDoNo.contains(parcial)) {
+            return false;
+        }
+        try {
+            Instant limite = Instant.now().minusMillis(heartbeatIntervalMs * HEARTBEATS_PERDIDOS);
+            return Files.getLastModifiedTime(parcial).toInstant().isBefore(limite);
+        } catch (IOException e) {
+            // Concluída ou apagada entre as verificações
+            return false;
+        }
+    }
+
+    private ExportacaoPdfDTO marcarInterrompida(UUID oficinaId, UUID token, Path parcial) {
+        String mensagem = "Exportação interrompida: o servidor que a gerava foi reiniciado. Inicie uma nova exportação.";
+        log.warn("Exportação {} da oficina {} sem heartbeat; marcada como erro", token, oficinaId);
+        try {
+            Files.writeString(arquivo(oficinaId, token, EXT_ERRO), mensagem, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Falha ao registrar a interrupção da exportação {}: {}", token, e.getMessage());
+        }
+        apagar(parcial);
+        return new ExportacaoPdfDTO(token, ExportacaoPdfDTO.Status.ERRO, null, mensagem);
+    }
+
+    private void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Falha ao apagar {}: {}", arquivo.getFileName(), e.getMessage());
+        }
+    }
+
+    private Path arquivo(UUID oficinaId, UUID token, String extensao) {
+        return fileStorageService.getCaminhoAbsoluto("oficina-" + oficinaId + "/" + PASTA + "/" + token + extensao);
+    }
+}
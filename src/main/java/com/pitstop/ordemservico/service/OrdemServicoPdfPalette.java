@@ -0,0 +1,46 @@
+package com.pitstop.ordemservico.service;
+
+import com.lowagie.text.Font;
+
+import java.awt.Color;
+
+/**
+ * Cores e fontes do PDF de Ordem de Serviço, criadas uma vez e compartilhadas por todas as
+ * renderizações.
+ *
+ * <p>{@link Font} do OpenPDF é mutável: estas instâncias nunca devem ser alteradas
+ * ({@code setColor}, {@code setStyle}...). Para uma variação, crie uma fonte nova aqui.</p>
+ *
+ * @author PitStop Team
+ */
+final class OrdemServicoPdfPalette {
+
+    // Cores do tema
+    static final Color PRIMARY = new Color(37, 99, 235);
+    static final Color SECONDARY = new Color(100, 116, 139);
+    static final Color LIGHT_BG = new Color(243, 244, 246);
+    static final Color HIGHLIGHT_BG = new Color(219, 234, 254);
+    static final Color DANGER = new Color(220, 38, 38);
+
+    // Cabeçalho
+    static final Font TITLE = new Font(Font.HELVETICA, 18, Font.BOLD, PRIMARY);
+    static final Font SUBTITLE = new Font(Font.HELVETICA, 14, Font.BOLD);
+    static final Font STATUS = new Font(Font.HELVETICA, 10, Font.NORMAL, Color.DARK_GRAY);
+
+    // Tabelas
+    static final Font SECTION_HEADER = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
+    static final Font TABLE_HEADER = new Font(Font.HELVETICA, 9, Font.BOLD, Color.WHITE);
+    static final Font LABEL = new Font(Font.HELVETICA, 9, Font.BOLD);
+    static final Font TEXT = new Font(Font.HELVETICA, 9, Font.NORMAL);
+    static final Font ITEM = new Font(Font.HELVETICA, 8, Font.NORMAL);
+    static final Font TOTAL = new Font(Font.HELVETICA, 10, Font.BOLD);
+    static final Font DISCOUNT = new Font(Font.HELVETICA, 9, Font.NORMAL, DANGER);
+
+    // Rodapé
+    static final Font FOOTER = new Font(Font.HELVETICA, 8, Font.NORMAL, SECONDARY);
+    static final Font FOOTER_ITALIC = new Font(Font.HELVETICA, 8, Font.ITALIC, SECONDARY);
+
+    private OrdemServicoPdfPalette() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+}
@@ -32,19 +32,27 @@ import com.pitstop.notificacao.service.NotificacaoEventPublisher;
 import com.pitstop.oficina.domain.Oficina;
 import com.pitstop.oficina.repository.OficinaRepository;
 import com.pitstop.saas.service.PlanoLimiteService;
+import com.pitstop.shared.dto.CursorPageResponse;
+import com.pitstop.shared.pagination.CountMode;
+import com.pitstop.shared.pagination.CountQuery;
+import com.pitstop.shared.pagination.PageCounter;
+import com.pitstop.shared.persistence.NumberBlockAllocator;
 import com.pitstop.shared.security.tenant.TenantContext;
 import com.pitstop.shared.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -75,6 +83,27 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class OrdemServicoService {
 
+    /**
+     * Tamanho máximo de página da listagem por cursor.
+     */
+    static final int TAMANHO_MAXIMO_PAGINA_CURSOR = 100;
+
+    /**
+     * Série de numeração das OS em {@code numeracao_contadores}.
+     */
+    static final String NUMERACAO_OS = "OS";
+
+    /**
+     * Tamanho máximo do termo da busca textual.
+     */
+    static final int TAMANHO_MAXIMO_TERMO_BUSCA = 200;
+
+    // Marcadores de controle no ts_headline: o texto é escapado antes de virarem <mark>
+    private static final char INICIO_DESTAQUE = '\u0002';
+    private static final char FIM_DESTAQUE = '\u0003';
+    private static final String OPCOES_DESTAQUE = "StartSel=\"" + INICIO_DESTAQUE + "\", StopSel=\"" + FIM_DESTAQUE
+        + "\", MaxFragments=2, MaxWords=18, MinWords=6, FragmentDelimiter=\" … \"";
+
     private final OrdemServicoRepository repository;
     private final HistoricoStatusOSRepository historicoStatusRepository;
     private final VeiculoRepository veiculoRepository;
@@ -89,6 +118,14 @@ public class OrdemServicoService {
     private final NotificacaoEventPublisher notificacaoEventPublisher;
     private final AsyncPdfMailService asyncPdfMailService;
     private final PlanoLimiteService planoLimiteService;
+    private final PageCounter pageCounter;
+    private final NumberBlockAllocator numberAllocator;
+
+    /**
+     * Números de OS reservados por nó a cada ida ao banco (ver {@link NumberBlockAllocator}).
+     */
+    @Value("${numeracao.ordem-servico.bloco:20}")
+    private int blocoNumeracaoOS;
 
     // ===== CREATE =====
 
@@ -101,7 +138,7 @@ public class OrdemServicoService {
      * @throws UsuarioNotFoundException se mecânico não existir
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public OrdemServicoResponseDTO criar(CreateOrdemServicoDTO dto) {
         log.info("Criando nova OS para veículo ID: {}, mecânico ID: {}", dto.veiculoId(), dto.usuarioId());
 
@@ -121,8 +158,8 @@ public class OrdemServicoService {
         // Mapeia DTO para entidade
         OrdemServico os = mapper.toEntity(dto);
 
-        // Gera número sequencial (sequence global do PostgreSQL)
-        Long numero = repository.getNextNumero();
+        // Gera número sequencial da oficina (bloco reservado em memória; pode ter lacunas)
+        Long numero = numberAllocator.next(oficinaId, NUMERACAO_OS, blocoNumeracaoOS);
         os.setNumero(numero);
 
         // Configura tipo de cobrança de mão de obra
@@ -219,6 +256,8 @@ public class OrdemServicoService {
     /**
      * Busca OS por ID.
      *
+     * <p>Tela de detalhe: OS, itens, veículo, mecânico e cliente vêm de uma única query.</p>
+     *
      * @param id ID da OS
      * @return DTO de resposta
      * @throws OrdemServicoNotFoundException se não encontrada
@@ -226,14 +265,16 @@ public class OrdemServicoService {
     public OrdemServicoResponseDTO buscarPorId(UUID id) {
 
         UUID oficinaId = TenantContext.getTenantId();
-        OrdemServico os = repository.findByOficinaIdAndId(oficinaId, id)
-            .orElseThrow(() -> new OrdemServicoNotFoundException(id));
+        List<Object[]> detalhe = repository.findDetalheByOficinaIdAndId(oficinaId, id);
+        if (detalhe.isEmpty()) {
+            throw new OrdemServicoNotFoundException(id);
+        }
 
-        return montarResponse(os);
+        return montarResponseDetalhe(detalhe.get(0));
     }
 
     /**
-     * Busca OS por número sequencial.
+     * Busca OS por número sequencial (mesma query única de {@link #buscarPorId}).
      *
      * @param numero número da OS
      * @return DTO de resposta
@@ -242,10 +283,12 @@ public class OrdemServicoService {
     public OrdemServicoResponseDTO buscarPorNumero(Long numero) {
 
         UUID oficinaId = TenantContext.getTenantId();
-        OrdemServico os = repository.findByOficinaIdAndNumero(oficinaId, numero)
-            .orElseThrow(() -> new OrdemServicoNotFoundException(numero));
+        List<Object[]> detalhe = repository.findDetalheByOficinaIdAndNumero(oficinaId, numero);
+        if (detalhe.isEmpty()) {
+            throw new OrdemServicoNotFoundException(numero);
+        }
 
-        return montarResponse(os);
+        return montarResponseDetalhe(detalhe.get(0));
     }
 
     /**
@@ -258,31 +301,186 @@ public class OrdemServicoService {
      * @param dataInicio data inicial do período (opcional)
      * @param dataFim data final do período (opcional)
      * @param pageable configuração de paginação e ordenação
-     * @return página de OS
+     * @param countMode como calcular o total (ver {@link PageCounter})
+     * @return página de OS ({@code Slice} sem total quando {@code countMode} é NONE)
      */
-    public Page<OrdemServicoResponseDTO> listar(
+    public Slice<OrdemServicoResponseDTO> listar(
         StatusOS status,
         UUID veiculoId,
         UUID usuarioId,
         LocalDateTime dataInicio,
         LocalDateTime dataFim,
-        Pageable pageable
+        Pageable pageable,
+        CountMode countMode
     ) {
 
         UUID oficinaId = TenantContext.getTenantId();
         String statusStr = status != null ? status.name() : null;
 
         // Usa query otimizada que traz todos os dados em uma única consulta
-        Page<Object[]> page = repository.findByFiltrosOptimized(
+        Slice<Object[]> slice = repository.findByFiltrosOptimized(
             oficinaId, statusStr, veiculoId, usuarioId, dataInicio, dataFim, pageable
         );
 
-        return page.map(this::mapFromNativeQuery);
+        return pageCounter.complete(slice.map(this::mapFromNativeQuery), countMode, CountQuery.of("ordem_servico",
+            () -> repository.countByFiltros(oficinaId, statusStr, veiculoId, usuarioId, dataInicio, dataFim),
+            statusStr, veiculoId, usuarioId, dataInicio, dataFim));
+    }
+
+    /**
+     * Lista OS com paginação por cursor (keyset), com os mesmos filtros de {@link #listar}.
+     * Ordem fixa: mais recentes primeiro ({@code data_abertura DESC, id DESC}). O custo de cada página
+     * não depende da profundidade, e o COUNT só roda quando {@code incluirTotal} for true.
+     *
+     * @param status status da OS (opcional)
+     * @param veiculoId ID do veículo (opcional)
+     * @param usuarioId ID do mecânico (opcional)
+     * @param dataInicio data inicial do período (opcional)
+     * @param dataFim data final do período (opcional)
+     * @param cursor token {@code nextCursor} da página anterior (null na primeira página)
+     * @param tamanho quantidade de OS por página (1 a {@value #TAMANHO_MAXIMO_PAGINA_CURSOR})
+     * @param incluirTotal se deve contar o total de OS dos filtros
+     * @return página de OS com o cursor da próxima
+     * @throws OrdemServicoValidationException se o cursor for inválido
+     */
+    public CursorPageResponse<OrdemServicoResponseDTO> listarPorCursor(
+        StatusOS status,
+        UUID veiculoId,
+        UUID usuarioId,
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim,
+        String cursor,
+        int tamanho,
+        boolean incluirTotal
+    ) {
+
+        UUID oficinaId = TenantContext.getTenantId();
+        String statusStr = status != null ? status.name() : null;
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA_CURSOR);
+        OrdemServicoCursor posicao = cursor != null && !cursor.isBlank() ? OrdemServicoCursor.decode(cursor) : null;
+
+        // Busca uma linha a mais para saber se existe próxima página
+        List<Object[]> linhas = repository.findByFiltrosKeyset(
+            oficinaId, statusStr, veiculoId, usuarioId, dataInicio, dataFim,
+            posicao != null ? posicao.dataAbertura() : null,
+            posicao != null ? posicao.id() : null,
+            limite + 1
+        );
+
+        boolean temProxima = linhas.size() > limite;
+        List<Object[]> pagina = temProxima ? linhas.subList(0, limite) : linhas;
+
+        String proximoCursor = null;
+        if (temProxima) {
+            Object[] ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = new OrdemServicoCursor(
+                ((java.sql.Timestamp) ultima[3]).toLocalDateTime(),
+                (UUID) ultima[0]
+            ).encode();
+        }
+
+        Long total = incluirTotal
+            ? repository.countByFiltros(oficinaId, statusStr, veiculoId, usuarioId, dataInicio, dataFim)
+            : null;
+
+        return new CursorPageResponse<>(
+            pagina.stream().map(this::mapFromNativeQuery).toList(),
+            proximoCursor,
+            temProxima,
+            total
+        );
+    }
+
+    /**
+     * Busca OS por texto em problemas relatados, diagnóstico e observações, da mais relevante para a
+     * menos relevante, com paginação por cursor.
+     *
+     * <p>A busca ignora acentos e flexões ("freios" encontra "freio", "embreagem" encontra
+     * "embreágem"). O termo aceita a sintaxe de busca web: {@code "frase exata"}, {@code or} e
+     * {@code -excluir}.</p>
+     *
+     * @param termo texto buscado (até {@value #TAMANHO_MAXIMO_TERMO_BUSCA} caracteres)
+     * @param cursor token {@code nextCursor} da página anterior (null na primeira página)
+     * @param tamanho quantidade de OS por página (1 a {@value #TAMANHO_MAXIMO_PAGINA_CURSOR})
+     * @return página de resultados com trechos destacados; sem total
+     * @throws OrdemServicoValidationException se o termo ou o cursor forem inválidos
+     */
+    public CursorPageResponse<BuscaOrdemServicoDTO> buscarTexto(String termo, String cursor, int tamanho) {
+        if (termo == null || termo.isBlank()) {
+            throw new OrdemServicoValidationException("Informe o texto a buscar");
+        }
+        if (termo.length() > TAMANHO_MAXIMO_TERMO_BUSCA) {
+            throw new OrdemServicoValidationException(
+                "O texto da busca deve ter no máximo " + TAMANHO_MAXIMO_TERMO_BUSCA + " caracteres");
+        }
+
+        UUID oficinaId = TenantContext.getTenantId();
+        int limite = Math.clamp(tamanho, 1, TAMANHO_MAXIMO_PAGINA_CURSOR);
+        BuscaOrdemServicoCursor posicao = cursor != null && !cursor.isBlank() ? BuscaOrdemServicoCursor.decode(cursor) : null;
+
+        // Busca uma linha a mais para saber se existe próxima página
+        List<Object[]> linhas = repository.buscarTexto(
+            oficinaId, termo.strip(), OPCOES_DESTAQUE,
+            posicao != null ? posicao.relevancia() : null,
+            posicao != null ? posicao.id() : null,
+            limite + 1
+        );
+
+        boolean temProxima = linhas.size() > limite;
+        List<Object[]> pagina = temProxima ? linhas.subList(0, limite) : linhas;
+
+        String proximoCursor = null;
+        if (temProxima) {
+            Object[] ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = new BuscaOrdemServicoCursor(((Number) ultima[4]).floatValue(), (UUID) ultima[0]).encode();
+        }
+
+        return new CursorPageResponse<>(
+            pagina.stream().map(this::mapBuscaTexto).toList(),
+            proximoCursor,
+            temProxima,
+            null
+        );
+    }
+
+    /**
+     * Mapeia uma linha de {@link OrdemServicoRepository#buscarTexto}.
+     * Índices: 0:id, 1:numero, 2:status, 3:data_abertura, 4:relevancia, 5:destaque_problemas,
+     * 6:destaque_diagnostico, 7:destaque_observacoes, 8:veiculo_placa, 9:cliente_nome
+     */
+    private BuscaOrdemServicoDTO mapBuscaTexto(Object[] row) {
+        return new BuscaOrdemServicoDTO(
+            (UUID) row[0],
+            row[1] != null ? ((Number) row[1]).longValue() : null,
+            row[2] != null ? StatusOS.valueOf((String) row[2]) : null,
+            row[3] != null ? ((java.sql.Timestamp) row[3]).toLocalDateTime() : null,
+            (String) row[8],
+            (String) row[9],
+            ((Number) row[4]).floatValue(),
+            destaque((String) row[5]),
+            destaque((String) row[6]),
+            destaque((String) row[7])
+        );
+    }
+
+    /**
+     * Escapa o trecho do {@code ts_headline} e troca os marcadores de controle por {@code <mark>}.
+     * O texto da OS é digitado pelo usuário: nunca é devolvido como HTML sem escapar.
+     *
+     * @return trecho em HTML seguro, ou null se o campo não tiver o termo
+     */
+    static String destaque(String trecho) {
+        if (trecho == null || trecho.indexOf(INICIO_DESTAQUE) < 0) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(trecho)
+            .replace(String.valueOf(INICIO_DESTAQUE), "<mark>")
+            .replace(String.valueOf(FIM_DESTAQUE), "</mark>");
     }
 
     /**
      * Mapeia resultado da query nativa para DTO.
-     * Índices conforme SELECT da query findByFiltrosOptimized:
+     * Índices conforme SELECT das queries findByFiltrosOptimized e findHistoricoVeiculoOptimized:
      * 0:id, 1:numero, 2:status, 3:data_abertura, 4:data_previsao, 5:data_finalizacao,
      * 6:data_entrega, 7:valor_mao_obra, 8:valor_pecas, 9:valor_total, 10:desconto_percentual,
      * 11:valor_final, 12:problemas_relatados, 13:diagnostico, 14:observacoes,
@@ -383,6 +581,7 @@ public class OrdemServicoService {
 
     /**
      * Busca histórico de OS de um veículo.
+     * OTIMIZADO: mesma projeção nativa da listagem (uma query por página, sem itens).
      *
      * @param veiculoId ID do veículo
      * @param pageable configuração de paginação
@@ -391,8 +590,8 @@ public class OrdemServicoService {
     public Page<OrdemServicoResponseDTO> buscarHistoricoVeiculo(UUID veiculoId, Pageable pageable) {
 
         UUID oficinaId = TenantContext.getTenantId();
-        return repository.findHistoricoVeiculo(oficinaId, veiculoId, pageable)
-            .map(this::montarResponse);
+        return repository.findHistoricoVeiculoOptimized(oficinaId, veiculoId, pageable)
+            .map(this::mapFromNativeQuery);
     }
 
     // ===== UPDATE =====
@@ -454,7 +653,7 @@ public class OrdemServicoService {
      * @throws TransicaoStatusInvalidaException se não estiver em status ORCAMENTO
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public void aprovar(UUID id, Boolean aprovadoPeloCliente) {
         log.info("Aprovando OS ID: {}, aprovado pelo cliente: {}", id, aprovadoPeloCliente);
 
@@ -487,7 +686,7 @@ public class OrdemServicoService {
      * @throws TransicaoStatusInvalidaException se transição inválida
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public void iniciar(UUID id) {
         log.info("Iniciando execução da OS ID: {}", id);
 
@@ -522,7 +721,7 @@ public class OrdemServicoService {
      * @throws TransicaoStatusInvalidaException se transição inválida
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public void aguardarPeca(UUID id, String descricaoPeca) {
         log.info("Colocando OS ID: {} em aguardando peça: {}", id, descricaoPeca);
 
@@ -554,7 +753,7 @@ public class OrdemServicoService {
      * @throws TransicaoStatusInvalidaException se transição inválida
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public void retomarExecucao(UUID id) {
         log.info("Retomando execução da OS ID: {}", id);
 
@@ -593,7 +792,7 @@ public class OrdemServicoService {
      * @throws com.pitstop.estoque.exception.EstoqueInsuficienteException se estoque insuficiente
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public OrdemServicoResponseDTO finalizar(UUID id, FinalizarOSDTO dto) {
         log.info("Finalizando OS ID: {} com {} horas trabalhadas", id, dto.horasTrabalhadas());
 
@@ -680,7 +879,7 @@ public class OrdemServicoService {
      * @throws com.pitstop.estoque.exception.EstoqueInsuficienteException se estoque insuficiente (rollback completo)
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public void finalizar(UUID id) {
         log.info("Finalizando OS ID: {}", id);
 
@@ -727,7 +926,7 @@ public class OrdemServicoService {
      * @throws OrdemServicoNaoPagaException se OS não estiver quitada
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public void entregar(UUID id) {
         log.info("Entregando veículo da OS ID: {}", id);
 
@@ -767,7 +966,7 @@ public class OrdemServicoService {
      * @throws TransicaoStatusInvalidaException se não puder ser cancelada
      */
     @Transactional
-    @CacheEvict(value = {"ordemServico", "osCountByStatus"}, allEntries = true)
+    @CacheEvict(value = {"ordemServico", "osCountByStatus", "dashboard", "pageCounts"}, allEntries = true)
     public void cancelar(UUID id, CancelarOrdemServicoDTO dto) {
         log.info("Cancelando OS ID: {}, motivo: {}", id, dto.motivo());
 
@@ -785,6 +984,8 @@ public class OrdemServicoService {
             OrdemServicoCanceladaEvent event = new OrdemServicoCanceladaEvent(
                 this,
                 os.getId(),
+                oficinaId,
+                os.getDataAbertura(),
                 os.getNumero(),
                 os.getUsuarioId(),
                 statusAnterior,
@@ -812,7 +1013,7 @@ public class OrdemServicoService {
      *
      * @return mapa com status e quantidade
      */
-    @Cacheable(value = "osCountByStatus")
+    @Cacheable(value = "osCountByStatus", sync = true)
     public Map<StatusOS, Long> contarPorStatus() {
 
         UUID oficinaId = TenantContext.getTenantId();
@@ -871,6 +1072,30 @@ public class OrdemServicoService {
         return montarResponse(os, veiculo, mecanico);
     }
 
+    /**
+     * Monta OrdemServicoResponseDTO a partir de uma linha de
+     * {@link OrdemServicoRepository#findDetalheByOficinaIdAndId} (OS com itens, veículo, mecânico e
+     * cliente já carregados na mesma query).
+     *
+     * @param linha {@code [OrdemServico, Veiculo, Usuario, Cliente]}
+     * @return DTO completo
+     */
+    private OrdemServicoResponseDTO montarResponseDetalhe(Object[] linha) {
+        OrdemServico os = (OrdemServico) linha[0];
+
+        if (!(linha[1] instanceof Veiculo veiculo)) {
+            throw new VeiculoNotFoundException(os.getVeiculoId());
+        }
+        if (!(linha[2] instanceof Usuario mecanico)) {
+            throw new UsuarioNotFoundException(os.getUsuarioId());
+        }
+
+        // Cliente inativo não vem no join (@Where): busca incluindo inativos
+        Cliente cliente = linha[3] instanceof Cliente c ? c : buscarClienteIncluindoInativo(veiculo.getClienteId());
+
+        return montarResponse(os, veiculo, mecanico, cliente);
+    }
+
     /**
      * Monta OrdemServicoResponseDTO com entidades já carregadas.
      *
@@ -880,15 +1105,31 @@ public class OrdemServicoService {
      * @return DTO completo
      */
     private OrdemServicoResponseDTO montarResponse(OrdemServico os, Veiculo veiculo, Usuario mecanico) {
-        UUID oficinaId = TenantContext.getTenantId();
-
         // Busca cliente do veículo (incluindo inativos para permitir visualizar OS antigas)
-        Cliente cliente = clienteRepository.findByOficinaIdAndIdIncludingInactive(oficinaId, veiculo.getClienteId())
-            .orElseThrow(() -> new ClienteNotFoundException(veiculo.getClienteId()));
+        Cliente cliente = buscarClienteIncluindoInativo(veiculo.getClienteId());
 
         // Força inicialização dos itens (lazy loading)
         os.getItens().size();
 
+        return montarResponse(os, veiculo, mecanico, cliente);
+    }
+
+    private Cliente buscarClienteIncluindoInativo(UUID clienteId) {
+        UUID oficinaId = TenantContext.getTenantId();
+        return clienteRepository.findByOficinaIdAndIdIncludingInactive(oficinaId, clienteId)
+            .orElseThrow(() -> new ClienteNotFoundException(clienteId));
+    }
+
+    /**
+     * Monta OrdemServicoResponseDTO com todas as entidades já carregadas (itens inicializados).
+     *
+     * @param os entidade OrdemServico
+     * @param veiculo entidade Veiculo
+     * @param mecanico entidade Usuario (mecânico)
+     * @param cliente entidade Cliente (dono do veículo)
+     * @return DTO completo
+     */
+    private OrdemServicoResponseDTO montarResponse(OrdemServico os, Veiculo veiculo, Usuario mecanico, Cliente cliente) {
         // Mapeia básico
         OrdemServicoResponseDTO response = mapper.toResponse(os);
 
@@ -953,126 +1194,133 @@ public class OrdemServicoService {
     // ===== MÉTODOS AUXILIARES DE NOTIFICAÇÃO =====
 
     /**
-     * Publica notificação de OS aprovada.
+     * Destinatário de uma notificação de OS: veículo, cliente, mecânico (se carregado) e nome da oficina.
      */
-    private void publicarNotificacaoAprovada(OrdemServico os, UUID oficinaId) {
+    private record DadosNotificacao(Veiculo veiculo, Cliente cliente, Usuario mecanico, String nomeOficina) {
+    }
+
+    /**
+     * Carrega os dados do destinatário da notificação.
+     *
+     * <p>Falhas aqui apenas deixam a OS sem notificação. A publicação em si (linha no outbox, na
+     * transação da OS) fica fora deste try: se o INSERT falhar, a transação já está abortada no
+     * PostgreSQL e o erro precisa chegar ao chamador.</p>
+     *
+     * @return dados do destinatário, ou null se a OS não tem veículo/cliente ou a carga falhou
+     */
+    private DadosNotificacao carregarDadosNotificacao(OrdemServico os, UUID oficinaId, boolean comMecanico, String evento) {
         try {
             Veiculo veiculo = veiculoRepository.findByOficinaIdAndId(oficinaId, os.getVeiculoId())
                 .orElse(null);
-            if (veiculo == null) return;
+            if (veiculo == null) return null;
 
             Cliente cliente = clienteRepository.findByOficinaIdAndId(oficinaId, veiculo.getClienteId())
                 .orElse(null);
-            if (cliente == null) return;
+            if (cliente == null) return null;
+
+            Usuario mecanico = comMecanico
+                ? usuarioRepository.findByOficinaIdAndId(oficinaId, os.getUsuarioId()).orElse(null)
+                : null;
 
             String nomeOficina = oficinaRepository.findById(oficinaId)
                 .map(Oficina::getNomeFantasia)
                 .orElse("PitStop");
 
-            notificacaoEventPublisher.publicarOSAprovada(
-                os.getId(),
-                os.getNumero(),
-                cliente.getId(),
-                cliente.getNome(),
-                cliente.getEmail(),
-                cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
-                nomeOficina
-            );
+            return new DadosNotificacao(veiculo, cliente, mecanico, nomeOficina);
         } catch (Exception e) {
-            log.warn("Falha ao publicar notificacao de OS aprovada: {}", e.getMessage());
+            log.warn("Falha ao carregar dados da notificacao de OS {}: {}", evento, e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Publica notificação de OS em andamento.
+     * Publica notificação de OS aprovada.
      */
-    private void publicarNotificacaoEmAndamento(OrdemServico os, UUID oficinaId) {
-        try {
-            Veiculo veiculo = veiculoRepository.findByOficinaIdAndId(oficinaId, os.getVeiculoId())
-                .orElse(null);
-            if (veiculo == null) return;
-
-            Cliente cliente = clienteRepository.findByOficinaIdAndId(oficinaId, veiculo.getClienteId())
-                .orElse(null);
-            if (cliente == null) return;
-
-            Usuario mecanico = usuarioRepository.findByOficinaIdAndId(oficinaId, os.getUsuarioId())
-                .orElse(null);
-
-            String nomeOficina = oficinaRepository.findById(oficinaId)
-                .map(Oficina::getNomeFantasia)
-                .orElse("PitStop");
+    private void publicarNotificacaoAprovada(OrdemServico os, UUID oficinaId) {
+        DadosNotificacao dados = carregarDadosNotificacao(os, oficinaId, false, "aprovada");
+        if (dados == null) return;
 
-            LocalDateTime previsao = os.getDataPrevisao() != null
-                ? os.getDataPrevisao().atStartOfDay()
-                : null;
+        Cliente cliente = dados.cliente();
+        notificacaoEventPublisher.publicarOSAprovada(
+            os.getId(),
+            os.getNumero(),
+            cliente.getId(),
+            cliente.getNome(),
+            cliente.getEmail(),
+            cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
+            dados.nomeOficina()
+        );
+    }
 
-            notificacaoEventPublisher.publicarOSEmAndamento(
-                os.getId(),
-                os.getNumero(),
-                cliente.getId(),
-                cliente.getNome(),
-                cliente.getEmail(),
-                cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
-                veiculo.getPlacaFormatada(),
-                veiculo.getMarca() + " " + veiculo.getModelo(),
-                mecanico != null ? mecanico.getNome() : "Equipe",
-                previsao,
-                nomeOficina
-            );
-        } catch (Exception e) {
-            log.warn("Falha ao publicar notificacao de OS em andamento: {}", e.getMessage());
-        }
+    /**
+     * Publica notificação de OS em andamento.
+     */
+    private void publicarNotificacaoEmAndamento(OrdemServico os, UUID oficinaId) {
+        DadosNotificacao dados = carregarDadosNotificacao(os, oficinaId, true, "em andamento");
+        if (dados == null) return;
+
+        Cliente cliente = dados.cliente();
+        Veiculo veiculo = dados.veiculo();
+        LocalDateTime previsao = os.getDataPrevisao() != null
+            ? os.getDataPrevisao().atStartOfDay()
+            : null;
+
+        notificacaoEventPublisher.publicarOSEmAndamento(
+            os.getId(),
+            os.getNumero(),
+            cliente.getId(),
+            cliente.getNome(),
+            cliente.getEmail(),
+            cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
+            veiculo.getPlacaFormatada(),
+            veiculo.getMarca() + " " + veiculo.getModelo(),
+            dados.mecanico() != null ? dados.mecanico().getNome() : "Equipe",
+            previsao,
+            dados.nomeOficina()
+        );
     }
 
     /**
      * Publica notificação de OS finalizada e envia PDF por email.
      */
     private void publicarNotificacaoFinalizada(OrdemServico os, UUID oficinaId) {
-        try {
-            Veiculo veiculo = veiculoRepository.findByOficinaIdAndId(oficinaId, os.getVeiculoId())
-                .orElse(null);
-            if (veiculo == null) return;
+        DadosNotificacao dados = carregarDadosNotificacao(os, oficinaId, false, "finalizada");
+        if (dados == null) return;
 
-            Cliente cliente = clienteRepository.findByOficinaIdAndId(oficinaId, veiculo.getClienteId())
-                .orElse(null);
-            if (cliente == null) return;
+        Cliente cliente = dados.cliente();
+        Veiculo veiculo = dados.veiculo();
 
-            String nomeOficina = oficinaRepository.findById(oficinaId)
-                .map(Oficina::getNomeFantasia)
-                .orElse("PitStop");
-
-            // Monta descrição dos serviços realizados
-            String servicosRealizados = os.getItens().stream()
-                .map(item -> item.getDescricao())
-                .collect(java.util.stream.Collectors.joining(", "));
+        // Monta descrição dos serviços realizados
+        String servicosRealizados = os.getItens().stream()
+            .map(item -> item.getDescricao())
+            .collect(java.util.stream.Collectors.joining(", "));
 
-            notificacaoEventPublisher.publicarOSFinalizada(
-                os.getId(),
-                os.getNumero(),
-                cliente.getId(),
-                cliente.getNome(),
-                cliente.getEmail(),
-                cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
-                veiculo.getPlacaFormatada(),
-                veiculo.getMarca() + " " + veiculo.getModelo(),
-                os.getValorFinal(),
-                servicosRealizados,
-                nomeOficina
-            );
+        notificacaoEventPublisher.publicarOSFinalizada(
+            os.getId(),
+            os.getNumero(),
+            cliente.getId(),
+            cliente.getNome(),
+            cliente.getEmail(),
+            cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
+            veiculo.getPlacaFormatada(),
+            veiculo.getMarca() + " " + veiculo.getModelo(),
+            os.getValorFinal(),
+            servicosRealizados,
+            dados.nomeOficina()
+        );
 
-            // Envia PDF por email de forma assíncrona (não bloqueia a resposta)
+        // Envia PDF por email de forma assíncrona (não bloqueia a resposta)
+        try {
             asyncPdfMailService.enviarPdfFinalizacaoAsync(
                 os.getId(),
                 os.getNumero(),
                 cliente,
                 veiculo,
                 os.getValorFinal(),
-                nomeOficina
+                dados.nomeOficina()
             );
-
         } catch (Exception e) {
-            log.warn("Falha ao publicar notificacao de OS finalizada: {}", e.getMessage());
+            log.warn("Falha ao agendar envio do PDF da OS finalizada: {}", e.getMessage());
         }
     }
 
@@ -1080,32 +1328,20 @@ public class OrdemServicoService {
      * Publica notificação de OS entregue.
      */
     private void publicarNotificacaoEntregue(OrdemServico os, UUID oficinaId) {
-        try {
-            Veiculo veiculo = veiculoRepository.findByOficinaIdAndId(oficinaId, os.getVeiculoId())
-                .orElse(null);
-            if (veiculo == null) return;
-
-            Cliente cliente = clienteRepository.findByOficinaIdAndId(oficinaId, veiculo.getClienteId())
-                .orElse(null);
-            if (cliente == null) return;
+        DadosNotificacao dados = carregarDadosNotificacao(os, oficinaId, false, "entregue");
+        if (dados == null) return;
 
-            String nomeOficina = oficinaRepository.findById(oficinaId)
-                .map(Oficina::getNomeFantasia)
-                .orElse("PitStop");
-
-            notificacaoEventPublisher.publicarOSEntregue(
-                os.getId(),
-                os.getNumero(),
-                cliente.getId(),
-                cliente.getNome(),
-                cliente.getEmail(),
-                cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
-                veiculo.getPlacaFormatada(),
-                nomeOficina
-            );
-        } catch (Exception e) {
-            log.warn("Falha ao publicar notificacao de OS entregue: {}", e.getMessage());
-        }
+        Cliente cliente = dados.cliente();
+        notificacaoEventPublisher.publicarOSEntregue(
+            os.getId(),
+            os.getNumero(),
+            cliente.getId(),
+            cliente.getNome(),
+            cliente.getEmail(),
+            cliente.getCelular() != null ? cliente.getCelular() : cliente.getTelefone(),
+            dados.veiculo().getPlacaFormatada(),
+            dados.nomeOficina()
+        );
     }
 
     // ===== MÉTODOS AUXILIARES DE PROCESSAMENTO DE ITENS =====
@@ -1195,7 +1431,7 @@ public class OrdemServicoService {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             if (auth != null && auth.getPrincipal() instanceof CustomUserDetails userDetails) {
                 usuarioId = userDetails.getUserId();
-                usuarioNome = userDetails.getUsuario().getNome();
+                usuarioNome = userDetails.getNome();
             }
 
             HistoricoStatusOS historico = HistoricoStatusOS.builder()
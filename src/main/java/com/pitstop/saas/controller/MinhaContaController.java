@@ -138,7 +138,7 @@ public class MinhaContaController {
             id, oficinaId, metodoPagamento);
 
         IniciarPagamentoFaturaDTO resultado = minhaContaService.iniciarPagamento(
-            oficinaId, id, metodoPagamento, userDetails.getUsuario().getEmail()
+            oficinaId, id, metodoPagamento, userDetails.getEmail()
         );
 
         return ResponseEntity.ok(resultado);
@@ -47,7 +47,7 @@ public class OficinaFeatureFlagController {
 
         if (oficinaId == null) {
             // SUPER_ADMIN não tem oficina
-            if (userDetails.getUsuario().getPerfil().name().equals("SUPER_ADMIN")) {
+            if (userDetails.getPerfil().name().equals("SUPER_ADMIN")) {
                 logger.debug("SUPER_ADMIN acessando meu-plano - não aplicável");
                 return ResponseEntity.noContent().build();
             }
@@ -73,7 +73,7 @@ public class OficinaFeatureFlagController {
 
         if (oficinaId == null) {
             // SUPER_ADMIN não tem oficina, retornar todas as features habilitadas
-            if (userDetails.getUsuario().getPerfil().name().equals("SUPER_ADMIN")) {
+            if (userDetails.getPerfil().name().equals("SUPER_ADMIN")) {
                 logger.debug("SUPER_ADMIN acessando features - retornando todas habilitadas");
                 return ResponseEntity.ok(new OficinaFeatureFlagsDTO(null, Map.of()));
             }
@@ -100,7 +100,7 @@ public class OficinaFeatureFlagController {
 
         if (oficinaId == null) {
             // SUPER_ADMIN - todas features habilitadas
-            if (userDetails.getUsuario().getPerfil().name().equals("SUPER_ADMIN")) {
+            if (userDetails.getPerfil().name().equals("SUPER_ADMIN")) {
                 return ResponseEntity.ok(Map.of(
                     "codigo", codigo,
                     "enabled", true,
@@ -136,7 +136,7 @@ public class OficinaFeatureFlagController {
 
         if (oficinaId == null) {
             // SUPER_ADMIN - todas features habilitadas
-            if (userDetails.getUsuario().getPerfil().name().equals("SUPER_ADMIN")) {
+            if (userDetails.getPerfil().name().equals("SUPER_ADMIN")) {
                 Map<String, Boolean> result = new java.util.HashMap<>();
                 for (String codigo : codigos) {
                     result.put(codigo, true);
@@ -80,7 +80,7 @@ public class SaasFeatureFlagController {
             @Valid @RequestBody CreateFeatureFlagRequest request,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         logger.info("POST /api/saas/features - Criando feature flag: {}", request.codigo());
-        FeatureFlagDTO created = featureFlagService.create(request, userDetails.getUsuario().getId());
+        FeatureFlagDTO created = featureFlagService.create(request, userDetails.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -90,7 +90,7 @@ public class SaasFeatureFlagController {
             @Valid @RequestBody UpdateFeatureFlagRequest request,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         logger.info("PUT /api/saas/features/{} - Atualizando feature flag", id);
-        FeatureFlagDTO updated = featureFlagService.update(id, request, userDetails.getUsuario().getId());
+        FeatureFlagDTO updated = featureFlagService.update(id, request, userDetails.getUserId());
         return ResponseEntity.ok(updated);
     }
 
@@ -111,7 +111,7 @@ public class SaasFeatureFlagController {
             @RequestBody ToggleFeatureFlagRequest request,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         logger.info("POST /api/saas/features/{}/toggle - Toggle feature flag", id);
-        FeatureFlagDTO toggled = featureFlagService.toggle(id, request, userDetails.getUsuario().getId());
+        FeatureFlagDTO toggled = featureFlagService.toggle(id, request, userDetails.getUserId());
         return ResponseEntity.ok(toggled);
     }
 
@@ -121,7 +121,7 @@ public class SaasFeatureFlagController {
             @RequestParam boolean habilitado,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         logger.info("POST /api/saas/features/{}/toggle-global - Toggle global: {}", id, habilitado);
-        FeatureFlagDTO toggled = featureFlagService.toggleGlobal(id, habilitado, userDetails.getUsuario().getId());
+        FeatureFlagDTO toggled = featureFlagService.toggleGlobal(id, habilitado, userDetails.getUserId());
         return ResponseEntity.ok(toggled);
     }
 
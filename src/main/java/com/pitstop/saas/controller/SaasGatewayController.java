@@ -76,7 +76,7 @@ public class SaasGatewayController {
 
         ConfiguracaoGatewayDTO config = configuracaoGatewayService.salvar(
             requestWithTipo,
-            userDetails.getUsuario().getId()
+            userDetails.getUserId()
         );
 
         return ResponseEntity.ok(config);
@@ -94,7 +94,7 @@ public class SaasGatewayController {
 
         ConfiguracaoGatewayDTO config = configuracaoGatewayService.validarCredenciais(
             TipoGateway.MERCADO_PAGO,
-            userDetails.getUsuario().getId()
+            userDetails.getUserId()
         );
 
         return ResponseEntity.ok(config);
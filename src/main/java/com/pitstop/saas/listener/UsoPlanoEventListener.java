@@ -0,0 +1,69 @@
+package com.pitstop.saas.listener;
+
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.event.OrdemServicoCanceladaEvent;
+import com.pitstop.saas.service.ContadorUsoPlanoService;
+import com.pitstop.usuario.event.UsuarioAtivoAlteradoEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+
+/**
+ * Listener que mantém os contadores de uso do plano ({@link ContadorUsoPlanoService}).
+ *
+ * <p><strong>Comportamento:</strong></p>
+ * <ul>
+ *   <li>Processa APÓS o commit, para não ajustar contadores de transações revertidas</li>
+ *   <li>OS cancelada: -1 no contador do mês de abertura da OS</li>
+ *   <li>Usuário ativado/desativado: +1/-1 no contador de usuários ativos</li>
+ *   <li>Falhas do Redis não afetam a operação; a reconciliação periódica corrige o contador</li>
+ * </ul>
+ *
+ * @author PitStop Team
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UsoPlanoEventListener {
+
+    private final ContadorUsoPlanoService contadorUsoPlanoService;
+
+    /**
+     * Desconta a OS cancelada do limite mensal do mês em que foi aberta.
+     *
+     * @param event evento de OS cancelada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrdemServicoCancelada(OrdemServicoCanceladaEvent event) {
+        if (event.getOficinaId() == null || event.getDataAbertura() == null
+                || event.getStatusAnterior() == StatusOS.CANCELADO) {
+            return;
+        }
+
+        try {
+            contadorUsoPlanoService.ajustarOs(event.getOficinaId(), YearMonth.from(event.getDataAbertura()), -1);
+        } catch (Exception e) {
+            log.warn("Falha ao ajustar contador de OS da oficina {} (OS #{}): {}",
+                    event.getOficinaId(), event.getNumeroOS(), e.getMessage());
+        }
+    }
+
+    /**
+     * Ajusta o contador de usuários ativos.
+     *
+     * @param event evento de ativação/desativação de usuário
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleUsuarioAtivoAlterado(UsuarioAtivoAlteradoEvent event) {
+        try {
+            contadorUsoPlanoService.ajustarUsuarios(event.getOficinaId(), event.isAtivo() ? 1 : -1);
+        } catch (Exception e) {
+            log.warn("Falha ao ajustar contador de usuários da oficina {}: {}",
+                    event.getOficinaId(), e.getMessage());
+        }
+    }
+}
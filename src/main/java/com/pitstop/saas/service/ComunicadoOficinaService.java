@@ -33,18 +33,17 @@ public class ComunicadoOficinaService {
      */
     private UUID getOficinaIdAtual() {
         var userDetails = (CustomUserDetails) SecurityUtils.getCurrentUser();
-        var usuario = userDetails.getUsuario();
 
         // SUPER_ADMIN não tem oficina
-        if (usuario.getPerfil().name().equals("SUPER_ADMIN")) {
+        if (userDetails.getPerfil().name().equals("SUPER_ADMIN")) {
             return null;
         }
 
-        var oficina = usuario.getOficina();
-        if (oficina == null) {
+        var oficinaId = userDetails.getOficinaId();
+        if (oficinaId == null) {
             throw new IllegalStateException("Usuário não está vinculado a uma oficina");
         }
-        return oficina.getId();
+        return oficinaId;
     }
 
     /**
@@ -52,7 +51,7 @@ public class ComunicadoOficinaService {
      */
     private boolean isSuperAdmin() {
         var userDetails = (CustomUserDetails) SecurityUtils.getCurrentUser();
-        return userDetails.getUsuario().getPerfil().name().equals("SUPER_ADMIN");
+        return userDetails.getPerfil().name().equals("SUPER_ADMIN");
     }
 
     /**
@@ -87,7 +87,6 @@ public class ComunicadoService {
     @Transactional
     public ComunicadoDTO criarComunicado(CreateComunicadoRequest request) {
         var userDetails = (CustomUserDetails) SecurityUtils.getCurrentUser();
-        var usuario = userDetails.getUsuario();
 
         Comunicado comunicado = Comunicado.builder()
             .titulo(request.titulo())
@@ -95,8 +94,8 @@ public class ComunicadoService {
             .conteudo(request.conteudo())
             .tipo(request.tipo())
             .prioridade(request.prioridade())
-            .autorId(usuario.getId())
-            .autorNome(usuario.getNome())
+            .autorId(userDetails.getUserId())
+            .autorNome(userDetails.getNome())
             .planosAlvo(request.planosAlvo())
             .oficinasAlvo(request.oficinasAlvo())
             .statusOficinasAlvo(request.statusOficinasAlvo())
@@ -118,7 +117,7 @@ public class ComunicadoService {
             comunicado = comunicadoRepository.findById(comunicado.getId()).orElseThrow();
         }
 
-        log.info("Comunicado criado: {} por {}", comunicado.getId(), usuario.getEmail());
+        log.info("Comunicado criado: {} por {}", comunicado.getId(), userDetails.getEmail());
         return ComunicadoDTO.fromEntity(comunicado);
     }
 
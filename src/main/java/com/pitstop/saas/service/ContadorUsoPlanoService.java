@@ -0,0 +1,315 @@
+package com.pitstop.saas.service;
+
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.usuario.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Contadores de uso do plano por oficina, mantidos no Redis.
+ *
+ * <p>Substitui os {@code COUNT(*)} executados a cada criação de OS/usuário por leituras O(1):
+ * <ul>
+ *   <li>{@code plano_uso:{oficinaId}:os:{yyyyMM}} - OS não canceladas abertas no mês (expira após o mês)</li>
+ *   <li>{@code plano_uso:{oficinaId}:usuarios} - usuários ativos</li>
+ * </ul>
+ *
+ * <p><b>Concorrência:</b> a reserva é um check-and-increment atômico ({@code redis/plano_uso_reservar.lua}),
+ * então duas criações simultâneas com a oficina no limite - 1 não passam as duas. Se a transação que
+ * reservou fizer rollback, a reserva é devolvida.
+ *
+ * <p><b>Atualização:</b> cancelamentos de OS e ativação/desativação de usuários ajustam os contadores
+ * via eventos de domínio (após o commit). Contadores ausentes são semeados com o {@code COUNT} do
+ * Postgres na primeira leitura, e {@link #reconciliar()} recalcula periodicamente os contadores
+ * existentes para corrigir desvios.
+ *
+ * <p>Erros de Redis são propagados; o {@link PlanoLimiteService} volta para as queries de contagem.
+ *
+ * @author PitStop Team
+ */
+@Slf4j
+@Service
+public class ContadorUsoPlanoService {
+
+    private static final String KEY_PREFIX = "plano_uso:";
+    private static final String OFICINAS_KEY = KEY_PREFIX + "oficinas";
+    private static final DateTimeFormatter MES_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * Contador mensal sobrevive alguns dias além do mês (consultas de fechamento).
+     */
+    private static final Duration OS_MES_TTL_EXTRA = Duration.ofDays(7);
+
+    /**
+     * Resultado de uma reserva.
+     *
+     * @param permitido true se havia espaço no limite e o contador foi incrementado
+     * @param uso uso após a reserva (ou atual, se negada)
+     */
+    public record Reserva(boolean permitido, long uso) {}
+
+    private final StringRedisTemplate redisTemplate;
+    private final OrdemServicoRepository ordemServicoRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> reservarScript;
+    private final DefaultRedisScript<Long> ajustarScript;
+
+    public ContadorUsoPlanoService(
+            StringRedisTemplate redisTemplate,
+            OrdemServicoRepository ordemServicoRepository,
+            UsuarioRepository usuarioRepository
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.ordemServicoRepository = ordemServicoRepository;
+        this.usuarioRepository = usuarioRepository;
+
+        this.reservarScript = new DefaultRedisScript<>();
+        this.reservarScript.setScriptSource(
+                new ResourceScriptSource(new ClassPathResource("redis/plano_uso_reservar.lua")));
+        this.reservarScript.setResultType(List.class);
+
+        this.ajustarScript = new DefaultRedisScript<>();
+        this.ajustarScript.setScriptSource(
+                new ResourceScriptSource(new ClassPathResource("redis/plano_uso_ajustar.lua")));
+        this.ajustarScript.setResultType(Long.class);
+    }
+
+    // =====================================
+    // OS por mês
+    // =====================================
+
+    /**
+     * Reserva uma OS no mês atual se o limite permitir.
+     *
+     * @param oficinaId ID da oficina
+     * @param limite limite mensal (-1 = ilimitado)
+     */
+    public Reserva reservarOs(UUID oficinaId, int limite) {
+        YearMonth mes = YearMonth.now();
+        return reservar(oficinaId, osKey(oficinaId, mes), limite, () -> contarOsNoMes(oficinaId, mes), ttlOsMes(mes));
+    }
+
+    /**
+     * Uso de OS no mês atual.
+     */
+    public long usoOsMes(UUID oficinaId) {
+        YearMonth mes = YearMonth.now();
+        return ler(oficinaId, osKey(oficinaId, mes), () -> contarOsNoMes(oficinaId, mes), ttlOsMes(mes));
+    }
+
+    /**
+     * Ajusta o contador de OS do mês informado (ex.: -1 ao cancelar uma OS aberta naquele mês).
+     */
+    public void ajustarOs(UUID oficinaId, YearMonth mes, long delta) {
+        ajustar(osKey(oficinaId, mes), delta);
+    }
+
+    // =====================================
+    // Usuários ativos
+    // =====================================
+
+    /**
+     * Reserva um usuário ativo se o limite permitir.
+     *
+     * @param oficinaId ID da oficina
+     * @param limite limite de usuários (-1 = ilimitado)
+     */
+    public Reserva reservarUsuario(UUID oficinaId, int limite) {
+        return reservar(oficinaId, usuariosKey(oficinaId), limite,
+                () -> usuarioRepository.countByOficinaIdAndAtivoTrue(oficinaId), null);
+    }
+
+    /**
+     * Uso atual de usuários ativos.
+     */
+    public long usoUsuarios(UUID oficinaId) {
+        return ler(oficinaId, usuariosKey(oficinaId),
+                () -> usuarioRepository.countByOficinaIdAndAtivoTrue(oficinaId), null);
+    }
+
+    /**
+     * Ajusta o contador de usuários ativos (+1 reativação, -1 desativação).
+     */
+    public void ajustarUsuarios(UUID oficinaId, long delta) {
+        ajustar(usuariosKey(oficinaId), delta);
+    }
+
+    // =====================================
+    // Reconciliação
+    // =====================================
+
+    /**
+     * Recalcula os contadores existentes a partir do Postgres.
+     *
+     * <p>Corrige desvios (ajuste perdido por falha do Redis, alteração direta no banco). Só atualiza
+     * chaves que já existem ({@code SET XX}); uma reserva em andamento durante a reconciliação pode
+     * ficar fora da contagem até a próxima execução.
+     */
+    @Scheduled(cron = "${planolimite.reconcile.cron:0 15 * * * *}")
+    public void reconciliar() {
+        Set<String> oficinas;
+        try {
+            oficinas = redisTemplate.opsForSet().members(OFICINAS_KEY);
+        } catch (Exception e) {
+            log.warn("Reconciliação de contadores de plano ignorada (Redis indisponível): {}", e.getMessage());
+            return;
+        }
+
+        if (oficinas == null || oficinas.isEmpty()) {
+            return;
+        }
+
+        YearMonth mes = YearMonth.now();
+        int corrigidos = 0;
+
+        for (String id : oficinas) {
+            UUID oficinaId = UUID.fromString(id);
+            try {
+                corrigidos += reconciliarChave(osKey(oficinaId, mes), contarOsNoMes(oficinaId, mes), ttlOsMes(mes));
+                corrigidos += reconciliarChave(usuariosKey(oficinaId),
+                        usuarioRepository.countByOficinaIdAndAtivoTrue(oficinaId), null);
+            } catch (Exception e) {
+                log.warn("Falha ao reconciliar contadores da oficina {}: {}", oficinaId, e.getMessage());
+            }
+        }
+
+        log.info("Reconciliação de contadores de plano: {} oficinas, {} contadores corrigidos",
+                oficinas.size(), corrigidos);
+    }
+
+    // =====================================
+    // PRIVATE HELPERS
+    // =====================================
+
+    private Reserva reservar(UUID oficinaId, String key, int limite, LongSupplier contagem, Duration ttl) {
+        List<?> resultado = executarReserva(key, limite);
+
+        if (toLong(resultado.get(0)) == -1L) {
+            semear(oficinaId, key, contagem.getAsLong(), ttl);
+            resultado = executarReserva(key, limite);
+        }
+
+        boolean permitido = toLong(resultado.get(0)) == 1L;
+        if (permitido) {
+            devolverSeRollback(key);
+        }
+
+        return new Reserva(permitido, toLong(resultado.get(1)));
+    }
+
+    private List<?> executarReserva(String key, int limite) {
+        List<?> resultado = redisTemplate.execute(reservarScript, List.of(key), String.valueOf(limite));
+        if (resultado == null || resultado.size() < 2) {
+            throw new IllegalStateException("Resposta inválida do script de reserva para " + key);
+        }
+        return resultado;
+    }
+
+    private long ler(UUID oficinaId, String key, LongSupplier contagem, Duration ttl) {
+        String valor = redisTemplate.opsForValue().get(key);
+        if (valor != null) {
+            return Long.parseLong(valor);
+        }
+
+        long atual = contagem.getAsLong();
+        semear(oficinaId, key, atual, ttl);
+        return atual;
+    }
+
+    private void ajustar(String key, long delta) {
+        redisTemplate.execute(ajustarScript, List.of(key), String.valueOf(delta));
+    }
+
+    /**
+     * Semeia o contador a partir do Postgres ({@code SET NX}: se outro nó semeou antes, prevalece o dele).
+     */
+    private void semear(UUID oficinaId, String key, long valor, Duration ttl) {
+        if (ttl != null) {
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(valor), ttl);
+        } else {
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(valor));
+        }
+        redisTemplate.opsForSet().add(OFICINAS_KEY, oficinaId.toString());
+        log.debug("Contador {} semeado com {}", key, valor);
+    }
+
+    private int reconciliarChave(String key, long valor, Duration ttl) {
+        String atual = redisTemplate.opsForValue().get(key);
+        if (atual == null || Long.parseLong(atual) == valor) {
+            return 0;
+        }
+
+        if (ttl != null) {
+            redisTemplate.opsForValue().setIfPresent(key, String.valueOf(valor), ttl);
+        } else {
+            redisTemplate.opsForValue().setIfPresent(key, String.valueOf(valor));
+        }
+        log.debug("Contador {} reconciliado: {} -> {}", key, atual, valor);
+        return 1;
+    }
+
+    /**
+     * Devolve a reserva se a transação atual fizer rollback (ex.: falha ao salvar a OS).
+     */
+    private void devolverSeRollback(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    ajustar(key, -1);
+                } catch (Exception e) {
+                    log.warn("Falha ao devolver reserva de {} (corrigido na reconciliação): {}", key, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private long contarOsNoMes(UUID oficinaId, YearMonth mes) {
+        LocalDateTime inicio = mes.atDay(1).atStartOfDay();
+        LocalDateTime fim = mes.atEndOfMonth().atTime(LocalTime.MAX);
+        return ordemServicoRepository.countByOficinaIdAndDataAberturaBetweenExcluindoCanceladas(oficinaId, inicio, fim);
+    }
+
+    private static Duration ttlOsMes(YearMonth mes) {
+        LocalDateTime fimMes = mes.plusMonths(1).atDay(1).atStartOfDay();
+        return Duration.between(LocalDateTime.now(), fimMes).plus(OS_MES_TTL_EXTRA);
+    }
+
+    private static String osKey(UUID oficinaId, YearMonth mes) {
+        return KEY_PREFIX + oficinaId + ":os:" + mes.format(MES_FORMAT);
+    }
+
+    private static String usuariosKey(UUID oficinaId) {
+        return KEY_PREFIX + oficinaId + ":usuarios";
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+}
@@ -10,6 +10,7 @@ import com.pitstop.shared.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
@@ -23,10 +24,13 @@ public class FeatureFlagService {
 
     private final FeatureFlagRepository featureFlagRepository;
     private final OficinaRepository oficinaRepository;
+    private final FeatureFlagSnapshotService snapshotService;
 
-    public FeatureFlagService(FeatureFlagRepository featureFlagRepository, OficinaRepository oficinaRepository) {
+    public FeatureFlagService(FeatureFlagRepository featureFlagRepository, OficinaRepository oficinaRepository,
+                              FeatureFlagSnapshotService snapshotService) {
         this.featureFlagRepository = featureFlagRepository;
         this.oficinaRepository = oficinaRepository;
+        this.snapshotService = snapshotService;
     }
 
     // =====================================
@@ -91,6 +95,7 @@ public class FeatureFlagService {
         entity.setCreatedBy(createdBy);
 
         FeatureFlag saved = featureFlagRepository.save(entity);
+        snapshotService.invalidate();
         logger.info("Feature flag criada: {} ({})", saved.getNome(), saved.getCodigo());
 
         return FeatureFlagDTO.fromEntity(saved);
@@ -133,6 +138,7 @@ public class FeatureFlagService {
         entity.setUpdatedBy(updatedBy);
 
         FeatureFlag saved = featureFlagRepository.save(entity);
+        snapshotService.invalidate();
         logger.info("Feature flag atualizada: {} ({})", saved.getNome(), saved.getCodigo());
 
         return FeatureFlagDTO.fromEntity(saved);
@@ -143,6 +149,7 @@ public class FeatureFlagService {
             throw new ResourceNotFoundException("FeatureFlag não encontrada com ID: " + id);
         }
         featureFlagRepository.deleteById(id);
+        snapshotService.invalidate();
         logger.info("Feature flag deletada: {}", id);
     }
 
@@ -196,6 +203,7 @@ public class FeatureFlagService {
 
         entity.setUpdatedBy(updatedBy);
         FeatureFlag saved = featureFlagRepository.save(entity);
+        snapshotService.invalidate();
         logger.info("Feature flag toggled: {} ({})", saved.getNome(), saved.getCodigo());
 
         return FeatureFlagDTO.fromEntity(saved);
@@ -209,6 +217,7 @@ public class FeatureFlagService {
         entity.setUpdatedBy(updatedBy);
 
         FeatureFlag saved = featureFlagRepository.save(entity);
+        snapshotService.invalidate();
         logger.info("Feature flag {} toggle global: {}", saved.getCodigo(), habilitado);
 
         return FeatureFlagDTO.fromEntity(saved);
@@ -228,63 +237,13 @@ public class FeatureFlagService {
      * 4. Se o plano da oficina está habilitado, retorna true
      * 5. Se há percentual de rollout, verifica se a oficina está no percentual
      * 6. Caso contrário, retorna false
+     *
+     * Avaliada em memória pelo {@link FeatureFlagSnapshotService} (sem queries).
+     * Sem transação: não abre conexão com o banco em cada verificação.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean isEnabled(String featureCode, UUID oficinaId) {
-        Optional<FeatureFlag> flagOpt = featureFlagRepository.findByCodigo(featureCode);
-
-        if (flagOpt.isEmpty()) {
-            logger.debug("Feature flag não encontrada: {}", featureCode);
-            return false;
-        }
-
-        FeatureFlag flag = flagOpt.get();
-
-        // 1. Verificar período de atividade
-        if (!flag.isAtivo()) {
-            logger.debug("Feature flag {} não está ativa (fora do período)", featureCode);
-            return false;
-        }
-
-        // 2. Verificar habilitação global
-        if (Boolean.TRUE.equals(flag.getHabilitadoGlobal())) {
-            logger.debug("Feature flag {} está habilitada globalmente", featureCode);
-            return true;
-        }
-
-        // 3. Verificar habilitação por oficina
-        if (flag.isHabilitadoParaOficina(oficinaId)) {
-            logger.debug("Feature flag {} está habilitada para oficina {}", featureCode, oficinaId);
-            return true;
-        }
-
-        // 4. Verificar habilitação por plano
-        Optional<Oficina> oficinaOpt = oficinaRepository.findById(oficinaId);
-        if (oficinaOpt.isPresent()) {
-            Oficina oficina = oficinaOpt.get();
-            PlanoAssinatura plano = oficina.getPlano();
-
-            if (plano != null && flag.isHabilitadoParaPlano(plano.name())) {
-                logger.debug("Feature flag {} está habilitada para plano {}", featureCode, plano);
-                return true;
-            }
-        }
-
-        // 5. Verificar rollout percentual
-        Integer rollout = flag.getPercentualRollout();
-        if (rollout != null && rollout > 0) {
-            // Usar hash da oficina para determinismo
-            int hash = Math.abs(oficinaId.hashCode());
-            int bucket = hash % 100;
-
-            if (bucket < rollout) {
-                logger.debug("Feature flag {} habilitada por rollout para oficina {}", featureCode, oficinaId);
-                return true;
-            }
-        }
-
-        logger.debug("Feature flag {} não habilitada para oficina {}", featureCode, oficinaId);
-        return false;
+        return snapshotService.isEnabled(featureCode, oficinaId);
     }
 
     /**
@@ -320,9 +279,7 @@ public class FeatureFlagService {
         // 5. Verificar rollout percentual
         Integer rollout = flag.getPercentualRollout();
         if (rollout != null && rollout > 0) {
-            int hash = Math.abs(oficinaId.hashCode());
-            int bucket = hash % 100;
-            if (bucket < rollout) {
+            if (FeatureFlagSnapshot.rolloutBucket(oficinaId) < rollout) {
                 return true;
             }
         }
@@ -0,0 +1,155 @@
+package com.pitstop.saas.service;
+
+import com.pitstop.oficina.domain.PlanoAssinatura;
+import com.pitstop.saas.domain.FeatureFlag;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Snapshot imutável e pré-compilado das feature flags e do plano de cada oficina.
+ *
+ * <p>Construído de uma vez a partir do banco e nunca alterado; o {@link FeatureFlagSnapshotService}
+ * troca a referência inteira quando algo muda. Por isso a leitura não precisa de lock.
+ *
+ * <p>Cada flag é compilada em:
+ * <ul>
+ *   <li>período de atividade em epoch millis</li>
+ *   <li>flag global</li>
+ *   <li>máscara de bits dos planos habilitados (bit = ordinal do {@link PlanoAssinatura})</li>
+ *   <li>conjunto imutável das oficinas habilitadas</li>
+ *   <li>percentual de rollout</li>
+ * </ul>
+ *
+ * <p>A ordem de avaliação é a mesma de {@link FeatureFlagService#isEnabled(String, UUID)}.
+ *
+ * @author PitStop Team
+ */
+public final class FeatureFlagSnapshot {
+
+    private final Map<String, CompiledFlag> flags;
+    private final Map<UUID, PlanoAssinatura> planos;
+
+    private FeatureFlagSnapshot(Map<String, CompiledFlag> flags, Map<UUID, PlanoAssinatura> planos) {
+        this.flags = flags;
+        this.planos = planos;
+    }
+
+    /**
+     * Compila o snapshot.
+     *
+     * @param featureFlags todas as feature flags
+     * @param oficinaPlanos pares [id, plano] de todas as oficinas
+     * @return snapshot imutável
+     */
+    static FeatureFlagSnapshot compile(List<FeatureFlag> featureFlags, List<Object[]> oficinaPlanos) {
+        Map<String, CompiledFlag> flags = new HashMap<>();
+        for (FeatureFlag flag : featureFlags) {
+            flags.put(flag.getCodigo(), CompiledFlag.of(flag));
+        }
+
+        Map<UUID, PlanoAssinatura> planos = new HashMap<>();
+        for (Object[] row : oficinaPlanos) {
+            if (row[1] != null) {
+                planos.put((UUID) row[0], (PlanoAssinatura) row[1]);
+            }
+        }
+
+        return new FeatureFlagSnapshot(Map.copyOf(flags), Map.copyOf(planos));
+    }
+
+    /**
+     * Retorna a flag compilada, ou null se não existir.
+     */
+    CompiledFlag flag(String codigo) {
+        return flags.get(codigo);
+    }
+
+    /**
+     * Retorna o plano da oficina, ou null se a oficina não existia quando o snapshot foi construído.
+     */
+    PlanoAssinatura plano(UUID oficinaId) {
+        return planos.get(oficinaId);
+    }
+
+    int flagCount() {
+        return flags.size();
+    }
+
+    int oficinaCount() {
+        return planos.size();
+    }
+
+    /**
+     * Bucket determinístico de rollout (0-99) da oficina.
+     * Mesmo cálculo usado por {@link FeatureFlagService}.
+     */
+    static int rolloutBucket(UUID oficinaId) {
+        return Math.abs(oficinaId.hashCode()) % 100;
+    }
+
+    /**
+     * Feature flag pré-compilada.
+     */
+    record CompiledFlag(
+            String codigo,
+            long inicioMillis,
+            long fimMillis,
+            boolean global,
+            int planMask,
+            Set<UUID> oficinas,
+            int rollout
+    ) {
+
+        static CompiledFlag of(FeatureFlag flag) {
+            int mask = 0;
+            for (PlanoAssinatura plano : PlanoAssinatura.values()) {
+                if (flag.isHabilitadoParaPlano(plano.name())) {
+                    mask |= 1 << plano.ordinal();
+                }
+            }
+
+            return new CompiledFlag(
+                    flag.getCodigo(),
+                    toMillis(flag.getDataInicio(), Long.MIN_VALUE),
+                    toMillis(flag.getDataFim(), Long.MAX_VALUE),
+                    Boolean.TRUE.equals(flag.getHabilitadoGlobal()),
+                    mask,
+                    Set.copyOf(flag.getHabilitadoPorOficinaList()),
+                    flag.getPercentualRollout() != null ? flag.getPercentualRollout() : 0
+            );
+        }
+
+        boolean isAtivo(long nowMillis) {
+            return nowMillis >= inicioMillis && nowMillis <= fimMillis;
+        }
+
+        /**
+         * Avalia a flag para a oficina: período, global, oficina, plano e rollout.
+         *
+         * @param oficinaId ID da oficina
+         * @param plano plano da oficina (pode ser null)
+         * @param nowMillis instante atual
+         */
+        boolean isEnabled(UUID oficinaId, PlanoAssinatura plano, long nowMillis) {
+            if (!isAtivo(nowMillis)) {
+                return false;
+            }
+            if (global || oficinas.contains(oficinaId)) {
+                return true;
+            }
+            if (plano != null && (planMask & (1 << plano.ordinal())) != 0) {
+                return true;
+            }
+            return rollout > 0 && rolloutBucket(oficinaId) < rollout;
+        }
+
+        private static long toMillis(OffsetDateTime dateTime, long defaultValue) {
+            return dateTime != null ? dateTime.toInstant().toEpochMilli() : defaultValue;
+        }
+    }
+}
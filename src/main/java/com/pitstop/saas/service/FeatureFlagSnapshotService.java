@@ -0,0 +1,217 @@
+package com.pitstop.saas.service;
+
+import com.pitstop.oficina.domain.PlanoAssinatura;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.pitstop.saas.repository.FeatureFlagRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém o {@link FeatureFlagSnapshot} do nó e responde às verificações de feature flag em memória.
+ *
+ * <p><b>Leitura:</b> {@link #isEnabled(String, UUID)} lê a referência volátil do snapshot atual,
+ * sem lock e sem query. Oficinas criadas depois do último snapshot têm o plano buscado uma vez
+ * ({@code findPlanoById}) e guardado até a próxima reconstrução; oficinas inexistentes (ou
+ * excluídas) também, como ausentes, para não consultar o banco a cada verificação.
+ *
+ * <p><b>Invalidação:</b>
+ * <ul>
+ *   <li>{@link #invalidate()} marca o snapshot local como sujo e publica no canal Redis
+ *       {@value #CHANNEL} após o commit da transação atual</li>
+ *   <li>os outros nós recebem a mensagem e marcam o snapshot deles como sujo</li>
+ *   <li>a próxima leitura reconstrói o snapshot; só uma thread reconstrói, as demais continuam
+ *       usando o snapshot anterior até a troca atômica da referência</li>
+ *   <li>{@code featureflags.snapshot.refresh-interval-ms} reconstrói periodicamente, cobrindo
+ *       mensagens perdidas (Redis fora do ar)</li>
+ * </ul>
+ *
+ * @author PitStop Team
+ */
+@Slf4j
+@Service
+public class FeatureFlagSnapshotService implements MessageListener {
+
+    static final String CHANNEL = "pitstop:feature-flags:invalidate";
+
+    private final FeatureFlagRepository featureFlagRepository;
+    private final OficinaRepository oficinaRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * Identifica este nó nas mensagens, para ignorar as próprias invalidações.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile FeatureFlagSnapshot snapshot;
+    private volatile boolean dirty = true;
+
+    /**
+     * Planos de oficinas ausentes do snapshot atual (criadas depois da última reconstrução).
+     * {@code Optional.empty()} marca oficina não encontrada.
+     */
+    private final Map<UUID, Optional<PlanoAssinatura>> planosForaDoSnapshot = new ConcurrentHashMap<>();
+
+    public FeatureFlagSnapshotService(
+            FeatureFlagRepository featureFlagRepository,
+            OficinaRepository oficinaRepository,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer
+    ) {
+        this.featureFlagRepository = featureFlagRepository;
+        this.oficinaRepository = oficinaRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Verifica se a feature está habilitada para a oficina usando o snapshot em memória.
+     *
+     * @param featureCode código da feature
+     * @param oficinaId ID da oficina
+     * @return true se habilitada
+     */
+    public boolean isEnabled(String featureCode, UUID oficinaId) {
+        FeatureFlagSnapshot current = current();
+
+        FeatureFlagSnapshot.CompiledFlag flag = current.flag(featureCode);
+        if (flag == null) {
+            log.debug("Feature flag não encontrada: {}", featureCode);
+            return false;
+        }
+
+        PlanoAssinatura plano = current.plano(oficinaId);
+        if (plano == null) {
+            plano = resolvePlanoForaDoSnapshot(oficinaId);
+        }
+
+        return flag.isEnabled(oficinaId, plano, System.currentTimeMillis());
+    }
+
+    /**
+     * Invalida o snapshot neste nó e nos demais (via Redis pub/sub).
+     *
+     * <p>Dentro de uma transação, a publicação acontece após o commit, para que os outros nós
+     * não reconstruam o snapshot com os dados antigos.
+     */
+    public void invalidate() {
+        dirty = true;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirty = true;
+                    publish();
+                }
+            });
+        } else {
+            publish();
+        }
+    }
+
+    /**
+     * Reconstrução periódica (rede de segurança para mensagens pub/sub perdidas).
+     */
+    @Scheduled(fixedDelayString = "${featureflags.snapshot.refresh-interval-ms:300000}",
+               initialDelayString = "${featureflags.snapshot.refresh-interval-ms:300000}")
+    public void refreshPeriodically() {
+        dirty = true;
+        current();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String origem = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!nodeId.equals(origem)) {
+            log.debug("Snapshot de feature flags invalidado pelo nó {}", origem);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Retorna o snapshot atual, reconstruindo-o se estiver sujo.
+     */
+    FeatureFlagSnapshot current() {
+        FeatureFlagSnapshot current = snapshot;
+        if (!dirty && current != null) {
+            return current;
+        }
+
+        // Com snapshot anterior disponível, só uma thread reconstrói e as demais seguem sem esperar
+        if (current != null && !rebuildLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        }
+
+        try {
+            if (dirty || snapshot == null) {
+                rebuild();
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        // Limpa antes de ler: uma invalidação recebida durante a leitura força nova reconstrução
+        dirty = false;
+
+        try {
+            FeatureFlagSnapshot novo = FeatureFlagSnapshot.compile(
+                    featureFlagRepository.findAll(),
+                    oficinaRepository.findAllIdAndPlano()
+            );
+            snapshot = novo;
+            planosForaDoSnapshot.clear();
+            log.debug("Snapshot de feature flags reconstruído: {} flags, {} oficinas",
+                    novo.flagCount(), novo.oficinaCount());
+        } catch (RuntimeException e) {
+            dirty = true;
+            if (snapshot == null) {
+                throw e;
+            }
+            log.warn("Falha ao reconstruir snapshot de feature flags, mantendo o anterior: {}", e.getMessage());
+        }
+    }
+
+    private PlanoAssinatura resolvePlanoForaDoSnapshot(UUID oficinaId) {
+        return planosForaDoSnapshot.computeIfAbsent(oficinaId, oficinaRepository::findPlanoById)
+                .orElse(null);
+    }
+
+    private void publish() {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId);
+        } catch (Exception e) {
+            log.warn("Falha ao publicar invalidação de feature flags (outros nós atualizam no refresh periódico): {}",
+                    e.getMessage());
+        }
+    }
+}
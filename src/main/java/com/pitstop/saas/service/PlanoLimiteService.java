@@ -1,6 +1,6 @@
 package com.pitstop.saas.service;
 
-import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.oficina.domain.PlanoAssinatura;
 import com.pitstop.oficina.repository.OficinaRepository;
 import com.pitstop.ordemservico.repository.OrdemServicoRepository;
 import com.pitstop.saas.domain.Plano;
@@ -18,13 +18,20 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for validating and checking plan limits.
  *
  * <p>Validates user and service order limits based on the workshop's subscription plan.</p>
  *
+ * <p>Usage comes from the Redis counters in {@link ContadorUsoPlanoService} (O(1), atomic
+ * check-and-increment). If Redis is unavailable, falls back to the {@code COUNT} queries.
+ * Plan limits are cached locally for {@value #PLANO_CACHE_TTL_MINUTES} minutes.</p>
+ *
  * @author PitStop Team
  */
 @Service
@@ -33,10 +40,18 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class PlanoLimiteService {
 
+    private static final long PLANO_CACHE_TTL_MINUTES = 5;
+
     private final OficinaRepository oficinaRepository;
     private final UsuarioRepository usuarioRepository;
     private final OrdemServicoRepository ordemServicoRepository;
     private final PlanoRepository planoRepository;
+    private final ContadorUsoPlanoService contadorUsoPlanoService;
+
+    /**
+     * Plans by code (few rows, rarely changed).
+     */
+    private final Map<String, CachedPlano> planosCache = new ConcurrentHashMap<>();
 
     /**
      * Validates if workshop can create a new user based on plan limits.
@@ -45,29 +60,39 @@ public class PlanoLimiteService {
      * @throws LimiteUsuariosExcedidoException if limit is reached
      */
     public void validarLimiteUsuarios(UUID oficinaId) {
-        Oficina oficina = getOficina(oficinaId);
-        Plano plano = obterPlano(oficina);
-
-        // -1 means unlimited
-        if (plano.getLimiteUsuarios() == null || plano.getLimiteUsuarios() == -1) {
-            log.debug("Oficina {} tem usuários ilimitados (plano {})", oficinaId, plano.getNome());
-            return;
+        Plano plano = obterPlano(oficinaId);
+        int limite = plano.getLimiteUsuarios() != null ? plano.getLimiteUsuarios() : -1;
+
+        long usuariosAtivos;
+        try {
+            // Reserva atômica: conta o novo usuário e devolve se a transação fizer rollback
+            ContadorUsoPlanoService.Reserva reserva = contadorUsoPlanoService.reservarUsuario(oficinaId, limite);
+            if (reserva.permitido()) {
+                log.debug("Oficina {} pode criar usuário: {}/{} (plano {})",
+                    oficinaId, reserva.uso(), limite, plano.getNome());
+                return;
+            }
+            usuariosAtivos = reserva.uso();
+        } catch (Exception e) {
+            log.warn("Contador de usuários indisponível para oficina {}, usando COUNT: {}", oficinaId, e.getMessage());
+
+            // -1 means unlimited
+            if (limite == -1) {
+                return;
+            }
+            usuariosAtivos = usuarioRepository.countByOficinaIdAndAtivoTrue(oficinaId);
+            if (usuariosAtivos < limite) {
+                return;
+            }
         }
 
-        long usuariosAtivos = usuarioRepository.countByOficinaIdAndAtivoTrue(oficinaId);
-
-        if (usuariosAtivos >= plano.getLimiteUsuarios()) {
-            log.warn("Oficina {} atingiu limite de usuários: {}/{} (plano {})",
-                oficinaId, usuariosAtivos, plano.getLimiteUsuarios(), plano.getNome());
-            throw new LimiteUsuariosExcedidoException(
-                plano.getNome(),
-                plano.getLimiteUsuarios(),
-                usuariosAtivos
-            );
-        }
-
-        log.debug("Oficina {} pode criar usuário: {}/{} (plano {})",
-            oficinaId, usuariosAtivos, plano.getLimiteUsuarios(), plano.getNome());
+        log.warn("Oficina {} atingiu limite de usuários: {}/{} (plano {})",
+            oficinaId, usuariosAtivos, limite, plano.getNome());
+        throw new LimiteUsuariosExcedidoException(
+            plano.getNome(),
+            plano.getLimiteUsuarios(),
+            usuariosAtivos
+        );
     }
 
     /**
@@ -77,36 +102,39 @@ public class PlanoLimiteService {
      * @throws LimiteOsMesExcedidoException if monthly limit is reached
      */
     public void validarLimiteOsMes(UUID oficinaId) {
-        Oficina oficina = getOficina(oficinaId);
-        Plano plano = obterPlano(oficina);
-
-        // -1 means unlimited
-        if (plano.getLimiteOsMes() == null || plano.getLimiteOsMes() == -1) {
-            log.debug("Oficina {} tem OS ilimitadas (plano {})", oficinaId, plano.getNome());
-            return;
+        Plano plano = obterPlano(oficinaId);
+        int limite = plano.getLimiteOsMes() != null ? plano.getLimiteOsMes() : -1;
+
+        long osNoMes;
+        try {
+            // Reserva atômica: duas OS simultâneas no limite - 1 não passam as duas
+            ContadorUsoPlanoService.Reserva reserva = contadorUsoPlanoService.reservarOs(oficinaId, limite);
+            if (reserva.permitido()) {
+                log.debug("Oficina {} pode criar OS: {}/{} este mês (plano {})",
+                    oficinaId, reserva.uso(), limite, plano.getNome());
+                return;
+            }
+            osNoMes = reserva.uso();
+        } catch (Exception e) {
+            log.warn("Contador de OS indisponível para oficina {}, usando COUNT: {}", oficinaId, e.getMessage());
+
+            // -1 means unlimited
+            if (limite == -1) {
+                return;
+            }
+            osNoMes = contarOsNoMesAtual(oficinaId);
+            if (osNoMes < limite) {
+                return;
+            }
         }
 
-        // Get current month boundaries
-        LocalDate hoje = LocalDate.now();
-        LocalDateTime inicioMes = hoje.withDayOfMonth(1).atStartOfDay();
-        LocalDateTime fimMes = hoje.withDayOfMonth(hoje.lengthOfMonth()).atTime(LocalTime.MAX);
-
-        long osNoMes = ordemServicoRepository.countByOficinaIdAndDataAberturaBetweenExcluindoCanceladas(
-            oficinaId, inicioMes, fimMes
+        log.warn("Oficina {} atingiu limite de OS/mês: {}/{} (plano {})",
+            oficinaId, osNoMes, limite, plano.getNome());
+        throw new LimiteOsMesExcedidoException(
+            plano.getNome(),
+            plano.getLimiteOsMes(),
+            osNoMes
         );
-
-        if (osNoMes >= plano.getLimiteOsMes()) {
-            log.warn("Oficina {} atingiu limite de OS/mês: {}/{} (plano {})",
-                oficinaId, osNoMes, plano.getLimiteOsMes(), plano.getNome());
-            throw new LimiteOsMesExcedidoException(
-                plano.getNome(),
-                plano.getLimiteOsMes(),
-                osNoMes
-            );
-        }
-
-        log.debug("Oficina {} pode criar OS: {}/{} este mês (plano {})",
-            oficinaId, osNoMes, plano.getLimiteOsMes(), plano.getNome());
     }
 
     /**
@@ -116,21 +144,19 @@ public class PlanoLimiteService {
      * @return DTO with usage information
      */
     public UsoLimitesDTO obterUsoAtual(UUID oficinaId) {
-        Oficina oficina = getOficina(oficinaId);
-        Plano plano = obterPlano(oficina);
-
-        // Count active users
-        long usuariosAtivos = usuarioRepository.countByOficinaIdAndAtivoTrue(oficinaId);
-
-        // Get current month boundaries
+        Plano plano = obterPlano(oficinaId);
         LocalDate hoje = LocalDate.now();
-        LocalDateTime inicioMes = hoje.withDayOfMonth(1).atStartOfDay();
-        LocalDateTime fimMes = hoje.withDayOfMonth(hoje.lengthOfMonth()).atTime(LocalTime.MAX);
 
-        // Count OS this month (excluding canceled)
-        long osNoMes = ordemServicoRepository.countByOficinaIdAndDataAberturaBetweenExcluindoCanceladas(
-            oficinaId, inicioMes, fimMes
-        );
+        long usuariosAtivos;
+        long osNoMes;
+        try {
+            usuariosAtivos = contadorUsoPlanoService.usoUsuarios(oficinaId);
+            osNoMes = contadorUsoPlanoService.usoOsMes(oficinaId);
+        } catch (Exception e) {
+            log.warn("Contadores de uso indisponíveis para oficina {}, usando COUNT: {}", oficinaId, e.getMessage());
+            usuariosAtivos = usuarioRepository.countByOficinaIdAndAtivoTrue(oficinaId);
+            osNoMes = contarOsNoMesAtual(oficinaId);
+        }
 
         int limiteUsuarios = plano.getLimiteUsuarios() != null ? plano.getLimiteUsuarios() : -1;
         int limiteOsMes = plano.getLimiteOsMes() != null ? plano.getLimiteOsMes() : -1;
@@ -155,27 +181,38 @@ public class PlanoLimiteService {
     // PRIVATE HELPERS
     // =====================================
 
-    private Oficina getOficina(UUID oficinaId) {
-        return oficinaRepository.findById(oficinaId)
-            .orElseThrow(() -> new ResourceNotFoundException("Oficina não encontrada: " + oficinaId));
-    }
-
     /**
      * Gets the plan for the workshop.
-     * Uses the enum PlanoAssinatura name to lookup in planos table.
+     * Uses the enum PlanoAssinatura name to lookup in planos table (cached locally).
      */
-    private Plano obterPlano(Oficina oficina) {
-        if (oficina.getPlano() == null) {
-            throw new ResourceNotFoundException("Oficina não possui plano configurado: " + oficina.getId());
-        }
+    private Plano obterPlano(UUID oficinaId) {
+        PlanoAssinatura planoAssinatura = oficinaRepository.findPlanoById(oficinaId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                "Oficina não encontrada ou sem plano configurado: " + oficinaId));
 
         // Lookup plan by code (enum name)
-        String codigoPlano = oficina.getPlano().name();
-        return planoRepository.findByCodigo(codigoPlano)
+        String codigoPlano = planoAssinatura.name();
+        CachedPlano cached = planosCache.get(codigoPlano);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < TimeUnit.MINUTES.toMillis(PLANO_CACHE_TTL_MINUTES)) {
+            return cached.plano();
+        }
+
+        Plano plano = planoRepository.findByCodigo(codigoPlano)
             .orElseThrow(() -> new ResourceNotFoundException(
                 "Plano não encontrado na tabela planos: " + codigoPlano +
                 ". Execute a migration para criar os planos base."
             ));
+        planosCache.put(codigoPlano, new CachedPlano(plano, System.currentTimeMillis()));
+        return plano;
+    }
+
+    private long contarOsNoMesAtual(UUID oficinaId) {
+        LocalDate hoje = LocalDate.now();
+        LocalDateTime inicioMes = hoje.withDayOfMonth(1).atStartOfDay();
+        LocalDateTime fimMes = hoje.withDayOfMonth(hoje.lengthOfMonth()).atTime(LocalTime.MAX);
+        return ordemServicoRepository.countByOficinaIdAndDataAberturaBetweenExcluindoCanceladas(
+            oficinaId, inicioMes, fimMes
+        );
     }
 
     private double calcularPercentual(long usado, int limite) {
@@ -183,4 +220,6 @@ public class PlanoLimiteService {
         if (limite == 0) return 100.0;
         return Math.round((usado * 100.0 / limite) * 10.0) / 10.0; // 1 decimal place
     }
+
+    private record CachedPlano(Plano plano, long loadedAt) {}
 }
@@ -8,6 +8,7 @@ import com.pitstop.saas.dto.*;
 import com.pitstop.saas.repository.PlanoRepository;
 import com.pitstop.shared.exception.BusinessException;
 import com.pitstop.shared.exception.ResourceNotFoundException;
+import com.pitstop.shared.security.tenant.TenantAdmissionLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,8 @@ public class PlanoService {
 
     private final PlanoRepository planoRepository;
     private final OficinaRepository oficinaRepository;
+    private final FeatureFlagSnapshotService featureFlagSnapshotService;
+    private final TenantAdmissionLimiter tenantAdmissionLimiter;
 
     /**
      * Get all plans ordered by display order.
@@ -291,6 +294,8 @@ public class PlanoService {
         }
 
         oficinaRepository.save(oficina);
+        featureFlagSnapshotService.invalidate();
+        tenantAdmissionLimiter.evictPlano(oficinaId);
 
         log.info("Oficina {} plano alterado: {} -> {}. Motivo: {}",
                 oficina.getNomeFantasia(), planoAnterior.getNome(), novoPlano.getNome(),
@@ -11,6 +11,7 @@ import com.pitstop.saas.repository.PlanoRepository;
 import com.pitstop.usuario.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +26,9 @@ import java.util.stream.Collectors;
 
 /**
  * Serviço para geração de relatórios do SaaS.
+ *
+ * <p>Os relatórios ficam no cache {@code relatorios} (15 minutos) por período, com carga única
+ * por chave e refresh em segundo plano.</p>
  */
 @Slf4j
 @Service
@@ -41,6 +45,7 @@ public class RelatorioService {
     /**
      * Gera relatório financeiro completo.
      */
+    @Cacheable(value = "relatorios", sync = true)
     @Transactional(readOnly = true)
     public RelatorioFinanceiroDTO gerarRelatorioFinanceiro(LocalDate dataInicio, LocalDate dataFim) {
         log.info("Gerando relatório financeiro de {} a {}", dataInicio, dataFim);
@@ -160,6 +165,7 @@ public class RelatorioService {
     /**
      * Gera relatório operacional completo.
      */
+    @Cacheable(value = "relatorios", sync = true)
     @Transactional(readOnly = true)
     public RelatorioOperacionalDTO gerarRelatorioOperacional(LocalDate dataInicio, LocalDate dataFim) {
         log.info("Gerando relatório operacional de {} a {}", dataInicio, dataFim);
@@ -249,6 +255,7 @@ public class RelatorioService {
     /**
      * Gera relatório de crescimento completo.
      */
+    @Cacheable(value = "relatorios", sync = true)
     @Transactional(readOnly = true)
     public RelatorioCrescimentoDTO gerarRelatorioCrescimento(LocalDate dataInicio, LocalDate dataFim) {
         log.info("Gerando relatório de crescimento de {} a {}", dataInicio, dataFim);
@@ -7,6 +7,7 @@ import com.pitstop.saas.dto.*;
 import com.pitstop.saas.repository.SaasPagamentoRepository;
 import com.pitstop.shared.audit.service.AuditService;
 import com.pitstop.shared.exception.ResourceNotFoundException;
+import com.pitstop.shared.security.tenant.TenantAdmissionLimiter;
 import com.pitstop.usuario.domain.PerfilUsuario;
 import com.pitstop.usuario.domain.Usuario;
 import com.pitstop.usuario.repository.UsuarioRepository;
@@ -29,6 +30,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -51,6 +53,8 @@ public class SaasOficinaService {
     private final AuditService auditService;
     private final JdbcTemplate jdbcTemplate;
     private final EntityManager entityManager;
+    private final FeatureFlagSnapshotService featureFlagSnapshotService;
+    private final TenantAdmissionLimiter tenantAdmissionLimiter;
 
     private static final int TRIAL_DAYS = 30;
 
@@ -265,6 +269,8 @@ public class SaasOficinaService {
 
         Oficina oficina = oficinaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Oficina não encontrada"));
+        boolean planoAlterado = !Objects.equals(request.plano(),
+            oficina.getPlano() != null ? oficina.getPlano().name() : null);
 
         // Use native SQL to update all fields without triggering full entity validation
         String sql = """
@@ -303,6 +309,12 @@ public class SaasOficinaService {
             id
         );
 
+        // The JDBC update bypasses the entity paths that refresh plan-derived state
+        if (planoAlterado) {
+            featureFlagSnapshotService.invalidate();
+            tenantAdmissionLimiter.evictPlano(id);
+        }
+
         // Audit log
         auditService.log(
             "ATUALIZAR_OFICINA",
@@ -0,0 +1,68 @@
+package com.pitstop.shared.cache;
+
+/**
+ * L1 invalidation exchanged between nodes over Redis pub/sub.
+ *
+ * <p>Wire format: {@code {nodeId}\n{cacheName}\n{type}\n{argument}}. The argument is last so it
+ * may contain any character.</p>
+ *
+ * @param cacheName cache the invalidation applies to
+ * @param type what to remove
+ * @param argument L1 key, raw key or oficina ID depending on the type (empty for {@link Type#ALL})
+ */
+public record CacheInvalidation(String cacheName, Type type, String argument) {
+
+    public enum Type {
+        /** One L1 key (already tenant-scoped when applicable). */
+        KEY,
+        /** One raw key under every tenant (eviction without tenant). */
+        KEY_ANY_TENANT,
+        /** Every entry of one oficina; argument is the oficina ID. */
+        TENANT,
+        /** The whole cache. */
+        ALL
+    }
+
+    public static CacheInvalidation key(String cacheName, String l1Key) {
+        return new CacheInvalidation(cacheName, Type.KEY, l1Key);
+    }
+
+    public static CacheInvalidation keyAnyTenant(String cacheName, String key) {
+        return new CacheInvalidation(cacheName, Type.KEY_ANY_TENANT, key);
+    }
+
+    public static CacheInvalidation tenant(String cacheName, String tenantId) {
+        return new CacheInvalidation(cacheName, Type.TENANT, tenantId);
+    }
+
+    public static CacheInvalidation all(String cacheName) {
+        return new CacheInvalidation(cacheName, Type.ALL, "");
+    }
+
+    /**
+     * Encodes the invalidation for publishing.
+     *
+     * @param nodeId ID of the publishing node
+     */
+    public String encode(String nodeId) {
+        return nodeId + '\n' + cacheName + '\n' + type.name() + '\n' + argument;
+    }
+
+    /**
+     * Decoded message: origin node and invalidation.
+     */
+    public record Message(String nodeId, CacheInvalidation invalidation) {}
+
+    /**
+     * Decodes a published message.
+     *
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public static Message decode(String payload) {
+        String[] parts = payload.split("\n", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cache invalidation message");
+        }
+        return new Message(parts[0], new CacheInvalidation(parts[1], Type.valueOf(parts[2]), parts[3]));
+    }
+}
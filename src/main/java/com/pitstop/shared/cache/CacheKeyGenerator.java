@@ -0,0 +1,26 @@
+package com.pitstop.shared.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Default key generator for {@code @Cacheable} methods without an explicit {@code key}.
+ *
+ * <p>Produces {@code Class.method(arg1,arg2)} instead of Spring's {@code SimpleKey}, so two
+ * no-arg methods sharing a cache do not collide and keys stay readable in Redis. The tenant
+ * namespace is added by {@link TenantScopedCache}, e.g. {@code osCountByStatus::t:{oficinaId}:OrdemServicoService.contarPorStatus()}.</p>
+ */
+public class CacheKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        String args = Arrays.stream(params)
+            .map(String::valueOf)
+            .collect(Collectors.joining(","));
+        return ClassUtils.getUserClass(target).getSimpleName() + "." + method.getName() + "(" + args + ")";
+    }
+}
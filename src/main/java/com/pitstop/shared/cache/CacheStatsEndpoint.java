@@ -0,0 +1,110 @@
+package com.pitstop.shared.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * {@code /actuator/cachestats}: hottest caches, busiest oficinas and biggest Redis cache keys.
+ *
+ * <p>Cache and oficina totals are in-process (this node only, since startup / last window).
+ * Key sizes come from a bounded SCAN over {@code *::*} with STRLEN per key, so on large
+ * keyspaces the ranking is a sample of at most {@code cache.metrics.key-sample-size} keys. The sweep
+ * uses the plain connection factory, outside the Redis circuit breaker: thousands of sequential
+ * commands from a diagnostic request should not count toward opening it.</p>
+ *
+ * <p>Restricted to SUPER_ADMIN in SecurityConfig (keys and counts span all oficinas).</p>
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private static final String CACHE_KEY_PATTERN = "*::*";
+    private static final int SCAN_BATCH_SIZE = 1000;
+    private static final int BIGGEST_KEYS = 20;
+
+    private final TwoLevelCacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final int keySampleSize;
+
+    public record KeySize(String cache, String key, long bytes) {}
+
+    public record Report(
+        List<InstrumentedCache.Stats> hottestCaches,
+        List<CacheTenantTags.TenantCount> topTenants,
+        List<KeySize> biggestKeys,
+        long keysSampled
+    ) {}
+
+    public CacheStatsEndpoint(
+        TwoLevelCacheManager cacheManager,
+        RedisConnectionFactory connectionFactory,
+        @Value("${cache.metrics.key-sample-size:5000}") int keySampleSize
+    ) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.keySampleSize = keySampleSize;
+    }
+
+    @ReadOperation
+    public Report cacheStats() {
+        List<KeySize> biggestKeys = new ArrayList<>();
+        Long sampled = redisTemplate.execute((RedisCallback<Long>) connection -> sampleKeys(connection, biggestKeys));
+
+        return new Report(
+            cacheManager.stats(),
+            cacheManager.topTenants(),
+            biggestKeys,
+            sampled != null ? sampled : 0
+        );
+    }
+
+    /**
+     * Scans up to {@code keySampleSize} cache keys and fills {@code result} with the biggest,
+     * largest first. Returns how many keys were sampled.
+     */
+    private long sampleKeys(RedisConnection connection, List<KeySize> result) {
+        PriorityQueue<KeySize> top = new PriorityQueue<>(Comparator.comparingLong(KeySize::bytes));
+        ScanOptions options = ScanOptions.scanOptions()
+            .match(CACHE_KEY_PATTERN)
+            .count(SCAN_BATCH_SIZE)
+            .build();
+
+        long sampled = 0;
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext() && sampled < keySampleSize) {
+                byte[] rawKey = cursor.next();
+                sampled++;
+
+                Long length = connection.stringCommands().strLen(rawKey);
+                if (length == null) {
+                    continue;
+                }
+
+                String key = new String(rawKey, StandardCharsets.UTF_8);
+                int separator = key.indexOf("::");
+                top.add(new KeySize(key.substring(0, separator), key, length));
+                if (top.size() > BIGGEST_KEYS) {
+                    top.poll();
+                }
+            }
+        }
+
+        result.addAll(top);
+        result.sort(Comparator.comparingLong(KeySize::bytes).reversed());
+        return sampled;
+    }
+}
@@ -0,0 +1,123 @@
+package com.pitstop.shared.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded-cardinality {@code tenant} tag for cache metrics.
+ *
+ * <p>Counts cache requests per oficina over a window; at the end of each window the top-K
+ * oficinas become the tagged ones and every other oficina is reported as {@value #OTHER}.
+ * Requests without a tenant (SUPER_ADMIN, jobs) are tagged {@value #NONE}. At most K + 2 tag
+ * values are in use at a time: meter owners register with {@link #onRotation(Consumer)} and
+ * remove the meters of oficinas that left the top-K.</p>
+ */
+public class CacheTenantTags {
+
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    private final int topK;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final List<Consumer<Set<String>>> rotationListeners = new CopyOnWriteArrayList<>();
+
+    private final Map<UUID, LongAdder> windowCounts = new ConcurrentHashMap<>();
+    private final ReentrantLock recomputeLock = new ReentrantLock();
+    private volatile Set<UUID> topTenants = Set.of();
+    private volatile List<TenantCount> lastWindow = List.of();
+    private volatile long windowEnd;
+
+    /**
+     * Requests of one oficina in the last complete window.
+     */
+    public record TenantCount(UUID tenantId, long requests) {}
+
+    /**
+     * @param topK number of oficinas tagged individually
+     * @param window how often the top-K set is recomputed
+     */
+    public CacheTenantTags(int topK, Duration window) {
+        this(topK, window, System::currentTimeMillis);
+    }
+
+    CacheTenantTags(int topK, Duration window, LongSupplier clock) {
+        this.topK = topK;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.windowEnd = clock.getAsLong() + windowMillis;
+    }
+
+    /**
+     * Registers a listener called after each recompute with the tenant tag values now in use
+     * (excluding {@value #OTHER} and {@value #NONE}). Tag values not in the set should have their
+     * meters removed.
+     *
+     * @param listener receives the current top-K tag values
+     */
+    public void onRotation(Consumer<Set<String>> listener) {
+        rotationListeners.add(listener);
+    }
+
+    /**
+     * Records one cache request and returns the tag value for the oficina.
+     *
+     * @param tenantId oficina ID, or null
+     */
+    public String record(UUID tenantId) {
+        if (tenantId == null) {
+            return NONE;
+        }
+
+        windowCounts.computeIfAbsent(tenantId, id -> new LongAdder()).increment();
+        if (clock.getAsLong() >= windowEnd) {
+            recompute();
+        }
+        return topTenants.contains(tenantId) ? tenantId.toString() : OTHER;
+    }
+
+    /**
+     * Oficinas with the most cache requests in the last complete window, busiest first.
+     */
+    public List<TenantCount> topTenants() {
+        return lastWindow;
+    }
+
+    private void recompute() {
+        if (!recomputeLock.tryLock()) {
+            return;
+        }
+        try {
+            if (clock.getAsLong() < windowEnd) {
+                return;
+            }
+
+            List<TenantCount> ranking = windowCounts.entrySet().stream()
+                .map(e -> new TenantCount(e.getKey(), e.getValue().sum()))
+                .sorted(Comparator.comparingLong(TenantCount::requests).reversed())
+                .limit(topK)
+                .toList();
+
+            lastWindow = ranking;
+            topTenants = ranking.stream().map(TenantCount::tenantId).collect(Collectors.toUnmodifiableSet());
+            windowCounts.clear();
+            windowEnd = clock.getAsLong() + windowMillis;
+        } finally {
+            recomputeLock.unlock();
+        }
+
+        Set<String> tags = topTenants.stream().map(UUID::toString).collect(Collectors.toUnmodifiableSet());
+        rotationListeners.forEach(listener -> listener.accept(tags));
+    }
+}
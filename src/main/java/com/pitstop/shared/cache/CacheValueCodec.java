@@ -0,0 +1,30 @@
+package com.pitstop.shared.cache;
+
+import java.util.Locale;
+
+/**
+ * Encoding used to write cache values to Redis (see {@link CacheValueSerializer}).
+ *
+ * <p>Both codecs keep the {@code @class} type ids, so any cached object round-trips. Reads
+ * detect the encoding from the payload, so a cache can switch codec without flushing Redis.</p>
+ */
+public enum CacheValueCodec {
+
+    /** Plain JSON (human-readable in redis-cli). */
+    JSON,
+
+    /**
+     * Binary JSON (Jackson Smile). Repeated property names and short strings (including the
+     * {@code @class} ids of list elements) are written once and back-referenced.
+     */
+    SMILE;
+
+    /**
+     * Parses a codec name from configuration (case-insensitive).
+     *
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static CacheValueCodec fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,149 @@
+package com.pitstop.shared.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Redis value serializer for caches, with a per-cache write codec and optional compression.
+ *
+ * <p><b>Write:</b> encodes with the configured {@link CacheValueCodec}; payloads at or above
+ * {@code compressThreshold} bytes are GZIP-compressed (fastest level) when that makes them smaller.</p>
+ *
+ * <p><b>Read:</b> the format is detected from the payload, not from configuration:</p>
+ * <ul>
+ *   <li>GZIP magic ({@code 1f 8b}): decompressed first</li>
+ *   <li>Smile header ({@code :)\n}): Smile</li>
+ *   <li>anything else: JSON (entries written before codecs existed)</li>
+ * </ul>
+ * <p>So changing a cache's codec or threshold needs no flush, and nodes on different settings
+ * during a rolling deploy read each other's entries.</p>
+ */
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    private static final GenericJackson2JsonRedisSerializer JSON =
+        new GenericJackson2JsonRedisSerializer(cacheObjectMapper(new JsonFactory()));
+
+    private static final GenericJackson2JsonRedisSerializer SMILE =
+        new GenericJackson2JsonRedisSerializer(cacheObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build()));
+
+    private final CacheValueCodec codec;
+    private final int compressThreshold;
+    private final DistributionSummary entrySize;
+
+    /**
+     * @param codec codec used for writes
+     * @param compressThreshold minimum encoded size to compress, in bytes (0 or less disables)
+     */
+    public CacheValueSerializer(CacheValueCodec codec, int compressThreshold) {
+        this(codec, compressThreshold, null);
+    }
+
+    /**
+     * @param codec codec used for writes
+     * @param compressThreshold minimum encoded size to compress, in bytes (0 or less disables)
+     * @param entrySize records the stored size of each written value (nullable)
+     */
+    public CacheValueSerializer(CacheValueCodec codec, int compressThreshold, DistributionSummary entrySize) {
+        this.codec = codec;
+        this.compressThreshold = compressThreshold;
+        this.entrySize = entrySize;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] encoded = (codec == CacheValueCodec.SMILE ? SMILE : JSON).serialize(value);
+
+        if (compressThreshold > 0 && encoded.length >= compressThreshold) {
+            byte[] compressed = gzip(encoded);
+            if (compressed.length < encoded.length) {
+                encoded = compressed;
+            }
+        }
+
+        if (entrySize != null) {
+            entrySize.record(encoded.length);
+        }
+        return encoded;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        byte[] payload = isGzip(bytes) ? gunzip(bytes) : bytes;
+        return (isSmile(payload) ? SMILE : JSON).deserialize(payload);
+    }
+
+    /**
+     * ObjectMapper for cache values, for the given format (JSON or Smile).
+     */
+    private static ObjectMapper cacheObjectMapper(JsonFactory factory) {
+        // Java 8 Date/Time support (JSR-310)
+        ObjectMapper objectMapper = new ObjectMapper(factory);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+        // CRITICAL: Enable polymorphic type handling with LaissezFaireSubTypeValidator
+        // Using PROPERTY format: {"@class": "com.pitstop...", "field": "value"}
+        // Using EVERYTHING because Java records (like OficinaResponse) are implicitly final
+        // and NON_FINAL would skip them, causing LinkedHashMap deserialization issues
+        objectMapper.activateDefaultTyping(
+            LaissezFaireSubTypeValidator.instance,
+            ObjectMapper.DefaultTyping.EVERYTHING,
+            JsonTypeInfo.As.PROPERTY
+        );
+        return objectMapper;
+    }
+
+    private static boolean isGzip(byte[] bytes) {
+        return bytes.length > 2 && bytes[0] == (byte) 0x1f && bytes[1] == (byte) 0x8b;
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length > 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Could not compress cache value", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new SerializationException("Could not decompress cache value", e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Redis (L2) cache decorator that keeps caching working while Redis is unavailable.
+ *
+ * <p>When a Redis call fails with a connectivity error, including the immediate
+ * {@code RedisCircuitOpenException} while the {@link RedisCircuitBreaker} is open, reads and writes
+ * go to a small per-node Caffeine cache with a short TTL instead; misses fall through to the loader
+ * (the database). With the circuit open Redis is not waited on, so latency stays flat. Calls still
+ * reach the connection factory, which lets the breaker's half-open probe through.</p>
+ *
+ * <p>Evictions that could not reach Redis mark the cache as dirty. When the circuit closes, the
+ * owner calls {@link #recover(Runnable)}: the local fallback is dropped and dirty caches are
+ * cleared for all tenants, since entries evicted during the outage may still be in Redis.</p>
+ *
+ * <p>Fallback keys follow {@link TenantCacheKeys} for tenant-scoped caches.</p>
+ *
+ * <p>Metrics: {@code pitstop.cache.degraded.gets{cache, result=hit|miss}}.</p>
+ */
+@Slf4j
+public class DegradedModeCache implements Cache {
+
+    private final Cache delegate;
+    private final boolean tenantScoped;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> fallback;
+
+    private final Counter fallbackHits;
+    private final Counter fallbackMisses;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    /**
+     * @param delegate Redis cache (possibly decorated)
+     * @param tenantScoped whether keys are scoped per tenant
+     * @param fallback local cache used while Redis is unavailable
+     * @param meterRegistry registry for the fallback counters
+     */
+    public DegradedModeCache(
+        Cache delegate,
+        boolean tenantScoped,
+        com.github.benmanes.caffeine.cache.Cache<String, Object> fallback,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.tenantScoped = tenantScoped;
+        this.fallback = fallback;
+
+        String name = delegate.getName();
+        this.fallbackHits = Counter.builder("pitstop.cache.degraded.gets")
+            .tag("cache", name)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.fallbackMisses = Counter.builder("pitstop.cache.degraded.gets")
+            .tag("cache", name)
+            .tag("result", "miss")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        try {
+            return delegate.get(key);
+        } catch (RuntimeException e) {
+            rethrowUnlessConnectivity(e);
+        }
+
+        Object value = fallback.getIfPresent(fallbackKey(key));
+        (value != null ? fallbackHits : fallbackMisses).increment();
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        try {
+            return delegate.get(key, valueLoader);
+        } catch (ValueRetrievalException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            rethrowUnlessConnectivity(e);
+        }
+
+        String fallbackKey = fallbackKey(key);
+        Object cached = fallback.getIfPresent(fallbackKey);
+        if (cached != null) {
+            fallbackHits.increment();
+            return (T) cached;
+        }
+        fallbackMisses.increment();
+
+        return (T) fallback.get(fallbackKey, k -> {
+            try {
+                return valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+    }
+
+    /**
+     * Async retrieval is not used by the synchronous {@code @Cacheable} path: passed through.
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        try {
+            delegate.put(key, value);
+            return;
+        } catch (RuntimeException e) {
+            rethrowUnlessConnectivity(e);
+        }
+
+        if (value != null) {
+            fallback.put(fallbackKey(key), value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        try {
+            return delegate.putIfAbsent(key, value);
+        } catch (RuntimeException e) {
+            rethrowUnlessConnectivity(e);
+        }
+
+        if (value == null) {
+            return null;
+        }
+        Object existing = fallback.asMap().putIfAbsent(fallbackKey(key), value);
+        return existing != null ? new SimpleValueWrapper(existing) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        fallback.invalidate(fallbackKey(key));
+        try {
+            delegate.evict(key);
+            return;
+        } catch (RuntimeException e) {
+            rethrowUnlessConnectivity(e);
+        }
+        dirty.set(true);
+    }
+
+    @Override
+    public void clear() {
+        fallback.invalidateAll();
+        try {
+            delegate.clear();
+            return;
+        } catch (RuntimeException e) {
+            rethrowUnlessConnectivity(e);
+        }
+        dirty.set(true);
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return false;
+    }
+
+    /**
+     * Called once Redis is reachable again: drops the local fallback and, if evictions were
+     * missed during the outage, runs {@code clearAll} (the outermost cache's {@code clear()},
+     * without tenant, so Redis and every node's L1 are cleared).
+     */
+    public void recover(Runnable clearAll) {
+        fallback.invalidateAll();
+        if (dirty.getAndSet(false)) {
+            clearAll.run();
+            log.info("Cache {} cleared after evictions missed during Redis outage", getName());
+        }
+    }
+
+    private void rethrowUnlessConnectivity(RuntimeException e) {
+        if (!RedisCircuitBreaker.isConnectivityFailure(e)) {
+            throw e;
+        }
+        log.debug("Redis unavailable for cache {}, using local fallback: {}", getName(), e.getMessage());
+    }
+
+    private String fallbackKey(Object key) {
+        return TenantCacheKeys.asString(tenantScoped ? TenantCacheKeys.scoped(key) : key);
+    }
+}
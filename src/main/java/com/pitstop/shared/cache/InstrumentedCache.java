@@ -0,0 +1,278 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Outermost cache decorator: publishes per-cache and per-tenant metrics.
+ *
+ * <p>Metrics (Prometheus via {@code /actuator/prometheus}):</p>
+ * <ul>
+ *   <li>{@code pitstop.cache.gets{cache, tenant, result=hit|miss}}</li>
+ *   <li>{@code pitstop.cache.get.latency{cache}} - lookup time, all tiers included</li>
+ *   <li>{@code pitstop.cache.load{cache, tenant}} - loader time on misses ({@code sync = true})</li>
+ *   <li>{@code pitstop.cache.puts{cache}} and {@code pitstop.cache.evictions{cache, scope=key|all}}</li>
+ * </ul>
+ * <p>Serialized entry size is recorded by {@link CacheValueSerializer}. The {@code tenant} tag
+ * comes from {@link CacheTenantTags} (top-K oficinas plus {@code other}); per-tenant meters are
+ * created once per tag value and removed from the registry when the oficina leaves the top-K.</p>
+ *
+ * <p>Also keeps in-process totals for the {@code cachestats} actuator endpoint.</p>
+ */
+public class InstrumentedCache implements Cache {
+
+    private final Cache delegate;
+    private final MeterRegistry meterRegistry;
+    private final CacheTenantTags tenantTags;
+
+    private final Timer getLatency;
+    private final Counter puts;
+    private final Counter keyEvictions;
+    private final Counter clears;
+    private final Map<String, TenantMeters> tenantMeters = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Totals since startup for one cache on this node.
+     */
+    public record Stats(
+        String cache,
+        long gets,
+        long hits,
+        long misses,
+        double hitRatio,
+        long loads,
+        double avgLoadMillis,
+        long puts,
+        long evictions
+    ) {}
+
+    private record TenantMeters(Counter hits, Counter misses, Timer load) {}
+
+    public InstrumentedCache(Cache delegate, MeterRegistry meterRegistry, CacheTenantTags tenantTags) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.tenantTags = tenantTags;
+
+        String name = delegate.getName();
+        this.getLatency = Timer.builder("pitstop.cache.get.latency")
+            .description("Cache lookup time (L1, Redis and deserialization)")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.puts = Counter.builder("pitstop.cache.puts")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.keyEvictions = Counter.builder("pitstop.cache.evictions")
+            .tag("cache", name)
+            .tag("scope", "key")
+            .register(meterRegistry);
+        this.clears = Counter.builder("pitstop.cache.evictions")
+            .tag("cache", name)
+            .tag("scope", "all")
+            .register(meterRegistry);
+
+        tenantTags.onRotation(this::removeRotatedTenants);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    /**
+     * The decorated cache (e.g. to reach {@link TwoLevelCache} features).
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long start = System.nanoTime();
+        ValueWrapper wrapper = delegate.get(key);
+        getLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        recordGet(wrapper != null);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        long start = System.nanoTime();
+        T value = delegate.get(key, type);
+        getLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        recordGet(value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String tenant = tenantTags.record(TenantContext.getTenantIdOrNull());
+        AtomicBoolean loaded = new AtomicBoolean();
+
+        long start = System.nanoTime();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            long loadStart = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                recordLoad(tenant, System.nanoTime() - loadStart);
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+
+        if (!loaded.get()) {
+            getLatency.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        recordGet(tenant, !loaded.get());
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        puts.increment();
+        putCount.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+            putCount.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        keyEvictions.increment();
+        evictionCount.increment();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        clears.increment();
+        evictionCount.increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean result = delegate.invalidate();
+        clears.increment();
+        evictionCount.increment();
+        return result;
+    }
+
+    /**
+     * Totals since startup on this node.
+     */
+    public Stats stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        long l = loads.sum();
+        long gets = h + m;
+        return new Stats(
+            getName(),
+            gets,
+            h,
+            m,
+            gets > 0 ? (double) h / gets : 0.0,
+            l,
+            l > 0 ? loadNanos.sum() / 1_000_000.0 / l : 0.0,
+            putCount.sum(),
+            evictionCount.sum()
+        );
+    }
+
+    private void recordGet(boolean hit) {
+        recordGet(tenantTags.record(TenantContext.getTenantIdOrNull()), hit);
+    }
+
+    private void recordGet(String tenant, boolean hit) {
+        (hit ? hits : misses).increment();
+        TenantMeters meters = meters(tenant);
+        (hit ? meters.hits() : meters.misses()).increment();
+    }
+
+    private void recordLoad(String tenant, long nanos) {
+        loads.increment();
+        loadNanos.add(nanos);
+        meters(tenant).load().record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private TenantMeters meters(String tenant) {
+        return tenantMeters.computeIfAbsent(tenant, this::registerTenantMeters);
+    }
+
+    private TenantMeters registerTenantMeters(String tenant) {
+        String name = delegate.getName();
+        return new TenantMeters(
+            Counter.builder("pitstop.cache.gets")
+                .tag("cache", name).tag("tenant", tenant).tag("result", "hit")
+                .register(meterRegistry),
+            Counter.builder("pitstop.cache.gets")
+                .tag("cache", name).tag("tenant", tenant).tag("result", "miss")
+                .register(meterRegistry),
+            Timer.builder("pitstop.cache.load")
+                .tag("cache", name).tag("tenant", tenant)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Removes the meters of oficinas no longer in the top-K. Sweeps every cached tag, so a meter
+     * re-created by a request that raced the rotation is dropped at the next one.
+     */
+    private void removeRotatedTenants(Set<String> currentTags) {
+        tenantMeters.entrySet().removeIf(entry -> {
+            String tenant = entry.getKey();
+            if (CacheTenantTags.OTHER.equals(tenant) || CacheTenantTags.NONE.equals(tenant)
+                || currentTags.contains(tenant)) {
+                return false;
+            }
+            meterRegistry.remove(entry.getValue().hits());
+            meterRegistry.remove(entry.getValue().misses());
+            meterRegistry.remove(entry.getValue().load());
+            return true;
+        });
+    }
+}
@@ -0,0 +1,386 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that protects expensive aggregations from stampedes.
+ *
+ * <p>Values are stored as {@link RefreshAheadEntry}. An entry is <i>fresh</i> for
+ * {@code freshTtl}; the Redis TTL is longer (fresh + stale window, see {@code CacheConfig}),
+ * so it stays readable as <i>stale</i> for a while after that.</p>
+ *
+ * <p>With {@code @Cacheable(sync = true)} ({@link #get(Object, Callable)}):</p>
+ * <ul>
+ *   <li><b>Single-flight:</b> on a miss, one loader per key runs on this node; concurrent
+ *       callers wait for its result instead of running the same queries</li>
+ *   <li><b>Distributed lock</b> (optional): the loader also takes a Redis lock
+ *       ({@code cache-lock:{cache}:{key}}); other nodes poll for the value it writes, and compute
+ *       it themselves only if the lock holder does not finish within the lock timeout</li>
+ *   <li><b>Early refresh (XFetch):</b> a fresh entry is refreshed in the background with a
+ *       probability that grows as expiry approaches and with how slow the loader was
+ *       ({@code now - computeMillis * beta * ln(rand) >= expiry})</li>
+ *   <li><b>Stale-while-revalidate:</b> a stale entry is returned at once and refreshed in the
+ *       background</li>
+ * </ul>
+ *
+ * <p>Background refreshes run on the application {@code taskExecutor}, whose decorator carries the
+ * tenant over, so the refreshed value lands in the same tenant namespace. Plain {@link #get(Object)}
+ * (no loader) only returns fresh entries.</p>
+ *
+ * <p>Metrics: {@code pitstop.cache.refresh{cache, trigger=early|stale}} and
+ * {@code pitstop.cache.load.coalesced{cache}} (callers that waited for another loader).</p>
+ */
+@Slf4j
+public class RefreshAheadCache implements Cache {
+
+    private static final String LOCK_PREFIX = "cache-lock:";
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    /**
+     * @param freshTtl how long an entry is served without refresh
+     * @param beta XFetch aggressiveness (1.0 = standard; higher refreshes earlier)
+     * @param distributedLock whether loaders also take a Redis lock
+     * @param lockTimeout lock expiration and max time other nodes wait for the holder
+     */
+    public record Settings(Duration freshTtl, double beta, boolean distributedLock, Duration lockTimeout) {}
+
+    private final Cache delegate;
+    private final Settings settings;
+    private final Executor executor;
+    private final StringRedisTemplate redisTemplate;
+    private final DefaultRedisScript<Long> lockReleaseScript;
+
+    /**
+     * Loads in progress on this node, by tenant-scoped key.
+     */
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter earlyRefreshes;
+    private final Counter staleRefreshes;
+    private final Counter coalescedLoads;
+
+    public RefreshAheadCache(
+        Cache delegate,
+        Settings settings,
+        Executor executor,
+        StringRedisTemplate redisTemplate,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.executor = executor;
+        this.redisTemplate = redisTemplate;
+
+        this.lockReleaseScript = new DefaultRedisScript<>();
+        this.lockReleaseScript.setScriptSource(
+            new ResourceScriptSource(new ClassPathResource("redis/cache_lock_release.lua")));
+        this.lockReleaseScript.setResultType(Long.class);
+
+        String name = delegate.getName();
+        this.earlyRefreshes = Counter.builder("pitstop.cache.refresh")
+            .description("Background refreshes of cached aggregations")
+            .tag("cache", name)
+            .tag("trigger", "early")
+            .register(meterRegistry);
+        this.staleRefreshes = Counter.builder("pitstop.cache.refresh")
+            .description("Background refreshes of cached aggregations")
+            .tag("cache", name)
+            .tag("trigger", "stale")
+            .register(meterRegistry);
+        this.coalescedLoads = Counter.builder("pitstop.cache.load.coalesced")
+            .description("Cache misses that waited for a load already in progress")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        RefreshAheadEntry entry = entry(delegate.get(key));
+        if (entry == null || isStale(entry, System.currentTimeMillis())) {
+            return null;
+        }
+        return new SimpleValueWrapper(entry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String flightKey = TenantCacheKeys.asString(TenantCacheKeys.scoped(key));
+
+        RefreshAheadEntry entry = entry(delegate.get(key));
+        if (entry != null) {
+            long now = System.currentTimeMillis();
+            if (isStale(entry, now)) {
+                refreshInBackground(key, flightKey, valueLoader, staleRefreshes);
+            } else if (shouldRefreshEarly(entry, now)) {
+                refreshInBackground(key, flightKey, valueLoader, earlyRefreshes);
+            }
+            return (T) entry.value();
+        }
+
+        return (T) loadSingleFlight(key, flightKey, valueLoader);
+    }
+
+    /**
+     * Async retrieval is not protected (not used by the synchronous {@code @Cacheable} path).
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value, 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        RefreshAheadEntry existing = entry(delegate.putIfAbsent(key, wrap(value, 0)));
+        return existing != null ? new SimpleValueWrapper(existing.value()) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    // =====================================
+    // Loading
+    // =====================================
+
+    private Object loadSingleFlight(Object key, String flightKey, Callable<?> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+
+        try {
+            Object value = loadAndStore(key, flightKey, loader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    private void refreshInBackground(Object key, String flightKey, Callable<?> loader, Counter trigger) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(flightKey, mine) != null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    mine.complete(loadAndStore(key, flightKey, loader));
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of {}::{} failed, keeping current value: {}",
+                        getName(), flightKey, e.getMessage());
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(flightKey, mine);
+                }
+            });
+            trigger.increment();
+        } catch (RejectedExecutionException e) {
+            log.debug("Background refresh of {}::{} skipped (executor saturated)", getName(), flightKey);
+            inFlight.remove(flightKey, mine);
+            mine.completeExceptionally(e);
+        }
+    }
+
+    private Object loadAndStore(Object key, String flightKey, Callable<?> loader) {
+        if (!settings.distributedLock()) {
+            return compute(key, loader);
+        }
+
+        String lockKey = LOCK_PREFIX + getName() + ":" + flightKey;
+        String token = UUID.randomUUID().toString();
+        if (!tryLock(lockKey, token)) {
+            RefreshAheadEntry loadedElsewhere = waitForOtherNode(key);
+            if (loadedElsewhere != null) {
+                return loadedElsewhere.value();
+            }
+            return compute(key, loader);
+        }
+
+        try {
+            return compute(key, loader);
+        } finally {
+            unlock(lockKey, token);
+        }
+    }
+
+    private Object compute(Object key, Callable<?> loader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = loader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, loader, e);
+        }
+        long computeMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        if (value != null) {
+            try {
+                delegate.put(key, wrap(value, computeMillis));
+            } catch (RuntimeException e) {
+                if (!RedisCircuitBreaker.isConnectivityFailure(e)) {
+                    throw e;
+                }
+                // Loaded but not stored: return it rather than make the caller load again
+                log.debug("Could not store {}::{} (Redis unavailable): {}", getName(), key, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Waits for the lock holder on another node to write a fresh entry.
+     *
+     * @return the entry, or null if it did not appear within the lock timeout
+     */
+    private RefreshAheadEntry waitForOtherNode(Object key) {
+        long deadline = System.currentTimeMillis() + settings.lockTimeout().toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            RefreshAheadEntry entry = entry(delegate.get(key));
+            if (entry != null && !isStale(entry, System.currentTimeMillis())) {
+                return entry;
+            }
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(
+                redisTemplate.opsForValue().setIfAbsent(lockKey, token, settings.lockTimeout()));
+        } catch (Exception e) {
+            // Without Redis the lock only adds latency: load locally
+            log.debug("Cache lock {} unavailable, loading without it: {}", lockKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(lockReleaseScript, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.debug("Failed to release cache lock {} (expires on its own): {}", lockKey, e.getMessage());
+        }
+    }
+
+    // =====================================
+    // Freshness
+    // =====================================
+
+    private boolean isStale(RefreshAheadEntry entry, long now) {
+        return now >= entry.computedAt() + settings.freshTtl().toMillis();
+    }
+
+    /**
+     * XFetch: refresh early with a probability that grows near expiry and with the compute time.
+     */
+    private boolean shouldRefreshEarly(RefreshAheadEntry entry, long now) {
+        long expiresAt = entry.computedAt() + settings.freshTtl().toMillis();
+        long delta = Math.max(entry.computeMillis(), 1);
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        return now - delta * settings.beta() * Math.log(random) >= expiresAt;
+    }
+
+    private static RefreshAheadEntry wrap(Object value, long computeMillis) {
+        return value != null ? new RefreshAheadEntry(value, System.currentTimeMillis(), computeMillis) : null;
+    }
+
+    private static RefreshAheadEntry entry(ValueWrapper wrapper) {
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        // Entries written before this cache was refresh-ahead are treated as just computed
+        return value instanceof RefreshAheadEntry entry ? entry
+            : value != null ? new RefreshAheadEntry(value, System.currentTimeMillis(), 0) : null;
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.pitstop.shared.cache;
+
+/**
+ * Value stored in Redis by {@link RefreshAheadCache}, with the metadata needed for early refresh.
+ *
+ * @param value cached value
+ * @param computedAt epoch millis when the value was computed
+ * @param computeMillis how long the loader took (XFetch refreshes slow entries earlier)
+ */
+public record RefreshAheadEntry(Object value, long computedAt, long computeMillis) {
+}
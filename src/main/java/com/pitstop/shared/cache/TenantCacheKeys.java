@@ -0,0 +1,89 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+
+import java.util.UUID;
+
+/**
+ * Cache namespace convention for tenant-scoped caches.
+ *
+ * <p>Redis key layout (the {@code cacheName::} prefix is added by RedisCache):</p>
+ * <ul>
+ *   <li>Tenant entry: {@code {cacheName}::t:{oficinaId}:{key}}</li>
+ *   <li>Entry written without tenant (SUPER_ADMIN, jobs): {@code {cacheName}::{key}}</li>
+ * </ul>
+ *
+ * <p>All entries of one oficina in a cache match {@code t:{oficinaId}:*}, which is what
+ * per-tenant eviction scans for.</p>
+ */
+public final class TenantCacheKeys {
+
+    private static final String TENANT_PREFIX = "t:";
+
+    /**
+     * Length of {@code t:{uuid}:}.
+     */
+    private static final int SCOPED_PREFIX_LENGTH = TENANT_PREFIX.length() + 36 + 1;
+
+    private TenantCacheKeys() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Scopes a cache key to the current tenant (unchanged if no tenant is set).
+     */
+    public static Object scoped(Object key) {
+        UUID tenantId = TenantContext.getTenantIdOrNull();
+        return tenantId != null ? tenantPrefix(tenantId) + asString(key) : key;
+    }
+
+    /**
+     * Pattern matching every entry of one oficina in a cache.
+     */
+    public static String tenantPattern(UUID tenantId) {
+        return tenantPrefix(tenantId) + "*";
+    }
+
+    /**
+     * Pattern matching one key across all tenants.
+     */
+    public static String anyTenantPattern(Object key) {
+        return TENANT_PREFIX + "*:" + escapeGlob(asString(key));
+    }
+
+    /**
+     * Prefix shared by every entry of one oficina ({@code t:{oficinaId}:}).
+     */
+    public static String tenantPrefix(UUID tenantId) {
+        return TENANT_PREFIX + tenantId + ":";
+    }
+
+    /**
+     * Whether a scoped key is {@code key} stored under any tenant (in-memory equivalent of
+     * {@link #anyTenantPattern(Object)}).
+     */
+    public static boolean isKeyForAnyTenant(String scopedKey, String key) {
+        return scopedKey.length() == SCOPED_PREFIX_LENGTH + key.length()
+            && scopedKey.startsWith(TENANT_PREFIX)
+            && scopedKey.charAt(SCOPED_PREFIX_LENGTH - 1) == ':'
+            && scopedKey.endsWith(key);
+    }
+
+    static String asString(Object key) {
+        return key instanceof String s ? s : String.valueOf(key);
+    }
+
+    /**
+     * Escapes Redis glob characters so keys like {@code SimpleKey []} match literally.
+     */
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
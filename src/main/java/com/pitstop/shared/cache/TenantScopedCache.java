@@ -0,0 +1,115 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link RedisCache} decorator that keeps each oficina's entries in its own namespace
+ * ({@link TenantCacheKeys}).
+ *
+ * <p>Applies to every {@code @Cacheable}/{@code @CacheEvict} on the cache, including explicit
+ * SpEL keys such as {@code #id} or {@code 'estados'}, so services do not have to repeat the
+ * tenant in each key.</p>
+ *
+ * <p><b>Eviction:</b></p>
+ * <ul>
+ *   <li>{@code evict(key)} with tenant: only that oficina's entry</li>
+ *   <li>{@code clear()} / {@code allEntries = true} with tenant: only that oficina's entries
+ *       (SCAN on {@code t:{oficinaId}:*}), other tenants keep their hit ratio</li>
+ *   <li>Without tenant (SUPER_ADMIN, jobs): the key across all tenants, or the whole cache</li>
+ * </ul>
+ */
+public class TenantScopedCache implements Cache {
+
+    private final RedisCache delegate;
+
+    public TenantScopedCache(RedisCache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(TenantCacheKeys.scoped(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(TenantCacheKeys.scoped(key), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(TenantCacheKeys.scoped(key), valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(TenantCacheKeys.scoped(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(TenantCacheKeys.scoped(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(TenantCacheKeys.scoped(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(TenantCacheKeys.scoped(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (TenantContext.isSet()) {
+            delegate.evict(TenantCacheKeys.scoped(key));
+            return;
+        }
+        delegate.evict(key);
+        delegate.clear(TenantCacheKeys.anyTenantPattern(key));
+    }
+
+    @Override
+    public void clear() {
+        UUID tenantId = TenantContext.getTenantIdOrNull();
+        if (tenantId != null) {
+            clearTenant(tenantId);
+        } else {
+            delegate.clear();
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return false;
+    }
+
+    /**
+     * Removes all entries of one oficina from this cache.
+     *
+     * @param tenantId oficina ID
+     */
+    public void clearTenant(UUID tenantId) {
+        delegate.clear(TenantCacheKeys.tenantPattern(tenantId));
+    }
+}
@@ -0,0 +1,79 @@
+package com.pitstop.shared.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CacheManager} that wraps each Redis cache in a {@link TenantScopedCache}.
+ *
+ * <p>Caches listed as global (e.g. {@code oficinas}, keyed by the oficina itself and written by
+ * SUPER_ADMIN) are returned unwrapped.</p>
+ */
+public class TenantScopedCacheManager implements CacheManager {
+
+    private final RedisCacheManager delegate;
+    private final Set<String> globalCacheNames;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TenantScopedCacheManager(RedisCacheManager delegate, Set<String> globalCacheNames) {
+        this.delegate = delegate;
+        this.globalCacheNames = Set.copyOf(globalCacheNames);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache redisCache = delegate.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, n ->
+            globalCacheNames.contains(n) || !(redisCache instanceof RedisCache rc)
+                ? redisCache
+                : new TenantScopedCache(rc));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * Whether the cache is scoped per tenant (not listed as global).
+     */
+    public boolean isTenantScoped(String name) {
+        return !globalCacheNames.contains(name);
+    }
+
+    /**
+     * Removes all entries of one oficina from every tenant-scoped cache.
+     *
+     * @param tenantId oficina ID
+     * @return names of the caches that were cleared
+     */
+    public List<String> evictTenant(UUID tenantId) {
+        List<String> cleared = new ArrayList<>();
+        for (String name : getCacheNames()) {
+            if (getCache(name) instanceof TenantScopedCache cache) {
+                cache.clearTenant(tenantId);
+                cleared.add(name);
+            }
+        }
+        return cleared;
+    }
+}
@@ -0,0 +1,270 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Cache with a per-node Caffeine L1 in front of the Redis L2.
+ *
+ * <p><b>Reads:</b> L1 hit returns the deserialized object without a Redis round trip; on L1 miss
+ * the value is read (or loaded) through L2 and kept in L1.</p>
+ *
+ * <p><b>Writes and evictions:</b> applied to L2 first, then to the local L1, then published as a
+ * {@link CacheInvalidation} so other nodes drop their L1 copy. L1 entries expire after a short
+ * TTL, which bounds staleness if a message is lost (Redis pub/sub is fire-and-forget).</p>
+ *
+ * <p>L1 keys follow {@link TenantCacheKeys} for tenant-scoped caches, so per-tenant eviction
+ * removes the same entries in both tiers.</p>
+ *
+ * <p>Values in L1 are shared object references: only caches holding immutable DTOs (records,
+ * unmodifiable lists) should be L1-eligible.</p>
+ *
+ * <p>Metrics: {@code pitstop.cache.tier.gets{cache, tier=l1|l2, result=hit|miss}} and {@code pitstop.cache.l1.size}.
+ * L2 is only consulted on L1 misses.</p>
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Cache l2;
+    private final boolean tenantScoped;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+    private final Consumer<CacheInvalidation> publisher;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    /**
+     * @param l2 Redis cache (possibly decorated)
+     * @param tenantScoped whether L2 keys are scoped per tenant ({@link TenantScopedCache})
+     * @param l1 local Caffeine cache
+     * @param publisher publishes invalidations to other nodes
+     * @param meterRegistry registry for the per-tier counters
+     */
+    public TwoLevelCache(
+        Cache l2,
+        boolean tenantScoped,
+        com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+        Consumer<CacheInvalidation> publisher,
+        MeterRegistry meterRegistry
+    ) {
+        this.l2 = l2;
+        this.tenantScoped = tenantScoped;
+        this.l1 = l1;
+        this.publisher = publisher;
+
+        String name = l2.getName();
+        this.l1Hits = tierCounter(meterRegistry, name, "l1", "hit");
+        this.l1Misses = tierCounter(meterRegistry, name, "l1", "miss");
+        this.l2Hits = tierCounter(meterRegistry, name, "l2", "hit");
+        this.l2Misses = tierCounter(meterRegistry, name, "l2", "miss");
+        Gauge.builder("pitstop.cache.l1.size", l1, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+            .description("Entries in the per-node L1 cache")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return l2.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String l1Key = l1Key(key);
+        Object value = l1.getIfPresent(l1Key);
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        if (wrapper.get() != null) {
+            l1.put(l1Key, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String l1Key = l1Key(key);
+        Object cached = l1.getIfPresent(l1Key);
+        if (cached != null) {
+            l1Hits.increment();
+            return (T) cached;
+        }
+        l1Misses.increment();
+
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = l2.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        (loaded.get() ? l2Misses : l2Hits).increment();
+
+        if (value != null) {
+            l1.put(l1Key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Async retrieval goes straight to L2 (not used by the synchronous {@code @Cacheable} path).
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return l2.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return l2.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+
+        String l1Key = l1Key(key);
+        if (value != null) {
+            l1.put(l1Key, value);
+        } else {
+            l1.invalidate(l1Key);
+        }
+        publisher.accept(CacheInvalidation.key(getName(), l1Key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+
+        String l1Key = l1Key(key);
+        if (existing == null) {
+            if (value != null) {
+                l1.put(l1Key, value);
+            }
+            publisher.accept(CacheInvalidation.key(getName(), l1Key));
+        } else if (existing.get() != null) {
+            l1.put(l1Key, existing.get());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+
+        CacheInvalidation invalidation = tenantScoped && !TenantContext.isSet()
+            ? CacheInvalidation.keyAnyTenant(getName(), TenantCacheKeys.asString(key))
+            : CacheInvalidation.key(getName(), l1Key(key));
+        applyAndPublish(invalidation);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+
+        UUID tenantId = TenantContext.getTenantIdOrNull();
+        applyAndPublish(tenantScoped && tenantId != null
+            ? CacheInvalidation.tenant(getName(), tenantId.toString())
+            : CacheInvalidation.all(getName()));
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return false;
+    }
+
+    /**
+     * Whether L2 keys are scoped per tenant (false for global caches).
+     */
+    public boolean isTenantScoped() {
+        return tenantScoped;
+    }
+
+    /**
+     * Drops one oficina's L1 entries on every node (L2 is cleared by the caller).
+     *
+     * @param tenantId oficina ID
+     */
+    public void invalidateTenant(UUID tenantId) {
+        if (tenantScoped) {
+            applyAndPublish(CacheInvalidation.tenant(getName(), tenantId.toString()));
+        }
+    }
+
+    /**
+     * Applies an invalidation received from another node to the local L1.
+     */
+    void applyRemote(CacheInvalidation invalidation) {
+        applyLocal(invalidation);
+    }
+
+    private void applyAndPublish(CacheInvalidation invalidation) {
+        applyLocal(invalidation);
+        publisher.accept(invalidation);
+    }
+
+    private void applyLocal(CacheInvalidation invalidation) {
+        String argument = invalidation.argument();
+        switch (invalidation.type()) {
+            case KEY -> l1.invalidate(argument);
+            case KEY_ANY_TENANT -> l1.asMap().keySet()
+                .removeIf(k -> k.equals(argument) || TenantCacheKeys.isKeyForAnyTenant(k, argument));
+            case TENANT -> {
+                String prefix = TenantCacheKeys.tenantPrefix(UUID.fromString(argument));
+                l1.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+            }
+            case ALL -> l1.invalidateAll();
+        }
+    }
+
+    private String l1Key(Object key) {
+        return TenantCacheKeys.asString(tenantScoped ? TenantCacheKeys.scoped(key) : key);
+    }
+
+    private static Counter tierCounter(MeterRegistry registry, String cache, String tier, String result) {
+        return Counter.builder("pitstop.cache.tier.gets")
+            .description("Cache lookups per tier (L1 = node-local Caffeine, L2 = Redis)")
+            .tag("cache", cache)
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(registry);
+    }
+}
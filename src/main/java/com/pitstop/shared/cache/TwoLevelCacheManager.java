@@ -0,0 +1,229 @@
+package com.pitstop.shared.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link CacheManager} that puts a per-node Caffeine L1 ({@link TwoLevelCache}) in front of the
+ * L1-eligible Redis caches. Other caches are served by the {@link TenantScopedCacheManager} as is.
+ *
+ * <p>Decorator order for a cache: metrics ({@link InstrumentedCache}) &rarr; L1
+ * ({@link TwoLevelCache}, if eligible) &rarr; Redis outage fallback ({@link DegradedModeCache})
+ * &rarr; optional L2 decorator (e.g. {@link RefreshAheadCache}) &rarr; {@link TenantScopedCache}
+ * &rarr; RedisCache.</p>
+ *
+ * <p>Invalidations are published on {@value #CHANNEL}; every node subscribes (see
+ * {@code CacheConfig}) and drops the matching L1 entries. Messages from this node are ignored.</p>
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String CHANNEL = "pitstop:cache:invalidate";
+
+    private final TenantScopedCacheManager delegate;
+    private final UnaryOperator<Cache> l2Decorator;
+    private final Set<String> l1CacheNames;
+    private final long l1MaxSize;
+    private final Duration l1Ttl;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CacheTenantTags tenantTags;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final long fallbackMaxSize;
+    private final Duration fallbackTtl;
+
+    /**
+     * Identifies this node in published messages.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    private final Map<String, DegradedModeCache> degradedCaches = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate Redis (L2) cache manager
+     * @param l2Decorator applied to every L2 cache (identity for none)
+     * @param l1CacheNames caches that get an L1 tier
+     * @param l1MaxSize max L1 entries per cache
+     * @param l1Ttl L1 expiration after write
+     * @param redisTemplate used to publish invalidations
+     * @param meterRegistry registry for cache metrics
+     * @param tenantTags tenant tag for per-tenant metrics
+     * @param circuitBreaker Redis circuit breaker
+     * @param fallbackMaxSize max local entries per cache while Redis is unavailable
+     * @param fallbackTtl local entry expiration while Redis is unavailable
+     */
+    public TwoLevelCacheManager(
+        TenantScopedCacheManager delegate,
+        UnaryOperator<Cache> l2Decorator,
+        Set<String> l1CacheNames,
+        long l1MaxSize,
+        Duration l1Ttl,
+        StringRedisTemplate redisTemplate,
+        MeterRegistry meterRegistry,
+        CacheTenantTags tenantTags,
+        RedisCircuitBreaker circuitBreaker,
+        long fallbackMaxSize,
+        Duration fallbackTtl
+    ) {
+        this.delegate = delegate;
+        this.l2Decorator = l2Decorator;
+        this.l1CacheNames = Set.copyOf(l1CacheNames);
+        this.l1MaxSize = l1MaxSize;
+        this.l1Ttl = l1Ttl;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.tenantTags = tenantTags;
+        this.circuitBreaker = circuitBreaker;
+        this.fallbackMaxSize = fallbackMaxSize;
+        this.fallbackTtl = fallbackTtl;
+
+        circuitBreaker.addRecoveryListener(this::recover);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache l2 = delegate.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, n -> decorate(n, l2));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * Removes all entries of one oficina from every tenant-scoped cache, in both tiers.
+     *
+     * @param tenantId oficina ID
+     * @return names of the caches that were cleared
+     */
+    public List<String> evictTenant(UUID tenantId) {
+        List<String> cleared = delegate.evictTenant(tenantId);
+        for (Cache cache : caches.values()) {
+            TwoLevelCache twoLevel = twoLevel(cache);
+            if (twoLevel != null) {
+                twoLevel.invalidateTenant(tenantId);
+            }
+        }
+        return cleared;
+    }
+
+    /**
+     * Metrics totals of every cache used on this node, busiest first.
+     */
+    public List<InstrumentedCache.Stats> stats() {
+        return caches.values().stream()
+            .filter(InstrumentedCache.class::isInstance)
+            .map(cache -> ((InstrumentedCache) cache).stats())
+            .sorted(Comparator.comparingLong(InstrumentedCache.Stats::gets).reversed())
+            .toList();
+    }
+
+    /**
+     * Oficinas with the most cache requests in the last window.
+     */
+    public List<CacheTenantTags.TenantCount> topTenants() {
+        return tenantTags.topTenants();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidation.Message decoded;
+        try {
+            decoded = CacheInvalidation.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (nodeId.equals(decoded.nodeId())) {
+            return;
+        }
+
+        TwoLevelCache cache = twoLevel(caches.get(decoded.invalidation().cacheName()));
+        if (cache != null) {
+            cache.applyRemote(decoded.invalidation());
+        }
+    }
+
+    private Cache decorate(String name, Cache l2) {
+        boolean tenantScoped = delegate.isTenantScoped(name);
+        DegradedModeCache degraded = new DegradedModeCache(
+            l2Decorator.apply(l2),
+            tenantScoped,
+            Caffeine.newBuilder()
+                .maximumSize(fallbackMaxSize)
+                .expireAfterWrite(fallbackTtl)
+                .build(),
+            meterRegistry);
+        degradedCaches.put(name, degraded);
+        Cache cache = degraded;
+
+        if (l1CacheNames.contains(name)) {
+            cache = new TwoLevelCache(
+                cache,
+                tenantScoped,
+                Caffeine.newBuilder()
+                    .maximumSize(l1MaxSize)
+                    .expireAfterWrite(l1Ttl)
+                    .build(),
+                this::publish,
+                meterRegistry);
+        }
+
+        return new InstrumentedCache(cache, meterRegistry, tenantTags);
+    }
+
+    private static TwoLevelCache twoLevel(Cache cache) {
+        Cache target = cache instanceof InstrumentedCache instrumented ? instrumented.getDelegate() : cache;
+        return target instanceof TwoLevelCache twoLevel ? twoLevel : null;
+    }
+
+    /**
+     * Redis is back: drop the outage fallbacks and clear caches whose evictions were missed.
+     */
+    private void recover() {
+        degradedCaches.forEach((name, degraded) -> degraded.recover(() -> caches.get(name).clear()));
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        if (circuitBreaker.isDegraded()) {
+            // Pub/sub is down with Redis; L1 TTL bounds staleness on other nodes
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, invalidation.encode(nodeId));
+        } catch (Exception e) {
+            log.warn("Failed to publish L1 invalidation for cache {} (other nodes expire it by TTL): {}",
+                invalidation.cacheName(), e.getMessage());
+        }
+    }
+}
@@ -246,7 +246,7 @@ public class AuthController {
             HttpServletRequest httpRequest
     ) {
 
-        UUID userId = userDetails.getUsuario().getId();
+        UUID userId = userDetails.getUserId();
         authenticationService.logout(userId);
 
         // Clear the refresh token cookie (maxAge=0 expires immediately)
@@ -334,7 +334,7 @@ public class AuthController {
     })
     public ResponseEntity<UsuarioResponse> getCurrentUser(@AuthenticationPrincipal CustomUserDetails userDetails) {
 
-        UUID userId = userDetails.getUsuario().getId();
+        UUID userId = userDetails.getUserId();
         UsuarioResponse response = authenticationService.getCurrentUser(userId);
 
         return ResponseEntity.ok(response);
@@ -382,7 +382,7 @@ public class AuthController {
             @Valid @RequestBody UpdateProfileRequest request
     ) {
 
-        UUID userId = userDetails.getUsuario().getId();
+        UUID userId = userDetails.getUserId();
         UsuarioResponse response = authenticationService.updateProfile(userId, request);
 
         log.info("Profile updated - userId: {}", userId);
@@ -427,7 +427,7 @@ public class AuthController {
             @Valid @RequestBody ChangePasswordRequest request
     ) {
 
-        UUID userId = userDetails.getUsuario().getId();
+        UUID userId = userDetails.getUserId();
         authenticationService.changePassword(userId, request);
 
         log.info("Password changed - userId: {}", userId);
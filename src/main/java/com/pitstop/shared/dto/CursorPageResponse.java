@@ -0,0 +1,30 @@
+package com.pitstop.shared.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Page of a keyset (cursor) paginated listing.
+ *
+ * <p>Clients pass {@code nextCursor} back as the {@code cursor} parameter to get the next page; the
+ * token is opaque and only valid for the same filters. {@code totalElements} is only filled when the
+ * client asks for it, since counting is what makes deep offset pages expensive.</p>
+ *
+ * @param <T> item type
+ */
+@Schema(description = "Page of a cursor-paginated listing")
+public record CursorPageResponse<T>(
+
+        @Schema(description = "Items of this page")
+        List<T> content,
+
+        @Schema(description = "Token for the next page (null on the last page)", example = "MjAyNS0xMS0wMVQxMDowMDowMHwxMjNlNDU2Nw")
+        String nextCursor,
+
+        @Schema(description = "Whether there is a next page", example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Total matching items (only when requested)", example = "15230", nullable = true)
+        Long totalElements
+) {}
@@ -0,0 +1,21 @@
+package com.pitstop.shared.outbox;
+
+import java.util.UUID;
+
+/**
+ * Event to be written to the outbox by {@link OutboxPublisher}.
+ *
+ * @param oficinaId tenant the event belongs to (the relay runs the handlers with this tenant)
+ * @param aggregateType aggregate name, e.g. {@code OrdemServico}
+ * @param aggregateId aggregate id; per consumer, events of the same aggregate are delivered in order
+ * @param eventType event type the handlers subscribe to ({@link OutboxHandler#eventType()})
+ * @param payload event data, serialized as JSON
+ */
+public record OutboxEvent(
+    UUID oficinaId,
+    String aggregateType,
+    UUID aggregateId,
+    String eventType,
+    Object payload
+) {
+}
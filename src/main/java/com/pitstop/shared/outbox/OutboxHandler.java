@@ -0,0 +1,38 @@
+package com.pitstop.shared.outbox;
+
+/**
+ * Consumer of outbox events, invoked by the {@link OutboxRelay}.
+ *
+ * <p>Every Spring bean implementing this interface is a consumer: {@link OutboxPublisher} writes one
+ * row per event and consumer, so a consumer that fails is retried on its own without redelivering
+ * the event to the others. The relay calls {@link #handle} with the event's tenant set in
+ * {@link com.pitstop.shared.security.tenant.TenantContext}; throwing schedules a retry with
+ * exponential backoff.</p>
+ *
+ * @param <T> payload type, deserialized from the row's JSON
+ */
+public interface OutboxHandler<T> {
+
+    /**
+     * Unique consumer name, stored in each row (max 50 characters). Renaming it orphans pending rows.
+     */
+    String consumer();
+
+    /**
+     * Event type this consumer receives.
+     */
+    String eventType();
+
+    /**
+     * Class the payload is deserialized into.
+     */
+    Class<T> payloadType();
+
+    /**
+     * Handles one event.
+     *
+     * @param message outbox row (id, attempts, aggregate)
+     * @param payload deserialized payload
+     */
+    void handle(OutboxMessage message, T payload);
+}
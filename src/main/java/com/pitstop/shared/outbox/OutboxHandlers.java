@@ -0,0 +1,68 @@
+package com.pitstop.shared.outbox;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the {@link OutboxHandler} beans, by consumer name and by event type.
+ *
+ * <p>Resolved lazily on first use: handlers depend on services that publish events, so looking
+ * them up at construction time would create dependency cycles.</p>
+ */
+@Component
+class OutboxHandlers {
+
+    private final ObjectProvider<OutboxHandler<?>> provider;
+
+    private volatile Map<String, OutboxHandler<?>> byConsumer;
+    private volatile Map<String, List<String>> consumersByEventType;
+
+    OutboxHandlers(ObjectProvider<OutboxHandler<?>> provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * @return handler for the consumer, or null if no bean has that name
+     */
+    OutboxHandler<?> get(String consumer) {
+        resolve();
+        return byConsumer.get(consumer);
+    }
+
+    /**
+     * @return consumers subscribed to the event type (empty if none)
+     */
+    List<String> consumersOf(String eventType) {
+        resolve();
+        return consumersByEventType.getOrDefault(eventType, List.of());
+    }
+
+    private void resolve() {
+        if (byConsumer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (byConsumer != null) {
+                return;
+            }
+            Map<String, OutboxHandler<?>> handlers = new HashMap<>();
+            Map<String, List<String>> consumers = new HashMap<>();
+            provider.orderedStream().forEach(handler -> {
+                OutboxHandler<?> previous = handlers.putIfAbsent(handler.consumer(), handler);
+                if (previous != null) {
+                    throw new IllegalStateException("Duplicate outbox consumer '" + handler.consumer() + "': "
+                        + previous.getClass().getName() + " and " + handler.getClass().getName());
+                }
+                consumers.computeIfAbsent(handler.eventType(), type -> new ArrayList<>()).add(handler.consumer());
+            });
+            consumers.replaceAll((type, names) -> List.copyOf(names));
+            consumersByEventType = Map.copyOf(consumers);
+            byConsumer = Map.copyOf(handlers);
+        }
+    }
+}
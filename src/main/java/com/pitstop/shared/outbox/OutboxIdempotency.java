@@ -0,0 +1,84 @@
+package com.pitstop.shared.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a handler's side effect at most once per outbox row.
+ *
+ * <p>The {@link OutboxRelay} delivers at least once: a row whose lease expires while its handler
+ * is still running, or whose node dies before the acknowledgement, is delivered again. Handlers
+ * with external side effects (e-mail, WhatsApp, webhooks, WebSocket) wrap them in
+ * {@link #runOnce}, which records {@code (consumer, message.id())} in {@code outbox_processados}
+ * before the side effect; a redelivery finds the marker and skips it. If the side effect throws,
+ * the marker is removed so the relay's retry runs it again.</p>
+ *
+ * <p>Trade-off: a node dying between the marker and the side effect loses that delivery instead
+ * of repeating it.</p>
+ */
+@Slf4j
+@Component
+public class OutboxIdempotency {
+
+    private static final String CLAIM_SQL = """
+        INSERT INTO outbox_processados (consumidor, evento_id)
+        VALUES (?, ?)
+        ON CONFLICT DO NOTHING
+        """;
+
+    private static final String RELEASE_SQL = """
+        DELETE FROM outbox_processados WHERE consumidor = ? AND evento_id = ?
+        """;
+
+    private static final String CLEANUP_SQL = """
+        DELETE FROM outbox_processados
+        WHERE processado_em < LOCALTIMESTAMP - make_interval(days => ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+    public OutboxIdempotency(
+            JdbcTemplate jdbcTemplate,
+            @Value("${outbox.cleanup.retention-days:7}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Runs the action unless this row was already handled by its consumer.
+     *
+     * @param message outbox row being handled
+     * @param action side effect
+     * @return false if the row was already handled and the action was skipped
+     */
+    public boolean runOnce(OutboxMessage message, Runnable action) {
+        if (jdbcTemplate.update(CLAIM_SQL, message.consumer(), message.id()) == 0) {
+            log.info("Outbox row {} ({} -> {}) already handled, skipping redelivery",
+                message.id(), message.eventType(), message.consumer());
+            return false;
+        }
+        try {
+            action.run();
+            return true;
+        } catch (RuntimeException e) {
+            jdbcTemplate.update(RELEASE_SQL, message.consumer(), message.id());
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes markers older than the outbox retention (the rows they guard are gone by then).
+     */
+    @Scheduled(cron = "${outbox.cleanup.cron:0 40 3 * * *}")
+    public void cleanup() {
+        int deleted = jdbcTemplate.update(CLEANUP_SQL, retentionDays);
+        if (deleted > 0) {
+            log.info("Outbox idempotency cleanup: {} markers deleted", deleted);
+        }
+    }
+}
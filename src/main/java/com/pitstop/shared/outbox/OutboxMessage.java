@@ -0,0 +1,35 @@
+package com.pitstop.shared.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row claimed by the {@link OutboxRelay} for one consumer.
+ *
+ * <p>Delivery is at least once: if a node dies between the handler and the acknowledgement,
+ * the row is delivered again after its lease expires. {@link #id()} is stable across
+ * redeliveries: handlers with side effects run them through {@link OutboxIdempotency} and pass
+ * the id on as an idempotency key where the receiver supports one.</p>
+ *
+ * @param id outbox row id (increasing in write order)
+ * @param oficinaId tenant of the event
+ * @param aggregateType aggregate name
+ * @param aggregateId aggregate id
+ * @param eventType event type
+ * @param consumer handler the row is addressed to
+ * @param payload event data (JSON)
+ * @param attempts delivery attempts, including the current one
+ * @param createdAt when the event was written
+ */
+public record OutboxMessage(
+    long id,
+    UUID oficinaId,
+    String aggregateType,
+    UUID aggregateId,
+    String eventType,
+    String consumer,
+    String payload,
+    int attempts,
+    LocalDateTime createdAt
+) {
+}
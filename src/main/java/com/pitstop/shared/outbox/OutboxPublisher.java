@@ -0,0 +1,99 @@
+package com.pitstop.shared.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes domain events to the {@code outbox_eventos} table, in the caller's transaction.
+ *
+ * <p>Replaces {@code ApplicationEventPublisher.publishEvent} + {@code @Async} listeners for side
+ * effects that must not be lost (notifications, webhooks, WebSocket updates): the event is committed
+ * or rolled back together with the change that produced it, and the {@link OutboxRelay} delivers it
+ * after the commit, from any node.</p>
+ *
+ * <p>One row is written per event and subscribed consumer ({@link OutboxHandler}); events nobody
+ * subscribes to are dropped. All rows of a call go in one JDBC batch.</p>
+ *
+ * <p>Joins the current transaction, or opens one when called outside a transaction
+ * (e.g. public endpoints).</p>
+ */
+@Slf4j
+@Component
+public class OutboxPublisher {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO outbox_eventos (oficina_id, agregado_tipo, agregado_id, evento, consumidor, payload)
+        VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb))
+        """;
+
+    private static final int[] INSERT_TYPES = {
+        Types.OTHER, Types.VARCHAR, Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxHandlers handlers;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, OutboxHandlers handlers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers;
+    }
+
+    /**
+     * Writes one event to the outbox.
+     */
+    @Transactional
+    public void publish(OutboxEvent event) {
+        publishAll(List.of(event));
+    }
+
+    /**
+     * Writes several events to the outbox with a single JDBC batch.
+     */
+    @Transactional
+    public void publishAll(List<OutboxEvent> events) {
+        List<Object[]> rows = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            List<String> consumers = handlers.consumersOf(event.eventType());
+            if (consumers.isEmpty()) {
+                log.debug("No outbox consumer for event {}, dropped", event.eventType());
+                continue;
+            }
+
+            String payload = toJson(event);
+            for (String consumer : consumers) {
+                rows.add(new Object[] {
+                    event.oficinaId(),
+                    event.aggregateType(),
+                    event.aggregateId(),
+                    event.eventType(),
+                    consumer,
+                    payload
+                });
+            }
+        }
+
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_TYPES);
+        log.debug("{} outbox rows written for {} events", rows.size(), events.size());
+    }
+
+    private String toJson(OutboxEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload of " + event.eventType() + " is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.pitstop.shared.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.shared.security.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the rows of {@code outbox_eventos} to their {@link OutboxHandler}s.
+ *
+ * <p><b>Claiming:</b> every {@code outbox.relay.poll-interval-ms} each node claims up to
+ * {@code outbox.relay.batch-size} pending rows with {@code FOR UPDATE SKIP LOCKED} and stamps them
+ * with a lease ({@code bloqueado_ate}), in one autocommit statement. Nodes never block each other
+ * and never claim the same row while its lease is valid; if a node dies, its rows are claimed again
+ * when the lease expires (at-least-once delivery, see {@link OutboxMessage#id()}).</p>
+ *
+ * <p><b>Ordering:</b> only the oldest pending row of each (consumer, aggregate) is claimable, so a
+ * consumer sees the events of one aggregate in write order, and a batch holds at most one row per
+ * aggregate. The batch is handled on {@code outbox.relay.concurrency} threads, separate from the
+ * {@code @Async} executor.</p>
+ *
+ * <p><b>Failures:</b> a handler exception schedules a retry with exponential backoff (1s, 2s, 4s...
+ * capped at {@code outbox.relay.max-backoff-seconds}); after {@code outbox.relay.max-attempts} the row
+ * becomes {@code ESGOTADO} and stops blocking its aggregate. Rows with an unreadable payload or an
+ * unknown consumer become {@code ESGOTADO} at once.</p>
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li>{@code pitstop.outbox.pending} - pending rows (all nodes)</li>
+ *   <li>{@code pitstop.outbox.lag.seconds} - age of the oldest pending row</li>
+ *   <li>{@code pitstop.outbox.delivery.lag{consumer}} - time from write to successful delivery</li>
+ *   <li>{@code pitstop.outbox.delivered{consumer,result}} - deliveries by result
+ *       ({@code success}, {@code retry}, {@code dead})</li>
+ * </ul>
+ *
+ * <p>Processed rows are deleted after {@code outbox.cleanup.retention-days}; {@code ESGOTADO} rows
+ * are kept for inspection.</p>
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String CLAIM_SQL = """
+        UPDATE outbox_eventos o
+        SET bloqueado_ate = LOCALTIMESTAMP + make_interval(secs => ?), tentativas = o.tentativas + 1
+        WHERE o.id IN (
+            SELECT c.id
+            FROM outbox_eventos c
+            WHERE c.status = 'PENDENTE'
+              AND c.disponivel_em <= LOCALTIMESTAMP
+              AND (c.bloqueado_ate IS NULL OR c.bloqueado_ate < LOCALTIMESTAMP)
+              AND NOT EXISTS (
+                  SELECT 1
+                  FROM outbox_eventos a
+                  WHERE a.status = 'PENDENTE'
+                    AND a.consumidor = c.consumidor
+                    AND a.agregado_id = c.agregado_id
+                    AND a.id < c.id
+              )
+            ORDER BY c.id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING o.id, o.oficina_id, o.agregado_tipo, o.agregado_id, o.evento, o.consumidor,
+                  o.payload::text AS payload, o.tentativas, o.created_at
+        """;
+
+    private static final String DONE_SQL = """
+        UPDATE outbox_eventos
+        SET status = 'PROCESSADO', processado_em = LOCALTIMESTAMP, bloqueado_ate = NULL, erro_mensagem = NULL
+        WHERE id = ?
+        """;
+
+    private static final String RETRY_SQL = """
+        UPDATE outbox_eventos
+        SET disponivel_em = LOCALTIMESTAMP + make_interval(secs => ?), bloqueado_ate = NULL, erro_mensagem = ?
+        WHERE id = ?
+        """;
+
+    private static final String DEAD_SQL = """
+        UPDATE outbox_eventos
+        SET status = 'ESGOTADO', processado_em = LOCALTIMESTAMP, bloqueado_ate = NULL, erro_mensagem = ?
+        WHERE id = ?
+        """;
+
+    private static final String STATS_SQL = """
+        SELECT COUNT(*) AS pendentes, MIN(created_at) AS mais_antigo, LOCALTIMESTAMP AS agora
+        FROM outbox_eventos
+        WHERE status = 'PENDENTE'
+        """;
+
+    private static final String CLEANUP_SQL = """
+        DELETE FROM outbox_eventos
+        WHERE status = 'PROCESSADO' AND processado_em < LOCALTIMESTAMP - make_interval(days => ?)
+        """;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, rowNum) -> new OutboxMessage(
+        rs.getLong("id"),
+        rs.getObject("oficina_id", UUID.class),
+        rs.getString("agregado_tipo"),
+        rs.getObject("agregado_id", UUID.class),
+        rs.getString("evento"),
+        rs.getString("consumidor"),
+        rs.getString("payload"),
+        rs.getInt("tentativas"),
+        rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    /**
+     * Result of one delivery.
+     */
+    enum Result {
+        SUCCESS, RETRY, DEAD
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxHandlers handlers;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long maxBackoffSeconds;
+    private final int retentionDays;
+    private final ExecutorService executor;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            OutboxHandlers handlers,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.lease-seconds:60}") long leaseSeconds,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.max-backoff-seconds:300}") long maxBackoffSeconds,
+            @Value("${outbox.relay.concurrency:4}") int concurrency,
+            @Value("${outbox.cleanup.retention-days:7}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.retentionDays = retentionDays;
+        this.executor = Executors.newFixedThreadPool(
+            Math.max(1, concurrency), Thread.ofPlatform().name("outbox-relay-", 0).factory());
+
+        Gauge.builder("pitstop.outbox.pending", pending, AtomicLong::get)
+                .description("Pending outbox rows (all nodes)")
+                .register(meterRegistry);
+        Gauge.builder("pitstop.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending outbox row")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        log.info("OutboxRelay configurado: enabled={}, batchSize={}, concurrency={}, lease={}s, maxAttempts={}",
+                enabled, batchSize, concurrency, leaseSeconds, maxAttempts);
+    }
+
+    /**
+     * Claims and delivers pending rows until a batch comes back incomplete.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int delivered;
+            do {
+                delivered = relayBatch();
+            } while (delivered == batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims one batch and delivers it.
+     *
+     * @return number of rows claimed
+     */
+    int relayBatch() {
+        List<OutboxMessage> claimed = claim();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<Callable<Result>> tasks = claimed.stream()
+            .<Callable<Result>>map(message -> () -> deliver(message))
+            .toList();
+        try {
+            List<Future<Result>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                record(claimed.get(i), results.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            // Leases expire and the rows are claimed again
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Unexpected outbox delivery error: {}", e.getCause().getMessage(), e.getCause());
+        }
+        return claimed.size();
+    }
+
+    /**
+     * Claims up to one batch of rows and leases them to this node.
+     *
+     * @return claimed rows in id order
+     */
+    List<OutboxMessage> claim() {
+        List<OutboxMessage> claimed = new ArrayList<>(
+            jdbcTemplate.query(CLAIM_SQL, MESSAGE_MAPPER, (double) leaseSeconds, batchSize));
+        claimed.sort(Comparator.comparingLong(OutboxMessage::id));
+        return claimed;
+    }
+
+    /**
+     * Delivers one row to its handler and acknowledges it.
+     */
+    Result deliver(OutboxMessage message) {
+        OutboxHandler<?> handler = handlers.get(message.consumer());
+        if (handler == null) {
+            return dead(message, "No outbox handler for consumer " + message.consumer());
+        }
+
+        Object payload;
+        try {
+            payload = objectMapper.readValue(message.payload(), handler.payloadType());
+        } catch (JsonProcessingException e) {
+            return dead(message, "Unreadable payload: " + e.getOriginalMessage());
+        }
+
+        try {
+            TenantContext.runWithTenant(message.oficinaId(), () -> invoke(handler, message, payload));
+        } catch (RuntimeException e) {
+            if (message.attempts() >= maxAttempts) {
+                log.error("Outbox row {} ({} -> {}) dead after {} attempts: {}",
+                    message.id(), message.eventType(), message.consumer(), message.attempts(), e.getMessage(), e);
+                return dead(message, e.toString());
+            }
+            long backoff = Math.min(maxBackoffSeconds, 1L << Math.min(message.attempts() - 1, 30));
+            log.warn("Outbox row {} ({} -> {}) failed (attempt {}), retry in {}s: {}",
+                message.id(), message.eventType(), message.consumer(), message.attempts(), backoff, e.getMessage());
+            jdbcTemplate.update(RETRY_SQL, new Object[] {(double) backoff, truncate(e.toString()), message.id()},
+                new int[] {Types.DOUBLE, Types.VARCHAR, Types.BIGINT});
+            return Result.RETRY;
+        }
+
+        jdbcTemplate.update(DONE_SQL, message.id());
+        return Result.SUCCESS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void invoke(OutboxHandler<T> handler, OutboxMessage message, Object payload) {
+        handler.handle(message, (T) payload);
+    }
+
+    private Result dead(OutboxMessage message, String error) {
+        jdbcTemplate.update(DEAD_SQL, truncate(error), message.id());
+        return Result.DEAD;
+    }
+
+    private void record(OutboxMessage message, Result result) {
+        Counter.builder("pitstop.outbox.delivered")
+            .description("Outbox deliveries by consumer and result")
+            .tag("consumer", message.consumer())
+            .tag("result", result.name().toLowerCase())
+            .register(meterRegistry)
+            .increment();
+
+        if (result == Result.SUCCESS) {
+            Timer.builder("pitstop.outbox.delivery.lag")
+                .description("Time from outbox write to successful delivery")
+                .tag("consumer", message.consumer())
+                .register(meterRegistry)
+                .record(Duration.between(message.createdAt(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Refreshes the pending/lag gauges (one aggregate query, not on every scrape).
+     */
+    @Scheduled(fixedDelayString = "${outbox.metrics.refresh-ms:15000}")
+    public void refreshMetrics() {
+        try {
+            jdbcTemplate.query(STATS_SQL, rs -> {
+                pending.set(rs.getLong("pendentes"));
+                Timestamp oldest = rs.getTimestamp("mais_antigo");
+                lagSeconds.set(oldest == null ? 0
+                    : Duration.between(oldest.toLocalDateTime(), rs.getTimestamp("agora").toLocalDateTime()).toSeconds());
+            });
+        } catch (DataAccessException e) {
+            log.warn("Outbox metrics refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes processed rows older than the retention.
+     */
+    @Scheduled(cron = "${outbox.cleanup.cron:0 40 3 * * *}")
+    public void cleanup() {
+        int deleted = jdbcTemplate.update(CLEANUP_SQL, retentionDays);
+        if (deleted > 0) {
+            log.info("Outbox cleanup: {} processed rows deleted", deleted);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
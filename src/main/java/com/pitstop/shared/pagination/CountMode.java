@@ -0,0 +1,30 @@
+package com.pitstop.shared.pagination;
+
+/**
+ * How a paginated listing computes its total ({@code count} request parameter).
+ *
+ * @see PageCounter
+ */
+public enum CountMode {
+
+    /**
+     * Exact total (default). Served from a short-lived per-tenant cache of counts.
+     */
+    EXACT,
+
+    /**
+     * Planner estimate when the listing has no filters besides the oficina; exact (cached) otherwise.
+     */
+    ESTIMATED,
+
+    /**
+     * No total: the response is a {@code Slice} with {@code last}/{@code hasNext} only.
+     */
+    NONE;
+
+    /**
+     * OpenAPI description of the {@code count} request parameter.
+     */
+    public static final String PARAM_DESCRIPTION =
+        "Cálculo do total: EXACT (padrão), ESTIMATED (estimativa sem filtros) ou NONE (apenas hasNext, sem COUNT)";
+}
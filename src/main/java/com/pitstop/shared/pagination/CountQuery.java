@@ -0,0 +1,32 @@
+package com.pitstop.shared.pagination;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Total of a paginated listing, as {@link PageCounter} needs it.
+ *
+ * @param table table listed, also the cache namespace (used for the estimate when unfiltered)
+ * @param filters filter values of the request, {@code null} for unset filters (part of the cache key)
+ * @param exactCount runs the exact COUNT for these filters
+ */
+public record CountQuery(String table, List<Object> filters, LongSupplier exactCount) {
+
+    /**
+     * @param table table listed (must have an {@code oficina_id} column)
+     * @param exactCount runs the exact COUNT for these filters
+     * @param filters filter values, {@code null} for unset filters
+     */
+    public static CountQuery of(String table, LongSupplier exactCount, Object... filters) {
+        return new CountQuery(table, Arrays.asList(filters), exactCount);
+    }
+
+    /**
+     * Whether the listing is only restricted by oficina (every filter unset).
+     */
+    public boolean unfiltered() {
+        return filters.stream().allMatch(Objects::isNull);
+    }
+}
@@ -0,0 +1,139 @@
+package com.pitstop.shared.pagination;
+
+import com.pitstop.config.CacheConfig;
+import com.pitstop.shared.security.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Adds the total to a listing fetched as a {@link Slice}, according to the requested {@link CountMode}.
+ *
+ * <p>Listings query a {@code Slice} (one row more than the page size, no COUNT) and pass it here:</p>
+ * <ul>
+ *   <li>{@code NONE}: the slice is returned as is</li>
+ *   <li>last page reached: the total is known from the slice, no COUNT in any mode</li>
+ *   <li>{@code EXACT}: exact COUNT, cached per tenant for {@code cache.page-counts.ttl-seconds}
+ *       under a hash of the filters</li>
+ *   <li>{@code ESTIMATED}: without filters, the planner's row estimate for {@code oficina_id = ?}
+ *       (EXPLAIN, i.e. {@code pg_class.reltuples} times the column statistics), also cached;
+ *       with filters, same as {@code EXACT}</li>
+ * </ul>
+ *
+ * <p>A cached or estimated total is never reported below what the client has already paged through.
+ * Writes evict the tenant's counts ({@link CacheConfig#PAGE_COUNT_CACHE}); otherwise they expire with the TTL.</p>
+ */
+@Slf4j
+@Component
+public class PageCounter {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_]+");
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PageCounter(CacheManager cacheManager, JdbcTemplate jdbcTemplate) {
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param slice page fetched without COUNT
+     * @param mode requested count mode
+     * @param query how to count this listing
+     * @return {@code slice} for {@link CountMode#NONE}, otherwise a {@code Page} with its total
+     */
+    public <T> Slice<T> complete(Slice<T> slice, CountMode mode, CountQuery query) {
+        if (mode == CountMode.NONE) {
+            return slice;
+        }
+
+        Pageable pageable = slice.getPageable();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long seen = offset + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || offset == 0)) {
+            return new PageImpl<>(slice.getContent(), pageable, seen);
+        }
+
+        long total = mode == CountMode.ESTIMATED && query.unfiltered()
+            ? estimatedCount(query)
+            : exactCount(query);
+
+        long minimum = seen + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), pageable, Math.max(total, minimum));
+    }
+
+    private long exactCount(CountQuery query) {
+        String key = query.table() + ":" + filterHash(query.filters());
+        Number count = countCache().get(key, () -> (Number) query.exactCount().getAsLong());
+        return count.longValue();
+    }
+
+    private long estimatedCount(CountQuery query) {
+        String table = query.table();
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name for count estimate: " + table);
+        }
+
+        Cache cache = countCache();
+        String key = table + ":estimate";
+        Number estimate = cache.get(key, Number.class);
+        if (estimate == null) {
+            estimate = explainRows(table);
+            if (estimate == null) {
+                return exactCount(query);
+            }
+            cache.put(key, estimate);
+        }
+        return estimate.longValue();
+    }
+
+    private Long explainRows(String table) {
+        UUID oficinaId = TenantContext.getTenantId();
+        try {
+            // Planning only, nothing is read. The UUID is typed, so inlining it is safe
+            // and lets the planner use the column statistics for this value.
+            List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT 1 FROM " + table + " WHERE oficina_id = '" + oficinaId + "'", String.class);
+            Matcher rows = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.get(0));
+            return rows.find() ? Long.parseLong(rows.group(1)) : null;
+        } catch (DataAccessException e) {
+            log.warn("Count estimate failed for {}: {}", table, e.getMessage());
+            return null;
+        }
+    }
+
+    private Cache countCache() {
+        return cacheManager.getCache(CacheConfig.PAGE_COUNT_CACHE);
+    }
+
+    /**
+     * Short, fixed-size key for the filter values (user-supplied strings can be long).
+     */
+    static String filterHash(List<Object> filters) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(Arrays.deepToString(filters.toArray()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
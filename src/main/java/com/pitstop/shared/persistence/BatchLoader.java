@@ -0,0 +1,96 @@
+package com.pitstop.shared.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Batch loading of related rows, to replace one query per row (N+1) with one {@code IN} query.
+ *
+ * <p>Collects the distinct non-null ids referenced by a list of rows, loads them with a
+ * repository method taking a collection of ids ({@code findByOficinaIdAndIdIn}, {@code findAllById},
+ * ...) and returns them indexed by id, so each row looks its related entity up in memory:</p>
+ *
+ * <pre>{@code
+ * Map<UUID, Peca> pecas = BatchLoader.loadByIds(
+ *     itens, ItemOS::getPecaId,
+ *     ids -> pecaRepository.findByOficinaIdAndIdIn(oficinaId, ids),
+ *     Peca::getId);
+ *
+ * for (ItemOS item : itens) {
+ *     Peca peca = pecas.get(item.getPecaId());
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>Ids are sent in chunks of {@value #DEFAULT_BATCH_SIZE} to stay well below the PostgreSQL bind
+ * parameter limit. Ids the loader does not return (deleted, inactive or from another oficina) are
+ * simply absent from the map; callers decide whether that is an error.</p>
+ */
+public final class BatchLoader {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private BatchLoader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Loads the entities referenced by {@code rows}, in chunks of {@value #DEFAULT_BATCH_SIZE} ids.
+     *
+     * @param rows rows holding the foreign keys
+     * @param idOf extracts the referenced id from a row (may return null)
+     * @param loader loads entities for a chunk of ids (one query)
+     * @param keyOf id of a loaded entity
+     * @return loaded entities by id (never null)
+     */
+    public static <T, K, V> Map<K, V> loadByIds(
+        Collection<T> rows,
+        Function<? super T, ? extends K> idOf,
+        Function<? super List<K>, ? extends Collection<V>> loader,
+        Function<? super V, ? extends K> keyOf
+    ) {
+        return loadByIds(rows, idOf, loader, keyOf, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Same as {@link #loadByIds(Collection, Function, Function, Function)} with an explicit chunk size.
+     */
+    public static <T, K, V> Map<K, V> loadByIds(
+        Collection<T> rows,
+        Function<? super T, ? extends K> idOf,
+        Function<? super List<K>, ? extends Collection<V>> loader,
+        Function<? super V, ? extends K> keyOf,
+        int batchSize
+    ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+
+        Set<K> ids = new LinkedHashSet<>();
+        for (T row : rows) {
+            K id = idOf.apply(row);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        List<K> pending = new ArrayList<>(ids);
+        Map<K, V> loaded = new HashMap<>(pending.size() * 2);
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<K> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            for (V value : loader.apply(chunk)) {
+                loaded.put(keyOf.apply(value), value);
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,180 @@
+package com.pitstop.shared.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-oficina sequential numbers (OS, NF-e series, ...) backed by {@code numeracao_contadores},
+ * with hi-lo block allocation.
+ *
+ * <p><b>Blocks</b> ({@code blockSize > 1}): a node reserves {@code [proximo, proximo + blockSize)}
+ * with one atomic upsert and hands the numbers out from memory. Only one call in {@code blockSize}
+ * reaches the database, and there is no global hotspot: each oficina has its own counter row.</p>
+ *
+ * <p>The upsert runs in autocommit on a small pool of its own ({@code numeracao.pool.*}), not on
+ * the request pool: callers ({@code OrdemServicoService.criar}) already hold a request connection
+ * in their transaction, so borrowing a second one from the same pool could starve it when every
+ * connection is held by a caller waiting for a block. No lock is held during the round trip;
+ * threads that run out of numbers at the same time each reserve a block, and the extra blocks are
+ * queued for the next calls.</p>
+ *
+ * <p><b>Guarantees:</b> numbers are unique per (oficina, key) across nodes and restarts, because
+ * reserved ranges never overlap and a reservation is committed before any of its numbers is used.
+ * They are <em>not</em> gapless nor ordered by creation time:</p>
+ * <ul>
+ *   <li>numbers handed out to a transaction that rolls back are not reused</li>
+ *   <li>the unused rest of a node's block is lost when the node stops</li>
+ *   <li>with several nodes, numbers interleave (node A uses 21..40 while node B uses 41..60)</li>
+ * </ul>
+ *
+ * <p><b>Gapless</b> ({@code blockSize == 1}): the counter is incremented in the caller's
+ * transaction, so a rollback also rolls the number back. The counter row stays locked until the
+ * caller commits, serializing number allocation per (oficina, key). Use this for series where
+ * gaps have legal meaning (NF-e numbers must be voided at SEFAZ).</p>
+ *
+ * <p>A key with no counter row starts at 1.</p>
+ */
+@Slf4j
+@Component
+public class NumberBlockAllocator {
+
+    private static final String RESERVE_SQL = """
+        INSERT INTO numeracao_contadores (oficina_id, chave, proximo)
+        VALUES (?, ?, 1 + ?)
+        ON CONFLICT (oficina_id, chave) DO UPDATE
+        SET proximo = numeracao_contadores.proximo + EXCLUDED.proximo - 1, updated_at = CURRENT_TIMESTAMP
+        RETURNING proximo - ?
+        """;
+
+    private static final String PEEK_SQL = """
+        SELECT COALESCE(MAX(proximo), 1)
+        FROM numeracao_contadores
+        WHERE oficina_id = ? AND chave = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate reservationJdbc;
+    private final HikariDataSource reservationPool;
+    private final ConcurrentMap<Key, Block> blocks = new ConcurrentHashMap<>();
+
+    private record Key(UUID oficinaId, String key) {
+    }
+
+    private record Range(long start, long end) {
+    }
+
+    /**
+     * Numbers reserved by this node and not handed out yet: {@code [next, end)}, then the
+     * {@code spare} ranges.
+     */
+    private static final class Block {
+        private long next;
+        private long end;
+        private final Deque<Range> spare = new ArrayDeque<>();
+    }
+
+    @Autowired
+    public NumberBlockAllocator(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            @Value("${numeracao.pool.max-size:2}") int poolMaxSize,
+            @Value("${numeracao.pool.connection-timeout-ms:5000}") long connectionTimeoutMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationPool = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        this.reservationPool.setPoolName("numeracao");
+        this.reservationPool.setMaximumPoolSize(poolMaxSize);
+        this.reservationPool.setMinimumIdle(0);
+        this.reservationPool.setAutoCommit(true);
+        this.reservationPool.setConnectionTimeout(connectionTimeoutMs);
+        this.reservationJdbc = new JdbcTemplate(reservationPool);
+    }
+
+    NumberBlockAllocator(JdbcTemplate jdbcTemplate, JdbcTemplate reservationJdbc) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationJdbc = reservationJdbc;
+        this.reservationPool = null;
+    }
+
+    /**
+     * Returns the next number of the key for the oficina.
+     *
+     * @param oficinaId oficina (tenant)
+     * @param key numbering series, e.g. {@code "OS"} or {@code "NFE:1"}
+     * @param blockSize numbers reserved per database round trip; 1 = gapless, in the caller's transaction
+     * @return next number (unique per oficina and key)
+     */
+    public long next(UUID oficinaId, String key, int blockSize) {
+        if (blockSize <= 1) {
+            return reserve(jdbcTemplate, oficinaId, key, 1);
+        }
+
+        Block block = blocks.computeIfAbsent(new Key(oficinaId, key), k -> new Block());
+        synchronized (block) {
+            if (block.next < block.end || takeSpare(block)) {
+                return block.next++;
+            }
+        }
+
+        // Outside the monitor: the round trip may wait for a connection of the reservation pool
+        long start = reserve(reservationJdbc, oficinaId, key, blockSize);
+        log.debug("Reserved numbers {}..{} of {} for oficina {}", start, start + blockSize - 1, key, oficinaId);
+        synchronized (block) {
+            if (block.next < block.end || takeSpare(block)) {
+                block.spare.add(new Range(start + 1, start + blockSize));
+            } else {
+                block.next = start + 1;
+                block.end = start + blockSize;
+            }
+        }
+        return start;
+    }
+
+    @PreDestroy
+    void close() {
+        if (reservationPool != null) {
+            reservationPool.close();
+        }
+    }
+
+    /**
+     * Returns the first number not reserved by any node yet (what a gapless key will hand out next).
+     * With blocks, numbers already reserved by some node may still be handed out before it.
+     */
+    public long peek(UUID oficinaId, String key) {
+        Long proximo = jdbcTemplate.queryForObject(PEEK_SQL, Long.class, oficinaId, key);
+        return proximo != null ? proximo : 1L;
+    }
+
+    private static boolean takeSpare(Block block) {
+        Range range = block.spare.poll();
+        if (range == null) {
+            return false;
+        }
+        block.next = range.start();
+        block.end = range.end();
+        return true;
+    }
+
+    private static long reserve(JdbcTemplate jdbc, UUID oficinaId, String key, int size) {
+        Long start = jdbc.queryForObject(RESERVE_SQL, Long.class, oficinaId, key, size, size);
+        if (start == null) {
+            throw new IllegalStateException("Number reservation returned no row for " + key);
+        }
+        return start;
+    }
+}
@@ -0,0 +1,138 @@
+package com.pitstop.shared.redis;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+/**
+ * {@link RedisConnectionFactory} decorator guarded by a {@link RedisCircuitBreaker}.
+ *
+ * <p>{@link #getConnection()} fails fast with {@link RedisCircuitOpenException} while the circuit is
+ * open. Connections are proxied so that every Redis command reports its outcome and duration to
+ * the breaker; command interfaces returned by the connection ({@code stringCommands()},
+ * {@code keyCommands()}, ...) are proxied the same way. SCAN-family commands report outcome but
+ * not duration.</p>
+ *
+ * <p>Not a bean: used for the {@code StringRedisTemplate} and the cache writer only. The pub/sub
+ * listener container keeps the plain factory, since it has its own reconnect loop.</p>
+ */
+public class CircuitBreakingRedisConnectionFactory implements RedisConnectionFactory {
+
+    private static final String COMMANDS_PACKAGE = RedisConnection.class.getPackageName();
+
+    /**
+     * Connection methods that do not talk to Redis.
+     */
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "close", "isClosed", "isQueueing", "isPipelined", "isSubscribed",
+            "getNativeConnection", "getSubscription", "openPipeline");
+
+    /**
+     * Commands whose duration grows with the keyspace (cache eviction, key sampling), not with
+     * Redis load: connectivity failures still count, but they are never slow calls.
+     */
+    private static final Set<String> KEYSPACE_METHODS = Set.of("scan", "sScan", "hScan", "zScan", "keys");
+
+    private final RedisConnectionFactory delegate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public CircuitBreakingRedisConnectionFactory(RedisConnectionFactory delegate, RedisCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new RedisCircuitOpenException();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return guard(delegate.getConnection(), RedisConnection.class);
+        } catch (RuntimeException e) {
+            record(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        return delegate.getClusterConnection();
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return delegate.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    private <T> T guard(Object target, Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> invoke(target, method, args)));
+    }
+
+    private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        Class<?> returnType = method.getReturnType();
+        boolean commandsAccessor = returnType.isInterface() && COMMANDS_PACKAGE.equals(returnType.getPackageName());
+        boolean local = commandsAccessor
+                || method.getDeclaringClass() == Object.class
+                || LOCAL_METHODS.contains(method.getName());
+        boolean timed = !KEYSPACE_METHODS.contains(method.getName());
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (!local) {
+                record(e.getCause(), timed, System.nanoTime() - start);
+            }
+            throw e.getCause();
+        }
+
+        if (!local) {
+            succeeded(timed, System.nanoTime() - start);
+        }
+        return commandsAccessor && result != null ? guard(result, returnType) : result;
+    }
+
+    private void record(Throwable failure, long elapsedNanos) {
+        record(failure, true, elapsedNanos);
+    }
+
+    private void record(Throwable failure, boolean timed, long elapsedNanos) {
+        if (RedisCircuitBreaker.isConnectivityFailure(failure)) {
+            circuitBreaker.onFailure(failure.getClass().getSimpleName() + ": " + failure.getMessage());
+        } else {
+            // Command errors (wrong type, script error) mean Redis answered
+            succeeded(timed, elapsedNanos);
+        }
+    }
+
+    private void succeeded(boolean timed, long elapsedNanos) {
+        if (timed) {
+            circuitBreaker.onSuccess(elapsedNanos);
+        } else {
+            circuitBreaker.onSuccessIgnoringDuration();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.pitstop.shared.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker for every Redis call made through {@link CircuitBreakingRedisConnectionFactory}.
+ *
+ * <p><b>States:</b></p>
+ * <ul>
+ *   <li><b>CLOSED</b>: calls go to Redis. {@code redis.circuit-breaker.failure-threshold} consecutive
+ *       failures open the circuit. Connection errors, timeouts and calls slower than
+ *       {@code redis.circuit-breaker.slow-call-millis} (brownout) count as failures; SCAN-family
+ *       commands are exempt from the slow-call rule.</li>
+ *   <li><b>OPEN</b>: calls fail immediately with {@link RedisCircuitOpenException} instead of waiting
+ *       for the Redis timeout, for {@code redis.circuit-breaker.open-seconds}.</li>
+ *   <li><b>HALF_OPEN</b>: one probe call per open interval is let through; success closes the
+ *       circuit, failure opens it again. A probe that never reports back does not block the next one.</li>
+ * </ul>
+ *
+ * <p>Callers degrade on {@link RedisCircuitOpenException} like on any connection failure (it is a
+ * {@code RedisConnectionFailureException}). Recovery listeners run on a virtual thread when the
+ * circuit closes, e.g. to replay writes made while Redis was down.</p>
+ *
+ * <p><b>Metrics:</b></p>
+ * <ul>
+ *   <li>{@code pitstop.redis.circuit.state} - 0 closed, 1 half-open, 2 open</li>
+ *   <li>{@code pitstop.redis.circuit.transitions} - tag {@code state}</li>
+ *   <li>{@code pitstop.redis.circuit.rejected} - calls failed fast while open</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong nextProbeAt = new AtomicLong();
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+
+    private volatile String lastFailure;
+    private volatile long openedAt;
+
+    public RedisCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${redis.circuit-breaker.enabled:true}") boolean enabled,
+            @Value("${redis.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${redis.circuit-breaker.slow-call-millis:500}") long slowCallMillis,
+            @Value("${redis.circuit-breaker.open-seconds:15}") long openSeconds
+    ) {
+        this.enabled = enabled;
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallMillis * 1_000_000;
+        this.openMillis = openSeconds * 1000;
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("pitstop.redis.circuit.rejected")
+                .description("Redis calls failed fast because the circuit was open")
+                .register(meterRegistry);
+        Gauge.builder("pitstop.redis.circuit.state", state, s -> s.get().ordinal())
+                .description("Redis circuit state (0 closed, 1 half-open, 2 open)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a Redis call may proceed now. In HALF_OPEN, only the caller that wins the probe slot.
+     */
+    public boolean tryAcquire() {
+        if (!enabled || state.get() == State.CLOSED) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        long probeAt = nextProbeAt.get();
+        if (now >= probeAt && nextProbeAt.compareAndSet(probeAt, now + openMillis)) {
+            transition(State.HALF_OPEN);
+            return true;
+        }
+
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Records the outcome of a call that completed without throwing.
+     *
+     * @param elapsedNanos call duration
+     */
+    public void onSuccess(long elapsedNanos) {
+        if (slowCallNanos > 0 && elapsedNanos > slowCallNanos) {
+            onFailure("slow call (" + elapsedNanos / 1_000_000 + " ms)");
+            return;
+        }
+        onSuccessIgnoringDuration();
+    }
+
+    /**
+     * Records a call that completed without throwing, without slow-call accounting: for commands
+     * whose duration grows with the keyspace (SCAN family) rather than with Redis load.
+     */
+    public void onSuccessIgnoringDuration() {
+        consecutiveFailures.set(0);
+        if (state.get() != State.CLOSED && transition(State.CLOSED)) {
+            log.info("Redis circuit closed after {} ms", System.currentTimeMillis() - openedAt);
+            for (Runnable listener : recoveryListeners) {
+                Thread.ofVirtual().name("redis-recovery").start(listener);
+            }
+        }
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param reason short description for logs and health details
+     */
+    public void onFailure(String reason) {
+        lastFailure = reason;
+        if (!enabled) {
+            return;
+        }
+
+        int failures = consecutiveFailures.incrementAndGet();
+        State current = state.get();
+        if (current == State.HALF_OPEN || (current == State.CLOSED && failures >= failureThreshold)) {
+            nextProbeAt.set(System.currentTimeMillis() + openMillis);
+            if (transition(State.OPEN) && current == State.CLOSED) {
+                openedAt = System.currentTimeMillis();
+                log.warn("Redis circuit opened after {} consecutive failures (last: {}); " +
+                        "Redis calls fail fast for {} s", failures, reason, openMillis / 1000);
+            }
+        }
+    }
+
+    /**
+     * Whether the failure says Redis is unreachable or too slow (as opposed to a command error).
+     */
+    public static boolean isConnectivityFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DataAccessResourceFailureException || t instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers an action to run (asynchronously) each time the circuit closes again.
+     */
+    public void addRecoveryListener(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * True while Redis calls are being short-circuited (OPEN or HALF_OPEN).
+     */
+    public boolean isDegraded() {
+        return state.get() != State.CLOSED;
+    }
+
+    public String getLastFailure() {
+        return lastFailure;
+    }
+
+    public long getOpenedAt() {
+        return openedAt;
+    }
+
+    private boolean transition(State target) {
+        State previous = state.getAndSet(target);
+        if (previous == target) {
+            return false;
+        }
+        meterRegistry.counter("pitstop.redis.circuit.transitions", "state", target.name().toLowerCase()).increment();
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.pitstop.shared.redis;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Health contributor {@code redisCircuit}: UP while the Redis circuit is closed, {@value #DEGRADED}
+ * while it is open or probing.
+ *
+ * <p>Replaces the default Redis health check (disabled in application.yml), which would turn the
+ * whole application DOWN during a Redis outage even though it keeps serving in degraded mode.
+ * {@value #DEGRADED} is ordered between DOWN and UP and mapped to HTTP 200.</p>
+ */
+@Component
+public class RedisCircuitHealthIndicator implements HealthIndicator {
+
+    public static final String DEGRADED = "DEGRADED";
+
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public RedisCircuitHealthIndicator(RedisCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Health health() {
+        RedisCircuitBreaker.State state = circuitBreaker.getState();
+        if (state == RedisCircuitBreaker.State.CLOSED) {
+            return Health.up().withDetail("circuit", state).build();
+        }
+
+        Health.Builder builder = Health.status(new Status(DEGRADED, "Redis unavailable; serving from local fallbacks"))
+                .withDetail("circuit", state)
+                .withDetail("openSince", Instant.ofEpochMilli(circuitBreaker.getOpenedAt()));
+        if (circuitBreaker.getLastFailure() != null) {
+            builder.withDetail("lastFailure", circuitBreaker.getLastFailure());
+        }
+        return builder.build();
+    }
+}
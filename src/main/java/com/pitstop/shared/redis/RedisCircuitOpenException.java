@@ -0,0 +1,24 @@
+package com.pitstop.shared.redis;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+/**
+ * Thrown instead of calling Redis while the {@link RedisCircuitBreaker} is open.
+ *
+ * <p>A {@link RedisConnectionFailureException}, so existing connection-failure handling
+ * (fallbacks, {@code catch (Exception e)} around Redis calls) applies unchanged.</p>
+ */
+public class RedisCircuitOpenException extends RedisConnectionFailureException {
+
+    public RedisCircuitOpenException() {
+        super("Redis circuit breaker is open");
+    }
+
+    /**
+     * Thrown on every Redis call while open: skip the stack trace, the cause is always the same.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -64,6 +64,7 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final UsuarioMapper usuarioMapper;
+    private final SecurityVersionService securityVersionService;
 
     /**
      * Authenticates a user and generates JWT tokens.
@@ -282,6 +283,7 @@ public class AuthenticationService {
 
         // 4. Save changes
         Usuario updatedUsuario = usuarioRepository.save(usuario);
+        securityVersionService.bump(updatedUsuario.getId());
 
         log.info("Profile updated successfully for user: {} (ID: {})", updatedUsuario.getEmail(), updatedUsuario.getId());
 
@@ -321,6 +323,7 @@ public class AuthenticationService {
 
         // 4. Save changes
         usuarioRepository.save(usuario);
+        securityVersionService.bump(usuario.getId());
 
         log.info("Password changed successfully for user: {} (ID: {})", usuario.getEmail(), usuario.getId());
     }
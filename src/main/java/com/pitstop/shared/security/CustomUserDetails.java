@@ -1,19 +1,22 @@
 package com.pitstop.shared.security;
 
+import com.pitstop.usuario.domain.PerfilUsuario;
 import com.pitstop.usuario.domain.Usuario;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Custom implementation of Spring Security's UserDetails interface.
  *
- * <p>Wraps the {@link Usuario} entity to integrate with Spring Security authentication.
+ * <p>Holds an immutable snapshot of the {@link Usuario} fields needed for authentication and
+ * auditing, copied when the user is loaded. It never references the JPA entity, so the same
+ * instance can be cached by {@link PrincipalCache} and shared across request threads.
  *
  * <p><b>Authority mapping:</b>
  * The user's {@code perfil} (role) is mapped to a Spring Security {@code GrantedAuthority}.
@@ -23,21 +26,57 @@ import java.util.List;
  *
  * <p><b>Account status:</b>
  * <ul>
- *   <li><b>isEnabled()</b>: Returns {@code usuario.isAtivo()} (soft delete check)</li>
+ *   <li><b>isEnabled()</b>: Returns the {@code ativo} flag at load time (soft delete check)</li>
  *   <li><b>isAccountNonExpired()</b>: Always true (no expiration logic)</li>
  *   <li><b>isAccountNonLocked()</b>: Always true (no locking mechanism)</li>
  *   <li><b>isCredentialsNonExpired()</b>: Always true (no password expiration)</li>
  * </ul>
  *
- * <p><b>Single-tenant note:</b>
- * Currently, this class does NOT contain tenant information. When migrating to SaaS multi-tenant,
- * consider adding a {@code tenantId} field to enforce tenant isolation at the security level.
+ * <p><b>Tenant:</b>
+ * {@link #getOficinaId()} is the user's oficina at load time (null for SUPER_ADMIN). Since the
+ * principal is cached across requests, it may be older than the current token: the request's
+ * tenant is still set by {@code TenantFilter} from the token's {@code oficinaId} claim.
  */
-@RequiredArgsConstructor
 @Getter
 public class CustomUserDetails implements UserDetails {
 
-    private final Usuario usuario;
+    private final UUID userId;
+    private final String email;
+    private final String nome;
+    private final String senha;
+    private final PerfilUsuario perfil;
+
+    /**
+     * Oficina (tenant) of the user, or null for SUPER_ADMIN.
+     */
+    private final UUID oficinaId;
+
+    private final boolean ativo;
+
+    /**
+     * Durable security version ({@code usuarios.security_version}) at load time.
+     *
+     * @see SecurityVersionService
+     */
+    private final long securityVersion;
+
+    /**
+     * Copies the authentication fields from a loaded user.
+     *
+     * <p>Must be called while {@code usuario.getOficina()} is fetched or still attached.
+     *
+     * @param usuario the loaded user
+     */
+    public CustomUserDetails(Usuario usuario) {
+        this.userId = usuario.getId();
+        this.email = usuario.getEmail();
+        this.nome = usuario.getNome();
+        this.senha = usuario.getSenha();
+        this.perfil = usuario.getPerfil();
+        this.oficinaId = usuario.getOficina() != null ? usuario.getOficina().getId() : null;
+        this.ativo = usuario.isAtivo();
+        this.securityVersion = usuario.getSecurityVersion() != null ? usuario.getSecurityVersion() : 0L;
+    }
 
     /**
      * Returns the authorities granted to the user.
@@ -49,7 +88,7 @@ public class CustomUserDetails implements UserDetails {
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(usuario.getPerfil().name()));
+        return List.of(new SimpleGrantedAuthority(perfil.name()));
     }
 
     /**
@@ -59,7 +98,7 @@ public class CustomUserDetails implements UserDetails {
      */
     @Override
     public String getPassword() {
-        return usuario.getSenha();
+        return senha;
     }
 
     /**
@@ -71,7 +110,7 @@ public class CustomUserDetails implements UserDetails {
      */
     @Override
     public String getUsername() {
-        return usuario.getEmail();
+        return email;
     }
 
     /**
@@ -113,24 +152,13 @@ public class CustomUserDetails implements UserDetails {
     /**
      * Indicates whether the user is enabled or disabled.
      *
-     * <p>Uses the {@code ativo} flag from the {@link Usuario} entity.
+     * <p>Uses the {@code ativo} flag copied from the {@link Usuario} entity.
      * Disabled users cannot authenticate.
      *
      * @return true if the user is active (ativo = true), false otherwise
      */
     @Override
     public boolean isEnabled() {
-        return usuario.isAtivo();
-    }
-
-    /**
-     * Returns the user's unique identifier (UUID).
-     *
-     * <p>Useful for retrieving the authenticated user's ID in services and controllers.
-     *
-     * @return the user's UUID
-     */
-    public java.util.UUID getUserId() {
-        return usuario.getId();
+        return ativo;
     }
 }
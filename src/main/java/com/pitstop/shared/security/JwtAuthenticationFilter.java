@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 /**
  * JWT authentication filter that intercepts HTTP requests and validates JWT tokens.
@@ -23,9 +25,10 @@ import java.io.IOException;
  * <ol>
  *   <li>Extract JWT token from {@code Authorization} header (format: "Bearer {token}")</li>
  *   <li>If no token found, skip authentication (let Spring Security handle unauthorized access)</li>
- *   <li>Validate token signature and expiration using {@link JwtService}</li>
- *   <li>Extract email from token and load full user via {@link CustomUserDetailsService}</li>
- *   <li>If valid, populate {@link SecurityContextHolder} with authenticated user</li>
+ *   <li>Verify token signature and expiration once using {@link JwtService#verify(String)} and store
+ *       the resulting {@link VerifiedToken} as a request attribute for later filters</li>
+ *   <li>Resolve the principal from the token claims (see authentication modes below)</li>
+ *   <li>If valid and the user is active, populate {@link SecurityContextHolder} with authenticated user</li>
  *   <li>Continue filter chain</li>
  * </ol>
  *
@@ -36,22 +39,40 @@ import java.io.IOException;
  *   <li>If authentication succeeds, subsequent filters/controllers see authenticated user</li>
  * </ul>
  *
+ * <p><b>Authentication modes</b> ({@code application.jwt.authentication-mode}):
+ * <ul>
+ *   <li><b>claims</b> (default): the userId claim is used to look up the principal in the per-node
+ *       {@link PrincipalCache}. The cache entry is only reused while its security version matches
+ *       {@link SecurityVersionService}, so deactivation, role or password changes still take effect
+ *       on the next request after commit. Only cache misses (or Redis being unavailable) reach the
+ *       database.</li>
+ *   <li><b>database</b>: every request loads the user via {@link CustomUserDetailsService}.</li>
+ * </ul>
+ *
  * <p><b>Error handling:</b>
  * Invalid or expired tokens are silently ignored (no exception thrown).
  * Spring Security will deny access to protected endpoints automatically.
  *
- * <p><b>Single-tenant note:</b>
- * Currently does not extract or validate tenant information from tokens.
- * When migrating to SaaS multi-tenant, extract "tenantId" claim from token and store in
- * a ThreadLocal or custom Authentication object for tenant isolation in service layer.
+ * <p><b>Tenant:</b>
+ * The principal is an immutable {@link CustomUserDetails} snapshot, shared across requests by the
+ * {@link PrincipalCache}, that carries the user's {@code oficinaId}. This filter does not set the
+ * tenant: {@code TenantFilter} binds {@link com.pitstop.shared.security.tenant.TenantContext} from
+ * the {@link VerifiedToken} stored in the request here.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String MODE_CLAIMS = "claims";
+
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final SecurityVersionService securityVersionService;
+
+    @Value("${application.jwt.authentication-mode:claims}")
+    private String authenticationMode;
 
     /**
      * Main filter method that processes each HTTP request.
@@ -83,21 +104,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract token (remove "Bearer " prefix)
             final String jwt = authHeader.substring(7);
 
-            // Validate token (signature + expiration)
-            if (!jwtService.validateToken(jwt)) {
-                log.warn("Invalid JWT token in request to: {}", request.getRequestURI());
+            // Verify token once (signature + expiration) and share the claims with later filters
+            final VerifiedToken verifiedToken;
+            try {
+                verifiedToken = jwtService.verify(jwt);
+            } catch (Exception e) {
+                log.warn("Invalid JWT token in request to {}: {}", request.getRequestURI(), e.getMessage());
                 filterChain.doFilter(request, response);
                 return;
             }
+            request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
 
-            // Extract email from token
-            final String userEmail = jwtService.extractEmail(jwt);
+            final String userEmail = verifiedToken.email();
 
             // Check if user is already authenticated in SecurityContext
             // (avoid redundant database queries if filter runs multiple times)
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load full user from database
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                // Resolve principal (per-node cache in claims mode, database otherwise)
+                UserDetails userDetails = MODE_CLAIMS.equalsIgnoreCase(authenticationMode)
+                        ? resolveFromClaims(verifiedToken.userId(), userEmail)
+                        : userDetailsService.loadUserByUsername(userEmail);
+
+                // Deactivated users keep a valid token until it expires; refuse it here
+                if (!userDetails.isEnabled()) {
+                    log.warn("Inactive user {} rejected (URI: {})", userEmail, request.getRequestURI());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
                 log.info("Loading user: {} with authorities: {}", userEmail, userDetails.getAuthorities());
 
@@ -126,4 +159,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continue filter chain
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Resolves the principal for a verified token without touching the database on cache hits.
+     *
+     * <p>The published security version is read BEFORE loading the user. The loaded principal is
+     * only cached when its durable version matches it:
+     * <ul>
+     *   <li>equal: cached under that version</li>
+     *   <li>durable ahead (Redis key expired or lost): the durable version is republished, which
+     *       also invalidates stale entries on other nodes, and then cached</li>
+     *   <li>durable behind (a bump is publishing before its commit): not cached, since the row
+     *       may still hold the pre-change data</li>
+     * </ul>
+     *
+     * @param userId userId from the token subject
+     * @param email email from the token claims
+     * @return the authenticated principal
+     */
+    private UserDetails resolveFromClaims(UUID userId, String email) {
+        Long version = securityVersionService.currentVersion(userId);
+
+        if (version != null) {
+            CustomUserDetails cached = principalCache.get(userId, version);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        UserDetails loaded = userDetailsService.loadUserByUsername(email);
+
+        if (version != null && loaded instanceof CustomUserDetails customUserDetails
+                && userId.equals(customUserDetails.getUserId())) {
+            long durable = customUserDetails.getSecurityVersion();
+            if (durable == version
+                    || (durable > version && securityVersionService.publish(userId, durable))) {
+                principalCache.put(userId, durable, customUserDetails);
+            }
+        }
+
+        return loaded;
+    }
 }
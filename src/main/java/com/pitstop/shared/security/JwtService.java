@@ -3,17 +3,25 @@ package com.pitstop.shared.security;
 import com.pitstop.usuario.domain.PerfilUsuario;
 import com.pitstop.usuario.domain.Usuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * Service responsible for JWT token generation, validation, and claims extraction.
@@ -30,6 +38,8 @@ import java.util.function.Function;
  *   <li>Secret key must be Base64-encoded and stored in environment variable JWT_SECRET</li>
  *   <li>Tokens are stateless - validation is done via signature + expiration check</li>
  *   <li>Refresh tokens are stored in Redis for revocation capability</li>
+ *   <li>Each token is parsed once: {@link #verify(String)} returns a {@link VerifiedToken} and keeps
+ *       recently verified tokens in a bounded LRU keyed by token digest</li>
  * </ul>
  *
  * <p><b>Multi-tenancy support:</b>
@@ -49,18 +59,55 @@ public class JwtService {
     private final Long accessTokenExpiration;
     private final Long refreshTokenExpiration;
     private final SecretKey signingKey;
+    private final JwtParser parser;
 
+    /**
+     * Recently verified tokens, keyed by SHA-256 digest (LRU, bounded).
+     */
+    private final Map<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Current time in epoch millis (token timestamps, expiration checks).
+     */
+    private final LongSupplier clock;
+
+    @Autowired
     public JwtService(
             @Value("${application.jwt.secret}") String secret,
             @Value("${application.jwt.access-token-expiration}") Long accessTokenExpiration,
-            @Value("${application.jwt.refresh-token-expiration}") Long refreshTokenExpiration
+            @Value("${application.jwt.refresh-token-expiration}") Long refreshTokenExpiration,
+            @Value("${application.jwt.verified-token-cache.max-size:5000}") int verifiedTokenCacheSize
+    ) {
+        this(secret, accessTokenExpiration, refreshTokenExpiration, verifiedTokenCacheSize, System::currentTimeMillis);
+    }
+
+    JwtService(
+            String secret,
+            Long accessTokenExpiration,
+            Long refreshTokenExpiration,
+            int verifiedTokenCacheSize,
+            LongSupplier clock
     ) {
         this.secret = secret;
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.clock = clock;
 
         // Validate and initialize signing key
         this.signingKey = initializeSigningKey(secret);
+
+        // Parser is immutable and thread-safe - build once
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .clock(() -> new Date(clock.getAsLong()))
+                .build();
+
+        this.verifiedTokens = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedTokenCacheSize;
+            }
+        };
     }
 
     /**
@@ -123,8 +170,8 @@ public class JwtService {
                     .claim("email", usuario.getEmail())
                     .claim("perfil", usuario.getPerfil().name())
                     // NÃO adiciona oficinaId para SUPER_ADMIN
-                    .issuedAt(new Date())
-                    .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
+                    .issuedAt(new Date(clock.getAsLong()))
+                    .expiration(new Date(clock.getAsLong() + accessTokenExpiration))
                     .signWith(getSigningKey(), Jwts.SIG.HS512)
                     .compact();
         }
@@ -139,8 +186,8 @@ public class JwtService {
                 .claim("email", usuario.getEmail())
                 .claim("perfil", usuario.getPerfil().name())
                 .claim("oficinaId", usuario.getOficina().getId().toString())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
+                .issuedAt(new Date(clock.getAsLong()))
+                .expiration(new Date(clock.getAsLong() + accessTokenExpiration))
                 .signWith(getSigningKey(), Jwts.SIG.HS512)
                 .compact();
     }
@@ -159,12 +206,52 @@ public class JwtService {
 
         return Jwts.builder()
                 .subject(usuario.getId().toString())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + refreshTokenExpiration))
+                .issuedAt(new Date(clock.getAsLong()))
+                .expiration(new Date(clock.getAsLong() + refreshTokenExpiration))
                 .signWith(getSigningKey(), Jwts.SIG.HS512)
                 .compact();
     }
 
+    /**
+     * Verifies a JWT token (signature + expiration) and returns its claims.
+     *
+     * <p>Verified tokens are kept in a bounded LRU keyed by the SHA-256 digest of the token,
+     * so repeated calls for the same token (several filters in one request, or many requests
+     * in a short period) skip the HMAC check and JSON parsing. A cached entry is only returned
+     * while the token is not expired.
+     *
+     * @param token the JWT token
+     * @return verified claims
+     * @throws io.jsonwebtoken.JwtException if token is invalid or expired
+     * @throws IllegalArgumentException if token is blank or a claim has an invalid format
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token vazio");
+        }
+
+        String digest = digest(token);
+        VerifiedToken cached;
+        synchronized (verifiedTokens) {
+            cached = verifiedTokens.get(digest);
+        }
+
+        if (cached != null) {
+            if (!cached.isExpiredAt(clock.getAsLong())) {
+                return cached;
+            }
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(digest);
+            }
+        }
+
+        VerifiedToken verified = toVerifiedToken(extractAllClaims(token));
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
+    }
+
     /**
      * Validates a JWT token by verifying signature and expiration.
      *
@@ -173,7 +260,7 @@ public class JwtService {
      */
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
+            verify(token);
             log.debug("Token validation successful");
             return true;
         } catch (Exception e) {
@@ -190,8 +277,7 @@ public class JwtService {
      * @throws IllegalArgumentException if subject is not a valid UUID
      */
     public UUID extractUserId(String token) {
-        String subject = extractClaim(token, Claims::getSubject);
-        return UUID.fromString(subject);
+        return verify(token).userId();
     }
 
     /**
@@ -201,19 +287,17 @@ public class JwtService {
      * @return user email
      */
     public String extractEmail(String token) {
-        return extractClaim(token, claims -> claims.get("email", String.class));
+        return verify(token).email();
     }
 
     /**
      * Extracts the perfil (role) claim from the token.
      *
      * @param token the JWT token
-     * @return user profile/role
-     * @throws IllegalArgumentException if perfil value is invalid
+     * @return user profile/role, or null if the token has no perfil claim (refresh tokens)
      */
     public PerfilUsuario extractPerfil(String token) {
-        String perfilName = extractClaim(token, claims -> claims.get("perfil", String.class));
-        return PerfilUsuario.valueOf(perfilName);
+        return verify(token).perfil();
     }
 
     /**
@@ -229,17 +313,9 @@ public class JwtService {
      *
      * @param token the JWT token
      * @return oficina ID as UUID, or null if user is SUPER_ADMIN
-     * @throws IllegalArgumentException if oficinaId claim exists but is not a valid UUID
      */
     public UUID extractOficinaId(String token) {
-        String oficinaIdStr = extractClaim(token, claims -> claims.get("oficinaId", String.class));
-
-        // SUPER_ADMIN não tem oficinaId no token
-        if (oficinaIdStr == null || oficinaIdStr.isBlank()) {
-            return null;
-        }
-
-        return UUID.fromString(oficinaIdStr);
+        return verify(token).oficinaId();
     }
 
     /**
@@ -252,8 +328,7 @@ public class JwtService {
      */
     public boolean isSuperAdmin(String token) {
         try {
-            PerfilUsuario perfil = extractPerfil(token);
-            return perfil == PerfilUsuario.SUPER_ADMIN;
+            return verify(token).isSuperAdmin();
         } catch (Exception e) {
             log.warn("Failed to extract perfil from token: {}", e.getMessage());
             return false;
@@ -267,7 +342,7 @@ public class JwtService {
      * @return expiration date
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).expiration();
     }
 
     /**
@@ -277,20 +352,28 @@ public class JwtService {
      * @return true if token is expired, false otherwise
      */
     public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return extractExpiration(token).getTime() < clock.getAsLong();
     }
 
     /**
-     * Generic method to extract a specific claim from the token.
+     * Maps verified claims to a {@link VerifiedToken}.
      *
-     * @param token the JWT token
-     * @param claimsResolver function to extract the desired claim
-     * @param <T> the type of the claim
-     * @return the extracted claim value
+     * @param claims verified claims
+     * @return verified token
+     * @throws IllegalArgumentException if subject, perfil or oficinaId have an invalid format
      */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        String perfilName = claims.get("perfil", String.class);
+        String oficinaIdStr = claims.get("oficinaId", String.class);
+
+        return new VerifiedToken(
+                UUID.fromString(claims.getSubject()),
+                claims.get("email", String.class),
+                perfilName != null ? PerfilUsuario.valueOf(perfilName) : null,
+                // SUPER_ADMIN não tem oficinaId no token
+                oficinaIdStr != null && !oficinaIdStr.isBlank() ? UUID.fromString(oficinaIdStr) : null,
+                claims.getExpiration()
+        );
     }
 
     /**
@@ -301,11 +384,24 @@ public class JwtService {
      * @throws io.jsonwebtoken.JwtException if token is invalid or expired
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Computes the cache key for a token (SHA-256, Base64).
+     *
+     * <p>Keying by digest avoids retaining the raw tokens in memory.
+     *
+     * @param token the JWT token
+     * @return Base64-encoded SHA-256 digest
+     */
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
     }
 
     /**
@@ -51,6 +51,7 @@ public class PasswordResetService {
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final SecurityVersionService securityVersionService;
 
     /**
      * Token validity duration in minutes.
@@ -156,6 +157,7 @@ public class PasswordResetService {
         // Update password
         usuario.setSenha(passwordEncoder.encode(request.novaSenha()));
         usuarioRepository.save(usuario);
+        securityVersionService.bump(usuario.getId());
 
         // Mark token as used
         resetToken.markAsUsed();
@@ -0,0 +1,116 @@
+package com.pitstop.shared.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Small per-node cache of authenticated principals, keyed by userId.
+ *
+ * <p>Used by {@link JwtAuthenticationFilter} in {@code claims} authentication mode so that
+ * authenticated requests do not need a database query to rebuild the {@link CustomUserDetails}.
+ * Entries are immutable snapshots (no JPA entity), so they are safe to share across threads.
+ *
+ * <p><b>Invalidation:</b>
+ * <ul>
+ *   <li>Each entry stores the security version ({@link SecurityVersionService}) it was loaded with.
+ *       A lookup with a different version is a miss, so bumps propagate to every node.</li>
+ *   <li>Entries also expire after {@code application.jwt.principal-cache.ttl-seconds}, which bounds
+ *       how long a principal is reused without reloading.</li>
+ *   <li>The cache is bounded (LRU) by {@code application.jwt.principal-cache.max-size}.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<UUID, Entry> entries;
+
+    @Autowired
+    public PrincipalCache(
+            @Value("${application.jwt.principal-cache.max-size:10000}") int maxSize,
+            @Value("${application.jwt.principal-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this(maxSize, ttlSeconds, System::currentTimeMillis);
+    }
+
+    PrincipalCache(int maxSize, long ttlSeconds, LongSupplier clock) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached principal if it was loaded with the given security version and has not expired.
+     *
+     * @param userId the user's ID
+     * @param version the current security version
+     * @return the cached principal, or null on miss
+     */
+    public CustomUserDetails get(UUID userId, long version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+        }
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.version() != version || clock.getAsLong() - entry.loadedAt() > ttlMillis) {
+            evict(userId);
+            return null;
+        }
+
+        return entry.userDetails();
+    }
+
+    /**
+     * Stores a principal loaded under the given security version.
+     *
+     * @param userId the user's ID
+     * @param version the security version the principal was loaded with
+     * @param userDetails the loaded principal
+     */
+    public void put(UUID userId, long version, CustomUserDetails userDetails) {
+        synchronized (entries) {
+            entries.put(userId, new Entry(userDetails, version, clock.getAsLong()));
+        }
+        log.debug("Principal cached for user {} (security version {})", userId, version);
+    }
+
+    /**
+     * Removes a principal from this node's cache.
+     *
+     * @param userId the user's ID
+     */
+    public void evict(UUID userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    /**
+     * Current number of cached principals on this node.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(CustomUserDetails userDetails, long version, long loadedAt) {}
+}
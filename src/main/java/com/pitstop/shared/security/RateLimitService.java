@@ -1,34 +1,39 @@
 package com.pitstop.shared.security;
 
+import com.pitstop.shared.security.ratelimit.LocalRateLimitBackend;
+import com.pitstop.shared.security.ratelimit.RateLimitBackend;
+import com.pitstop.shared.security.ratelimit.RateLimitDecision;
+import com.pitstop.shared.security.ratelimit.RedisRateLimitBackend;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
- * Simple in-memory rate limiting service.
+ * Rate limiting service for public endpoints.
  *
  * <p>Provides protection against brute-force attacks on public endpoints
  * like quote approval, password reset, etc.</p>
  *
- * <p><b>Features:</b></p>
+ * <p><b>Backends</b> ({@code ratelimit.backend}):</p>
  * <ul>
- *   <li>Sliding window rate limiting</li>
- *   <li>Automatic cleanup of expired entries</li>
- *   <li>Thread-safe implementation</li>
- *   <li>Configurable limits per endpoint type</li>
+ *   <li><b>redis</b> (default): distributed token bucket ({@link RedisRateLimitBackend}), one atomic
+ *       Lua round trip per check, shared by all replicas and kept across restarts</li>
+ *   <li><b>local</b>: node-local fixed window ({@link LocalRateLimitBackend})</li>
  * </ul>
  *
- * <p><b>Limitations:</b></p>
+ * <p><b>Fallback:</b> if Redis fails, the check is answered by the local backend and Redis is
+ * skipped for {@code ratelimit.redis.retry-after-seconds}, so an outage does not add the Redis
+ * timeout to every public request.</p>
+ *
+ * <p><b>Metrics:</b></p>
  * <ul>
- *   <li>In-memory only (not distributed)</li>
- *   <li>Lost on application restart</li>
- *   <li>For distributed systems, migrate to Redis-based implementation</li>
+ *   <li>{@code pitstop.ratelimit.decisions} - tags {@code endpoint}, {@code outcome} (allowed/denied), {@code backend}</li>
+ *   <li>{@code pitstop.ratelimit.fallbacks} - Redis failures answered by the local backend</li>
  * </ul>
  *
  * @author PitStop Team
@@ -38,38 +43,65 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class RateLimitService {
 
-    /**
-     * Stores request counts per key (IP + endpoint).
-     * Key format: "endpoint:identifier" (e.g., "orcamento:192.168.1.1")
-     */
-    private final Map<String, RateLimitEntry> requestCounts = new ConcurrentHashMap<>();
+    private static final String BACKEND_REDIS = "redis";
+
+    private final RedisRateLimitBackend redisBackend;
+    private final LocalRateLimitBackend localBackend;
+    private final MeterRegistry meterRegistry;
+    private final Counter fallbackCounter;
 
     /**
-     * Default rate limits (requests per time window).
+     * Decision counters per tag set, registered on first use.
      */
-    private static final int DEFAULT_MAX_REQUESTS = 10;
-    private static final long DEFAULT_WINDOW_SECONDS = 3600; // 1 hour
+    private final Map<DecisionTags, Counter> decisionCounters = new ConcurrentHashMap<>();
+
+    private final boolean redisEnabled;
+    private final long redisRetryAfterMillis;
 
     /**
-     * Specific limits for different endpoint types.
+     * Instant (epoch millis) before which Redis is not retried after a failure.
      */
-    private static final int ORCAMENTO_MAX_REQUESTS = 20;      // Quote approval: 20 requests/hour
-    private static final int PASSWORD_RESET_MAX_REQUESTS = 5;  // Password reset: 5 requests/hour
-    private static final int WEBHOOK_MAX_REQUESTS = 1000;      // Webhooks: 1000 requests/hour
+    private volatile long redisRetryAt = 0;
 
     /**
-     * Cleanup scheduler.
+     * Limits per endpoint type (requests per time window).
      */
-    private final ScheduledExecutorService cleanupScheduler;
-
-    public RateLimitService() {
-        // Schedule cleanup every 10 minutes
-        this.cleanupScheduler = Executors.newSingleThreadScheduledExecutor();
-        this.cleanupScheduler.scheduleAtFixedRate(
-            this::cleanupExpiredEntries,
-            10, 10, TimeUnit.MINUTES
-        );
-        log.info("RateLimitService initialized with automatic cleanup every 10 minutes");
+    private final int orcamentoMaxRequests;
+    private final long orcamentoWindowSeconds;
+    private final int passwordResetMaxRequests;
+    private final long passwordResetWindowSeconds;
+    private final int webhookMaxRequests;
+    private final long webhookWindowSeconds;
+
+    public RateLimitService(
+            RedisRateLimitBackend redisBackend,
+            LocalRateLimitBackend localBackend,
+            MeterRegistry meterRegistry,
+            @Value("${ratelimit.backend:redis}") String backend,
+            @Value("${ratelimit.redis.retry-after-seconds:30}") long redisRetryAfterSeconds,
+            @Value("${ratelimit.orcamento.max-requests:20}") int orcamentoMaxRequests,
+            @Value("${ratelimit.orcamento.window-seconds:3600}") long orcamentoWindowSeconds,
+            @Value("${ratelimit.password-reset.max-requests:5}") int passwordResetMaxRequests,
+            @Value("${ratelimit.password-reset.window-seconds:3600}") long passwordResetWindowSeconds,
+            @Value("${ratelimit.webhook.max-requests:1000}") int webhookMaxRequests,
+            @Value("${ratelimit.webhook.window-seconds:3600}") long webhookWindowSeconds
+    ) {
+        this.redisBackend = redisBackend;
+        this.localBackend = localBackend;
+        this.meterRegistry = meterRegistry;
+        this.fallbackCounter = Counter.builder("pitstop.ratelimit.fallbacks")
+                .description("Rate limit checks answered by the local backend because Redis failed")
+                .register(meterRegistry);
+        this.redisEnabled = BACKEND_REDIS.equalsIgnoreCase(backend);
+        this.redisRetryAfterMillis = redisRetryAfterSeconds * 1000;
+        this.orcamentoMaxRequests = orcamentoMaxRequests;
+        this.orcamentoWindowSeconds = orcamentoWindowSeconds;
+        this.passwordResetMaxRequests = passwordResetMaxRequests;
+        this.passwordResetWindowSeconds = passwordResetWindowSeconds;
+        this.webhookMaxRequests = webhookMaxRequests;
+        this.webhookWindowSeconds = webhookWindowSeconds;
+
+        log.info("RateLimitService initialized with backend: {}", redisEnabled ? "redis (local fallback)" : "local");
     }
 
     /**
@@ -79,7 +111,7 @@ public class RateLimitService {
      * @return true if request is allowed, false if rate limited
      */
     public boolean isOrcamentoRequestAllowed(String identifier) {
-        return isAllowed("orcamento", identifier, ORCAMENTO_MAX_REQUESTS, DEFAULT_WINDOW_SECONDS);
+        return isAllowed("orcamento", identifier, orcamentoMaxRequests, orcamentoWindowSeconds);
     }
 
     /**
@@ -89,7 +121,7 @@ public class RateLimitService {
      * @return true if request is allowed, false if rate limited
      */
     public boolean isPasswordResetAllowed(String identifier) {
-        return isAllowed("password-reset", identifier, PASSWORD_RESET_MAX_REQUESTS, DEFAULT_WINDOW_SECONDS);
+        return isAllowed("password-reset", identifier, passwordResetMaxRequests, passwordResetWindowSeconds);
     }
 
     /**
@@ -99,7 +131,7 @@ public class RateLimitService {
      * @return true if request is allowed, false if rate limited
      */
     public boolean isWebhookAllowed(String identifier) {
-        return isAllowed("webhook", identifier, WEBHOOK_MAX_REQUESTS, DEFAULT_WINDOW_SECONDS);
+        return isAllowed("webhook", identifier, webhookMaxRequests, webhookWindowSeconds);
     }
 
     /**
@@ -113,32 +145,35 @@ public class RateLimitService {
      */
     public boolean isAllowed(String endpoint, String identifier, int maxRequests, long windowSeconds) {
         String key = endpoint + ":" + sanitizeKey(identifier);
-        Instant now = Instant.now();
-        Instant windowStart = now.minusSeconds(windowSeconds);
-
-        RateLimitEntry entry = requestCounts.compute(key, (k, existing) -> {
-            if (existing == null || existing.windowStart.isBefore(windowStart)) {
-                // New entry or window expired
-                return new RateLimitEntry(now, 1);
-            } else {
-                // Increment count
-                existing.count++;
-                return existing;
+
+        RateLimitBackend backend = localBackend;
+        RateLimitDecision decision = null;
+
+        if (isRedisAvailable()) {
+            try {
+                decision = redisBackend.tryAcquire(key, maxRequests, windowSeconds);
+                backend = redisBackend;
+            } catch (Exception e) {
+                onRedisFailure(e);
             }
-        });
+        }
+
+        if (decision == null) {
+            decision = localBackend.tryAcquire(key, maxRequests, windowSeconds);
+        }
 
-        boolean allowed = entry.count <= maxRequests;
+        recordDecision(endpoint, backend, decision.allowed());
 
-        if (!allowed) {
-            log.warn("RATE LIMIT EXCEEDED: endpoint={}, identifier={}, count={}, max={}",
-                endpoint, maskIdentifier(identifier), entry.count, maxRequests);
-        } else if (entry.count > maxRequests * 0.8) {
+        if (!decision.allowed()) {
+            log.warn("RATE LIMIT EXCEEDED: endpoint={}, identifier={}, max={}, backend={}",
+                endpoint, maskIdentifier(identifier), maxRequests, backend.name());
+        } else if (decision.remaining() < maxRequests * 0.2) {
             // Warning when approaching limit (80%)
-            log.info("Rate limit warning: endpoint={}, identifier={}, count={}/{}",
-                endpoint, maskIdentifier(identifier), entry.count, maxRequests);
+            log.info("Rate limit warning: endpoint={}, identifier={}, remaining={}/{}",
+                endpoint, maskIdentifier(identifier), decision.remaining(), maxRequests);
         }
 
-        return allowed;
+        return decision.allowed();
     }
 
     /**
@@ -147,17 +182,21 @@ public class RateLimitService {
      * @param endpoint Endpoint identifier
      * @param identifier Client identifier
      * @param maxRequests Maximum requests allowed
+     * @param windowSeconds Time window in seconds
      * @return Remaining requests (0 if exceeded)
      */
-    public int getRemainingRequests(String endpoint, String identifier, int maxRequests) {
+    public int getRemainingRequests(String endpoint, String identifier, int maxRequests, long windowSeconds) {
         String key = endpoint + ":" + sanitizeKey(identifier);
-        RateLimitEntry entry = requestCounts.get(key);
 
-        if (entry == null) {
-            return maxRequests;
+        if (isRedisAvailable()) {
+            try {
+                return redisBackend.remaining(key, maxRequests, windowSeconds);
+            } catch (Exception e) {
+                onRedisFailure(e);
+            }
         }
 
-        return Math.max(0, maxRequests - entry.count);
+        return localBackend.remaining(key, maxRequests, windowSeconds);
     }
 
     /**
@@ -169,31 +208,48 @@ public class RateLimitService {
      */
     public void resetLimit(String endpoint, String identifier) {
         String key = endpoint + ":" + sanitizeKey(identifier);
-        requestCounts.remove(key);
-        log.info("Rate limit reset for: {}", key);
-    }
+        localBackend.reset(key);
 
-    /**
-     * Cleans up expired entries to prevent memory leaks.
-     */
-    private void cleanupExpiredEntries() {
-        Instant threshold = Instant.now().minusSeconds(DEFAULT_WINDOW_SECONDS * 2);
-        int removed = 0;
-
-        var iterator = requestCounts.entrySet().iterator();
-        while (iterator.hasNext()) {
-            var entry = iterator.next();
-            if (entry.getValue().windowStart.isBefore(threshold)) {
-                iterator.remove();
-                removed++;
+        if (redisEnabled) {
+            try {
+                redisBackend.reset(key);
+            } catch (Exception e) {
+                log.warn("Failed to reset rate limit in Redis for {}: {}", key, e.getMessage());
             }
         }
 
-        if (removed > 0) {
-            log.debug("Rate limit cleanup: removed {} expired entries", removed);
+        log.info("Rate limit reset for: {}", key);
+    }
+
+    private boolean isRedisAvailable() {
+        return redisEnabled && System.currentTimeMillis() >= redisRetryAt;
+    }
+
+    private void onRedisFailure(Exception e) {
+        fallbackCounter.increment();
+        if (System.currentTimeMillis() >= redisRetryAt) {
+            log.warn("Redis rate limit backend unavailable, using local fallback for {}s: {}",
+                redisRetryAfterMillis / 1000, e.getMessage());
         }
+        redisRetryAt = System.currentTimeMillis() + redisRetryAfterMillis;
+    }
+
+    private void recordDecision(String endpoint, RateLimitBackend backend, boolean allowed) {
+        decisionCounters.computeIfAbsent(new DecisionTags(endpoint, backend.name(), allowed), this::registerDecisionCounter)
+                .increment();
     }
 
+    private Counter registerDecisionCounter(DecisionTags tags) {
+        return Counter.builder("pitstop.ratelimit.decisions")
+                .description("Rate limit decisions per endpoint")
+                .tag("endpoint", tags.endpoint())
+                .tag("outcome", tags.allowed() ? "allowed" : "denied")
+                .tag("backend", tags.backend())
+                .register(meterRegistry);
+    }
+
+    private record DecisionTags(String endpoint, String backend, boolean allowed) {}
+
     /**
      * Sanitizes key to prevent injection.
      */
@@ -202,7 +258,8 @@ public class RateLimitService {
             return "unknown";
         }
         // Remove any special characters that could cause issues
-        return key.replaceAll("[^a-zA-Z0-9.:-]", "_").substring(0, Math.min(key.length(), 100));
+        String sanitized = key.replaceAll("[^a-zA-Z0-9.:-]", "_");
+        return sanitized.substring(0, Math.min(sanitized.length(), 100));
     }
 
     /**
@@ -215,17 +272,4 @@ public class RateLimitService {
         // Show first 3 and last 2 characters
         return identifier.substring(0, 3) + "***" + identifier.substring(identifier.length() - 2);
     }
-
-    /**
-     * Internal class to track rate limit entries.
-     */
-    private static class RateLimitEntry {
-        Instant windowStart;
-        int count;
-
-        RateLimitEntry(Instant windowStart, int count) {
-            this.windowStart = windowStart;
-            this.count = count;
-        }
-    }
 }
@@ -2,15 +2,27 @@ package com.pitstop.shared.security;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,6 +50,22 @@ import java.util.concurrent.TimeUnit;
  * When a refresh token is used to generate a new access token, a NEW refresh token is generated
  * and stored in Redis (replacing the old one). This prevents token reuse attacks.
  *
+ * <p><b>Redis unavailable (degraded mode):</b> calls fail fast while the {@link RedisCircuitBreaker}
+ * is open, and this service falls back as follows:
+ * <ul>
+ *   <li><b>Store</b> (login, rotation): the token is kept in a bounded in-memory map on this node,
+ *       so logins keep working</li>
+ *   <li><b>Validate</b>: only tokens stored on this node during the outage are accepted; any other
+ *       refresh is rejected (fail closed) and the client has to log in again</li>
+ *   <li><b>Delete</b> (logout): the local copy is removed and the revocation is queued</li>
+ *   <li><b>Recovery</b>: when the circuit closes, queued revocations are applied first, each
+ *       leaving a timestamped tombstone ({@code refresh_token_revoked:{userId}}); then queued tokens
+ *       are written with their remaining TTL, unless a tombstone at or after their creation exists</li>
+ * </ul>
+ * Revocation is never skipped: a token revoked during the outage cannot be used once Redis is back,
+ * even if the node that stored it replays after the node that saw the logout. Until recovery, the
+ * storing node still accepts its local copy.
+ *
  * <p><b>Single-tenant note:</b>
  * Currently stores tokens with key {@code refresh_token:{userId}}.
  * When migrating to SaaS multi-tenant, consider using {@code refresh_token:{tenantId}:{userId}}
@@ -48,12 +76,41 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class RefreshTokenService {
 
+    /**
+     * Max tokens kept in memory on this node while Redis is unavailable.
+     */
+    private static final int MAX_PENDING_TOKENS = 50_000;
+
+    private static final DefaultRedisScript<Long> REVOKE_SCRIPT = script("redis/refresh_token_revoke.lua");
+    private static final DefaultRedisScript<Long> RESTORE_SCRIPT = script("redis/refresh_token_restore.lua");
+
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
+    private final RedisCircuitBreaker circuitBreaker;
 
     @Value("${application.jwt.refresh-token-expiration}")
     private Long refreshTokenExpiration;
 
+    /**
+     * Tokens stored while Redis was unavailable, written to Redis on recovery.
+     */
+    private Cache<UUID, RefreshTokenData> pendingTokens;
+
+    /**
+     * Users whose token was revoked while Redis was unavailable, with the revocation time (epoch
+     * millis); deleted from Redis and tombstoned on recovery.
+     */
+    private final Map<UUID, Long> pendingRevocations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        pendingTokens = Caffeine.newBuilder()
+                .maximumSize(MAX_PENDING_TOKENS)
+                .expireAfterWrite(Duration.ofMillis(refreshTokenExpiration))
+                .build();
+        circuitBreaker.addRecoveryListener(this::replayPending);
+    }
+
     /**
      * Stores a refresh token in Redis.
      *
@@ -72,14 +129,26 @@ public class RefreshTokenService {
                 LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000)
         );
 
+        String json;
         try {
-            String json = objectMapper.writeValueAsString(data);
-            redisTemplate.opsForValue().set(key, json, refreshTokenExpiration, TimeUnit.MILLISECONDS);
-            log.debug("Refresh token stored in Redis for user: {}", userId);
+            json = objectMapper.writeValueAsString(data);
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize refresh token data for user {}: {}", userId, e.getMessage());
             throw new RuntimeException("Erro ao armazenar refresh token", e);
         }
+
+        pendingRevocations.remove(userId);
+        try {
+            redisTemplate.opsForValue().set(key, json, refreshTokenExpiration, TimeUnit.MILLISECONDS);
+            pendingTokens.invalidate(userId);
+            log.debug("Refresh token stored in Redis for user: {}", userId);
+        } catch (RuntimeException e) {
+            if (!RedisCircuitBreaker.isConnectivityFailure(e)) {
+                throw e;
+            }
+            pendingTokens.put(userId, data);
+            log.warn("Redis unavailable, refresh token for user {} kept locally until recovery", userId);
+        }
     }
 
     /**
@@ -89,8 +158,26 @@ public class RefreshTokenService {
      * @return the refresh token string, or empty if not found or expired
      */
     public Optional<String> getRefreshToken(UUID userId) {
+        RefreshTokenData pending = pendingTokens.getIfPresent(userId);
+        if (pending != null) {
+            log.debug("Refresh token retrieved from local fallback for user: {}", userId);
+            return Optional.of(pending.token());
+        }
+        if (pendingRevocations.containsKey(userId)) {
+            return Optional.empty();
+        }
+
         String key = buildKey(userId);
-        String json = redisTemplate.opsForValue().get(key);
+        String json;
+        try {
+            json = redisTemplate.opsForValue().get(key);
+        } catch (RuntimeException e) {
+            if (!RedisCircuitBreaker.isConnectivityFailure(e)) {
+                throw e;
+            }
+            log.warn("Redis unavailable, refresh token for user {} cannot be verified (rejected)", userId);
+            return Optional.empty();
+        }
 
         if (json == null) {
             log.debug("No refresh token found in Redis for user: {}", userId);
@@ -116,7 +203,19 @@ public class RefreshTokenService {
      */
     public void deleteRefreshToken(UUID userId) {
         String key = buildKey(userId);
-        Boolean deleted = redisTemplate.delete(key);
+        pendingTokens.invalidate(userId);
+
+        Boolean deleted;
+        try {
+            deleted = redisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            if (!RedisCircuitBreaker.isConnectivityFailure(e)) {
+                throw e;
+            }
+            pendingRevocations.put(userId, System.currentTimeMillis());
+            log.warn("Redis unavailable, revocation of refresh token for user {} queued until recovery", userId);
+            return;
+        }
 
         if (Boolean.TRUE.equals(deleted)) {
             log.debug("Refresh token deleted from Redis for user: {}", userId);
@@ -154,6 +253,50 @@ public class RefreshTokenService {
         return isValid;
     }
 
+    /**
+     * Writes revocations, then tokens, queued during a Redis outage (runs when the circuit closes).
+     *
+     * <p>Other nodes replay their own queues in no fixed order, so revocations leave a tombstone
+     * and tokens are only written if no revocation at or after their creation is recorded.</p>
+     */
+    void replayPending() {
+        for (var entry : Map.copyOf(pendingRevocations).entrySet()) {
+            UUID userId = entry.getKey();
+            try {
+                redisTemplate.execute(REVOKE_SCRIPT, List.of(buildKey(userId), buildRevokedKey(userId)),
+                        String.valueOf(entry.getValue()), String.valueOf(refreshTokenExpiration));
+                pendingRevocations.remove(userId, entry.getValue());
+            } catch (RuntimeException e) {
+                log.warn("Could not replay refresh token revocation for user {}: {}", userId, e.getMessage());
+                return;
+            }
+        }
+
+        for (var entry : pendingTokens.asMap().entrySet()) {
+            UUID userId = entry.getKey();
+            RefreshTokenData data = entry.getValue();
+            long remainingMillis = Duration.between(LocalDateTime.now(), data.expiresAt()).toMillis();
+            try {
+                if (remainingMillis > 0) {
+                    Long written = redisTemplate.execute(RESTORE_SCRIPT,
+                            List.of(buildKey(userId), buildRevokedKey(userId)),
+                            objectMapper.writeValueAsString(data),
+                            String.valueOf(data.createdAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()),
+                            String.valueOf(remainingMillis));
+                    if (Long.valueOf(0).equals(written)) {
+                        log.info("Refresh token for user {} was revoked on another node during the outage, not restored",
+                                userId);
+                    }
+                }
+                pendingTokens.asMap().remove(userId, data);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Could not replay refresh token for user {}: {}", userId, e.getMessage());
+                return;
+            }
+        }
+        log.info("Refresh tokens queued during Redis outage replayed");
+    }
+
     /**
      * Builds the Redis key for a user's refresh token.
      *
@@ -164,6 +307,20 @@ public class RefreshTokenService {
         return "refresh_token:" + userId.toString();
     }
 
+    /**
+     * Builds the Redis key for a user's revocation tombstone (latest revocation replayed after an outage).
+     */
+    private String buildRevokedKey(UUID userId) {
+        return "refresh_token_revoked:" + userId.toString();
+    }
+
+    private static DefaultRedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(Long.class);
+        return script;
+    }
+
     /**
      * Internal record for storing refresh token metadata in Redis.
      *
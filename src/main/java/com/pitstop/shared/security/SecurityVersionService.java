@@ -0,0 +1,150 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.usuario.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service that tracks a per-user "security version".
+ *
+ * <p>The version is bumped whenever something that affects authentication or authorization
+ * changes for a user (deactivation, role change, password change, email change). Nodes that
+ * cache authenticated principals compare the cached version with the current one and reload
+ * the user from the database when they differ.
+ *
+ * <p><b>Storage:</b>
+ * <ul>
+ *   <li>{@code usuarios.security_version} is the durable version, incremented in the same
+ *       transaction as the change it guards</li>
+ *   <li>{@code security_version:{userId}} in Redis is the published copy read on every request.
+ *       A missing key means version {@code 0}; writes only ever move it forward</li>
+ * </ul>
+ *
+ * <p><b>Consistency:</b>
+ * <ul>
+ *   <li>{@link #bump(UUID)} publishes the new version BEFORE the transaction commits and fails
+ *       (rolling the change back) if Redis cannot be written, so a lost bump can never leave
+ *       nodes serving the old principal</li>
+ *   <li>Until commit, Redis is ahead of the database. {@link JwtAuthenticationFilter} only caches
+ *       a principal whose durable version equals the published one, so pre-commit data is never
+ *       cached under the new version</li>
+ *   <li>If the transaction rolls back after publishing, the user is simply not cached until the
+ *       Redis key expires ({@code application.jwt.security-version.ttl-seconds}); the durable
+ *       version is then republished on the next load</li>
+ *   <li>If Redis is unavailable, {@link #currentVersion(UUID)} returns {@code null} and
+ *       callers must fall back to loading the user from the database</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class SecurityVersionService {
+
+    private static final String KEY_PREFIX = "security_version:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final UsuarioRepository usuarioRepository;
+    private final long ttlSeconds;
+    private final DefaultRedisScript<Long> advanceScript;
+
+    public SecurityVersionService(
+            StringRedisTemplate redisTemplate,
+            UsuarioRepository usuarioRepository,
+            @Value("${application.jwt.security-version.ttl-seconds:86400}") long ttlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.usuarioRepository = usuarioRepository;
+        this.ttlSeconds = ttlSeconds;
+
+        this.advanceScript = new DefaultRedisScript<>();
+        this.advanceScript.setScriptSource(
+                new ResourceScriptSource(new ClassPathResource("redis/security_version_advance.lua")));
+        this.advanceScript.setResultType(Long.class);
+    }
+
+    /**
+     * Returns the published security version for a user.
+     *
+     * @param userId the user's ID
+     * @return current version ({@code 0} if never published), or {@code null} if Redis is unavailable
+     */
+    public Long currentVersion(UUID userId) {
+        try {
+            String value = redisTemplate.opsForValue().get(buildKey(userId));
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.warn("Failed to read security version for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Increments the durable security version and publishes it, invalidating cached principals
+     * on every node.
+     *
+     * <p>Must run inside the transaction that makes the change.
+     *
+     * @param userId the user's ID
+     * @throws IllegalStateException if the new version cannot be published (the caller's
+     *         transaction is rolled back)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+
+        usuarioRepository.incrementSecurityVersion(userId);
+        long version = usuarioRepository.findSecurityVersionById(userId).orElse(0L);
+
+        try {
+            advance(userId, version);
+            log.debug("Security version bumped for user {}: {}", userId, version);
+        } catch (Exception e) {
+            log.error("Failed to publish security version {} for user {}: {}", version, userId, e.getMessage());
+            throw new IllegalStateException(
+                    "Não foi possível revogar as sessões ativas do usuário. Tente novamente.", e);
+        }
+    }
+
+    /**
+     * Republishes a durable version found ahead of Redis (expired key, Redis restart).
+     *
+     * @param userId the user's ID
+     * @param version durable version loaded with the user
+     * @return true if Redis now holds exactly {@code version}
+     */
+    public boolean publish(UUID userId, long version) {
+        try {
+            return advance(userId, version) == version;
+        } catch (Exception e) {
+            log.warn("Failed to publish security version {} for user {}: {}", version, userId, e.getMessage());
+            return false;
+        }
+    }
+
+    private long advance(UUID userId, long version) {
+        Long stored = redisTemplate.execute(
+                advanceScript,
+                List.of(buildKey(userId)),
+                String.valueOf(version),
+                String.valueOf(ttlSeconds));
+        if (stored == null) {
+            throw new IllegalStateException("Redis returned no security version");
+        }
+        return stored;
+    }
+
+    private String buildKey(UUID userId) {
+        return KEY_PREFIX + userId.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.usuario.domain.PerfilUsuario;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Claims of a JWT whose signature and expiration were already verified by {@link JwtService#verify(String)}.
+ *
+ * <p>The first filter that verifies the token stores this object as a request attribute
+ * ({@link #REQUEST_ATTRIBUTE}), so the rest of the request (TenantFilter, controllers) reads the
+ * claims without re-running the HMAC check and JSON parsing.
+ *
+ * <p>Refresh tokens only carry the subject, so {@code email}, {@code perfil} and {@code oficinaId}
+ * may be null. {@code oficinaId} is also null for SUPER_ADMIN access tokens.
+ *
+ * @param userId subject (user UUID)
+ * @param email email claim
+ * @param perfil perfil claim
+ * @param oficinaId oficinaId claim (tenant)
+ * @param expiration expiration date
+ */
+public record VerifiedToken(
+        UUID userId,
+        String email,
+        PerfilUsuario perfil,
+        UUID oficinaId,
+        Date expiration
+) {
+
+    /**
+     * Request attribute under which the verified token of the current request is stored.
+     */
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    /**
+     * @return true if the token belongs to a SUPER_ADMIN
+     */
+    public boolean isSuperAdmin() {
+        return perfil == PerfilUsuario.SUPER_ADMIN;
+    }
+
+    /**
+     * @return true if the token expiration is in the past
+     */
+    public boolean isExpired() {
+        return isExpiredAt(System.currentTimeMillis());
+    }
+
+    /**
+     * @param nowMillis current time in epoch millis
+     * @return true if the token expiration is before {@code nowMillis}
+     */
+    public boolean isExpiredAt(long nowMillis) {
+        return expiration != null && expiration.getTime() < nowMillis;
+    }
+
+    /**
+     * Returns the verified token stored in the request, if any.
+     *
+     * @param request HTTP request
+     * @return verified token, or null if no filter has verified a token for this request
+     */
+    public static VerifiedToken fromRequest(HttpServletRequest request) {
+        Object attribute = request.getAttribute(REQUEST_ATTRIBUTE);
+        return attribute instanceof VerifiedToken verifiedToken ? verifiedToken : null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.pitstop.shared.security.feature;
 
 import com.pitstop.saas.service.FeatureFlagService;
+import com.pitstop.saas.service.FeatureFlagSnapshotService;
 import com.pitstop.shared.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,9 +33,13 @@ import java.util.UUID;
  *   <li>Se a feature não está habilitada, lança {@link FeatureNotEnabledException}</li>
  * </ul>
  *
+ * <p>A verificação é uma leitura em memória do snapshot de feature flags
+ * ({@link FeatureFlagSnapshotService}), sem queries por chamada.</p>
+ *
  * @see RequiresFeature
  * @see FeatureNotEnabledException
  * @see FeatureFlagService
+ * @see FeatureFlagSnapshotService
  */
 @Aspect
 @Component
@@ -43,7 +48,7 @@ import java.util.UUID;
 @Slf4j
 public class FeatureGateAspect {
 
-    private final FeatureFlagService featureFlagService;
+    private final FeatureFlagSnapshotService featureFlagSnapshotService;
 
     /**
      * Intercepta métodos anotados com @RequiresFeature.
@@ -96,7 +101,7 @@ public class FeatureGateAspect {
         }
 
         // Verifica se a feature está habilitada para esta oficina
-        boolean isEnabled = featureFlagService.isEnabled(featureCode, oficinaId);
+        boolean isEnabled = featureFlagSnapshotService.isEnabled(featureCode, oficinaId);
 
         if (!isEnabled) {
             log.warn("Feature '{}' not enabled for oficina {}. Method: {}",
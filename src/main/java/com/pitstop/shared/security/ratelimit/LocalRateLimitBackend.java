@@ -0,0 +1,102 @@
+package com.pitstop.shared.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local fixed-window rate limit backend.
+ *
+ * <p>Used when {@code ratelimit.backend=local} and as the fallback while Redis is unavailable.
+ *
+ * <p><b>Limitations:</b></p>
+ * <ul>
+ *   <li>Not distributed: with N replicas each limit is effectively multiplied by N</li>
+ *   <li>Lost on application restart</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    /**
+     * Entries older than this are removed by the cleanup job.
+     */
+    private static final long CLEANUP_THRESHOLD_SECONDS = 7200;
+
+    /**
+     * Stores request counts per key (endpoint + identifier).
+     */
+    private final Map<String, RateLimitEntry> requestCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int maxRequests, long windowSeconds) {
+        Instant now = Instant.now();
+        Instant windowStart = now.minusSeconds(windowSeconds);
+
+        RateLimitEntry entry = requestCounts.compute(key, (k, existing) -> {
+            if (existing == null || existing.windowStart.isBefore(windowStart)) {
+                // New entry or window expired
+                return new RateLimitEntry(now, 1);
+            }
+            existing.count++;
+            return existing;
+        });
+
+        return new RateLimitDecision(entry.count <= maxRequests, Math.max(0, maxRequests - entry.count));
+    }
+
+    @Override
+    public int remaining(String key, int maxRequests, long windowSeconds) {
+        RateLimitEntry entry = requestCounts.get(key);
+
+        if (entry == null || entry.windowStart.isBefore(Instant.now().minusSeconds(windowSeconds))) {
+            return maxRequests;
+        }
+
+        return Math.max(0, maxRequests - entry.count);
+    }
+
+    @Override
+    public void reset(String key) {
+        requestCounts.remove(key);
+    }
+
+    /**
+     * Cleans up expired entries to prevent memory leaks (every 10 minutes).
+     */
+    @Scheduled(fixedRate = 600000)
+    public void cleanupExpiredEntries() {
+        Instant threshold = Instant.now().minusSeconds(CLEANUP_THRESHOLD_SECONDS);
+        int sizeBefore = requestCounts.size();
+
+        requestCounts.values().removeIf(entry -> entry.windowStart.isBefore(threshold));
+
+        int removed = sizeBefore - requestCounts.size();
+        if (removed > 0) {
+            log.debug("Rate limit cleanup: removed {} expired entries", removed);
+        }
+    }
+
+    /**
+     * Internal class to track rate limit entries.
+     */
+    private static class RateLimitEntry {
+        Instant windowStart;
+        int count;
+
+        RateLimitEntry(Instant windowStart, int count) {
+            this.windowStart = windowStart;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pitstop.shared.security.ratelimit;
+
+/**
+ * Storage/algorithm backend used by {@link com.pitstop.shared.security.RateLimitService}.
+ *
+ * <p>Implementations:
+ * <ul>
+ *   <li>{@link RedisRateLimitBackend}: distributed token bucket (shared by all replicas, survives restarts)</li>
+ *   <li>{@link LocalRateLimitBackend}: node-local fixed window (fallback when Redis is unavailable)</li>
+ * </ul>
+ *
+ * <p>Keys are already namespaced and sanitized by the caller ({@code endpoint:identifier}).
+ */
+public interface RateLimitBackend {
+
+    /**
+     * @return backend name used in logs and metric tags
+     */
+    String name();
+
+    /**
+     * Consumes one request for the key if the limit allows it.
+     *
+     * @param key rate limit key ({@code endpoint:identifier})
+     * @param maxRequests maximum requests per window (bucket capacity)
+     * @param windowSeconds window length in seconds
+     * @return the decision
+     */
+    RateLimitDecision tryAcquire(String key, int maxRequests, long windowSeconds);
+
+    /**
+     * Returns how many requests are still available for the key, without consuming any.
+     *
+     * @param key rate limit key
+     * @param maxRequests maximum requests per window
+     * @param windowSeconds window length in seconds
+     * @return remaining requests (0 if exceeded)
+     */
+    int remaining(String key, int maxRequests, long windowSeconds);
+
+    /**
+     * Clears the state for the key.
+     *
+     * @param key rate limit key
+     */
+    void reset(String key);
+}
@@ -0,0 +1,10 @@
+package com.pitstop.shared.security.ratelimit;
+
+/**
+ * Result of a rate limit check.
+ *
+ * @param allowed whether the request may proceed
+ * @param remaining requests still available after this one
+ */
+public record RateLimitDecision(boolean allowed, long remaining) {
+}
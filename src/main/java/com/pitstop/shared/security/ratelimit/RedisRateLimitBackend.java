@@ -0,0 +1,84 @@
+package com.pitstop.shared.security.ratelimit;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Distributed token-bucket rate limit backend backed by Redis.
+ *
+ * <p>Each check is a single atomic {@code EVALSHA} of {@code redis/rate_limit_token_bucket.lua}
+ * (Spring falls back to {@code EVAL} once if the script is not loaded yet). The bucket holds up to
+ * {@code maxRequests} tokens and refills continuously at {@code maxRequests / windowSeconds}, so the
+ * long-run rate matches the configured window while allowing short bursts up to the capacity.
+ *
+ * <p><b>Key format:</b> {@code ratelimit:{endpoint}:{identifier}} (hash with {@code tokens} and {@code ts}),
+ * expiring after one idle window.
+ *
+ * <p>Connection errors are propagated; {@link com.pitstop.shared.security.RateLimitService} falls back
+ * to {@link LocalRateLimitBackend}.
+ */
+@Component
+public class RedisRateLimitBackend implements RateLimitBackend {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> tokenBucketScript;
+
+    public RedisRateLimitBackend(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.tokenBucketScript = new DefaultRedisScript<>();
+        this.tokenBucketScript.setScriptSource(
+                new ResourceScriptSource(new ClassPathResource("redis/rate_limit_token_bucket.lua")));
+        this.tokenBucketScript.setResultType(List.class);
+    }
+
+    @Override
+    public String name() {
+        return "redis";
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int maxRequests, long windowSeconds) {
+        List<?> result = execute(key, maxRequests, windowSeconds, 1);
+        return new RateLimitDecision(toLong(result.get(0)) == 1L, toLong(result.get(1)));
+    }
+
+    @Override
+    public int remaining(String key, int maxRequests, long windowSeconds) {
+        List<?> result = execute(key, maxRequests, windowSeconds, 0);
+        return (int) Math.min(maxRequests, toLong(result.get(1)));
+    }
+
+    @Override
+    public void reset(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+
+    private List<?> execute(String key, int maxRequests, long windowSeconds, int requested) {
+        List<?> result = redisTemplate.execute(
+                tokenBucketScript,
+                List.of(KEY_PREFIX + key),
+                String.valueOf(maxRequests),
+                String.valueOf(windowSeconds * 1000),
+                String.valueOf(requested)
+        );
+
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Resposta inválida do script de rate limit para " + key);
+        }
+
+        return result;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+}
@@ -0,0 +1,176 @@
+package com.pitstop.shared.security.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter that applies per-tenant admission control ({@link TenantAdmissionLimiter}).
+ *
+ * <p><b>Execution order:</b> Runs AFTER TenantFilter (requires TenantContext).</p>
+ *
+ * <p><b>Behavior:</b></p>
+ * <ul>
+ *   <li>Requests without tenant (SUPER_ADMIN, public endpoints) are not limited</li>
+ *   <li>Tenant over its share (queue full): HTTP 429 with {@code Retry-After}</li>
+ *   <li>No permit within {@code admission.max-wait-ms}: HTTP 503 with {@code Retry-After}</li>
+ *   <li>Admitted requests always release their permit in a finally block</li>
+ *   <li>Async requests ({@code StreamingResponseBody}, {@code DeferredResult}) keep the permit until the
+ *       async request completes, errors or times out; async dispatches themselves are not filtered again</li>
+ * </ul>
+ *
+ * @author PitStop Team
+ */
+@Slf4j
+@Component
+public class TenantAdmissionFilter extends OncePerRequestFilter {
+
+    private final TenantAdmissionLimiter admissionLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    public TenantAdmissionFilter(
+            TenantAdmissionLimiter admissionLimiter,
+            ObjectMapper objectMapper,
+            @Value("${admission.enabled:true}") boolean enabled,
+            @Value("${admission.retry-after-seconds:2}") long retryAfterSeconds
+    ) {
+        this.admissionLimiter = admissionLimiter;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        UUID oficinaId = TenantContext.getTenantIdOrNull();
+
+        if (!enabled || oficinaId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TenantAdmissionLimiter.Outcome outcome = admissionLimiter.acquire(oficinaId);
+
+        switch (outcome) {
+            case ADMITTED -> {
+                boolean releaseOnComplete = false;
+                try {
+                    filterChain.doFilter(request, response);
+                    if (request.isAsyncStarted()) {
+                        request.getAsyncContext().addListener(new ReleaseOnComplete(oficinaId));
+                        releaseOnComplete = true;
+                    }
+                } finally {
+                    if (!releaseOnComplete) {
+                        admissionLimiter.release(oficinaId);
+                    }
+                }
+            }
+            case REJECTED_QUEUE_FULL -> {
+                log.warn("Admission rejected (queue full) for oficina {}: {}", oficinaId, request.getRequestURI());
+                writeRejection(response, HttpStatus.TOO_MANY_REQUESTS,
+                    "Muitas requisições simultâneas para esta oficina. Tente novamente em instantes.");
+            }
+            case REJECTED_TIMEOUT -> {
+                log.warn("Admission rejected (timeout) for oficina {}: {}", oficinaId, request.getRequestURI());
+                writeRejection(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Servidor ocupado. Tente novamente em instantes.");
+            }
+        }
+    }
+
+    /**
+     * Writes an RFC 7807 error response with Retry-After (same format as GlobalExceptionHandler).
+     */
+    private void writeRejection(HttpServletResponse response, HttpStatus status, String detail) throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setTitle("Limite de Requisições da Oficina");
+        problemDetail.setType(URI.create("https://pitstop.com/errors/tenant-admission"));
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    /**
+     * Releases the permit of an async request exactly once, when it ends.
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final UUID oficinaId;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(UUID oficinaId) {
+            this.oficinaId = oficinaId;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new async cycle drops the listeners of the previous one
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                admissionLimiter.release(oficinaId);
+            }
+        }
+    }
+
+    /**
+     * Endpoints that never carry tenant load worth limiting.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+
+        return path.startsWith("/api/auth/") ||
+               path.startsWith("/api/public/") ||
+               path.startsWith("/ws") ||
+               path.startsWith("/actuator/");
+    }
+}
@@ -0,0 +1,368 @@
+package com.pitstop.shared.security.tenant;
+
+import com.pitstop.oficina.domain.PlanoAssinatura;
+import com.pitstop.oficina.repository.OficinaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-tenant admission control with weighted fair queueing.
+ *
+ * <p>Isolates oficinas from each other on the shared Tomcat worker pool and Hikari pool:
+ * <ul>
+ *   <li><b>Per-tenant permits:</b> each oficina may run at most {@code max-concurrent} requests at
+ *       once, configured per {@link PlanoAssinatura}</li>
+ *   <li><b>Global capacity:</b> at most {@code admission.global-max-concurrent} tenant requests run
+ *       at once across all oficinas</li>
+ *   <li><b>Bounded queue:</b> requests over the tenant's permits wait in a per-tenant queue of
+ *       {@code max-queue} slots for up to {@code admission.max-wait-ms}</li>
+ *   <li><b>Weighted fair queueing:</b> when a permit is released, the next request is taken from the
+ *       waiting tenant with the lowest {@code inFlight / weight}, so a noisy oficina cannot take
+ *       all freed slots from the others</li>
+ * </ul>
+ *
+ * <p><b>Outcomes:</b> {@link Outcome#REJECTED_QUEUE_FULL} (tenant over its share, HTTP 429) and
+ * {@link Outcome#REJECTED_TIMEOUT} (no permit within max wait, HTTP 503).
+ *
+ * <p><b>Idle tenants:</b> the state and per-tenant gauges of an oficina with nothing running or
+ * queued for {@code admission.idle-ttl-ms} are dropped, so memory and metric series track the
+ * oficinas active recently, not every oficina ever seen.
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li>{@code pitstop.admission.queue.depth{oficinaId}} - requests waiting per tenant</li>
+ *   <li>{@code pitstop.admission.inflight{oficinaId}} - requests running per tenant</li>
+ *   <li>{@code pitstop.admission.inflight.global} - tenant requests running on this node</li>
+ *   <li>{@code pitstop.admission.rejected{reason,plano}} - rejected requests</li>
+ * </ul>
+ *
+ * @author PitStop Team
+ */
+@Slf4j
+@Component
+public class TenantAdmissionLimiter {
+
+    /**
+     * Result of an admission attempt.
+     */
+    public enum Outcome {
+        ADMITTED,
+        REJECTED_QUEUE_FULL,
+        REJECTED_TIMEOUT
+    }
+
+    /**
+     * Limits applied to a tenant, derived from its plan.
+     */
+    record PlanLimits(int maxConcurrent, int maxQueue, int weight) {}
+
+    private static final long PLAN_CACHE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final OficinaRepository oficinaRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final int globalMaxConcurrent;
+    private final long maxWaitNanos;
+    private final long idleTtlNanos;
+    private final Map<PlanoAssinatura, PlanLimits> limitsByPlan = new EnumMap<>(PlanoAssinatura.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<UUID, TenantState> tenants = new HashMap<>();
+    private volatile int globalInFlight = 0;
+
+    /**
+     * Plan per tenant (local cache, avoids a query on every request).
+     */
+    private final Map<UUID, CachedPlan> planCache = new ConcurrentHashMap<>();
+
+    /**
+     * Rejection counters per (plano, reason), registered on first use.
+     */
+    private final Map<RejectionTags, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+    public TenantAdmissionLimiter(
+            OficinaRepository oficinaRepository,
+            MeterRegistry meterRegistry,
+            @Value("${admission.global-max-concurrent:32}") int globalMaxConcurrent,
+            @Value("${admission.max-wait-ms:2000}") long maxWaitMs,
+            @Value("${admission.idle-ttl-ms:600000}") long idleTtlMs,
+            @Value("${admission.plans.economico.max-concurrent:4}") int economicoMaxConcurrent,
+            @Value("${admission.plans.economico.max-queue:8}") int economicoMaxQueue,
+            @Value("${admission.plans.economico.weight:1}") int economicoWeight,
+            @Value("${admission.plans.profissional.max-concurrent:8}") int profissionalMaxConcurrent,
+            @Value("${admission.plans.profissional.max-queue:16}") int profissionalMaxQueue,
+            @Value("${admission.plans.profissional.weight:2}") int profissionalWeight,
+            @Value("${admission.plans.turbinado.max-concurrent:16}") int turbinadoMaxConcurrent,
+            @Value("${admission.plans.turbinado.max-queue:32}") int turbinadoMaxQueue,
+            @Value("${admission.plans.turbinado.weight:4}") int turbinadoWeight
+    ) {
+        this.oficinaRepository = oficinaRepository;
+        this.meterRegistry = meterRegistry;
+        this.globalMaxConcurrent = globalMaxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMs);
+
+        limitsByPlan.put(PlanoAssinatura.ECONOMICO,
+                new PlanLimits(economicoMaxConcurrent, economicoMaxQueue, Math.max(1, economicoWeight)));
+        limitsByPlan.put(PlanoAssinatura.PROFISSIONAL,
+                new PlanLimits(profissionalMaxConcurrent, profissionalMaxQueue, Math.max(1, profissionalWeight)));
+        limitsByPlan.put(PlanoAssinatura.TURBINADO,
+                new PlanLimits(turbinadoMaxConcurrent, turbinadoMaxQueue, Math.max(1, turbinadoWeight)));
+
+        Gauge.builder("pitstop.admission.inflight.global", this, limiter -> limiter.globalInFlight)
+                .description("Tenant requests currently admitted on this node")
+                .register(meterRegistry);
+
+        log.info("TenantAdmissionLimiter configurado: global={}, maxWait={}ms, planos={}",
+                globalMaxConcurrent, maxWaitMs, limitsByPlan);
+    }
+
+    /**
+     * Tries to admit a request for the tenant, waiting up to {@code admission.max-wait-ms}.
+     *
+     * <p>Every {@link Outcome#ADMITTED} MUST be followed by {@link #release(UUID)} in a finally block.
+     *
+     * @param oficinaId tenant ID
+     * @return admission outcome
+     */
+    public Outcome acquire(UUID oficinaId) {
+        PlanoAssinatura plano = resolvePlano(oficinaId);
+        PlanLimits limits = limitsByPlan.get(plano);
+
+        lock.lock();
+        try {
+            TenantState state = tenants.computeIfAbsent(oficinaId, this::registerTenant);
+            state.limits = limits;
+            state.lastActivity = System.nanoTime();
+
+            // Fast path: tenant has free permits, nobody of this tenant is waiting, global capacity available
+            if (state.queue.isEmpty() && state.inFlight < limits.maxConcurrent()
+                    && globalInFlight < globalMaxConcurrent) {
+                grant(state);
+                return Outcome.ADMITTED;
+            }
+
+            if (state.queue.size() >= limits.maxQueue()) {
+                reject(plano, "queue_full");
+                return Outcome.REJECTED_QUEUE_FULL;
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition(), System.nanoTime());
+            state.queue.addLast(waiter);
+
+            long remaining = maxWaitNanos;
+            while (!waiter.granted && remaining > 0) {
+                try {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            if (waiter.granted) {
+                return Outcome.ADMITTED;
+            }
+
+            state.queue.remove(waiter);
+            reject(plano, "timeout");
+            return Outcome.REJECTED_TIMEOUT;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a permit previously obtained with {@link #acquire(UUID)} and hands freed capacity
+     * to the next waiting request (weighted fair order).
+     *
+     * @param oficinaId tenant ID
+     */
+    public void release(UUID oficinaId) {
+        lock.lock();
+        try {
+            TenantState state = tenants.get(oficinaId);
+            if (state != null && state.inFlight > 0) {
+                state.inFlight--;
+                globalInFlight--;
+                state.lastActivity = System.nanoTime();
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the cached plan for a tenant after a plan change.
+     *
+     * <p>Inside a transaction the eviction happens after commit, so a concurrent request cannot
+     * reload the old plan in between. Other nodes pick up the new plan when their cache entry expires.
+     *
+     * @param oficinaId tenant ID
+     */
+    public void evictPlano(UUID oficinaId) {
+        planCache.remove(oficinaId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    planCache.remove(oficinaId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops tenants with nothing running or queued for {@code admission.idle-ttl-ms}, together
+     * with their gauges and cached plan.
+     */
+    @Scheduled(fixedDelayString = "${admission.idle-sweep-interval-ms:60000}")
+    public void evictIdleTenants() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<Map.Entry<UUID, TenantState>> it = tenants.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<UUID, TenantState> entry = it.next();
+                TenantState state = entry.getValue();
+                if (state.inFlight == 0 && state.queue.isEmpty() && now - state.lastActivity >= idleTtlNanos) {
+                    it.remove();
+                    meterRegistry.remove(state.queueDepthGauge);
+                    meterRegistry.remove(state.inFlightGauge);
+                    planCache.remove(entry.getKey());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grants queued requests while global capacity is available.
+     * Must be called with the lock held.
+     */
+    private void dispatch() {
+        while (globalInFlight < globalMaxConcurrent) {
+            TenantState next = null;
+            double nextShare = Double.MAX_VALUE;
+            long nextEnqueuedAt = Long.MAX_VALUE;
+
+            for (TenantState candidate : tenants.values()) {
+                if (candidate.queue.isEmpty() || candidate.inFlight >= candidate.limits.maxConcurrent()) {
+                    continue;
+                }
+                double share = (double) candidate.inFlight / candidate.limits.weight();
+                long enqueuedAt = candidate.queue.peekFirst().enqueuedAt;
+                if (share < nextShare || (share == nextShare && enqueuedAt < nextEnqueuedAt)) {
+                    next = candidate;
+                    nextShare = share;
+                    nextEnqueuedAt = enqueuedAt;
+                }
+            }
+
+            if (next == null) {
+                return;
+            }
+
+            Waiter waiter = next.queue.pollFirst();
+            grant(next);
+            waiter.granted = true;
+            waiter.condition.signal();
+        }
+    }
+
+    private void grant(TenantState state) {
+        state.inFlight++;
+        globalInFlight++;
+    }
+
+    private void reject(PlanoAssinatura plano, String reason) {
+        rejectionCounters.computeIfAbsent(new RejectionTags(plano, reason), this::registerRejectionCounter)
+                .increment();
+    }
+
+    private Counter registerRejectionCounter(RejectionTags tags) {
+        return Counter.builder("pitstop.admission.rejected")
+                .description("Tenant requests rejected by admission control")
+                .tag("reason", tags.reason())
+                .tag("plano", tags.plano().name())
+                .register(meterRegistry);
+    }
+
+    private TenantState registerTenant(UUID oficinaId) {
+        TenantState state = new TenantState();
+        String tag = oficinaId.toString();
+        state.queueDepthGauge = Gauge.builder("pitstop.admission.queue.depth", state, s -> s.queue.size())
+                .description("Requests waiting for admission per tenant")
+                .tag("oficinaId", tag)
+                .register(meterRegistry);
+        state.inFlightGauge = Gauge.builder("pitstop.admission.inflight", state, s -> s.inFlight)
+                .description("Requests admitted per tenant")
+                .tag("oficinaId", tag)
+                .register(meterRegistry);
+        return state;
+    }
+
+    private PlanoAssinatura resolvePlano(UUID oficinaId) {
+        CachedPlan cached = planCache.get(oficinaId);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAt() < PLAN_CACHE_TTL_MILLIS) {
+            return cached.plano();
+        }
+
+        PlanoAssinatura plano;
+        try {
+            plano = oficinaRepository.findPlanoById(oficinaId).orElse(PlanoAssinatura.ECONOMICO);
+        } catch (Exception e) {
+            log.warn("Falha ao obter plano da oficina {} para admission control: {}", oficinaId, e.getMessage());
+            plano = cached != null ? cached.plano() : PlanoAssinatura.ECONOMICO;
+        }
+
+        planCache.put(oficinaId, new CachedPlan(plano, now));
+        return plano;
+    }
+
+    private record CachedPlan(PlanoAssinatura plano, long loadedAt) {}
+
+    private record RejectionTags(PlanoAssinatura plano, String reason) {}
+
+    private static final class Waiter {
+        final Condition condition;
+        final long enqueuedAt;
+        boolean granted;
+
+        Waiter(Condition condition, long enqueuedAt) {
+            this.condition = condition;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class TenantState {
+        final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        volatile int inFlight;
+        PlanLimits limits;
+        long lastActivity;
+        Gauge queueDepthGauge;
+        Gauge inFlightGauge;
+    }
+}
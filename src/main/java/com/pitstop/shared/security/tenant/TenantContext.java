@@ -3,6 +3,7 @@ package com.pitstop.shared.security.tenant;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Thread-safe context holder for current tenant (oficina).
@@ -119,6 +120,45 @@ public final class TenantContext {
         currentTenant.remove();
     }
 
+    /**
+     * Runs an action with the given tenant bound, restoring the previous value afterwards.
+     *
+     * <p>Scoped alternative to set/clear pairs for async listeners and background work whose
+     * tenant comes from the payload (e.g. an event published by a public endpoint). Restoring
+     * instead of clearing keeps the caller's context intact when nested, and never leaks the
+     * tenant into the next task of a pooled thread.</p>
+     *
+     * @param tenantId Oficina ID (must not be null)
+     * @param action   Action to run within the tenant scope
+     */
+    public static void runWithTenant(UUID tenantId, Runnable action) {
+        callWithTenant(tenantId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Same as {@link #runWithTenant(UUID, Runnable)}, returning the action's result.
+     *
+     * @param tenantId Oficina ID (must not be null)
+     * @param action   Action to run within the tenant scope
+     * @return Result of the action
+     */
+    public static <T> T callWithTenant(UUID tenantId, Supplier<T> action) {
+        UUID previous = currentTenant.get();
+        setTenantId(tenantId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                currentTenant.set(previous);
+            } else {
+                currentTenant.remove();
+            }
+        }
+    }
+
     /**
      * Sets tenant ID for current thread (for testing/background jobs).
      *
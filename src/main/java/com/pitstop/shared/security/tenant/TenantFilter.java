@@ -1,6 +1,7 @@
 package com.pitstop.shared.security.tenant;
 
 import com.pitstop.shared.security.JwtService;
+import com.pitstop.shared.security.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,7 +21,7 @@ import java.util.UUID;
  * <p><b>Execution order:</b> Runs AFTER JwtAuthenticationFilter</p>
  * <ol>
  *   <li>JwtAuthenticationFilter validates JWT and sets SecurityContext</li>
- *   <li>TenantFilter extracts oficinaId from JWT</li>
+ *   <li>TenantFilter reads oficinaId from the {@link VerifiedToken} request attribute (no re-parsing)</li>
  *   <li>TenantFilter sets TenantContext for current thread</li>
  *   <li>Controllers/Services use TenantContext.getTenantId()</li>
  *   <li>TenantFilter clears context in finally block</li>
@@ -56,15 +57,18 @@ public class TenantFilter extends OncePerRequestFilter {
             // Extract JWT token from Authorization header
             String token = extractTokenFromRequest(request);
 
-            if (token != null) {
+            // Reuse claims verified by JwtAuthenticationFilter (parse once per request)
+            VerifiedToken verifiedToken = token != null ? resolveVerifiedToken(request, token) : null;
+
+            if (verifiedToken != null) {
                 // Check if user is SUPER_ADMIN (no tenant isolation)
-                if (jwtService.isSuperAdmin(token)) {
+                if (verifiedToken.isSuperAdmin()) {
                     log.debug("SUPER_ADMIN request detected for {}: bypassing tenant isolation", request.getRequestURI());
                     // DO NOT set TenantContext for SUPER_ADMIN
                     // They only have access to /api/saas/* (enforced by @PreAuthorize)
                 } else {
                     // Regular oficina user: extract oficinaId and set TenantContext
-                    UUID oficinaId = jwtService.extractOficinaId(token);
+                    UUID oficinaId = verifiedToken.oficinaId();
 
                     if (oficinaId == null) {
                         log.warn("Token has no oficinaId claim but user is not SUPER_ADMIN. Request: {}", request.getRequestURI());
@@ -88,6 +92,30 @@ public class TenantFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Returns the verified token stored by JwtAuthenticationFilter, verifying it here only
+     * if that filter has not run for this request.
+     *
+     * @param request HTTP request
+     * @param token raw JWT token
+     * @return verified token, or null if the token is invalid or expired
+     */
+    private VerifiedToken resolveVerifiedToken(HttpServletRequest request, String token) {
+        VerifiedToken verifiedToken = VerifiedToken.fromRequest(request);
+        if (verifiedToken != null) {
+            return verifiedToken;
+        }
+
+        try {
+            verifiedToken = jwtService.verify(token);
+            request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
+            return verifiedToken;
+        } catch (Exception e) {
+            log.warn("Failed to verify token for tenant resolution: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Extracts Bearer token from Authorization header.
      *
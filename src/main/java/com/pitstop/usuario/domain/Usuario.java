@@ -88,6 +88,16 @@ public class Usuario {
     @Column(name = "ultimo_acesso")
     private LocalDateTime ultimoAcesso;
 
+    /**
+     * Versão de segurança, incrementada a cada mudança que afeta autenticação (desativação,
+     * perfil, senha, email). Alterada apenas por
+     * {@link com.pitstop.shared.security.SecurityVersionService#bump(UUID)}, por isso não é
+     * escrita pelo flush da entidade.
+     */
+    @Builder.Default
+    @Column(name = "security_version", nullable = false, insertable = false, updatable = false)
+    private Long securityVersion = 0L;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
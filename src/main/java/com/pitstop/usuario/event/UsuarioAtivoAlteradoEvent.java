@@ -0,0 +1,38 @@
+package com.pitstop.usuario.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Evento disparado quando um usuário existente é ativado ou desativado.
+ * Consumido pelos contadores de uso do plano (usuários ativos).
+ *
+ * <p>A criação de usuários não dispara este evento: o usuário novo já é contado
+ * na reserva feita por {@code PlanoLimiteService.validarLimiteUsuarios}.</p>
+ *
+ * @author PitStop Team
+ */
+@Getter
+public class UsuarioAtivoAlteradoEvent extends ApplicationEvent {
+
+    private final UUID oficinaId;
+    private final UUID usuarioId;
+    private final boolean ativo;
+
+    /**
+     * Construtor do evento.
+     *
+     * @param source objeto que disparou o evento
+     * @param oficinaId ID da oficina (tenant)
+     * @param usuarioId ID do usuário alterado
+     * @param ativo novo estado do usuário
+     */
+    public UsuarioAtivoAlteradoEvent(Object source, UUID oficinaId, UUID usuarioId, boolean ativo) {
+        super(source);
+        this.oficinaId = oficinaId;
+        this.usuarioId = usuarioId;
+        this.ativo = ativo;
+    }
+}
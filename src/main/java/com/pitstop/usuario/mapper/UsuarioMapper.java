@@ -32,6 +32,7 @@ public interface UsuarioMapper {
     @Mapping(target = "ultimoAcesso", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "securityVersion", ignore = true)
     Usuario toEntity(CreateUsuarioRequest request);
 
     /**
@@ -62,6 +63,7 @@ public interface UsuarioMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "ultimoAcesso", ignore = true)
+    @Mapping(target = "securityVersion", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDto(UpdateUsuarioRequest request, @MappingTarget Usuario usuario);
 }
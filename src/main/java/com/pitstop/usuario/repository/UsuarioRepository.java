@@ -5,10 +5,12 @@ import com.pitstop.usuario.domain.Usuario;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -137,6 +139,17 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
     @Query("SELECT u FROM Usuario u WHERE u.oficina.id = :oficinaId AND u.id = :id")
     Optional<Usuario> findByOficinaIdAndId(@Param("oficinaId") UUID oficinaId, @Param("id") UUID id);
 
+    /**
+     * Busca vários usuários por ID em uma oficina (uma única query com {@code IN}).
+     * Usado com {@link com.pitstop.shared.persistence.BatchLoader} para evitar N+1.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param ids IDs dos usuários
+     * @return usuários encontrados (IDs inexistentes são omitidos)
+     */
+    @Query("SELECT u FROM Usuario u WHERE u.oficina.id = :oficinaId AND u.id IN :ids")
+    List<Usuario> findByOficinaIdAndIdIn(@Param("oficinaId") UUID oficinaId, @Param("ids") Collection<UUID> ids);
+
     /**
      * Busca usuário por ID com oficina eager loaded.
      * Usado para refresh token e geração de JWT.
@@ -230,4 +243,23 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
      * @return List of users with the specified perfil
      */
     List<Usuario> findByPerfil(PerfilUsuario perfil);
+
+    /**
+     * Incrementa a versão de segurança do usuário na transação atual.
+     *
+     * @param id ID do usuário
+     * @return número de linhas atualizadas
+     */
+    @Modifying
+    @Query(value = "UPDATE usuarios SET security_version = security_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementSecurityVersion(@Param("id") UUID id);
+
+    /**
+     * Busca a versão de segurança atual do usuário.
+     *
+     * @param id ID do usuário
+     * @return Optional contendo a versão se o usuário existir
+     */
+    @Query("SELECT u.securityVersion FROM Usuario u WHERE u.id = :id")
+    Optional<Long> findSecurityVersionById(@Param("id") UUID id);
 }
@@ -1,12 +1,14 @@
 package com.pitstop.usuario.service;
 
 import com.pitstop.saas.service.PlanoLimiteService;
+import com.pitstop.shared.security.SecurityVersionService;
 import com.pitstop.shared.security.tenant.TenantContext;
 import com.pitstop.usuario.domain.PerfilUsuario;
 import com.pitstop.usuario.domain.Usuario;
 import com.pitstop.usuario.dto.CreateUsuarioRequest;
 import com.pitstop.usuario.dto.UpdateUsuarioRequest;
 import com.pitstop.usuario.dto.UsuarioResponse;
+import com.pitstop.usuario.event.UsuarioAtivoAlteradoEvent;
 import com.pitstop.usuario.exception.CannotDeleteLastAdminException;
 import com.pitstop.usuario.exception.EmailAlreadyExistsException;
 import com.pitstop.usuario.exception.UsuarioNotFoundException;
@@ -16,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -45,6 +48,8 @@ public class UsuarioService {
     private final UsuarioMapper usuarioMapper;
     private final PasswordEncoder passwordEncoder;
     private final PlanoLimiteService planoLimiteService;
+    private final SecurityVersionService securityVersionService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * Cria um novo usuário no sistema.
@@ -251,10 +256,16 @@ public class UsuarioService {
             }
         }
 
+        boolean estavaAtivo = Boolean.TRUE.equals(usuario.getAtivo());
+
         // Aplicar outras atualizações (nome, perfil, ativo)
         usuarioMapper.updateEntityFromDto(request, usuario);
 
         Usuario usuarioAtualizado = usuarioRepository.save(usuario);
+        publicarSeAtivoAlterado(oficinaId, usuarioAtualizado, estavaAtivo);
+
+        // Invalida principals em cache (perfil, ativo, senha ou email podem ter mudado)
+        securityVersionService.bump(usuarioAtualizado.getId());
         log.info("Usuário atualizado com sucesso. ID: {}, Email: {}",
                 usuarioAtualizado.getId(), usuarioAtualizado.getEmail());
 
@@ -294,8 +305,11 @@ public class UsuarioService {
             }
         }
 
+        boolean estavaAtivo = Boolean.TRUE.equals(usuario.getAtivo());
         usuario.setAtivo(false);
         usuarioRepository.save(usuario);
+        securityVersionService.bump(usuario.getId());
+        publicarSeAtivoAlterado(oficinaId, usuario, estavaAtivo);
 
         log.info("Usuário desativado com sucesso. ID: {}, Email: {}",
                 usuario.getId(), usuario.getEmail());
@@ -319,12 +333,27 @@ public class UsuarioService {
                     return new UsuarioNotFoundException(id);
                 });
 
+        boolean estavaAtivo = Boolean.TRUE.equals(usuario.getAtivo());
         usuario.setAtivo(true);
         Usuario usuarioReativado = usuarioRepository.save(usuario);
+        securityVersionService.bump(usuarioReativado.getId());
+        publicarSeAtivoAlterado(oficinaId, usuarioReativado, estavaAtivo);
 
         log.info("Usuário reativado com sucesso. ID: {}, Email: {}",
                 usuarioReativado.getId(), usuarioReativado.getEmail());
 
         return usuarioMapper.toResponse(usuarioReativado);
     }
+
+    /**
+     * Publica {@link UsuarioAtivoAlteradoEvent} se o estado ativo do usuário mudou
+     * (mantém o contador de usuários ativos do plano).
+     */
+    private void publicarSeAtivoAlterado(UUID oficinaId, Usuario usuario, boolean estavaAtivo) {
+        boolean ativo = Boolean.TRUE.equals(usuario.getAtivo());
+        if (ativo != estavaAtivo) {
+            applicationEventPublisher.publishEvent(
+                    new UsuarioAtivoAlteradoEvent(this, oficinaId, usuario.getId(), ativo));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.pitstop.veiculo.controller;
 
+import com.pitstop.shared.pagination.CountMode;
 import com.pitstop.veiculo.dto.*;
 import com.pitstop.veiculo.service.VeiculoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +12,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -86,6 +88,7 @@ public class VeiculoController {
      * @param modelo filtro de modelo (opcional)
      * @param ano filtro de ano (opcional)
      * @param pageable configuração de paginação
+     * @param count modo de contagem do total (EXACT, ESTIMATED ou NONE)
      * @return página de veículos
      */
     @GetMapping
@@ -95,23 +98,17 @@ public class VeiculoController {
         @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
         @ApiResponse(responseCode = "403", description = "Acesso negado")
     })
-    public ResponseEntity<Page<VeiculoResponseDTO>> findAll(
+    public ResponseEntity<Slice<VeiculoResponseDTO>> findAll(
         @Parameter(description = "Filtro por ID do cliente") @RequestParam(required = false) UUID clienteId,
         @Parameter(description = "Filtro por placa (busca parcial)") @RequestParam(required = false) String placa,
         @Parameter(description = "Filtro por marca") @RequestParam(required = false) String marca,
         @Parameter(description = "Filtro por modelo") @RequestParam(required = false) String modelo,
         @Parameter(description = "Filtro por ano de fabricação") @RequestParam(required = false) Integer ano,
-        @PageableDefault(size = 20, sort = "placa") Pageable pageable
+        @PageableDefault(size = 20, sort = "placa") Pageable pageable,
+        @Parameter(description = CountMode.PARAM_DESCRIPTION) @RequestParam(defaultValue = "EXACT") CountMode count
     ) {
-        Page<VeiculoResponseDTO> veiculos;
-
-        // Se há filtros, usa busca com filtros; senão, lista todos
-        if (clienteId != null || placa != null || marca != null || modelo != null || ano != null) {
-            veiculos = veiculoService.findByFiltros(clienteId, placa, marca, modelo, ano, pageable);
-        } else {
-            veiculos = veiculoService.findAll(pageable);
-        }
-
+        // Sem filtros, o serviço lista todos os veículos da oficina
+        Slice<VeiculoResponseDTO> veiculos = veiculoService.findByFiltros(clienteId, placa, marca, modelo, ano, pageable, count);
         return ResponseEntity.ok(veiculos);
     }
 
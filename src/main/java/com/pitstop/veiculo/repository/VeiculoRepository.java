@@ -3,11 +3,13 @@ package com.pitstop.veiculo.repository;
 import com.pitstop.veiculo.domain.Veiculo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -155,7 +157,7 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, UUID> {
      * @param modelo modelo parcial (null para ignorar)
      * @param ano ano de fabricação (null para ignorar)
      * @param pageable configuração de paginação e ordenação
-     * @return página de veículos filtrados
+     * @return fatia de veículos filtrados (sem COUNT, ver {@link #countByFiltros})
      */
     @Query(value = """
         SELECT * FROM veiculos
@@ -166,7 +168,26 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, UUID> {
         AND (:modelo IS NULL OR LOWER(modelo) LIKE LOWER(CONCAT('%', CAST(:modelo AS TEXT), '%')))
         AND (:ano IS NULL OR ano = CAST(:ano AS INTEGER))
         """,
-        countQuery = """
+        nativeQuery = true)
+    Slice<Veiculo> findByFiltros(
+        @Param("oficinaId") UUID oficinaId,
+        @Param("clienteId") UUID clienteId,
+        @Param("placa") String placa,
+        @Param("marca") String marca,
+        @Param("modelo") String modelo,
+        @Param("ano") Integer ano,
+        Pageable pageable
+    );
+
+    /**
+     * Conta os veículos de {@link #findByFiltros} (mesmos filtros).
+     *
+     * <p>Separada da listagem para que o total seja calculado apenas quando pedido
+     * e possa ser cacheado (ver {@code PageCounter}).</p>
+     *
+     * @return total de veículos filtrados
+     */
+    @Query(value = """
         SELECT COUNT(*) FROM veiculos
         WHERE oficina_id = CAST(:oficinaId AS UUID)
         AND (:clienteId IS NULL OR cliente_id = CAST(:clienteId AS UUID))
@@ -176,14 +197,13 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, UUID> {
         AND (:ano IS NULL OR ano = CAST(:ano AS INTEGER))
         """,
         nativeQuery = true)
-    Page<Veiculo> findByFiltros(
+    long countByFiltros(
         @Param("oficinaId") UUID oficinaId,
         @Param("clienteId") UUID clienteId,
         @Param("placa") String placa,
         @Param("marca") String marca,
         @Param("modelo") String modelo,
-        @Param("ano") Integer ano,
-        Pageable pageable
+        @Param("ano") Integer ano
     );
 
     /**
@@ -226,6 +246,17 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, UUID> {
     @Query("SELECT v FROM Veiculo v WHERE v.oficina.id = :oficinaId AND v.id = :id")
     Optional<Veiculo> findByOficinaIdAndId(@Param("oficinaId") UUID oficinaId, @Param("id") UUID id);
 
+    /**
+     * Busca vários veículos por ID em uma oficina (uma única query com {@code IN}).
+     * Usado com {@link com.pitstop.shared.persistence.BatchLoader} para evitar N+1.
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param ids IDs dos veículos
+     * @return veículos encontrados (IDs inexistentes são omitidos)
+     */
+    @Query("SELECT v FROM Veiculo v WHERE v.oficina.id = :oficinaId AND v.id IN :ids")
+    List<Veiculo> findByOficinaIdAndIdIn(@Param("oficinaId") UUID oficinaId, @Param("ids") Collection<UUID> ids);
+
     /**
      * Busca todos os veículos de uma oficina com paginação.
      *
@@ -236,6 +267,16 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, UUID> {
     @Query("SELECT v FROM Veiculo v WHERE v.oficina.id = :oficinaId")
     Page<Veiculo> findByOficinaId(@Param("oficinaId") UUID oficinaId, Pageable pageable);
 
+    /**
+     * Lista os veículos de uma oficina sem COUNT (total via {@link #countByOficinaId}).
+     *
+     * @param oficinaId ID da oficina (tenant)
+     * @param pageable configuração de paginação e ordenação
+     * @return fatia de veículos
+     */
+    @Query("SELECT v FROM Veiculo v WHERE v.oficina.id = :oficinaId")
+    Slice<Veiculo> findSliceByOficinaId(@Param("oficinaId") UUID oficinaId, Pageable pageable);
+
     /**
      * Alias para findDistinctMarcasByOficinaId (compatibilidade).
      *
@@ -3,6 +3,9 @@ package com.pitstop.veiculo.service;
 import com.pitstop.cliente.domain.Cliente;
 import com.pitstop.cliente.exception.ClienteNotFoundException;
 import com.pitstop.cliente.repository.ClienteRepository;
+import com.pitstop.shared.pagination.CountMode;
+import com.pitstop.shared.pagination.CountQuery;
+import com.pitstop.shared.pagination.PageCounter;
 import com.pitstop.shared.security.tenant.TenantContext;
 import com.pitstop.veiculo.domain.Veiculo;
 import com.pitstop.veiculo.dto.*;
@@ -16,6 +19,7 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +49,7 @@ public class VeiculoService {
     private final VeiculoRepository veiculoRepository;
     private final ClienteRepository clienteRepository;
     private final VeiculoMapper veiculoMapper;
+    private final PageCounter pageCounter;
 
     /**
      * Cria um novo veículo no sistema.
@@ -62,7 +67,7 @@ public class VeiculoService {
      * @throws PlacaJaExisteException se placa já cadastrada
      */
     @Transactional
-    @CacheEvict(value = "veiculos", allEntries = true)
+    @CacheEvict(value = {"veiculos", "pageCounts", "dashboard"}, allEntries = true)
     public VeiculoResponseDTO create(VeiculoRequestDTO request) {
         log.info("Criando novo veículo: placa={}, clienteId={}", request.getPlaca(), request.getClienteId());
 
@@ -183,27 +188,38 @@ public class VeiculoService {
     /**
      * Busca avançada com múltiplos filtros.
      *
+     * <p>Sem filtros, lista todos os veículos da oficina.</p>
+     *
      * @param clienteId filtro de cliente (opcional)
      * @param placa filtro de placa parcial (opcional)
      * @param marca filtro de marca (opcional)
      * @param modelo filtro de modelo (opcional)
      * @param ano filtro de ano (opcional)
      * @param pageable configuração de paginação
-     * @return página de veículos filtrados
+     * @param countMode como calcular o total (ver {@link PageCounter})
+     * @return página de veículos filtrados ({@code Slice} sem total quando {@code countMode} é NONE)
      */
     @Transactional(readOnly = true)
-    public Page<VeiculoResponseDTO> findByFiltros(UUID clienteId, String placa, String marca, String modelo, Integer ano, Pageable pageable) {
+    public Slice<VeiculoResponseDTO> findByFiltros(UUID clienteId, String placa, String marca, String modelo, Integer ano,
+                                                   Pageable pageable, CountMode countMode) {
 
         UUID oficinaId = TenantContext.getTenantId();
         // Normaliza placa se fornecida
         String placaNormalizada = (placa != null) ? placa.trim().toUpperCase().replace("-", "") : null;
 
-        return veiculoRepository.findByFiltros(oficinaId, clienteId, placaNormalizada, marca, modelo, ano, pageable)
-            .map(veiculo -> {
-                VeiculoResponseDTO response = veiculoMapper.toResponse(veiculo);
-                enrichWithClienteData(response, veiculo.getClienteId());
-                return response;
-            });
+        CountQuery countQuery = CountQuery.of("veiculos",
+            () -> veiculoRepository.countByFiltros(oficinaId, clienteId, placaNormalizada, marca, modelo, ano),
+            clienteId, placaNormalizada, marca, modelo, ano);
+
+        Slice<Veiculo> veiculos = countQuery.unfiltered()
+            ? veiculoRepository.findSliceByOficinaId(oficinaId, pageable)
+            : veiculoRepository.findByFiltros(oficinaId, clienteId, placaNormalizada, marca, modelo, ano, pageable);
+
+        return pageCounter.complete(veiculos.map(veiculo -> {
+            VeiculoResponseDTO response = veiculoMapper.toResponse(veiculo);
+            enrichWithClienteData(response, veiculo.getClienteId());
+            return response;
+        }), countMode, countQuery);
     }
 
     /**
@@ -217,7 +233,7 @@ public class VeiculoService {
      * @throws VeiculoNotFoundException se veículo não encontrado
      */
     @Transactional
-    @CacheEvict(value = "veiculos", allEntries = true)
+    @CacheEvict(value = {"veiculos", "pageCounts"}, allEntries = true)
     public VeiculoResponseDTO update(UUID id, VeiculoUpdateDTO request) {
         log.info("Atualizando veículo: id={}", id);
 
@@ -245,7 +261,7 @@ public class VeiculoService {
      * @throws VeiculoNotFoundException se veículo não encontrado
      */
     @Transactional
-    @CacheEvict(value = "veiculos", allEntries = true)
+    @CacheEvict(value = {"veiculos", "pageCounts"}, allEntries = true)
     public VeiculoResponseDTO updateQuilometragem(UUID id, QuilometragemUpdateDTO request) {
         log.info("Atualizando quilometragem do veículo: id={}, novaQuilometragem={}", id, request.getQuilometragem());
 
@@ -274,7 +290,7 @@ public class VeiculoService {
      * @throws VeiculoNotFoundException se veículo não encontrado
      */
     @Transactional
-    @CacheEvict(value = "veiculos", allEntries = true)
+    @CacheEvict(value = {"veiculos", "pageCounts", "dashboard"}, allEntries = true)
     public void delete(UUID id) {
         log.info("Removendo veículo: id={}", id);
 
@@ -64,6 +64,13 @@ public class WebhookLog {
     @Column(name = "entidade_tipo", length = 50)
     private String entidadeTipo;
 
+    /**
+     * ID de entrega enviado em X-Webhook-Delivery-Id, igual em todas as tentativas
+     * (o receptor usa para descartar duplicatas).
+     */
+    @Column(name = "id_entrega", length = 100)
+    private String idEntrega;
+
     /**
      * URL para a qual o webhook foi enviado.
      */
@@ -0,0 +1,80 @@
+package com.pitstop.webhook.event;
+
+import com.pitstop.financeiro.event.PagamentoEvent;
+import com.pitstop.shared.outbox.OutboxHandler;
+import com.pitstop.shared.outbox.OutboxIdempotency;
+import com.pitstop.shared.outbox.OutboxMessage;
+import com.pitstop.webhook.domain.TipoEventoWebhook;
+import com.pitstop.webhook.service.WebhookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Listener para eventos de pagamento que dispara webhooks.
+ *
+ * <p>Consome os eventos de pagamento do outbox, já com o tenant da oficina do evento. Cada linha
+ * dispara uma vez ({@link OutboxIdempotency}), com o id da linha como ID de entrega.</p>
+ *
+ * @author PitStop Team
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PagamentoWebhookListener implements OutboxHandler<PagamentoEvent> {
+
+    private final WebhookService webhookService;
+    private final OutboxIdempotency idempotency;
+
+    @Override
+    public String consumer() {
+        return "webhook-pagamento";
+    }
+
+    @Override
+    public String eventType() {
+        return PagamentoEvent.OUTBOX_EVENTO;
+    }
+
+    @Override
+    public Class<PagamentoEvent> payloadType() {
+        return PagamentoEvent.class;
+    }
+
+    /**
+     * Processa eventos de pagamento e dispara webhooks.
+     */
+    @Override
+    public void handle(OutboxMessage message, PagamentoEvent event) {
+        TipoEventoWebhook tipoWebhook = switch (event.tipo()) {
+            case CONFIRMADO -> TipoEventoWebhook.PAGAMENTO_RECEBIDO;
+            case CANCELADO, ESTORNADO -> TipoEventoWebhook.PAGAMENTO_CANCELADO;
+        };
+
+        log.debug("Disparando webhook para evento {} (pagamento {})", tipoWebhook, event.pagamentoId());
+
+        // HashMap: dataPagamento é nulo em pagamentos cancelados
+        Map<String, Object> pagamento = new HashMap<>();
+        pagamento.put("id", event.pagamentoId().toString());
+        pagamento.put("ordemServicoId", event.ordemServicoId().toString());
+        pagamento.put("tipo", event.tipoPagamento() != null ? event.tipoPagamento().name() : null);
+        pagamento.put("valor", event.valor() != null ? event.valor().toString() : null);
+        pagamento.put("dataPagamento", event.dataPagamento() != null ? event.dataPagamento().toString() : null);
+        pagamento.put("status", event.status().name());
+        pagamento.put("operacao", event.tipo().name());
+
+        idempotency.runOnce(message, () -> webhookService.dispararEvento(
+            tipoWebhook,
+            event.pagamentoId(),
+            "Pagamento",
+            Map.of(
+                "pagamento", pagamento,
+                "oficina", Map.of("id", event.oficinaId().toString())
+            ),
+            String.valueOf(message.id())
+        ));
+    }
+}
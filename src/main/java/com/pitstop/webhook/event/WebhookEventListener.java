@@ -2,13 +2,13 @@ package com.pitstop.webhook.event;
 
 import com.pitstop.notificacao.event.OrdemServicoEvent;
 import com.pitstop.notificacao.domain.EventoNotificacao;
-import com.pitstop.shared.security.tenant.TenantContext;
+import com.pitstop.shared.outbox.OutboxHandler;
+import com.pitstop.shared.outbox.OutboxIdempotency;
+import com.pitstop.shared.outbox.OutboxMessage;
 import com.pitstop.webhook.domain.TipoEventoWebhook;
 import com.pitstop.webhook.service.WebhookService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
@@ -16,21 +16,43 @@ import java.util.Map;
 /**
  * Listener para eventos do sistema que dispara webhooks.
  *
+ * <p>Consome os eventos de OS do outbox, já com o tenant da oficina do evento.
+ * Eventos de pagamento são tratados por {@link PagamentoWebhookListener}.</p>
+ *
+ * <p>Cada linha do outbox dispara uma vez ({@link OutboxIdempotency}); o id da linha vira o
+ * ID de entrega ({@code X-Webhook-Delivery-Id}) para o receptor descartar duplicatas.</p>
+ *
  * @author PitStop Team
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class WebhookEventListener {
+public class WebhookEventListener implements OutboxHandler<OrdemServicoEvent.Payload> {
 
     private final WebhookService webhookService;
+    private final OutboxIdempotency idempotency;
+
+    @Override
+    public String consumer() {
+        return "webhook-os";
+    }
+
+    @Override
+    public String eventType() {
+        return OrdemServicoEvent.OUTBOX_EVENTO;
+    }
+
+    @Override
+    public Class<OrdemServicoEvent.Payload> payloadType() {
+        return OrdemServicoEvent.Payload.class;
+    }
 
     /**
      * Processa eventos de Ordem de Serviço e dispara webhooks.
      */
-    @Async
-    @EventListener
-    public void handleOrdemServicoEvent(OrdemServicoEvent event) {
+    @Override
+    public void handle(OutboxMessage message, OrdemServicoEvent.Payload payload) {
+        OrdemServicoEvent event = OrdemServicoEvent.fromPayload(this, payload);
         TipoEventoWebhook tipoWebhook = mapEventoNotificacaoToWebhook(event.getTipoEvento());
 
         if (tipoWebhook == null) {
@@ -39,10 +61,11 @@ public class WebhookEventListener {
         }
 
         log.debug("Disparando webhook para evento {} (OS #{})", tipoWebhook, event.getNumeroOS());
+        idempotency.runOnce(message, () -> dispararWebhook(tipoWebhook, event, String.valueOf(message.id())));
+    }
 
+    private void dispararWebhook(TipoEventoWebhook tipoWebhook, OrdemServicoEvent event, String idEvento) {
         try {
-            TenantContext.setTenantId(event.getOficinaId());
-
             Map<String, Object> payload = Map.of(
                 "ordemServico", Map.of(
                     "id", event.getOrdemServicoId().toString(),
@@ -70,13 +93,12 @@ public class WebhookEventListener {
                 tipoWebhook,
                 event.getOrdemServicoId(),
                 "OrdemServico",
-                payload
+                payload,
+                idEvento
             );
 
         } catch (Exception e) {
             log.error("Erro ao disparar webhook para evento {}: {}", tipoWebhook, e.getMessage());
-        } finally {
-            TenantContext.clear();
         }
     }
 
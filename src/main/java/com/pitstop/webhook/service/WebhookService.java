@@ -40,6 +40,9 @@ public class WebhookService {
 
     private static final String FEATURE_CODE = "WEBHOOK_NOTIFICATIONS";
 
+    /** ID de entrega estável entre tentativas, para o receptor descartar duplicatas. */
+    private static final String DELIVERY_ID_HEADER = "X-Webhook-Delivery-Id";
+
     private final WebhookConfigRepository configRepository;
     private final WebhookLogRepository logRepository;
     private final FeatureFlagService featureFlagService;
@@ -177,9 +180,12 @@ public class WebhookService {
      * @param entidadeId ID da entidade relacionada
      * @param entidadeTipo Tipo da entidade (ex: "OrdemServico")
      * @param payload Dados do evento
+     * @param idEvento ID estável do evento (ex: id da linha do outbox), base do ID de entrega;
+     *                 null gera um ID aleatório
      */
     @Async
-    public void dispararEvento(TipoEventoWebhook evento, UUID entidadeId, String entidadeTipo, Object payload) {
+    public void dispararEvento(TipoEventoWebhook evento, UUID entidadeId, String entidadeTipo, Object payload,
+                               String idEvento) {
         UUID oficinaId = TenantContext.getTenantId();
 
         // Verificar feature flag
@@ -200,7 +206,7 @@ public class WebhookService {
 
         for (WebhookConfig config : configs) {
             try {
-                dispararWebhook(config, evento, entidadeId, entidadeTipo, payload);
+                dispararWebhook(config, evento, entidadeId, entidadeTipo, payload, idEvento);
             } catch (Exception e) {
                 log.error("Erro ao disparar webhook {}: {}", config.getNome(), e.getMessage());
             }
@@ -211,11 +217,17 @@ public class WebhookService {
      * Dispara um webhook específico.
      */
     private void dispararWebhook(WebhookConfig config, TipoEventoWebhook evento,
-                                  UUID entidadeId, String entidadeTipo, Object payload) {
+                                  UUID entidadeId, String entidadeTipo, Object payload, String idEvento) {
         long startTime = System.currentTimeMillis();
 
+        // Um ID por evento e webhook: o mesmo em reentregas do outbox e nos retries
+        String idEntrega = idEvento != null
+            ? idEvento + ":" + config.getId()
+            : UUID.randomUUID().toString();
+
         // Montar payload completo
         Map<String, Object> webhookPayload = new LinkedHashMap<>();
+        webhookPayload.put("idEntrega", idEntrega);
         webhookPayload.put("evento", evento.name());
         webhookPayload.put("eventoNome", evento.getNome());
         webhookPayload.put("timestamp", LocalDateTime.now().toString());
@@ -238,6 +250,7 @@ public class WebhookService {
             .evento(evento)
             .entidadeId(entidadeId)
             .entidadeTipo(entidadeTipo)
+            .idEntrega(idEntrega)
             .url(config.getUrl())
             .payload(payloadJson)
             .tentativa(1)
@@ -252,6 +265,7 @@ public class WebhookService {
             // Headers customizados
             Map<String, String> customHeaders = parseHeaders(config.getHeadersJson());
             customHeaders.forEach(headers::set);
+            headers.set(DELIVERY_ID_HEADER, idEntrega);
 
             // Assinatura HMAC se configurada
             if (config.getSecret() != null && !config.getSecret().isBlank()) {
@@ -357,6 +371,9 @@ public class WebhookService {
 
             Map<String, String> customHeaders = parseHeaders(config.getHeadersJson());
             customHeaders.forEach(headers::set);
+            if (webhookLog.getIdEntrega() != null) {
+                headers.set(DELIVERY_ID_HEADER, webhookLog.getIdEntrega());
+            }
 
             if (config.getSecret() != null && !config.getSecret().isBlank()) {
                 String signature = generateHmacSignature(webhookLog.getPayload(), config.getSecret());
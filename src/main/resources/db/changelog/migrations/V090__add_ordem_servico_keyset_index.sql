@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset pitstop:090-add-ordem-servico-keyset-index
+--comment: Índice para paginação por cursor da listagem de OS (ORDER BY data_abertura DESC, id DESC)
+
+-- Cobre o filtro por oficina, a ordenação e o desempate por id da listagem por cursor:
+-- cada página é um range scan a partir do cursor, sem OFFSET.
+CREATE INDEX IF NOT EXISTS idx_ordem_servico_oficina_data_id
+    ON ordem_servico(oficina_id, data_abertura DESC, id DESC);
+
+-- O índice acima tem (oficina_id, data_abertura DESC) como prefixo
+DROP INDEX IF EXISTS idx_ordem_servico_oficina_data;
+
+--rollback CREATE INDEX idx_ordem_servico_oficina_data ON ordem_servico(oficina_id, data_abertura DESC);
+--rollback DROP INDEX IF EXISTS idx_ordem_servico_oficina_data_id;
@@ -0,0 +1,44 @@
+--liquibase formatted sql
+
+--changeset pitstop:091-create-outbox-eventos-table
+--comment: Outbox transacional para eventos de domínio (notificações, webhooks, WebSocket)
+
+-- Uma linha por evento e consumidor, gravada na mesma transação da alteração de domínio.
+-- O OutboxRelay reivindica linhas em lote (FOR UPDATE SKIP LOCKED + bloqueado_ate) e entrega
+-- cada uma ao seu consumidor; por consumidor, eventos do mesmo agregado saem na ordem do id.
+CREATE TABLE outbox_eventos (
+    id BIGSERIAL PRIMARY KEY,
+    oficina_id UUID NOT NULL REFERENCES oficinas(id),
+    agregado_tipo VARCHAR(50) NOT NULL,
+    agregado_id UUID NOT NULL,
+    evento VARCHAR(50) NOT NULL,
+    consumidor VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDENTE',
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    disponivel_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    bloqueado_ate TIMESTAMP,
+    erro_mensagem VARCHAR(1000),
+    processado_em TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_outbox_eventos_status CHECK (status IN ('PENDENTE', 'PROCESSADO', 'ESGOTADO'))
+);
+
+-- Fila: apenas linhas pendentes, na ordem de gravação
+CREATE INDEX idx_outbox_eventos_pendentes ON outbox_eventos(id) WHERE status = 'PENDENTE';
+
+-- Ordem por agregado: existe evento pendente anterior do mesmo agregado para o consumidor?
+CREATE INDEX idx_outbox_eventos_agregado_pendente
+    ON outbox_eventos(consumidor, agregado_id, id) WHERE status = 'PENDENTE';
+
+-- Limpeza de linhas já processadas
+CREATE INDEX idx_outbox_eventos_processado_em ON outbox_eventos(processado_em) WHERE status <> 'PENDENTE';
+
+COMMENT ON TABLE outbox_eventos IS 'Outbox transacional de eventos de domínio, entregue pelo OutboxRelay';
+COMMENT ON COLUMN outbox_eventos.consumidor IS 'Handler que recebe a linha (notificacao, webhook, websocket)';
+COMMENT ON COLUMN outbox_eventos.status IS 'PENDENTE, PROCESSADO, ESGOTADO (tentativas esgotadas)';
+COMMENT ON COLUMN outbox_eventos.bloqueado_ate IS 'Lease do relay que reivindicou a linha; expira se o nó cair';
+COMMENT ON COLUMN outbox_eventos.disponivel_em IS 'Próxima tentativa (backoff exponencial após falha)';
+
+--rollback DROP TABLE IF EXISTS outbox_eventos;
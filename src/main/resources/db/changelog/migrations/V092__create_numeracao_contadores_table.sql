@@ -0,0 +1,56 @@
+--liquibase formatted sql
+
+--changeset pitstop:092-create-numeracao-contadores-table
+--comment: Numeração por oficina (OS e notas fiscais) com reserva de blocos
+
+-- Um contador por oficina e série de numeração. "proximo" é o primeiro número ainda não
+-- reservado: cada nó reserva um bloco [proximo, proximo + tamanho) com um UPDATE atômico
+-- e distribui os números do bloco em memória (NumberBlockAllocator).
+CREATE TABLE numeracao_contadores (
+    oficina_id UUID NOT NULL REFERENCES oficinas(id),
+    chave VARCHAR(50) NOT NULL,
+    proximo BIGINT NOT NULL CHECK (proximo > 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (oficina_id, chave)
+);
+
+COMMENT ON TABLE numeracao_contadores IS 'Contadores de numeração por oficina (reserva de blocos)';
+COMMENT ON COLUMN numeracao_contadores.chave IS 'Série de numeração: OS, NFE:<serie>';
+COMMENT ON COLUMN numeracao_contadores.proximo IS 'Primeiro número ainda não reservado por nenhum nó';
+
+-- Continua a numeração existente de cada oficina
+INSERT INTO numeracao_contadores (oficina_id, chave, proximo)
+SELECT oficina_id, 'OS', MAX(numero) + 1
+FROM ordem_servico
+WHERE oficina_id IS NOT NULL
+GROUP BY oficina_id;
+
+INSERT INTO numeracao_contadores (oficina_id, chave, proximo)
+SELECT oficina_id, 'NFE:' || serie, MAX(numero) + 1
+FROM notas_fiscais
+WHERE oficina_id IS NOT NULL
+GROUP BY oficina_id, serie;
+
+-- Número da OS passa a ser único por oficina (não mais global)
+ALTER TABLE ordem_servico ALTER COLUMN numero DROP DEFAULT;
+ALTER TABLE ordem_servico DROP CONSTRAINT IF EXISTS ordem_servico_numero_key;
+DROP INDEX IF EXISTS idx_ordem_servico_oficina_numero;
+CREATE UNIQUE INDEX uk_ordem_servico_oficina_numero ON ordem_servico(oficina_id, numero);
+DROP SEQUENCE IF EXISTS ordem_servico_numero_seq;
+
+COMMENT ON COLUMN ordem_servico.numero IS 'Número sequencial da OS, único por oficina (numeracao_contadores, pode ter lacunas)';
+
+-- Número da nota fiscal é único por oficina e série
+ALTER TABLE notas_fiscais DROP CONSTRAINT IF EXISTS uk_nfe_numero_serie;
+CREATE UNIQUE INDEX uk_nfe_oficina_serie_numero ON notas_fiscais(oficina_id, serie, numero);
+
+--rollback DROP INDEX IF EXISTS uk_nfe_oficina_serie_numero;
+--rollback ALTER TABLE notas_fiscais ADD CONSTRAINT uk_nfe_numero_serie UNIQUE (numero, serie);
+--rollback CREATE SEQUENCE ordem_servico_numero_seq START 1 INCREMENT 1;
+--rollback SELECT setval('ordem_servico_numero_seq', COALESCE((SELECT MAX(numero) FROM ordem_servico), 0) + 1, false);
+--rollback DROP INDEX IF EXISTS uk_ordem_servico_oficina_numero;
+--rollback CREATE INDEX idx_ordem_servico_oficina_numero ON ordem_servico(oficina_id, numero);
+--rollback ALTER TABLE ordem_servico ADD CONSTRAINT ordem_servico_numero_key UNIQUE (numero);
+--rollback ALTER TABLE ordem_servico ALTER COLUMN numero SET DEFAULT nextval('ordem_servico_numero_seq');
+--rollback DROP TABLE IF EXISTS numeracao_contadores;
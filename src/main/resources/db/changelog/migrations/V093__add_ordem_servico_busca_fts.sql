@@ -0,0 +1,32 @@
+--liquibase formatted sql
+
+--changeset pitstop:093-add-ordem-servico-busca-fts
+--comment: Busca textual (português) em problemas relatados, diagnóstico e observações da OS
+
+-- unaccent: "ignicao" encontra "ignição". btree_gin: índice GIN com oficina_id + tsvector.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- Configuração de busca: stemmer português sem acentos ("superaquecendo" ~ "superaquecimento")
+CREATE TEXT SEARCH CONFIGURATION pitstop_pt (COPY = pg_catalog.portuguese);
+ALTER TEXT SEARCH CONFIGURATION pitstop_pt
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+
+-- Mantida pelo próprio PostgreSQL a cada INSERT/UPDATE (coluna gerada).
+-- Pesos: problemas relatados (A) > diagnóstico (B) > observações (C).
+ALTER TABLE ordem_servico ADD COLUMN busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('pitstop_pt', COALESCE(problemas_relatados, '')), 'A') ||
+        setweight(to_tsvector('pitstop_pt', COALESCE(diagnostico, '')), 'B') ||
+        setweight(to_tsvector('pitstop_pt', COALESCE(observacoes, '')), 'C')
+    ) STORED;
+
+COMMENT ON COLUMN ordem_servico.busca IS 'Vetor de busca textual (pitstop_pt) de problemas_relatados, diagnostico e observacoes';
+
+-- Filtro por oficina e termos na mesma varredura do índice
+CREATE INDEX idx_ordem_servico_oficina_busca
+    ON ordem_servico USING GIN (oficina_id, busca);
+
+--rollback DROP INDEX IF EXISTS idx_ordem_servico_oficina_busca;
+--rollback ALTER TABLE ordem_servico DROP COLUMN IF EXISTS busca;
+--rollback DROP TEXT SEARCH CONFIGURATION IF EXISTS pitstop_pt;
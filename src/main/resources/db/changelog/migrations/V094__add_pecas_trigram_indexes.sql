@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset pitstop:094-add-pecas-trigram-indexes
+--comment: Índices trigram para busca parcial (ILIKE '%texto%') de peças por código, descrição e marca
+
+-- pg_trgm: LIKE/ILIKE com curinga no início usando índice. btree_gin (V093): oficina_id no mesmo índice.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_pecas_oficina_codigo_trgm
+    ON pecas USING GIN (oficina_id, codigo gin_trgm_ops);
+
+CREATE INDEX idx_pecas_oficina_descricao_trgm
+    ON pecas USING GIN (oficina_id, descricao gin_trgm_ops);
+
+CREATE INDEX idx_pecas_oficina_marca_trgm
+    ON pecas USING GIN (oficina_id, marca gin_trgm_ops);
+
+--rollback DROP INDEX IF EXISTS idx_pecas_oficina_marca_trgm;
+--rollback DROP INDEX IF EXISTS idx_pecas_oficina_descricao_trgm;
+--rollback DROP INDEX IF EXISTS idx_pecas_oficina_codigo_trgm;
@@ -0,0 +1,24 @@
+--liquibase formatted sql
+
+--changeset pitstop:095-create-outbox-processados-table
+--comment: Marcadores de idempotência dos consumidores do outbox
+
+-- O relay entrega cada linha de outbox_eventos pelo menos uma vez: se o lease expira durante o
+-- handler (ou o nó cai antes do ack), a linha é entregue de novo. O handler grava aqui
+-- (consumidor, evento_id) antes do efeito colateral; a segunda entrega encontra o marcador e não
+-- repete o envio. Falha do handler remove o marcador para que a retentativa execute.
+CREATE TABLE outbox_processados (
+    consumidor VARCHAR(50) NOT NULL,
+    evento_id BIGINT NOT NULL,
+    processado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_outbox_processados PRIMARY KEY (consumidor, evento_id)
+);
+
+-- Limpeza junto com as linhas processadas do outbox
+CREATE INDEX idx_outbox_processados_processado_em ON outbox_processados(processado_em);
+
+COMMENT ON TABLE outbox_processados IS 'Eventos do outbox já tratados por consumidor (deduplicação de reentregas)';
+COMMENT ON COLUMN outbox_processados.evento_id IS 'outbox_eventos.id (estável entre reentregas)';
+
+--rollback DROP TABLE IF EXISTS outbox_processados;
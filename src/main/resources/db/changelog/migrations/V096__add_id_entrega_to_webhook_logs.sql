@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset pitstop:096-add-id-entrega-to-webhook-logs
+--comment: ID de entrega estável dos webhooks (header X-Webhook-Delivery-Id)
+
+-- Mesmo valor em todas as tentativas de um evento para um webhook, para o receptor descartar
+-- duplicatas (reentrega do outbox, retry após timeout).
+ALTER TABLE webhook_logs ADD COLUMN id_entrega VARCHAR(100);
+
+COMMENT ON COLUMN webhook_logs.id_entrega IS 'ID de entrega enviado em X-Webhook-Delivery-Id; igual entre tentativas';
+
+--rollback ALTER TABLE webhook_logs DROP COLUMN IF EXISTS id_entrega;
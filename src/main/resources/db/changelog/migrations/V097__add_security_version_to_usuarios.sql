@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset pitstop:097-add-security-version-to-usuarios
+--comment: Versão de segurança durável do usuário (invalida principals em cache)
+
+-- Incrementada na mesma transação da mudança (desativação, perfil, senha, email). O Redis guarda
+-- uma cópia publicada; um principal só é cacheado quando as duas versões coincidem.
+ALTER TABLE usuarios ADD COLUMN security_version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN usuarios.security_version IS 'Incrementada a cada mudança que afeta autenticação; comparada com security_version:{id} no Redis';
+
+--rollback ALTER TABLE usuarios DROP COLUMN IF EXISTS security_version;
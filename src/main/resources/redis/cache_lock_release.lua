@@ -0,0 +1,11 @@
+-- Releases a cache loader lock only if it is still held by the caller
+--
+-- KEYS[1] = lock key
+-- ARGV[1] = token written when the lock was acquired
+--
+-- Returns 1 if released, 0 if the lock expired or belongs to another loader.
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
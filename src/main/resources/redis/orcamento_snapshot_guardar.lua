@@ -0,0 +1,20 @@
+-- Grava o snapshot do orçamento público só se não houver um de versão mais nova
+--
+-- KEYS[1] = chave do snapshot
+-- ARGV[1] = versão da OS (@Version) do snapshot a gravar
+-- ARGV[2] = snapshot serializado (JSON com o campo "versao")
+-- ARGV[3] = TTL em milissegundos
+--
+-- Retorna 1 se gravou, 0 se o snapshot atual é de uma versão mais nova.
+
+local atual = redis.call('GET', KEYS[1])
+if atual then
+    local ok, snapshot = pcall(cjson.decode, atual)
+    if ok and type(snapshot) == 'table' and tonumber(snapshot.versao)
+            and tonumber(snapshot.versao) > tonumber(ARGV[1]) then
+        return 0
+    end
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'PX', tonumber(ARGV[3]))
+return 1
@@ -0,0 +1,19 @@
+-- Adjusts a plan usage counter only if it is already seeded, never going below zero
+--
+-- KEYS[1] = counter key
+-- ARGV[1] = delta (positive or negative)
+--
+-- Returns the new value, or -1 if the counter is not seeded (next read seeds it from Postgres).
+
+local current = redis.call('GET', KEYS[1])
+if not current then
+    return -1
+end
+
+local value = tonumber(current) + tonumber(ARGV[1])
+if value < 0 then
+    value = 0
+end
+
+redis.call('SET', KEYS[1], value, 'KEEPTTL')
+return value
@@ -0,0 +1,23 @@
+-- Atomic check-and-increment of a plan usage counter (one round trip via EVALSHA)
+--
+-- KEYS[1] = counter key (plano_uso:{oficinaId}:os:{yyyyMM} or plano_uso:{oficinaId}:usuarios)
+-- ARGV[1] = limit (-1 = unlimited)
+--
+-- Returns {status, value}:
+--   status  1 = reserved, value = usage after the increment
+--   status  0 = limit reached, value = current usage (not incremented)
+--   status -1 = counter not seeded yet, value = 0 (caller seeds it from Postgres and retries)
+
+local current = redis.call('GET', KEYS[1])
+if not current then
+    return {-1, 0}
+end
+
+current = tonumber(current)
+local limit = tonumber(ARGV[1])
+
+if limit >= 0 and current >= limit then
+    return {0, current}
+end
+
+return {1, redis.call('INCR', KEYS[1])}
@@ -0,0 +1,43 @@
+-- Token bucket rate limiter (atomic, single round trip via EVALSHA)
+--
+-- KEYS[1] = bucket key (ratelimit:{endpoint}:{identifier})
+-- ARGV[1] = capacity (max requests per window)
+-- ARGV[2] = window in milliseconds (time to refill an empty bucket)
+-- ARGV[3] = tokens requested (1 = acquire, 0 = peek without consuming)
+--
+-- Returns {allowed (1/0), remaining tokens (floor)}
+-- Uses the Redis server clock so replicas with clock skew share the same bucket state.
+
+local capacity = tonumber(ARGV[1])
+local window_ms = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local now = redis.call('TIME')
+local now_ms = tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now_ms
+end
+
+-- Refill proportionally to elapsed time
+local elapsed = math.max(0, now_ms - ts)
+tokens = math.min(capacity, tokens + (elapsed * capacity / window_ms))
+
+local allowed = 0
+if tokens >= requested then
+    allowed = 1
+    tokens = tokens - requested
+end
+
+if requested > 0 then
+    redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now_ms))
+    -- A bucket untouched for a full window is full again, so it can expire
+    redis.call('PEXPIRE', KEYS[1], window_ms)
+end
+
+return {allowed, math.floor(tokens)}
@@ -0,0 +1,17 @@
+-- Replays a refresh token stored locally during a Redis outage
+--
+-- KEYS[1] = refresh token key
+-- KEYS[2] = revocation tombstone key
+-- ARGV[1] = token data (JSON)
+-- ARGV[2] = token creation time (epoch millis)
+-- ARGV[3] = remaining TTL in milliseconds
+--
+-- Returns 1 if the token was written, 0 if it was revoked at or after its creation.
+
+local revokedAt = tonumber(redis.call('GET', KEYS[2]) or '-1')
+if revokedAt >= tonumber(ARGV[2]) then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[1], 'PX', tonumber(ARGV[3]))
+return 1
@@ -0,0 +1,17 @@
+-- Replays a refresh token revocation queued during a Redis outage
+--
+-- KEYS[1] = refresh token key
+-- KEYS[2] = revocation tombstone key
+-- ARGV[1] = revocation time (epoch millis)
+-- ARGV[2] = tombstone TTL in milliseconds (refresh token lifetime)
+--
+-- The tombstone keeps the latest revocation time, so a token created before it and replayed
+-- later by another node (refresh_token_restore.lua) is not written back.
+
+local current = tonumber(redis.call('GET', KEYS[2]) or '-1')
+if current < tonumber(ARGV[1]) then
+    redis.call('SET', KEYS[2], ARGV[1], 'PX', tonumber(ARGV[2]))
+end
+
+redis.call('DEL', KEYS[1])
+return 1
@@ -0,0 +1,16 @@
+-- Publishes a user's durable security version, never moving it backwards
+--
+-- KEYS[1] = security version key
+-- ARGV[1] = version read from usuarios.security_version
+-- ARGV[2] = key TTL in seconds
+--
+-- Returns the version stored after the call.
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '-1')
+local version = tonumber(ARGV[1])
+
+if current < version then
+    redis.call('SET', KEYS[1], ARGV[1], 'EX', tonumber(ARGV[2]))
+    return version
+end
+return current
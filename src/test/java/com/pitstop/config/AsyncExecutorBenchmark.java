@@ -0,0 +1,104 @@
+package com.pitstop.config;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do executor {@code @Async} com 1.000 chamadas externas lentas simultâneas.
+ *
+ * <ul>
+ *   <li>{@code plataforma}: pool atual (core 4, max 10, fila 50). Como o pool rejeita acima de
+ *       max + fila, o produtor é limitado a 60 tarefas pendentes, como faria um retry do chamador</li>
+ *   <li>{@code virtual}: uma virtual thread por tarefa ({@code spring.threads.virtual.enabled=true})</li>
+ * </ul>
+ *
+ * <p>Cada tarefa simula uma chamada HTTP bloqueante de {@link #LATENCIA_MS} ms (WhatsApp, Telegram,
+ * webhook) e lê o tenant propagado pelo {@link ContextPropagatingTaskDecorator}. O resultado é o
+ * tempo para concluir o lote inteiro.
+ *
+ * <p>Execução: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pitstop.config.AsyncExecutorBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AsyncExecutorBenchmark {
+
+    private static final int CHAMADAS = 1_000;
+    private static final long LATENCIA_MS = 100;
+
+    @Param({"plataforma", "virtual"})
+    public String modo;
+
+    private AsyncTaskExecutor executor;
+    private Semaphore pendentes;
+
+    @Setup
+    public void setup() {
+        AsyncConfig config = new AsyncConfig();
+        ReflectionTestUtils.setField(config, "virtualThreadsEnabled", "virtual".equals(modo));
+        ReflectionTestUtils.setField(config, "virtualConcurrencyLimit", CHAMADAS);
+        executor = config.taskExecutor();
+
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pendentes = new Semaphore(pool.getMaxPoolSize() + pool.getQueueCapacity());
+        } else {
+            pendentes = new Semaphore(CHAMADAS);
+        }
+
+        TenantContext.setTenantId(UUID.randomUUID());
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void chamadasLentas(Blackhole bh) throws InterruptedException {
+        CountDownLatch concluidas = new CountDownLatch(CHAMADAS);
+
+        for (int i = 0; i < CHAMADAS; i++) {
+            pendentes.acquire();
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(LATENCIA_MS);
+                    bh.consume(TenantContext.getTenantIdOrNull());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    pendentes.release();
+                    concluidas.countDown();
+                }
+            });
+        }
+
+        concluidas.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AsyncExecutorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,140 @@
+package com.pitstop.config;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para ContextPropagatingTaskDecorator.
+ *
+ * <p>O "worker" é uma thread de pool única, com estado próprio antes de cada tarefa decorada.</p>
+ *
+ * @author PitStop Team
+ */
+@DisplayName("ContextPropagatingTaskDecorator - Testes Unitários")
+class ContextPropagatingTaskDecoratorTest {
+
+    private final ContextPropagatingTaskDecorator decorator = new ContextPropagatingTaskDecorator();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    private final UUID oficinaChamadora = UUID.randomUUID();
+    private final UUID oficinaDoWorker = UUID.randomUUID();
+    private final Authentication usuarioChamador = autenticacao("gerente@pitstop.com");
+    private final Authentication usuarioDoWorker = autenticacao("job@pitstop.com");
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdownNow();
+        limpar();
+    }
+
+    @Test
+    @DisplayName("Deve levar tenant, SecurityContext e MDC da thread chamadora para o worker")
+    void devePropagarContexto() throws Exception {
+        definirContextoChamador();
+
+        AtomicReference<List<Object>> visto = new AtomicReference<>();
+        Runnable tarefa = decorator.decorate(() -> visto.set(contextoAtual()));
+
+        worker.submit(tarefa).get(5, TimeUnit.SECONDS);
+
+        assertThat(visto.get())
+            .containsExactly(oficinaChamadora, usuarioChamador, Map.of("correlationId", "req-1"));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o estado anterior do worker após a tarefa concluir")
+    void deveRestaurarEstadoAposConclusao() throws Exception {
+        definirContextoDoWorker();
+        definirContextoChamador();
+        Runnable tarefa = decorator.decorate(() -> { });
+
+        worker.submit(tarefa).get(5, TimeUnit.SECONDS);
+
+        assertThat(worker.submit(ContextPropagatingTaskDecoratorTest::contextoAtual).get(5, TimeUnit.SECONDS))
+            .containsExactly(oficinaDoWorker, usuarioDoWorker, Map.of("correlationId", "job-1"));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o estado anterior do worker quando a tarefa lança exceção")
+    void deveRestaurarEstadoAposExcecao() throws Exception {
+        definirContextoDoWorker();
+        definirContextoChamador();
+        Runnable tarefa = decorator.decorate(() -> {
+            throw new IllegalStateException("falha na tarefa");
+        });
+
+        assertThatThrownBy(() -> worker.submit(tarefa).get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(worker.submit(ContextPropagatingTaskDecoratorTest::contextoAtual).get(5, TimeUnit.SECONDS))
+            .containsExactly(oficinaDoWorker, usuarioDoWorker, Map.of("correlationId", "job-1"));
+    }
+
+    @Test
+    @DisplayName("Deve deixar o worker sem contexto quando ele não tinha nenhum antes da tarefa")
+    void deveLimparWorkerSemEstadoAnterior() throws Exception {
+        definirContextoChamador();
+        Runnable tarefa = decorator.decorate(() -> { });
+
+        worker.submit(tarefa).get(5, TimeUnit.SECONDS);
+
+        assertThat(worker.submit(() -> TenantContext.getTenantIdOrNull() == null
+                && SecurityContextHolder.getContext().getAuthentication() == null
+                && MDC.getCopyOfContextMap() == null).get(5, TimeUnit.SECONDS))
+            .isTrue();
+    }
+
+    /**
+     * Tenant, usuário e MDC da thread atual.
+     */
+    private static List<Object> contextoAtual() {
+        return Arrays.asList(
+            TenantContext.getTenantIdOrNull(),
+            SecurityContextHolder.getContext().getAuthentication(),
+            MDC.getCopyOfContextMap());
+    }
+
+    private void definirContextoChamador() {
+        TenantContext.setTenantId(oficinaChamadora);
+        SecurityContextHolder.getContext().setAuthentication(usuarioChamador);
+        MDC.put("correlationId", "req-1");
+    }
+
+    private void definirContextoDoWorker() throws Exception {
+        worker.submit(() -> {
+            TenantContext.setTenantId(oficinaDoWorker);
+            SecurityContextHolder.getContext().setAuthentication(usuarioDoWorker);
+            MDC.put("correlationId", "job-1");
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void limpar() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    private static Authentication autenticacao(String email) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of());
+    }
+}
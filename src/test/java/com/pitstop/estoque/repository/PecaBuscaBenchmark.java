@@ -0,0 +1,199 @@
+package com.pitstop.estoque.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH da busca parcial de peças num catálogo de 200 mil peças por oficina, num PostgreSQL real
+ * (Testcontainers), com os índices trigram da V094.
+ *
+ * <ul>
+ *   <li>{@code filtroLower}: predicado antigo de {@code findByFilters} ({@code LOWER(col) LIKE LOWER(...)}),
+ *       que não usa índice</li>
+ *   <li>{@code filtroIlike}: predicado atual ({@code col ILIKE ...}, índice trigram)</li>
+ *   <li>{@code contagemIlike}: COUNT de {@code countByFilters} com o predicado atual</li>
+ *   <li>{@code sugestoes}: autocomplete ({@link PecaRepository#SQL_SUGESTOES})</li>
+ * </ul>
+ *
+ * <p>Os predicados têm a mesma forma do SQL gerado pelo Hibernate ({@code COALESCE(?, '') = '' OR ...}),
+ * com parâmetros vazios nas colunas não filtradas. Os planos ({@code EXPLAIN ANALYZE}) são impressos
+ * no setup; o driver passa a usar prepared statement no servidor após 5 execuções, então o
+ * benchmark também cobre a escolha entre plano genérico e customizado.
+ *
+ * <p>Execução (requer Docker): {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pitstop.estoque.repository.PecaBuscaBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PecaBuscaBenchmark {
+
+    private static final int PECAS = 200_000;
+    private static final int OFICINAS = 2;
+
+    private static final String SQL_FILTRO_LOWER = """
+            SELECT p.id, p.codigo, p.descricao FROM pecas p
+            WHERE p.oficina_id = :oficinaId
+            AND (COALESCE(:codigo, '') = '' OR p.codigo LIKE CONCAT('%', :codigo, '%'))
+            AND (COALESCE(:descricao, '') = '' OR LOWER(p.descricao) LIKE LOWER(CONCAT('%', :descricao, '%')))
+            AND (COALESCE(:marca, '') = '' OR LOWER(p.marca) LIKE LOWER(CONCAT('%', :marca, '%')))
+            ORDER BY p.descricao
+            LIMIT 21
+            """;
+
+    private static final String FILTROS_ILIKE = """
+            WHERE p.oficina_id = :oficinaId
+            AND (COALESCE(:codigo, '') = '' OR p.codigo LIKE CONCAT('%', :codigo, '%'))
+            AND (COALESCE(:descricao, '') = '' OR p.descricao ILIKE CONCAT('%', :descricao, '%'))
+            AND (COALESCE(:marca, '') = '' OR p.marca ILIKE CONCAT('%', :marca, '%'))
+            """;
+
+    private static final String SQL_FILTRO_ILIKE =
+            "SELECT p.id, p.codigo, p.descricao FROM pecas p " + FILTROS_ILIKE + " ORDER BY p.descricao LIMIT 21";
+
+    private static final String SQL_CONTAGEM_ILIKE = "SELECT COUNT(*) FROM pecas p " + FILTROS_ILIKE;
+
+    /**
+     * Texto buscado na descrição: raro (~1/1000 das peças da oficina) e comum (~1/12).
+     */
+    @Param({"amortecedor traseiro", "pastilha"})
+    public String descricao;
+
+    private PostgreSQLContainer<?> postgres;
+    private NamedParameterJdbcTemplate jdbc;
+    private MapSqlParameterSource filtro;
+    private MapSqlParameterSource sugestao;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+        postgres.start();
+        jdbc = new NamedParameterJdbcTemplate(
+                new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+
+        UUID oficinaId = popular();
+        filtro = new MapSqlParameterSource()
+                .addValue("oficinaId", oficinaId)
+                .addValue("codigo", "")
+                .addValue("descricao", descricao)
+                .addValue("marca", "");
+        String termo = descricao.split(" ")[0];
+        sugestao = new MapSqlParameterSource()
+                .addValue("oficinaId", oficinaId)
+                .addValue("termo", termo)
+                .addValue("padrao", "%" + termo + "%")
+                .addValue("prefixo", termo + "%")
+                .addValue("limite", 10);
+
+        explain("filtro LOWER", SQL_FILTRO_LOWER, filtro);
+        explain("filtro ILIKE", SQL_FILTRO_ILIKE, filtro);
+        explain("sugestões", PecaRepository.SQL_SUGESTOES, sugestao);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> filtroLower() {
+        return jdbc.queryForList(SQL_FILTRO_LOWER, filtro);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> filtroIlike() {
+        return jdbc.queryForList(SQL_FILTRO_ILIKE, filtro);
+    }
+
+    @Benchmark
+    public Long contagemIlike() {
+        return jdbc.queryForObject(SQL_CONTAGEM_ILIKE, filtro, Long.class);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sugestoes() {
+        return jdbc.queryForList(PecaRepository.SQL_SUGESTOES, sugestao);
+    }
+
+    /**
+     * Tabela mínima, {@value #PECAS} peças por oficina em {@value #OFICINAS} oficinas, e os índices da V094.
+     *
+     * @return ID da primeira oficina
+     */
+    private UUID popular() {
+        jdbc.getJdbcTemplate().execute("""
+                CREATE EXTENSION IF NOT EXISTS pg_trgm;
+                CREATE EXTENSION IF NOT EXISTS btree_gin;
+                CREATE TABLE pecas (
+                    id uuid PRIMARY KEY,
+                    oficina_id uuid NOT NULL,
+                    codigo varchar(50) NOT NULL,
+                    descricao varchar(500) NOT NULL,
+                    marca varchar(100),
+                    unidade_medida varchar(20) NOT NULL,
+                    quantidade_atual integer NOT NULL,
+                    valor_venda numeric(10, 2) NOT NULL,
+                    ativo boolean NOT NULL
+                );
+                CREATE TABLE bench_oficinas AS SELECT gen_random_uuid() AS id, g AS ordem FROM generate_series(1, %d) g;
+                """.formatted(OFICINAS));
+
+        jdbc.update("""
+                WITH nomes AS (
+                    SELECT ARRAY['Filtro de óleo', 'Filtro de ar', 'Pastilha de freio', 'Disco de freio',
+                                 'Vela de ignição', 'Correia dentada', 'Bomba d''água', 'Junta do cabeçote',
+                                 'Bieleta', 'Terminal de direção', 'Rolamento de roda', 'Lâmpada H4'] AS pecas,
+                           ARRAY['Bosch', 'Tecfil', 'Fras-le', 'NGK', 'Gates', 'Cofap', 'Nakata', 'SKF'] AS marcas,
+                           ARRAY['Gol 1.0', 'Onix 1.4', 'HB20 1.6', 'Civic 2.0', 'Corolla 1.8', 'Uno 1.0'] AS carros
+                )
+                INSERT INTO pecas (id, oficina_id, codigo, descricao, marca, unidade_medida,
+                                   quantidade_atual, valor_venda, ativo)
+                SELECT gen_random_uuid(), o.id,
+                       'PC-' || lpad(g::text, 6, '0'),
+                       CASE WHEN g % 1000 = 0 THEN 'Amortecedor traseiro ' || n.carros[1 + g % 6]
+                            ELSE n.pecas[1 + g % 12] || ' ' || n.carros[1 + (g / 12) % 6] || ' ref ' || g END,
+                       n.marcas[1 + g % 8],
+                       'UNIDADE', g % 40, 10 + (g % 500), g % 50 <> 0
+                FROM bench_oficinas o, generate_series(1, :pecas) g, nomes n
+                """, new MapSqlParameterSource("pecas", PECAS));
+
+        jdbc.getJdbcTemplate().execute("""
+                CREATE INDEX idx_pecas_oficina_codigo_trgm ON pecas USING GIN (oficina_id, codigo gin_trgm_ops);
+                CREATE INDEX idx_pecas_oficina_descricao_trgm ON pecas USING GIN (oficina_id, descricao gin_trgm_ops);
+                CREATE INDEX idx_pecas_oficina_marca_trgm ON pecas USING GIN (oficina_id, marca gin_trgm_ops);
+                CREATE INDEX idx_pecas_oficina_id ON pecas (oficina_id);
+                ANALYZE pecas;
+                """);
+
+        return jdbc.getJdbcTemplate().queryForObject("SELECT id FROM bench_oficinas WHERE ordem = 1", UUID.class);
+    }
+
+    private void explain(String titulo, String sql, MapSqlParameterSource params) {
+        System.out.printf("%n[%s]%n", titulo);
+        jdbc.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, params, String.class)
+                .forEach(System.out::println);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PecaBuscaBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -524,6 +524,41 @@ class EstoqueServiceTest {
         }
     }
 
+    // ==================== SUGESTOES ====================
+
+    @Nested
+    @DisplayName("sugerir()")
+    class Sugerir {
+
+        @Test
+        @DisplayName("Deve buscar com curingas escapados e limite maximo")
+        void deveBuscarComCuringasEscapados() {
+            // Arrange
+            UUID id = UUID.randomUUID();
+            List<Object[]> linhas = List.<Object[]>of(
+                    new Object[]{id, "FO_10%", "Filtro de oleo", "Fram", "UNIDADE", 5, new BigDecimal("39.90")});
+            when(pecaRepository.findSugestoes(OFICINA_ID, "FO_10%", "%FO\\_10\\%%", "FO\\_10\\%%", 20))
+                    .thenReturn(linhas);
+
+            // Act
+            var resultado = estoqueService.sugerir(" FO_10% ", 500);
+
+            // Assert
+            assertThat(resultado).hasSize(1);
+            assertThat(resultado.get(0).id()).isEqualTo(id);
+            assertThat(resultado.get(0).unidadeMedida()).isEqualTo(UnidadeMedida.UNIDADE);
+            assertThat(resultado.get(0).quantidadeAtual()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Deve retornar lista vazia para termo curto sem consultar o banco")
+        void deveRetornarVazioParaTermoCurto() {
+            assertThat(estoqueService.sugerir("fo", 10)).isEmpty();
+
+            verifyNoInteractions(pecaRepository);
+        }
+    }
+
     // ==================== LOCALIZACAO ====================
 
     @Nested
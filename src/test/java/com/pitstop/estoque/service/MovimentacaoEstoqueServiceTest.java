@@ -319,8 +319,8 @@ class MovimentacaoEstoqueServiceTest {
 
             ItemOS item = criarItemOS(pecaId, 2);
 
-            when(pecaRepository.findByOficinaIdAndId(OFICINA_ID, pecaId))
-                    .thenReturn(Optional.of(peca));
+            when(pecaRepository.findByOficinaIdAndIdIn(OFICINA_ID, List.of(pecaId)))
+                    .thenReturn(List.of(peca));
             when(pecaRepository.findByOficinaIdAndIdForUpdate(OFICINA_ID, pecaId))
                     .thenReturn(Optional.of(peca));
             when(pecaRepository.save(any(Peca.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -416,8 +416,8 @@ class MovimentacaoEstoqueServiceTest {
 
             ItemOS item = criarItemOS(pecaId, 5);
 
-            when(pecaRepository.findByOficinaIdAndId(OFICINA_ID, pecaId))
-                    .thenReturn(Optional.of(peca));
+            when(pecaRepository.findByOficinaIdAndIdIn(OFICINA_ID, List.of(pecaId)))
+                    .thenReturn(List.of(peca));
 
             // Act & Assert
             assertThatThrownBy(() -> movimentacaoService.baixarEstoquePorOS(
@@ -10,6 +10,8 @@ import com.pitstop.oficina.mapper.OficinaMapper;
 import com.pitstop.oficina.repository.OficinaRepository;
 import com.pitstop.cliente.domain.Endereco;
 import com.pitstop.oficina.domain.*;
+import com.pitstop.saas.service.FeatureFlagSnapshotService;
+import com.pitstop.shared.security.tenant.TenantAdmissionLimiter;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,6 +45,12 @@ class OficinaServiceTest {
     @Mock
     private OficinaMapper oficinaMapper;
 
+    @Mock
+    private FeatureFlagSnapshotService featureFlagSnapshotService;
+
+    @Mock
+    private TenantAdmissionLimiter tenantAdmissionLimiter;
+
     @InjectMocks
     private OficinaService oficinaService;
 
@@ -187,6 +195,7 @@ class OficinaServiceTest {
         assertThat(oficina.getPlano()).isEqualTo(PlanoAssinatura.PROFISSIONAL);
         assertThat(oficina.getValorMensalidade()).isEqualByComparingTo(new BigDecimal("199.90"));
         verify(oficinaRepository).save(oficina);
+        verify(featureFlagSnapshotService).invalidate();
     }
 
     @Test
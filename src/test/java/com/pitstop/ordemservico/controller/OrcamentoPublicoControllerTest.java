@@ -0,0 +1,195 @@
+package com.pitstop.ordemservico.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.anexo.service.AnexoService;
+import com.pitstop.cliente.repository.ClienteRepository;
+import com.pitstop.notificacao.service.NotificacaoEventPublisher;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.ordemservico.service.OrcamentoPublicoSnapshotService;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import com.pitstop.shared.security.RateLimitService;
+import com.pitstop.veiculo.repository.VeiculoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a consulta pública de orçamento (OrcamentoPublicoController).
+ *
+ * <p>Usa o OrcamentoPublicoSnapshotService real com o Redis fora: toda consulta monta o
+ * snapshot a partir do banco (mockado).</p>
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrcamentoPublicoController - Testes Unitários")
+class OrcamentoPublicoControllerTest {
+
+    private static final String TOKEN = "token-aprovacao";
+
+    @Mock
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Mock
+    private OficinaRepository oficinaRepository;
+
+    @Mock
+    private VeiculoRepository veiculoRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private NotificacaoEventPublisher notificacaoEventPublisher;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private AnexoService anexoService;
+
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private OrcamentoPublicoController controller;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisConnectionFactory.getConnection())
+                .thenThrow(new RedisConnectionFailureException("Redis fora"));
+        lenient().when(rateLimitService.isOrcamentoRequestAllowed(anyString())).thenReturn(true);
+
+        OrcamentoPublicoSnapshotService snapshotService = new OrcamentoPublicoSnapshotService(
+                redisConnectionFactory,
+                new RedisCircuitBreaker(new SimpleMeterRegistry(), true, 5, 500, 15),
+                ordemServicoRepository,
+                objectMapper);
+
+        controller = new OrcamentoPublicoController(
+                ordemServicoRepository, oficinaRepository, veiculoRepository, clienteRepository,
+                messagingTemplate, notificacaoEventPublisher, rateLimitService, anexoService, snapshotService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o orçamento com ETag, montado do banco com o Redis fora")
+    void deveRetornarOrcamentoComEtag() {
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os()));
+
+        ResponseEntity<?> response = controller.consultarOrcamento(TOKEN, null, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).startsWith("\"");
+        assertThat(response.getHeaders().getCacheControl()).contains("no-cache").contains("private");
+        assertThat((String) response.getBody()).contains("\"status\":\"ORCAMENTO\"");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 sem corpo quando o If-None-Match corresponder, com o Redis fora")
+    void deveRetornar304ComEtagCorrespondente() {
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os()));
+        String etag = controller.consultarOrcamento(TOKEN, null, request).getHeaders().getETag();
+
+        ResponseEntity<?> response = controller.consultarOrcamento(TOKEN, etag, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve retornar 200 quando o ETag do cliente for de outra versão")
+    void deveRetornar200ComEtagDiferente() {
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os()));
+
+        ResponseEntity<?> response = controller.consultarOrcamento(TOKEN, "\"outra-versao\"", request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve retornar TOKEN_EXPIRADO quando o token tiver expirado")
+    void deveRetornarTokenExpirado() {
+        OrdemServico os = os();
+        os.setTokenAprovacaoExpiracao(LocalDateTime.now().minusMinutes(1));
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os));
+
+        ResponseEntity<?> response = controller.consultarOrcamento(TOKEN, null, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat((Map<?, ?>) response.getBody()).containsEntry("erro", "TOKEN_EXPIRADO");
+        assertThat(response.getHeaders().getETag()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve retornar JA_APROVADO quando o orçamento já foi aprovado")
+    void deveRetornarJaAprovado() {
+        OrdemServico os = os();
+        os.setAprovadoPeloCliente(true);
+        os.setStatus(StatusOS.APROVADO);
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os));
+
+        ResponseEntity<?> response = controller.consultarOrcamento(TOKEN, null, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((String) response.getBody()).contains("\"status\":\"JA_APROVADO\"");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 quando nenhuma OS tiver o token")
+    void deveRetornar404SemOs() {
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = controller.consultarOrcamento(TOKEN, null, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 429 sem consultar o orçamento quando o limite de requisições estourar")
+    void deveRetornar429ComRateLimit() {
+        when(rateLimitService.isOrcamentoRequestAllowed(anyString())).thenReturn(false);
+
+        ResponseEntity<?> response = controller.consultarOrcamento(TOKEN, null, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        verifyNoInteractions(ordemServicoRepository);
+    }
+
+    private static OrdemServico os() {
+        return OrdemServico.builder()
+                .id(UUID.randomUUID())
+                .numero(1001L)
+                .status(StatusOS.ORCAMENTO)
+                .tokenAprovacao(TOKEN)
+                .tokenAprovacaoExpiracao(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.pitstop.ordemservico.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH da busca textual de OS ({@link OrdemServicoRepository#SQL_BUSCA_TEXTO}) contra o
+ * {@code ILIKE} que ela substitui, num PostgreSQL real (Testcontainers).
+ *
+ * <ul>
+ *   <li>{@code termoRaro}: poucas OS com o termo (índice GIN seleciona quase nada)</li>
+ *   <li>{@code termoComum}: termo presente em boa parte das OS (custo dominado pelo ranking)</li>
+ *   <li>{@code segundaPagina}: mesma busca com cursor (keyset em relevância + id)</li>
+ *   <li>{@code ilikeBaseline}: {@code ILIKE '%termo%'} nas três colunas, sem índice</li>
+ * </ul>
+ *
+ * <p>A oficina medida tem {@code osPorOficina} OS; a tabela tem 10 oficinas. Os planos
+ * ({@code EXPLAIN ANALYZE}) são impressos no setup.
+ *
+ * <p>Execução (requer Docker): {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pitstop.ordemservico.repository.OrdemServicoBuscaBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrdemServicoBuscaBenchmark {
+
+    private static final String OPCOES_DESTAQUE = "StartSel=<b>, StopSel=</b>, MaxFragments=2, MaxWords=18, MinWords=6";
+    private static final int LIMITE = 21;
+
+    private static final String SQL_ILIKE = """
+        SELECT os.id, os.numero, os.status, os.data_abertura
+        FROM ordem_servico os
+        WHERE os.oficina_id = :oficinaId
+        AND (os.problemas_relatados ILIKE :padrao OR os.diagnostico ILIKE :padrao OR os.observacoes ILIKE :padrao)
+        ORDER BY os.data_abertura DESC, os.id DESC
+        LIMIT :limite
+        """;
+
+    @Param({"100000"})
+    public int osPorOficina;
+
+    private PostgreSQLContainer<?> postgres;
+    private NamedParameterJdbcTemplate jdbc;
+    private UUID oficinaId;
+    private Float cursorRelevancia;
+    private UUID cursorId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+        postgres.start();
+        jdbc = new NamedParameterJdbcTemplate(
+            new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+
+        criarSchema();
+        oficinaId = popular();
+
+        // Posição da segunda página do termo comum
+        List<Map<String, Object>> primeira = jdbc.queryForList(OrdemServicoRepository.SQL_BUSCA_TEXTO, buscar("barulho", null, null));
+        Map<String, Object> ultima = primeira.get(primeira.size() - 2);
+        cursorRelevancia = ((Number) ultima.get("relevancia")).floatValue();
+        cursorId = (UUID) ultima.get("id");
+
+        explain("termo raro", buscar("superaquecimento junta", null, null));
+        explain("termo comum", buscar("barulho", null, null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> termoRaro() {
+        return jdbc.queryForList(OrdemServicoRepository.SQL_BUSCA_TEXTO, buscar("superaquecimento junta", null, null));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> termoComum() {
+        return jdbc.queryForList(OrdemServicoRepository.SQL_BUSCA_TEXTO, buscar("barulho", null, null));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> segundaPagina() {
+        return jdbc.queryForList(OrdemServicoRepository.SQL_BUSCA_TEXTO, buscar("barulho", cursorRelevancia, cursorId));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> ilikeBaseline() {
+        return jdbc.queryForList(SQL_ILIKE, new MapSqlParameterSource()
+            .addValue("oficinaId", oficinaId)
+            .addValue("padrao", "%superaquec%")
+            .addValue("limite", LIMITE));
+    }
+
+    private MapSqlParameterSource buscar(String termo, Float relevancia, UUID id) {
+        return new MapSqlParameterSource()
+            .addValue("oficinaId", oficinaId)
+            .addValue("termo", termo)
+            .addValue("opcoesDestaque", OPCOES_DESTAQUE)
+            .addValue("cursorRelevancia", relevancia, java.sql.Types.REAL)
+            .addValue("cursorId", id, java.sql.Types.OTHER)
+            .addValue("limite", LIMITE);
+    }
+
+    /**
+     * Tabelas mínimas e o mesmo DDL da migração V093.
+     */
+    private void criarSchema() {
+        jdbc.getJdbcTemplate().execute("""
+            CREATE EXTENSION IF NOT EXISTS unaccent;
+            CREATE EXTENSION IF NOT EXISTS btree_gin;
+            CREATE TEXT SEARCH CONFIGURATION pitstop_pt (COPY = pg_catalog.portuguese);
+            ALTER TEXT SEARCH CONFIGURATION pitstop_pt
+                ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+
+            CREATE TABLE clientes (id uuid PRIMARY KEY, nome varchar(150) NOT NULL);
+            CREATE TABLE veiculos (id uuid PRIMARY KEY, cliente_id uuid NOT NULL, placa varchar(10) NOT NULL);
+            CREATE TABLE ordem_servico (
+                id uuid PRIMARY KEY,
+                oficina_id uuid NOT NULL,
+                numero bigint NOT NULL,
+                status varchar(30) NOT NULL,
+                data_abertura timestamp NOT NULL,
+                veiculo_id uuid NOT NULL,
+                problemas_relatados text,
+                diagnostico text,
+                observacoes text,
+                busca tsvector GENERATED ALWAYS AS (
+                    setweight(to_tsvector('pitstop_pt', COALESCE(problemas_relatados, '')), 'A') ||
+                    setweight(to_tsvector('pitstop_pt', COALESCE(diagnostico, '')), 'B') ||
+                    setweight(to_tsvector('pitstop_pt', COALESCE(observacoes, '')), 'C')
+                ) STORED
+            );
+            """);
+    }
+
+    /**
+     * 10 oficinas com {@code osPorOficina} OS cada. "barulho" aparece em ~1/4 das OS,
+     * "superaquecimento" + "junta" em ~1/2000.
+     *
+     * @return ID da primeira oficina
+     */
+    private UUID popular() {
+        jdbc.getJdbcTemplate().execute("""
+            INSERT INTO clientes (id, nome)
+            SELECT gen_random_uuid(), 'Cliente ' || g FROM generate_series(1, 1000) g;
+            INSERT INTO veiculos (id, cliente_id, placa)
+            SELECT gen_random_uuid(), c.id, 'ABC' || lpad(row_number() OVER ()::text, 4, '0') FROM clientes c;
+            CREATE TABLE bench_oficinas AS SELECT gen_random_uuid() AS id, g AS ordem FROM generate_series(1, 10) g;
+            """);
+
+        jdbc.update("""
+            WITH frases AS (
+                SELECT ARRAY[
+                    'Cliente relata barulho no freio dianteiro ao frear',
+                    'Luz da injeção acesa e motor falhando em marcha lenta',
+                    'Ar condicionado não gela, possível vazamento de gás',
+                    'Troca de óleo e filtros conforme revisão dos 30 mil km',
+                    'Embreagem patinando em subidas, pedal alto',
+                    'Barulho na suspensão dianteira em buracos',
+                    'Direção puxando para a direita, verificar alinhamento',
+                    'Bateria descarregando durante a noite'
+                ] AS problemas,
+                ARRAY[
+                    'Pastilhas gastas, disco com sulcos',
+                    'Bobina de ignição do cilindro 2 com defeito',
+                    'Bieleta e bucha da bandeja com folga',
+                    'Sem anomalias além do desgaste normal',
+                    'Kit de embreagem no fim da vida útil'
+                ] AS diagnosticos
+            ), v AS (
+                SELECT array_agg(id) AS ids FROM veiculos
+            )
+            INSERT INTO ordem_servico (id, oficina_id, numero, status, data_abertura, veiculo_id,
+                                       problemas_relatados, diagnostico, observacoes)
+            SELECT gen_random_uuid(), o.id, g, 'ENTREGUE',
+                   now() - (g || ' minutes')::interval,
+                   v.ids[1 + (g % 1000)],
+                   CASE WHEN g % 2000 = 0
+                        THEN 'Superaquecimento do motor, ponteiro no vermelho'
+                        ELSE f.problemas[1 + (g % 8)] END,
+                   CASE WHEN g % 2000 = 0
+                        THEN 'Junta do cabeçote queimada, água no óleo'
+                        ELSE f.diagnosticos[1 + (g % 5)] END,
+                   CASE WHEN g % 3 = 0 THEN 'Cliente aguarda na recepção' END
+            FROM bench_oficinas o, generate_series(1, :osPorOficina) g, frases f, v
+            """, new MapSqlParameterSource("osPorOficina", osPorOficina));
+
+        jdbc.getJdbcTemplate().execute("""
+            CREATE INDEX idx_ordem_servico_oficina_busca ON ordem_servico USING GIN (oficina_id, busca);
+            ANALYZE clientes;
+            ANALYZE veiculos;
+            ANALYZE ordem_servico;
+            """);
+
+        return jdbc.getJdbcTemplate().queryForObject("SELECT id FROM bench_oficinas WHERE ordem = 1", UUID.class);
+    }
+
+    private void explain(String titulo, MapSqlParameterSource params) {
+        System.out.printf("%n[%s]%n", titulo);
+        jdbc.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + OrdemServicoRepository.SQL_BUSCA_TEXTO, params, String.class)
+            .forEach(System.out::println);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OrdemServicoBuscaBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,259 @@
+package com.pitstop.ordemservico.repository;
+
+import com.pitstop.cliente.domain.Cliente;
+import com.pitstop.cliente.domain.TipoCliente;
+import com.pitstop.config.JpaConfig;
+import com.pitstop.oficina.domain.Contato;
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.oficina.domain.TipoPessoa;
+import com.pitstop.ordemservico.domain.ItemOS;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.TipoItem;
+import com.pitstop.shared.security.tenant.TenantContext;
+import com.pitstop.usuario.domain.PerfilUsuario;
+import com.pitstop.usuario.domain.Usuario;
+import com.pitstop.veiculo.domain.Veiculo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da query de detalhe da OS.
+ *
+ * <p>Garante que OS, itens, veículo, mecânico e cliente são carregados com um único
+ * statement SQL (sem N+1 nem lazy loading posterior), e que a versão do PDF (chave do cache de
+ * PDF) muda quando qualquer dado impresso é alterado.</p>
+ *
+ * @author PitStop Team
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Testcontainers
+@DisplayName("OrdemServicoRepository - Query de detalhe")
+class OrdemServicoDetalheQueryIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+        DockerImageName.parse("postgres:16-alpine"))
+        .withDatabaseName("pitstop_test")
+        .withUsername("test_user")
+        .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private OrdemServicoRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Oficina oficina;
+    private OrdemServico os;
+
+    @BeforeEach
+    void setUp() {
+        oficina = Oficina.builder()
+            .nomeFantasia("Oficina Detalhe")
+            .razaoSocial("Oficina Detalhe LTDA")
+            .tipoPessoa(TipoPessoa.PESSOA_JURIDICA)
+            .cnpjCpf("11222333000181")
+            .nomeResponsavel("Responsavel Teste")
+            .contato(Contato.builder()
+                .telefoneCelular("(11) 99999-0000")
+                .email("oficina@detalhe.com")
+                .build())
+            .build();
+        entityManager.persist(oficina);
+        TenantContext.setTenantIdUnsafe(oficina.getId());
+
+        Cliente cliente = Cliente.builder()
+            .tipo(TipoCliente.PESSOA_FISICA)
+            .nome("Cliente Detalhe")
+            .cpfCnpj("529.982.247-25")
+            .oficina(oficina)
+            .build();
+        entityManager.persist(cliente);
+
+        Veiculo veiculo = Veiculo.builder()
+            .clienteId(cliente.getId())
+            .placa("ABC1D23")
+            .marca("Fiat")
+            .modelo("Uno")
+            .ano(2020)
+            .oficina(oficina)
+            .build();
+        entityManager.persist(veiculo);
+
+        Usuario mecanico = Usuario.builder()
+            .nome("Mecanico Detalhe")
+            .email("mecanico@detalhe.com")
+            .senha("$2a$10$hash")
+            .perfil(PerfilUsuario.MECANICO)
+            .oficina(oficina)
+            .build();
+        entityManager.persist(mecanico);
+
+        os = OrdemServico.builder()
+            .numero(1L)
+            .veiculoId(veiculo.getId())
+            .usuarioId(mecanico.getId())
+            .problemasRelatados("Barulho ao frear")
+            .oficina(oficina)
+            .build();
+        os.adicionarItem(item("Troca de pastilhas"));
+        os.adicionarItem(item("Alinhamento"));
+        entityManager.persist(os);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve carregar OS, itens, veiculo, mecanico e cliente com um unico statement")
+    void deveCarregarDetalheComUmUnicoStatement() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<Object[]> detalhe = repository.findDetalheByOficinaIdAndId(oficina.getId(), os.getId());
+
+        Object[] linha = detalhe.get(0);
+        OrdemServico carregada = (OrdemServico) linha[0];
+        int itens = carregada.getItens().size();
+        String placa = ((Veiculo) linha[1]).getPlaca();
+        String mecanico = ((Usuario) linha[2]).getNome();
+        String cliente = ((Cliente) linha[3]).getNome();
+
+        // Assert
+        assertThat(detalhe).isNotEmpty();
+        assertThat(itens).isEqualTo(2);
+        assertThat(placa).isEqualTo("ABC1D23");
+        assertThat(mecanico).isEqualTo("Mecanico Detalhe");
+        assertThat(cliente).isEqualTo("Cliente Detalhe");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio para OS de outra oficina")
+    void deveRetornarVazioParaOutraOficina() {
+        // Act
+        List<Object[]> detalhe = repository.findDetalheByOficinaIdAndId(UUID.randomUUID(), os.getId());
+
+        // Assert
+        assertThat(detalhe).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve mover a versao do PDF quando o cliente for alterado")
+    void deveMoverVersaoPdfAoAlterarCliente() {
+        // Arrange
+        LocalDateTime antes = versaoPdf();
+
+        // Act
+        alterar("clientes", "oficina_id", antes.plusMinutes(1));
+
+        // Assert
+        assertThat(versaoPdf()).isAfter(antes);
+    }
+
+    @Test
+    @DisplayName("Deve mover a versao do PDF quando o veiculo for alterado")
+    void deveMoverVersaoPdfAoAlterarVeiculo() {
+        // Arrange
+        LocalDateTime antes = versaoPdf();
+
+        // Act
+        alterar("veiculos", "oficina_id", antes.plusMinutes(1));
+
+        // Assert
+        assertThat(versaoPdf()).isAfter(antes);
+    }
+
+    @Test
+    @DisplayName("Deve mover a versao do PDF quando a oficina for alterada")
+    void deveMoverVersaoPdfAoAlterarOficina() {
+        // Arrange
+        LocalDateTime antes = versaoPdf();
+
+        // Act
+        alterar("oficinas", "id", antes.plusMinutes(1));
+
+        // Assert
+        assertThat(versaoPdf()).isAfter(antes);
+    }
+
+    @Test
+    @DisplayName("Deve mover a versao do PDF quando o mecanico for alterado")
+    void deveMoverVersaoPdfAoAlterarMecanico() {
+        // Arrange
+        LocalDateTime antes = versaoPdf();
+
+        // Act
+        alterar("usuarios", "oficina_id", antes.plusMinutes(1));
+
+        // Assert
+        assertThat(versaoPdf()).isAfter(antes);
+    }
+
+    private LocalDateTime versaoPdf() {
+        return repository.findVersaoPdfByOficinaIdAndId(oficina.getId(), os.getId()).orElseThrow();
+    }
+
+    /**
+     * Avança o updated_at das linhas da tabela ligadas à oficina.
+     */
+    private void alterar(String tabela, String colunaOficina, LocalDateTime updatedAt) {
+        entityManager.createNativeQuery(
+                "UPDATE " + tabela + " SET updated_at = :updatedAt WHERE " + colunaOficina + " = :oficinaId")
+            .setParameter("updatedAt", updatedAt)
+            .setParameter("oficinaId", oficina.getId())
+            .executeUpdate();
+    }
+
+    private ItemOS item(String descricao) {
+        return ItemOS.builder()
+            .tipo(TipoItem.SERVICO)
+            .descricao(descricao)
+            .quantidade(1)
+            .valorUnitario(new BigDecimal("100.00"))
+            .oficina(oficina)
+            .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.pitstop.ordemservico.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testa a gravação condicional dos snapshots de orçamento público (script Lua) num Redis real.
+ *
+ * @author PitStop Team
+ */
+@Testcontainers
+@DisplayName("OrcamentoPublicoSnapshotService - Redis")
+class OrcamentoPublicoSnapshotRedisIntegrationTest {
+
+    private static final String TOKEN = "token-aprovacao";
+    private static final String KEY = "orcamento:publico:" + TOKEN;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(
+        DockerImageName.parse("redis:7-alpine"))
+        .withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final OrdemServicoRepository ordemServicoRepository = mock(OrdemServicoRepository.class);
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, byte[]> redisTemplate;
+    private OrcamentoPublicoSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.delete(KEY);
+
+        service = new OrcamentoPublicoSnapshotService(redisTemplate, ordemServicoRepository, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve substituir o snapshot por outro de versão mais nova")
+    void deveSubstituirPorVersaoMaisNova() throws Exception {
+        reconstruir(os(1, StatusOS.ORCAMENTO));
+        reconstruir(os(2, StatusOS.APROVADO));
+
+        assertThat(guardado().versao()).isEqualTo(2);
+        assertThat(guardado().corpo()).contains("\"status\":\"APROVADO\"");
+    }
+
+    @Test
+    @DisplayName("Não deve substituir o snapshot por outro de versão mais antiga")
+    void naoDeveSubstituirPorVersaoMaisAntiga() throws Exception {
+        reconstruir(os(2, StatusOS.APROVADO));
+        reconstruir(os(1, StatusOS.ORCAMENTO));
+
+        assertThat(guardado().versao()).isEqualTo(2);
+        assertThat(guardado().corpo()).contains("\"status\":\"APROVADO\"");
+    }
+
+    @Test
+    @DisplayName("Deve gravar com o TTL da expiração do token")
+    void deveGravarComTtlDoToken() {
+        reconstruir(os(1, StatusOS.ORCAMENTO));
+
+        Long ttl = redisTemplate.getExpire(KEY);
+        assertThat(ttl).isPositive().isLessThanOrEqualTo(24 * 60 * 60L);
+    }
+
+    @Test
+    @DisplayName("Deve substituir um snapshot ilegível")
+    void deveSubstituirSnapshotIlegivel() throws Exception {
+        redisTemplate.opsForValue().set(KEY, "lixo".getBytes());
+
+        reconstruir(os(1, StatusOS.ORCAMENTO));
+
+        assertThat(guardado().versao()).isEqualTo(1);
+    }
+
+    private void reconstruir(OrdemServico os) {
+        when(ordemServicoRepository.findComItensByIdIn(any())).thenReturn(List.of(os));
+        service.agendarReconstrucao(os);
+    }
+
+    private OrcamentoPublicoSnapshot guardado() throws Exception {
+        return objectMapper.readValue(
+                Optional.ofNullable(redisTemplate.opsForValue().get(KEY)).orElseThrow(),
+                OrcamentoPublicoSnapshot.class);
+    }
+
+    private static OrdemServico os(int versao, StatusOS status) {
+        return OrdemServico.builder()
+                .id(UUID.randomUUID())
+                .numero(1001L)
+                .status(status)
+                .tokenAprovacao(TOKEN)
+                .tokenAprovacaoExpiracao(LocalDateTime.now().plusDays(1))
+                .version(versao)
+                .build();
+    }
+}
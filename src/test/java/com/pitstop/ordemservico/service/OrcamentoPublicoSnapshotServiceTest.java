@@ -0,0 +1,251 @@
+package com.pitstop.ordemservico.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para OrcamentoPublicoSnapshotService.
+ *
+ * <p>O Redis é um mapa em memória; o script de gravação condicional é emulado (grava só se o
+ * snapshot guardado não for de versão mais nova).</p>
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrcamentoPublicoSnapshotService - Testes Unitários")
+class OrcamentoPublicoSnapshotServiceTest {
+
+    private static final String TOKEN = "token-aprovacao";
+    private static final String KEY = "orcamento:publico:" + TOKEN;
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    @Mock
+    private OrdemServicoRepository ordemServicoRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<String, byte[]> redis = new HashMap<>();
+
+    private OrcamentoPublicoSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    String key = inv.<List<String>>getArgument(1).get(0);
+                    long versao = Long.parseLong(new String(inv.<byte[]>getArgument(2), StandardCharsets.UTF_8));
+                    byte[] atual = redis.get(key);
+                    if (atual != null && objectMapper.readValue(atual, OrcamentoPublicoSnapshot.class).versao() > versao) {
+                        return 0L;
+                    }
+                    redis.put(key, inv.getArgument(3));
+                    return 1L;
+                });
+
+        service = new OrcamentoPublicoSnapshotService(redisTemplate, ordemServicoRepository, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve servir o snapshot do Redis sem acessar o banco")
+    void deveServirDoRedisSemAcessarBanco() throws Exception {
+        OrcamentoPublicoSnapshot guardado = new OrcamentoPublicoSnapshot(
+                "\"etag\"", LocalDateTime.now().plusDays(1), "{\"numero\":1}", 3);
+        redis.put(KEY, objectMapper.writeValueAsBytes(guardado));
+
+        Optional<OrcamentoPublicoSnapshot> snapshot = service.buscar(TOKEN);
+
+        assertThat(snapshot).contains(guardado);
+        verifyNoInteractions(ordemServicoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve montar do banco e guardar com a versão da OS quando não estiver no Redis")
+    void deveMontarDoBancoEGuardarComVersao() throws Exception {
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os(7)));
+
+        OrcamentoPublicoSnapshot snapshot = service.buscar(TOKEN).orElseThrow();
+
+        assertThat(snapshot.versao()).isEqualTo(7);
+        assertThat(snapshot.etag()).startsWith("\"").endsWith("\"");
+        assertThat(objectMapper.readValue(redis.get(KEY), OrcamentoPublicoSnapshot.class)).isEqualTo(snapshot);
+    }
+
+    @Test
+    @DisplayName("Não deve substituir um snapshot de versão mais nova por um mais antigo")
+    void naoDeveSubstituirVersaoMaisNova() throws Exception {
+        OrcamentoPublicoSnapshot novo = new OrcamentoPublicoSnapshot(
+                "\"novo\"", LocalDateTime.now().plusDays(1), "{\"numero\":1}", 8);
+        redis.put(KEY, objectMapper.writeValueAsBytes(novo));
+        when(ordemServicoRepository.findComItensByIdIn(any())).thenReturn(List.of(os(7)));
+
+        // Reconstrução atrasada, com a OS lida antes do último commit
+        service.agendarReconstrucao(os(7));
+
+        assertThat(objectMapper.readValue(redis.get(KEY), OrcamentoPublicoSnapshot.class)).isEqualTo(novo);
+    }
+
+    @Test
+    @DisplayName("Deve passar a versão da OS e o TTL em milissegundos ao script de gravação")
+    void devePassarVersaoETtlAoScript() {
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os(4)));
+
+        service.buscar(TOKEN);
+
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), args.capture(), args.capture(), args.capture());
+        assertThat(new String((byte[]) args.getAllValues().get(0), StandardCharsets.UTF_8)).isEqualTo("4");
+        assertThat(Long.parseLong(new String((byte[]) args.getAllValues().get(2), StandardCharsets.UTF_8)))
+                .isPositive()
+                .isLessThanOrEqualTo(24 * 60 * 60 * 1000L);
+    }
+
+    @Test
+    @DisplayName("Deve montar do banco quando o Redis estiver fora")
+    void deveMontarDoBancoComRedisFora() {
+        doThrow(new RedisConnectionFailureException("Redis fora")).when(valueOperations).get(anyString());
+        doThrow(new RedisConnectionFailureException("Redis fora"))
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), any(), any(), any());
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os(1)));
+
+        Optional<OrcamentoPublicoSnapshot> snapshot = service.buscar(TOKEN);
+
+        assertThat(snapshot).isPresent();
+        assertThat(snapshot.get().corpo()).contains("\"status\":\"ORCAMENTO\"");
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio quando nenhuma OS tiver o token")
+    void deveRetornarVazioSemOs() {
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.empty());
+
+        assertThat(service.buscar(TOKEN)).isEmpty();
+        assertThat(redis).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve montar só a confirmação quando o orçamento já foi aprovado")
+    void deveMontarJaAprovado() throws Exception {
+        OrdemServico os = os(2);
+        os.setAprovadoPeloCliente(true);
+        os.setStatus(StatusOS.APROVADO);
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os));
+
+        OrcamentoPublicoSnapshot snapshot = service.buscar(TOKEN).orElseThrow();
+
+        Map<?, ?> corpo = objectMapper.readValue(snapshot.corpo(), Map.class);
+        assertThat(corpo.get("status")).isEqualTo("JA_APROVADO");
+        assertThat(corpo).doesNotContainKey("itens");
+    }
+
+    @Test
+    @DisplayName("Não deve guardar snapshot de token expirado")
+    void naoDeveGuardarTokenExpirado() {
+        OrdemServico os = os(1);
+        os.setTokenAprovacaoExpiracao(LocalDateTime.now().minusMinutes(1));
+        when(ordemServicoRepository.findComItensByTokenAprovacao(TOKEN)).thenReturn(Optional.of(os));
+
+        OrcamentoPublicoSnapshot snapshot = service.buscar(TOKEN).orElseThrow();
+
+        assertThat(snapshot.expirado()).isTrue();
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir uma vez, após o commit, as OS alteradas na mesma transação")
+    void deveAgruparReconstrucaoNaTransacao() {
+        OrdemServico os = os(3);
+        OrdemServico outra = os(5);
+        outra.setTokenAprovacao("outro-token");
+        when(ordemServicoRepository.findComItensByIdIn(any())).thenReturn(List.of(os, outra));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.agendarReconstrucao(os);
+        service.agendarReconstrucao(os);
+        service.agendarReconstrucao(outra);
+
+        verifyNoInteractions(ordemServicoRepository);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(ordemServicoRepository, times(1)).findComItensByIdIn(ids.capture());
+        assertThat(ids.getValue()).containsExactly(os.getId(), outra.getId());
+        assertThat(redis).containsKeys(KEY, "orcamento:publico:outro-token");
+        assertThat(TransactionSynchronizationManager.getResource(service)).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve agendar OS sem token de aprovação ativo")
+    void naoDeveAgendarOsSemTokenAtivo() {
+        OrdemServico semToken = os(1);
+        semToken.setTokenAprovacao(null);
+        OrdemServico expirada = os(1);
+        expirada.setTokenAprovacaoExpiracao(LocalDateTime.now().minusMinutes(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.agendarReconstrucao(semToken);
+        service.agendarReconstrucao(expirada);
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verifyNoInteractions(ordemServicoRepository);
+    }
+
+    private static OrdemServico os(int versao) {
+        return OrdemServico.builder()
+                .id(UUID.randomUUID())
+                .numero(1001L)
+                .status(StatusOS.ORCAMENTO)
+                .tokenAprovacao(TOKEN)
+                .tokenAprovacaoExpiracao(LocalDateTime.now().plusDays(1))
+                .version(versao)
+                .build();
+    }
+}
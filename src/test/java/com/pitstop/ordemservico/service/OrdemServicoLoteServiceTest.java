@@ -0,0 +1,294 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.cliente.domain.Cliente;
+import com.pitstop.cliente.domain.TipoCliente;
+import com.pitstop.cliente.repository.ClienteRepository;
+import com.pitstop.financeiro.repository.PagamentoRepository;
+import com.pitstop.notificacao.event.OrdemServicoEvent;
+import com.pitstop.notificacao.service.NotificacaoEventPublisher;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.exception.OrdemServicoNaoPagaException;
+import com.pitstop.ordemservico.exception.OrdemServicoNotFoundException;
+import com.pitstop.ordemservico.exception.TransicaoStatusInvalidaException;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.shared.security.tenant.TenantContext;
+import com.pitstop.usuario.repository.UsuarioRepository;
+import com.pitstop.veiculo.domain.Veiculo;
+import com.pitstop.veiculo.repository.VeiculoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para OrdemServicoLoteService.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrdemServicoLoteService - Testes Unitários")
+class OrdemServicoLoteServiceTest {
+
+    @Mock
+    private OrdemServicoRepository repository;
+
+    @Mock
+    private VeiculoRepository veiculoRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private OficinaRepository oficinaRepository;
+
+    @Mock
+    private PagamentoRepository pagamentoRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private NotificacaoEventPublisher notificacaoEventPublisher;
+
+    @Mock
+    private AsyncPdfMailService asyncPdfMailService;
+
+    @Mock
+    private OrcamentoPublicoSnapshotService snapshotService;
+
+    @InjectMocks
+    private OrdemServicoLoteService loteService;
+
+    private static final UUID OFICINA_ID = UUID.randomUUID();
+    private static final UUID VEICULO_ID = UUID.randomUUID();
+    private static final UUID CLIENTE_ID = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantIdUnsafe(OFICINA_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve entregar todas as OS com um batch por tabela e um único lote de notificações")
+    @SuppressWarnings("unchecked")
+    void deveEntregarTodasComBatchUnico() {
+        // Arrange
+        OrdemServico os1 = createOS(1L, StatusOS.FINALIZADO);
+        OrdemServico os2 = createOS(2L, StatusOS.FINALIZADO);
+        List<UUID> ids = List.of(os1.getId(), os2.getId());
+        when(repository.findParaTransicaoByOficinaIdAndIdIn(OFICINA_ID, ids)).thenReturn(List.of(os2, os1));
+        when(pagamentoRepository.findOrdemServicoIdsNaoQuitadas(OFICINA_ID, ids)).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenReturn(new int[] {1, 1});
+        when(veiculoRepository.findByOficinaIdAndIdIn(OFICINA_ID, List.of(VEICULO_ID))).thenReturn(List.of(createVeiculo()));
+        when(clienteRepository.findByOficinaIdAndIdIn(OFICINA_ID, List.of(CLIENTE_ID))).thenReturn(List.of(createCliente()));
+        when(oficinaRepository.findById(OFICINA_ID)).thenReturn(Optional.empty());
+
+        // Act
+        loteService.entregar(ids);
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> atualizacoes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("UPDATE ordem_servico"), atualizacoes.capture(), any(int[].class));
+        assertThat(atualizacoes.getValue()).hasSize(2)
+            .allSatisfy(linha -> assertThat(linha[0]).isEqualTo("ENTREGUE"));
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO historico_status_os"), anyList(), any(int[].class));
+
+        ArgumentCaptor<List<OrdemServicoEvent>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(notificacaoEventPublisher).publicarLote(eventos.capture());
+        assertThat(eventos.getValue()).extracting(OrdemServicoEvent::getNumeroOS).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nada se alguma transição for inválida")
+    void naoDeveGravarComTransicaoInvalida() {
+        // Arrange
+        OrdemServico valida = createOS(1L, StatusOS.EM_ANDAMENTO);
+        OrdemServico invalida = createOS(2L, StatusOS.ORCAMENTO);
+        List<UUID> ids = List.of(valida.getId(), invalida.getId());
+        when(repository.findParaTransicaoByOficinaIdAndIdIn(OFICINA_ID, ids)).thenReturn(List.of(valida, invalida));
+
+        // Act & Assert
+        assertThatThrownBy(() -> loteService.finalizar(ids))
+            .isInstanceOf(TransicaoStatusInvalidaException.class)
+            .hasMessageContaining("OS #2");
+        verify(applicationEventPublisher, never()).publishEvent(any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(int[].class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar aprovação em lote sem aprovação do cliente, sem gravar histórico nem notificar")
+    void deveRecusarAprovacaoSemAprovacaoDoCliente() {
+        // Arrange
+        OrdemServico os = createOS(1L, StatusOS.ORCAMENTO);
+        List<UUID> ids = List.of(os.getId());
+
+        // Act & Assert
+        assertThatThrownBy(() -> loteService.aprovar(ids, false))
+            .isInstanceOf(TransicaoStatusInvalidaException.class)
+            .hasMessageContaining("aprovação do cliente");
+        assertThat(os.getStatus()).isEqualTo(StatusOS.ORCAMENTO);
+        verifyNoInteractions(repository, jdbcTemplate, notificacaoEventPublisher, snapshotService);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando alguma OS não existir na oficina")
+    void deveLancarExcecaoQuandoOSNaoExistir() {
+        // Arrange
+        OrdemServico os = createOS(1L, StatusOS.APROVADO);
+        List<UUID> ids = List.of(os.getId(), UUID.randomUUID());
+        when(repository.findParaTransicaoByOficinaIdAndIdIn(OFICINA_ID, ids)).thenReturn(List.of(os));
+
+        // Act & Assert
+        assertThatThrownBy(() -> loteService.iniciar(ids))
+            .isInstanceOf(OrdemServicoNotFoundException.class);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(int[].class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar entrega em lote se alguma OS não estiver quitada")
+    void deveRecusarEntregaComOSNaoQuitada() {
+        // Arrange
+        OrdemServico quitada = createOS(1L, StatusOS.FINALIZADO);
+        OrdemServico pendente = createOS(2L, StatusOS.FINALIZADO);
+        List<UUID> ids = List.of(quitada.getId(), pendente.getId());
+        when(repository.findParaTransicaoByOficinaIdAndIdIn(OFICINA_ID, ids)).thenReturn(List.of(quitada, pendente));
+        when(pagamentoRepository.findOrdemServicoIdsNaoQuitadas(OFICINA_ID, ids)).thenReturn(List.of(pendente.getId()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> loteService.entregar(ids))
+            .isInstanceOf(OrdemServicoNaoPagaException.class)
+            .hasMessageContaining("#2");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(int[].class));
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o lote se alguma OS foi alterada por outra operação")
+    void deveFalharComVersaoDesatualizada() {
+        // Arrange
+        OrdemServico os1 = createOS(1L, StatusOS.ORCAMENTO);
+        OrdemServico os2 = createOS(2L, StatusOS.ORCAMENTO);
+        List<UUID> ids = List.of(os1.getId(), os2.getId());
+        when(repository.findParaTransicaoByOficinaIdAndIdIn(OFICINA_ID, ids)).thenReturn(List.of(os1, os2));
+        when(jdbcTemplate.batchUpdate(contains("UPDATE ordem_servico"), anyList(), any(int[].class)))
+            .thenReturn(new int[] {1, 0});
+
+        // Act & Assert
+        assertThatThrownBy(() -> loteService.aprovar(ids, true))
+            .isInstanceOf(TransicaoStatusInvalidaException.class)
+            .hasMessageContaining("OS #2");
+        verify(jdbcTemplate, never()).batchUpdate(contains("historico_status_os"), anyList(), any(int[].class));
+        verify(notificacaoEventPublisher, never()).publicarLote(any());
+    }
+
+    @Test
+    @DisplayName("Deve propagar falha ao gravar as notificações no outbox")
+    void devePropagarFalhaDoOutbox() {
+        // Arrange
+        OrdemServico os = createOS(1L, StatusOS.FINALIZADO);
+        List<UUID> ids = List.of(os.getId());
+        when(repository.findParaTransicaoByOficinaIdAndIdIn(OFICINA_ID, ids)).thenReturn(List.of(os));
+        when(pagamentoRepository.findOrdemServicoIdsNaoQuitadas(OFICINA_ID, ids)).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenReturn(new int[] {1});
+        when(veiculoRepository.findByOficinaIdAndIdIn(OFICINA_ID, List.of(VEICULO_ID))).thenReturn(List.of(createVeiculo()));
+        when(clienteRepository.findByOficinaIdAndIdIn(OFICINA_ID, List.of(CLIENTE_ID))).thenReturn(List.of(createCliente()));
+        when(oficinaRepository.findById(OFICINA_ID)).thenReturn(Optional.empty());
+        doThrow(new DataIntegrityViolationException("outbox_eventos"))
+            .when(notificacaoEventPublisher).publicarLote(anyList());
+
+        // Act & Assert
+        assertThatThrownBy(() -> loteService.entregar(ids))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Deve concluir o lote sem notificações se a montagem falhar")
+    void deveConcluirSemNotificacoesSeMontagemFalhar() {
+        // Arrange
+        OrdemServico os = createOS(1L, StatusOS.FINALIZADO);
+        List<UUID> ids = List.of(os.getId());
+        when(repository.findParaTransicaoByOficinaIdAndIdIn(OFICINA_ID, ids)).thenReturn(List.of(os));
+        when(pagamentoRepository.findOrdemServicoIdsNaoQuitadas(OFICINA_ID, ids)).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenReturn(new int[] {1});
+        when(veiculoRepository.findByOficinaIdAndIdIn(OFICINA_ID, List.of(VEICULO_ID)))
+            .thenThrow(new IllegalStateException("falha ao carregar veículos"));
+
+        // Act
+        loteService.entregar(ids);
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO historico_status_os"), anyList(), any(int[].class));
+        verify(notificacaoEventPublisher, never()).publicarLote(any());
+    }
+
+    private OrdemServico createOS(Long numero, StatusOS status) {
+        OrdemServico os = new OrdemServico();
+        os.setId(UUID.randomUUID());
+        os.setNumero(numero);
+        os.setStatus(status);
+        os.setVeiculoId(VEICULO_ID);
+        os.setUsuarioId(UUID.randomUUID());
+        os.setProblemasRelatados("Barulho no motor");
+        os.setValorFinal(new BigDecimal("300.00"));
+        os.setAprovadoPeloCliente(true);
+        os.setVersion(3);
+        return os;
+    }
+
+    private Veiculo createVeiculo() {
+        Veiculo veiculo = new Veiculo();
+        veiculo.setId(VEICULO_ID);
+        veiculo.setClienteId(CLIENTE_ID);
+        veiculo.setPlaca("ABC1234");
+        veiculo.setMarca("Volkswagen");
+        veiculo.setModelo("Gol");
+        return veiculo;
+    }
+
+    private Cliente createCliente() {
+        return Cliente.builder()
+            .id(CLIENTE_ID)
+            .tipo(TipoCliente.PESSOA_FISICA)
+            .nome("Cliente Teste")
+            .email("cliente@email.com")
+            .celular("(11) 99999-0000")
+            .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.cliente.domain.Cliente;
+import com.pitstop.cliente.domain.TipoCliente;
+import com.pitstop.cliente.repository.ClienteRepository;
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.pitstop.ordemservico.domain.ItemOS;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.domain.TipoItem;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.shared.security.tenant.TenantContext;
+import com.pitstop.usuario.domain.Usuario;
+import com.pitstop.veiculo.domain.Veiculo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para OrdemServicoPDFService.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrdemServicoPDFService - Testes Unitários")
+class OrdemServicoPDFServiceTest {
+
+    @Mock
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private OficinaRepository oficinaRepository;
+
+    @Mock
+    private OrdemServicoPdfCache pdfCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OrdemServicoPDFService service;
+
+    private final UUID oficinaId = UUID.randomUUID();
+    private final UUID osId = UUID.randomUUID();
+    private final LocalDateTime versao = LocalDateTime.of(2026, 10, 1, 9, 30);
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(oficinaId);
+        when(ordemServicoRepository.findVersaoPdfByOficinaIdAndId(oficinaId, osId)).thenReturn(Optional.of(versao));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve escrever o PDF do cache depois de encerrar a transação")
+    void deveEscreverCacheForaDaTransacao() throws Exception {
+        byte[] cached = {1, 2, 3};
+        when(pdfCache.get(oficinaId, osId, versao)).thenReturn(cached);
+        ByteArrayOutputStream out = spy(new ByteArrayOutputStream());
+
+        service.escreverPDF(osId, out);
+
+        InOrder ordem = inOrder(transactionManager, out);
+        ordem.verify(transactionManager).commit(any());
+        ordem.verify(out).write(cached);
+        verify(ordemServicoRepository, never()).findDetalheByOficinaIdAndId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve carregar os dados em transação curta e renderizar depois do commit")
+    void deveRenderizarForaDaTransacao() throws Exception {
+        Oficina oficina = Oficina.builder()
+                .id(oficinaId)
+                .nomeFantasia("Auto Center PitStop")
+                .razaoSocial("PitStop Serviços Automotivos LTDA")
+                .cnpjCpf("12.345.678/0001-90")
+                .build();
+        when(pdfCache.get(oficinaId, osId, versao)).thenReturn(null);
+        when(pdfCache.isEnabled()).thenReturn(true);
+        when(pdfCache.getMaxBytes()).thenReturn(2 * 1024 * 1024);
+        when(oficinaRepository.findById(oficinaId)).thenReturn(Optional.of(oficina));
+        when(ordemServicoRepository.findDetalheByOficinaIdAndId(oficinaId, osId)).thenReturn(detalhe(oficina));
+        ByteArrayOutputStream out = spy(new ByteArrayOutputStream());
+
+        service.escreverPDF(osId, out);
+
+        InOrder ordem = inOrder(transactionManager, out);
+        ordem.verify(transactionManager, times(2)).commit(any());
+        ordem.verify(out, atLeastOnce()).write(any(byte[].class), anyInt(), anyInt());
+        verify(pdfCache).put(eq(oficinaId), eq(osId), eq(versao), any(byte[].class));
+        assertThat(new String(out.toByteArray(), 0, 5)).isEqualTo("%PDF-");
+    }
+
+    private List<Object[]> detalhe(Oficina oficina) {
+        Cliente cliente = Cliente.builder()
+                .id(UUID.randomUUID())
+                .tipo(TipoCliente.PESSOA_FISICA)
+                .nome("Maria da Silva")
+                .cpfCnpj("123.456.789-00")
+                .build();
+
+        Veiculo veiculo = Veiculo.builder()
+                .id(UUID.randomUUID())
+                .clienteId(cliente.getId())
+                .placa("ABC1D23")
+                .marca("Volkswagen")
+                .modelo("Gol 1.6")
+                .ano(2019)
+                .build();
+
+        Usuario mecanico = Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("João Mecânico")
+                .build();
+
+        OrdemServico os = OrdemServico.builder()
+                .id(osId)
+                .oficina(oficina)
+                .numero(1234L)
+                .veiculoId(veiculo.getId())
+                .usuarioId(mecanico.getId())
+                .status(StatusOS.EM_ANDAMENTO)
+                .dataAbertura(LocalDateTime.of(2026, 10, 1, 9, 30))
+                .valorMaoObra(new BigDecimal("350.00"))
+                .build();
+        BigDecimal valor = new BigDecimal("80.00");
+        os.getItens().add(ItemOS.builder()
+                .id(UUID.randomUUID())
+                .ordemServico(os)
+                .tipo(TipoItem.PECA)
+                .descricao("Bucha da bandeja dianteira")
+                .quantidade(2)
+                .valorUnitario(valor)
+                .valorTotal(valor.multiply(BigDecimal.TWO))
+                .build());
+        os.setValorPecas(valor.multiply(BigDecimal.TWO));
+        os.setValorTotal(os.getValorPecas().add(os.getValorMaoObra()));
+        os.setValorFinal(os.getValorTotal());
+
+        return List.<Object[]>of(new Object[]{os, veiculo, mecanico, cliente});
+    }
+}
@@ -0,0 +1,154 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.cliente.domain.Cliente;
+import com.pitstop.cliente.domain.TipoCliente;
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.ordemservico.domain.ItemOS;
+import com.pitstop.ordemservico.domain.OrdemServico;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.domain.TipoItem;
+import com.pitstop.usuario.domain.Usuario;
+import com.pitstop.veiculo.domain.Veiculo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH da renderização do PDF de Ordem de Serviço ({@link OrdemServicoPDFService#renderizar}),
+ * sem banco nem cache.
+ *
+ * <ul>
+ *   <li>{@code itens}: quantidade de itens na tabela da OS</li>
+ *   <li>{@code renderizarStream}: escreve num stream descartável (download)</li>
+ *   <li>{@code renderizarBytes}: monta o {@code byte[]} (e-mail, notificação, cache)</li>
+ * </ul>
+ *
+ * <p>O tamanho do PDF é impresso no setup. Para a alocação por PDF ({@code gc.alloc.rate.norm}),
+ * rode com o profiler de GC: o {@link #main(String[])} já o habilita.
+ *
+ * <p>Execução: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pitstop.ordemservico.service.OrdemServicoPdfBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrdemServicoPdfBenchmark {
+
+    @Param({"5", "30"})
+    public int itens;
+
+    private OrdemServicoPDFService service;
+    private OrdemServicoPDFService.DadosPdf dados;
+
+    @Setup
+    public void setup() {
+        // renderizar não usa repositórios nem o cache
+        service = new OrdemServicoPDFService(null, null, null, null, null);
+        dados = amostra(itens);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.renderizar(dados, out);
+        System.out.printf("%n[%d itens] %d bytes por PDF%n", itens, out.size());
+    }
+
+    @Benchmark
+    public void renderizarStream() {
+        service.renderizar(dados, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] renderizarBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        service.renderizar(dados, out);
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OrdemServicoPdfBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+
+    private static OrdemServicoPDFService.DadosPdf amostra(int quantidadeItens) {
+        Oficina oficina = Oficina.builder()
+                .id(UUID.randomUUID())
+                .nomeFantasia("Auto Center PitStop")
+                .razaoSocial("PitStop Serviços Automotivos LTDA")
+                .cnpjCpf("12.345.678/0001-90")
+                .build();
+
+        Cliente cliente = Cliente.builder()
+                .id(UUID.randomUUID())
+                .tipo(TipoCliente.PESSOA_FISICA)
+                .nome("Maria da Silva")
+                .cpfCnpj("123.456.789-00")
+                .email("maria@example.com")
+                .celular("(11) 98765-4321")
+                .build();
+
+        Veiculo veiculo = Veiculo.builder()
+                .id(UUID.randomUUID())
+                .clienteId(cliente.getId())
+                .placa("ABC1D23")
+                .marca("Volkswagen")
+                .modelo("Gol 1.6")
+                .ano(2019)
+                .cor("Prata")
+                .quilometragem(85_000)
+                .build();
+
+        Usuario mecanico = Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("João Mecânico")
+                .build();
+
+        OrdemServico os = OrdemServico.builder()
+                .id(UUID.randomUUID())
+                .oficina(oficina)
+                .numero(1234L)
+                .veiculoId(veiculo.getId())
+                .usuarioId(mecanico.getId())
+                .status(StatusOS.EM_ANDAMENTO)
+                .dataAbertura(LocalDateTime.of(2026, 10, 1, 9, 30))
+                .dataPrevisao(LocalDate.of(2026, 10, 3))
+                .problemasRelatados("Barulho na suspensão dianteira ao passar em lombadas")
+                .diagnostico("Bieletas e buchas da bandeja desgastadas")
+                .valorMaoObra(new BigDecimal("350.00"))
+                .build();
+
+        BigDecimal pecas = BigDecimal.ZERO;
+        for (int i = 1; i <= quantidadeItens; i++) {
+            BigDecimal valor = new BigDecimal(40 + i * 5);
+            os.getItens().add(ItemOS.builder()
+                    .id(UUID.randomUUID())
+                    .ordemServico(os)
+                    .tipo(i % 4 == 0 ? TipoItem.SERVICO : TipoItem.PECA)
+                    .descricao("Item " + i + " - bucha da bandeja dianteira")
+                    .quantidade(2)
+                    .valorUnitario(valor)
+                    .valorTotal(valor.multiply(BigDecimal.TWO))
+                    .build());
+            pecas = pecas.add(valor.multiply(BigDecimal.TWO));
+        }
+        os.setValorPecas(pecas);
+        os.setValorTotal(pecas.add(os.getValorMaoObra()));
+        os.setValorFinal(os.getValorTotal());
+
+        return new OrdemServicoPDFService.DadosPdf(os, oficina, veiculo, cliente, mecanico);
+    }
+}
@@ -0,0 +1,153 @@
+package com.pitstop.ordemservico.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para OrdemServicoPdfCache e para a cópia limitada usada no download.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrdemServicoPdfCache - Testes Unitários")
+class OrdemServicoPdfCacheTest {
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private final Map<String, byte[]> redis = new HashMap<>();
+    private final UUID oficinaId = UUID.randomUUID();
+    private final UUID osId = UUID.randomUUID();
+    private final LocalDateTime versao = LocalDateTime.of(2026, 10, 1, 14, 30, 15, 123_456_000);
+
+    private OrdemServicoPdfCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        lenient().doAnswer(inv -> redis.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(valueOperations).set(anyString(), any(byte[].class), any(Duration.class));
+
+        cache = new OrdemServicoPdfCache(redisTemplate, true, 60, 1024);
+    }
+
+    @Test
+    @DisplayName("Deve servir o PDF guardado na mesma versão")
+    void deveServirNaMesmaVersao() {
+        byte[] pdf = {1, 2, 3};
+
+        cache.put(oficinaId, osId, versao, pdf);
+
+        assertThat(cache.get(oficinaId, osId, versao)).isEqualTo(pdf);
+        verify(valueOperations).set(anyString(), eq(pdf), eq(Duration.ofMinutes(60)));
+    }
+
+    @Test
+    @DisplayName("Deve dar miss quando a versão muda, mesmo por um microssegundo")
+    void deveDarMissAposMudancaDeVersao() {
+        cache.put(oficinaId, osId, versao, new byte[]{1});
+
+        // Cliente, veículo, oficina ou mecânico atualizados movem a versão para frente
+        assertThat(cache.get(oficinaId, osId, versao.plusNanos(1_000))).isNull();
+        assertThat(cache.get(oficinaId, osId, versao.plusMinutes(1))).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve isolar PDFs por oficina")
+    void deveIsolarPorOficina() {
+        cache.put(oficinaId, osId, versao, new byte[]{1});
+
+        assertThat(cache.get(UUID.randomUUID(), osId, versao)).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve guardar PDF maior que o limite")
+    void naoDeveGuardarPdfGrande() {
+        cache.put(oficinaId, osId, versao, new byte[1025]);
+
+        assertThat(cache.get(oficinaId, osId, versao)).isNull();
+        verify(valueOperations, never()).set(anyString(), any(byte[].class), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Deve tratar falha do Redis como miss")
+    void deveTratarFalhaDoRedisComoMiss() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(cache.get(oficinaId, osId, versao)).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o Redis quando desabilitado")
+    void naoDeveAcessarRedisDesabilitado() {
+        OrdemServicoPdfCache desabilitado = new OrdemServicoPdfCache(redisTemplate, false, 60, 1024);
+
+        desabilitado.put(oficinaId, osId, versao, new byte[]{1});
+
+        assertThat(desabilitado.get(oficinaId, osId, versao)).isNull();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve copiar o que foi escrito no destino enquanto couber no limite")
+    void deveCopiarDentroDoLimite() throws Exception {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        OrdemServicoPDFService.CopiaOutputStream copia = new OrdemServicoPDFService.CopiaOutputStream(destino, 4);
+
+        copia.write(new byte[]{1, 2, 3}, 0, 3);
+        copia.write(4);
+
+        assertThat(destino.toByteArray()).containsExactly(1, 2, 3, 4);
+        assertThat(copia.copia()).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a cópia ao passar do limite sem afetar o destino")
+    void deveDescartarCopiaAcimaDoLimite() throws Exception {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        OrdemServicoPDFService.CopiaOutputStream copia = new OrdemServicoPDFService.CopiaOutputStream(destino, 4);
+
+        copia.write(new byte[]{1, 2, 3}, 0, 3);
+        copia.write(new byte[]{4, 5}, 0, 2);
+        copia.write(6);
+        copia.close();
+
+        assertThat(destino.toByteArray()).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(copia.copia()).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve copiar com limite zero (cache desabilitado)")
+    void naoDeveCopiarComLimiteZero() throws Exception {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        OrdemServicoPDFService.CopiaOutputStream copia = new OrdemServicoPDFService.CopiaOutputStream(destino, 0);
+
+        copia.write(new byte[]{1, 2}, 0, 2);
+
+        assertThat(destino.toByteArray()).containsExactly(1, 2);
+        assertThat(copia.copia()).isNull();
+    }
+}
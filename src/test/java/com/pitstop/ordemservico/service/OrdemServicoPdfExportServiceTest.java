@@ -0,0 +1,314 @@
+package com.pitstop.ordemservico.service;
+
+import com.pitstop.anexo.service.FileStorageService;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.dto.ExportacaoPdfDTO;
+import com.pitstop.ordemservico.exception.OrdemServicoNotFoundException;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.shared.exception.BusinessException;
+import com.pitstop.shared.security.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para OrdemServicoPdfExportService.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrdemServicoPdfExportService - Testes Unitários")
+class OrdemServicoPdfExportServiceTest {
+
+    @Mock
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Mock
+    private OrdemServicoPDFService pdfService;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @InjectMocks
+    private OrdemServicoPdfExportService service;
+
+    @TempDir
+    Path storage;
+
+    private final UUID oficinaId = UUID.randomUUID();
+    private final CountDownLatch liberarPdf = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "paralelismo", 2);
+        ReflectionTestUtils.setField(service, "maxSincrono", 10);
+        ReflectionTestUtils.setField(service, "maxOs", 100);
+        ReflectionTestUtils.setField(service, "jobsSimultaneos", 1);
+        ReflectionTestUtils.setField(service, "filaMax", 10);
+        ReflectionTestUtils.setField(service, "jobsPorOficina", 10);
+        ReflectionTestUtils.setField(service, "heartbeatIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(service, "timeoutSincronoMs", 60_000L);
+        ReflectionTestUtils.setField(service, "downloadsSimultaneos", 2);
+        ReflectionTestUtils.setField(service, "downloadsPorOficina", 1);
+        service.init();
+        TenantContext.setTenantId(oficinaId);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        liberarPdf.countDown();
+        service.shutdown();
+        // Jobs ainda escrevendo no storage temporário antes de ele ser apagado
+        ((ExecutorService) ReflectionTestUtils.getField(service, "jobPool")).awaitTermination(5, TimeUnit.SECONDS);
+        TenantContext.clear();
+    }
+
+    /**
+     * Reinicia os pools com outros limites de fila.
+     */
+    private void configurarFila(int filaMax, int jobsPorOficina) {
+        service.shutdown();
+        ReflectionTestUtils.setField(service, "filaMax", filaMax);
+        ReflectionTestUtils.setField(service, "jobsPorOficina", jobsPorOficina);
+        service.init();
+    }
+
+    /**
+     * Uma OS cujo PDF só fica pronto quando {@link #liberarPdf} é liberado (mantém o job em execução).
+     */
+    private void umaOsComPdfBloqueado() throws Exception {
+        UUID id = UUID.randomUUID();
+        List<Object[]> linhas = new ArrayList<>();
+        linhas.add(new Object[]{id, 1L});
+        when(ordemServicoRepository.findIdNumeroParaExportacao(eq(oficinaId), isNull(), isNull(), isNull()))
+            .thenReturn(linhas);
+        when(pdfService.gerarPDF(id)).thenAnswer(inv -> {
+            liberarPdf.await(10, TimeUnit.SECONDS);
+            return "pdf".getBytes(StandardCharsets.UTF_8);
+        });
+        when(fileStorageService.getCaminhoAbsoluto(anyString()))
+            .thenAnswer(inv -> storage.resolve(inv.<String>getArgument(0)));
+    }
+
+    private long parciais() throws Exception {
+        Path pasta = storage.resolve("oficina-" + oficinaId + "/exportacoes-pdf");
+        try (Stream<Path> arquivos = Files.list(pasta)) {
+            return arquivos.filter(a -> a.toString().endsWith(".part")).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve escrever um PDF por OS no ZIP, na ordem de número, e listar as falhas em ERROS.txt")
+    void deveExportarZipNaOrdem() throws Exception {
+        List<Object[]> linhas = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+        for (long numero = 1; numero <= 7; numero++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            linhas.add(new Object[]{id, numero});
+            if (numero == 4) {
+                when(pdfService.gerarPDF(id)).thenThrow(new OrdemServicoNotFoundException(id));
+            } else {
+                when(pdfService.gerarPDF(id)).thenReturn(("pdf-" + numero).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        when(ordemServicoRepository.findIdNumeroParaExportacao(eq(oficinaId), eq("ENTREGUE"), isNull(), isNull()))
+            .thenReturn(linhas);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WebAsyncTask<Void> task = service.exportar(
+            new OrdemServicoPdfExportService.Filtro(StatusOS.ENTREGUE, null, null), () -> out);
+        task.getCallable().call();
+
+        List<String> nomes = new ArrayList<>();
+        String erros = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                nomes.add(entry.getName());
+                String conteudo = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                if (entry.getName().equals("ERROS.txt")) {
+                    erros = conteudo;
+                } else {
+                    assertThat(entry.getName()).isEqualTo("OS-" + conteudo.substring(4) + ".pdf");
+                }
+            }
+        }
+
+        assertThat(nomes).containsExactly(
+            "OS-1.pdf", "OS-2.pdf", "OS-3.pdf", "OS-5.pdf", "OS-6.pdf", "OS-7.pdf", "ERROS.txt");
+        assertThat(erros).contains("OS 4").contains(ids.get(3).toString());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o download direto acima do limite antes de gerar qualquer PDF")
+    void deveRecusarDownloadDiretoAcimaDoLimite() {
+        List<Object[]> linhas = new ArrayList<>();
+        for (long numero = 1; numero <= 11; numero++) {
+            linhas.add(new Object[]{UUID.randomUUID(), numero});
+        }
+        when(ordemServicoRepository.findIdNumeroParaExportacao(eq(oficinaId), isNull(), isNull(), isNull()))
+            .thenReturn(linhas);
+
+        assertThatThrownBy(() -> service.exportar(
+                new OrdemServicoPdfExportService.Filtro(null, null, null), ByteArrayOutputStream::new))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("exportação assíncrona");
+
+        verify(pdfService, never()).gerarPDF(any());
+    }
+
+    @Test
+    @DisplayName("Deve rodar o download direto no pool da exportação, com o timeout próprio")
+    void deveRodarDownloadDiretoNoPoolDaExportacao() {
+        when(ordemServicoRepository.findIdNumeroParaExportacao(eq(oficinaId), isNull(), isNull(), isNull()))
+            .thenReturn(new ArrayList<>());
+
+        WebAsyncTask<Void> task = service.exportar(
+            new OrdemServicoPdfExportService.Filtro(null, null, null), ByteArrayOutputStream::new);
+
+        assertThat(task.getExecutor()).isNotNull();
+        assertThat(task.getTimeout()).isEqualTo(60_000L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar download direto acima do limite por oficina e aceitar depois que o anterior terminar")
+    void deveRecusarDownloadDiretoAcimaDoLimitePorOficina() throws Exception {
+        when(ordemServicoRepository.findIdNumeroParaExportacao(eq(oficinaId), isNull(), isNull(), isNull()))
+            .thenReturn(new ArrayList<>());
+        OrdemServicoPdfExportService.Filtro filtro = new OrdemServicoPdfExportService.Filtro(null, null, null);
+
+        WebAsyncTask<Void> primeiro = service.exportar(filtro, ByteArrayOutputStream::new);
+
+        assertThatThrownBy(() -> service.exportar(filtro, ByteArrayOutputStream::new))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("downloads de PDFs em andamento para a oficina");
+
+        primeiro.getCallable().call();
+        assertThat(service.exportar(filtro, ByteArrayOutputStream::new)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve recusar download direto acima do limite do nó, mesmo de outra oficina")
+    void deveRecusarDownloadDiretoAcimaDoLimiteDoNo() {
+        when(ordemServicoRepository.findIdNumeroParaExportacao(any(), isNull(), isNull(), isNull()))
+            .thenReturn(new ArrayList<>());
+        OrdemServicoPdfExportService.Filtro filtro = new OrdemServicoPdfExportService.Filtro(null, null, null);
+
+        service.exportar(filtro, ByteArrayOutputStream::new);
+        TenantContext.setTenantId(UUID.randomUUID());
+        service.exportar(filtro, ByteArrayOutputStream::new);
+        TenantContext.setTenantId(UUID.randomUUID());
+
+        assertThatThrownBy(() -> service.exportar(filtro, ByteArrayOutputStream::new))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("downloads de PDFs demais");
+    }
+
+    @Test
+    @DisplayName("Deve recusar exportação assíncrona acima do limite por oficina")
+    void deveRecusarAcimaDoLimitePorOficina() throws Exception {
+        configurarFila(10, 1);
+        umaOsComPdfBloqueado();
+        OrdemServicoPdfExportService.Filtro filtro = new OrdemServicoPdfExportService.Filtro(null, null, null);
+
+        service.iniciarExportacao(filtro);
+        verify(pdfService, timeout(5000)).gerarPDF(any());
+
+        assertThatThrownBy(() -> service.iniciarExportacao(filtro))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("em andamento");
+        assertThat(parciais()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recusar exportação assíncrona com a fila do nó cheia, sem deixar .part")
+    void deveRecusarComFilaCheia() throws Exception {
+        configurarFila(1, 10);
+        umaOsComPdfBloqueado();
+        OrdemServicoPdfExportService.Filtro filtro = new OrdemServicoPdfExportService.Filtro(null, null, null);
+
+        // Um em execução (PDF bloqueado), um na fila
+        service.iniciarExportacao(filtro);
+        verify(pdfService, timeout(5000)).gerarPDF(any());
+        service.iniciarExportacao(filtro);
+
+        assertThatThrownBy(() -> service.iniciarExportacao(filtro))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("fila");
+        assertThat(parciais()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve marcar como erro um .part sem heartbeat e manter em processamento um .part recente")
+    void deveMarcarParcialAbandonadoComoErro() throws Exception {
+        when(fileStorageService.getCaminhoAbsoluto(anyString()))
+            .thenAnswer(inv -> storage.resolve(inv.<String>getArgument(0)));
+        Path pasta = Files.createDirectories(storage.resolve("oficina-" + oficinaId + "/exportacoes-pdf"));
+        UUID abandonada = UUID.randomUUID();
+        UUID emOutroNo = UUID.randomUUID();
+        Path parcialAbandonado = Files.createFile(pasta.resolve(abandonada + ".part"));
+        Files.setLastModifiedTime(parcialAbandonado, FileTime.from(Instant.now().minus(10, ChronoUnit.MINUTES)));
+        Files.createFile(pasta.resolve(emOutroNo + ".part"));
+
+        ExportacaoPdfDTO erro = service.consultar(abandonada);
+
+        assertThat(erro.status()).isEqualTo(ExportacaoPdfDTO.Status.ERRO);
+        assertThat(erro.erro()).contains("interrompida");
+        assertThat(parcialAbandonado).doesNotExist();
+        assertThat(service.consultar(abandonada).status()).isEqualTo(ExportacaoPdfDTO.Status.ERRO);
+        assertThat(service.consultar(emOutroNo).status()).isEqualTo(ExportacaoPdfDTO.Status.PROCESSANDO);
+    }
+
+    @Test
+    @DisplayName("Deve renovar o .part das exportações em andamento no heartbeat")
+    void deveRenovarParcialNoHeartbeat() throws Exception {
+        umaOsComPdfBloqueado();
+        ExportacaoPdfDTO exportacao = service.iniciarExportacao(new OrdemServicoPdfExportService.Filtro(null, null, null));
+        verify(pdfService, timeout(5000)).gerarPDF(any());
+        Path parcial = storage.resolve("oficina-" + oficinaId + "/exportacoes-pdf/" + exportacao.token() + ".part");
+        Files.setLastModifiedTime(parcial, FileTime.from(Instant.now().minus(10, ChronoUnit.MINUTES)));
+
+        service.heartbeat();
+
+        assertThat(Files.getLastModifiedTime(parcial).toInstant()).isAfter(Instant.now().minus(1, ChronoUnit.MINUTES));
+        assertThat(service.consultar(exportacao.token()).status()).isEqualTo(ExportacaoPdfDTO.Status.PROCESSANDO);
+    }
+}
@@ -15,11 +15,13 @@ import com.pitstop.ordemservico.dto.*;
 import com.pitstop.ordemservico.exception.OrdemServicoNaoEditavelException;
 import com.pitstop.ordemservico.exception.OrdemServicoNaoPagaException;
 import com.pitstop.ordemservico.exception.OrdemServicoNotFoundException;
+import com.pitstop.ordemservico.exception.OrdemServicoValidationException;
 import com.pitstop.ordemservico.exception.TransicaoStatusInvalidaException;
 import com.pitstop.ordemservico.mapper.ItemOSMapper;
 import com.pitstop.ordemservico.mapper.OrdemServicoMapper;
 import com.pitstop.ordemservico.repository.HistoricoStatusOSRepository;
 import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.shared.persistence.NumberBlockAllocator;
 import com.pitstop.shared.security.tenant.TenantContext;
 import com.pitstop.usuario.domain.PerfilUsuario;
 import com.pitstop.usuario.domain.Usuario;
@@ -104,6 +106,9 @@ class OrdemServicoServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private NumberBlockAllocator numberAllocator;
+
     @InjectMocks
     private OrdemServicoService ordemServicoService;
 
@@ -148,7 +153,7 @@ class OrdemServicoServiceTest {
             when(usuarioRepository.findByOficinaIdAndId(OFICINA_ID, USUARIO_ID))
                 .thenReturn(Optional.of(mecanico));
             when(mapper.toEntity(request)).thenReturn(os);
-            when(repository.getNextNumero()).thenReturn(1L);
+            when(numberAllocator.next(eq(OFICINA_ID), eq("OS"), anyInt())).thenReturn(1L);
             when(oficinaRepository.findById(OFICINA_ID)).thenReturn(Optional.of(oficina));
             when(repository.save(any(OrdemServico.class))).thenReturn(os);
             when(clienteRepository.findByOficinaIdAndId(eq(OFICINA_ID), any())).thenReturn(Optional.of(cliente));
@@ -219,13 +224,8 @@ class OrdemServicoServiceTest {
             Cliente cliente = createClienteEntity();
             OrdemServicoResponseDTO expectedResponse = createOSResponse();
 
-            when(repository.findByOficinaIdAndId(OFICINA_ID, osId)).thenReturn(Optional.of(os));
-            when(veiculoRepository.findByOficinaIdAndId(OFICINA_ID, VEICULO_ID))
-                .thenReturn(Optional.of(veiculo));
-            when(usuarioRepository.findByOficinaIdAndId(OFICINA_ID, USUARIO_ID))
-                .thenReturn(Optional.of(mecanico));
-            when(clienteRepository.findByOficinaIdAndIdIncludingInactive(eq(OFICINA_ID), any()))
-                .thenReturn(Optional.of(cliente));
+            when(repository.findDetalheByOficinaIdAndId(OFICINA_ID, osId))
+                .thenReturn(List.<Object[]>of(new Object[]{os, veiculo, mecanico, cliente}));
             when(mapper.toResponse(os)).thenReturn(expectedResponse);
 
             // Act
@@ -233,7 +233,31 @@ class OrdemServicoServiceTest {
 
             // Assert
             assertThat(response).isNotNull();
-            verify(repository).findByOficinaIdAndId(OFICINA_ID, osId);
+            verify(repository).findDetalheByOficinaIdAndId(OFICINA_ID, osId);
+            verifyNoInteractions(veiculoRepository, usuarioRepository, clienteRepository);
+        }
+
+        @Test
+        @DisplayName("Deve buscar cliente inativo separadamente quando nao vier no join")
+        void deveBuscarClienteInativoSeparadamente() {
+            // Arrange
+            UUID osId = UUID.randomUUID();
+            OrdemServico os = createOSEntity();
+            Cliente clienteInativo = createClienteEntity();
+            clienteInativo.setAtivo(false);
+
+            when(repository.findDetalheByOficinaIdAndId(OFICINA_ID, osId))
+                .thenReturn(List.<Object[]>of(new Object[]{os, createVeiculoEntity(), createMecanicoEntity(), null}));
+            when(clienteRepository.findByOficinaIdAndIdIncludingInactive(OFICINA_ID, CLIENTE_ID))
+                .thenReturn(Optional.of(clienteInativo));
+            when(mapper.toResponse(os)).thenReturn(createOSResponse());
+
+            // Act
+            OrdemServicoResponseDTO response = ordemServicoService.buscarPorId(osId);
+
+            // Assert
+            assertThat(response).isNotNull();
+            verify(clienteRepository).findByOficinaIdAndIdIncludingInactive(OFICINA_ID, CLIENTE_ID);
         }
 
         @Test
@@ -241,7 +265,7 @@ class OrdemServicoServiceTest {
         void deveLancarExcecaoAoBuscarOSInexistente() {
             // Arrange
             UUID osId = UUID.randomUUID();
-            when(repository.findByOficinaIdAndId(OFICINA_ID, osId)).thenReturn(Optional.empty());
+            when(repository.findDetalheByOficinaIdAndId(OFICINA_ID, osId)).thenReturn(List.of());
 
             // Act & Assert
             assertThatThrownBy(() -> ordemServicoService.buscarPorId(osId))
@@ -267,13 +291,8 @@ class OrdemServicoServiceTest {
             Cliente cliente = createClienteEntity();
             OrdemServicoResponseDTO expectedResponse = createOSResponse();
 
-            when(repository.findByOficinaIdAndNumero(OFICINA_ID, numero)).thenReturn(Optional.of(os));
-            when(veiculoRepository.findByOficinaIdAndId(OFICINA_ID, VEICULO_ID))
-                .thenReturn(Optional.of(veiculo));
-            when(usuarioRepository.findByOficinaIdAndId(OFICINA_ID, USUARIO_ID))
-                .thenReturn(Optional.of(mecanico));
-            when(clienteRepository.findByOficinaIdAndIdIncludingInactive(eq(OFICINA_ID), any()))
-                .thenReturn(Optional.of(cliente));
+            when(repository.findDetalheByOficinaIdAndNumero(OFICINA_ID, numero))
+                .thenReturn(List.<Object[]>of(new Object[]{os, veiculo, mecanico, cliente}));
             when(mapper.toResponse(os)).thenReturn(expectedResponse);
 
             // Act
@@ -281,7 +300,7 @@ class OrdemServicoServiceTest {
 
             // Assert
             assertThat(response).isNotNull();
-            verify(repository).findByOficinaIdAndNumero(OFICINA_ID, numero);
+            verify(repository).findDetalheByOficinaIdAndNumero(OFICINA_ID, numero);
         }
 
         @Test
@@ -289,7 +308,7 @@ class OrdemServicoServiceTest {
         void deveLancarExcecaoAoBuscarPorNumeroInexistente() {
             // Arrange
             Long numero = 999L;
-            when(repository.findByOficinaIdAndNumero(OFICINA_ID, numero)).thenReturn(Optional.empty());
+            when(repository.findDetalheByOficinaIdAndNumero(OFICINA_ID, numero)).thenReturn(List.of());
 
             // Act & Assert
             assertThatThrownBy(() -> ordemServicoService.buscarPorNumero(numero))
@@ -297,6 +316,171 @@ class OrdemServicoServiceTest {
         }
     }
 
+    // ===================== HISTORICO DO VEICULO =====================
+
+    @Nested
+    @DisplayName("buscarHistoricoVeiculo() - Historico do veiculo")
+    class BuscarHistoricoVeiculoTests {
+
+        @Test
+        @DisplayName("Deve montar historico a partir da projecao nativa sem consultas por linha")
+        void deveMontarHistoricoDaProjecaoNativa() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 20);
+            Object[] linha = new Object[27];
+            linha[0] = UUID.randomUUID();
+            linha[1] = 7L;
+            linha[2] = StatusOS.ENTREGUE.name();
+            linha[15] = VEICULO_ID;
+            linha[16] = USUARIO_ID;
+            linha[17] = "ABC1D23";
+            linha[22] = CLIENTE_ID;
+            linha[23] = "Cliente Teste";
+            linha[26] = "Joao Mecanico";
+
+            when(repository.findHistoricoVeiculoOptimized(OFICINA_ID, VEICULO_ID, pageable))
+                .thenReturn(new PageImpl<>(List.<Object[]>of(linha), pageable, 1));
+
+            // Act
+            Page<OrdemServicoResponseDTO> historico = ordemServicoService.buscarHistoricoVeiculo(VEICULO_ID, pageable);
+
+            // Assert
+            assertThat(historico.getContent()).hasSize(1);
+            OrdemServicoResponseDTO os = historico.getContent().get(0);
+            assertThat(os.numero()).isEqualTo(7L);
+            assertThat(os.veiculo().placa()).isEqualTo("ABC1D23");
+            assertThat(os.cliente().nome()).isEqualTo("Cliente Teste");
+            assertThat(os.mecanico().nome()).isEqualTo("Joao Mecanico");
+            verifyNoInteractions(veiculoRepository, usuarioRepository, clienteRepository, mapper);
+        }
+    }
+
+    // ===================== LISTAR POR CURSOR =====================
+
+    @Nested
+    @DisplayName("listarPorCursor() - Paginacao keyset")
+    class ListarPorCursorTests {
+
+        private Object[] linha(LocalDateTime dataAbertura, UUID id) {
+            Object[] linha = new Object[27];
+            linha[0] = id;
+            linha[1] = 1L;
+            linha[2] = StatusOS.ORCAMENTO.name();
+            linha[3] = java.sql.Timestamp.valueOf(dataAbertura);
+            return linha;
+        }
+
+        @Test
+        @DisplayName("Deve retornar cursor da ultima OS quando houver proxima pagina, sem COUNT")
+        void deveRetornarCursorQuandoHouverProximaPagina() {
+            // Arrange
+            LocalDateTime agora = LocalDateTime.of(2025, 11, 10, 9, 30, 15, 123456000);
+            UUID segundaId = UUID.randomUUID();
+            List<Object[]> linhas = List.of(
+                linha(agora, UUID.randomUUID()),
+                linha(agora.minusHours(1), segundaId),
+                linha(agora.minusHours(2), UUID.randomUUID())
+            );
+            when(repository.findByFiltrosKeyset(OFICINA_ID, null, null, null, null, null, null, null, 3))
+                .thenReturn(linhas);
+
+            // Act
+            var pagina = ordemServicoService.listarPorCursor(null, null, null, null, null, null, 2, false);
+
+            // Assert
+            assertThat(pagina.content()).hasSize(2);
+            assertThat(pagina.hasNext()).isTrue();
+            assertThat(pagina.totalElements()).isNull();
+            assertThat(OrdemServicoCursor.decode(pagina.nextCursor()))
+                .isEqualTo(new OrdemServicoCursor(agora.minusHours(1), segundaId));
+            verify(repository, never()).countByFiltros(any(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve continuar a partir do cursor e contar apenas quando solicitado")
+        void deveContinuarDoCursorEContarQuandoSolicitado() {
+            // Arrange
+            LocalDateTime dataCursor = LocalDateTime.of(2025, 11, 10, 8, 0);
+            UUID idCursor = UUID.randomUUID();
+            String cursor = new OrdemServicoCursor(dataCursor, idCursor).encode();
+            when(repository.findByFiltrosKeyset(OFICINA_ID, "ENTREGUE", null, null, null, null, dataCursor, idCursor, 21))
+                .thenReturn(List.<Object[]>of(linha(dataCursor.minusDays(1), UUID.randomUUID())));
+            when(repository.countByFiltros(OFICINA_ID, "ENTREGUE", null, null, null, null)).thenReturn(41L);
+
+            // Act
+            var pagina = ordemServicoService.listarPorCursor(StatusOS.ENTREGUE, null, null, null, null, cursor, 20, true);
+
+            // Assert
+            assertThat(pagina.content()).hasSize(1);
+            assertThat(pagina.hasNext()).isFalse();
+            assertThat(pagina.nextCursor()).isNull();
+            assertThat(pagina.totalElements()).isEqualTo(41L);
+        }
+
+        @Test
+        @DisplayName("Deve lancar excecao para cursor invalido")
+        void deveLancarExcecaoParaCursorInvalido() {
+            assertThatThrownBy(() -> ordemServicoService.listarPorCursor(null, null, null, null, null, "nao-e-cursor", 20, false))
+                .isInstanceOf(OrdemServicoValidationException.class);
+
+            verifyNoInteractions(repository);
+        }
+    }
+
+    // ===================== BUSCA TEXTUAL =====================
+
+    @Nested
+    @DisplayName("buscarTexto() - Busca textual por relevancia")
+    class BuscarTextoTests {
+
+        private Object[] linha(UUID id, float relevancia, String destaqueProblemas) {
+            Object[] linha = new Object[10];
+            linha[0] = id;
+            linha[1] = 7L;
+            linha[2] = StatusOS.ENTREGUE.name();
+            linha[3] = java.sql.Timestamp.valueOf(LocalDateTime.of(2025, 11, 10, 9, 0));
+            linha[4] = relevancia;
+            linha[5] = destaqueProblemas;
+            linha[6] = "Sem o termo";
+            return linha;
+        }
+
+        @Test
+        @DisplayName("Deve escapar o HTML do texto, marcar os termos e retornar cursor da ultima OS")
+        void deveEscaparDestaqueERetornarCursor() {
+            // Arrange
+            UUID segundaId = UUID.randomUUID();
+            List<Object[]> linhas = List.of(
+                linha(UUID.randomUUID(), 0.6f, "<script> \u0002barulho\u0003 no freio"),
+                linha(segundaId, 0.3f, "\u0002barulho\u0003"),
+                linha(UUID.randomUUID(), 0.1f, "\u0002barulho\u0003")
+            );
+            when(repository.buscarTexto(eq(OFICINA_ID), eq("barulho"), anyString(), isNull(), isNull(), eq(3)))
+                .thenReturn(linhas);
+
+            // Act
+            var pagina = ordemServicoService.buscarTexto("  barulho ", null, 2);
+
+            // Assert
+            assertThat(pagina.content()).hasSize(2);
+            assertThat(pagina.content().get(0).destaqueProblemas())
+                .isEqualTo("&lt;script&gt; <mark>barulho</mark> no freio");
+            assertThat(pagina.content().get(0).destaqueDiagnostico()).isNull();
+            assertThat(pagina.hasNext()).isTrue();
+            assertThat(BuscaOrdemServicoCursor.decode(pagina.nextCursor()))
+                .isEqualTo(new BuscaOrdemServicoCursor(0.3f, segundaId));
+        }
+
+        @Test
+        @DisplayName("Deve lancar excecao para termo vazio sem consultar o banco")
+        void deveLancarExcecaoParaTermoVazio() {
+            assertThatThrownBy(() -> ordemServicoService.buscarTexto("   ", null, 20))
+                .isInstanceOf(OrdemServicoValidationException.class);
+
+            verifyNoInteractions(repository);
+        }
+    }
+
     // ===================== APROVAR =====================
 
     @Nested
@@ -0,0 +1,75 @@
+package com.pitstop.saas.service;
+
+import com.pitstop.oficina.domain.PlanoAssinatura;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.pitstop.saas.domain.FeatureFlag;
+import com.pitstop.saas.repository.FeatureFlagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para FeatureFlagSnapshotService.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("FeatureFlagSnapshotService - Testes Unitários")
+class FeatureFlagSnapshotServiceTest {
+
+    private final FeatureFlagRepository featureFlagRepository = mock(FeatureFlagRepository.class);
+    private final OficinaRepository oficinaRepository = mock(OficinaRepository.class);
+    private final FeatureFlagSnapshotService service = new FeatureFlagSnapshotService(
+            featureFlagRepository, oficinaRepository,
+            mock(StringRedisTemplate.class), mock(RedisMessageListenerContainer.class));
+
+    @BeforeEach
+    void setUp() {
+        FeatureFlag flag = new FeatureFlag();
+        flag.setCodigo("RELATORIOS");
+        flag.setHabilitadoPorPlano(Map.of("PROFISSIONAL", true));
+        when(featureFlagRepository.findAll()).thenReturn(List.of(flag));
+        when(oficinaRepository.findAllIdAndPlano()).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Deve buscar o plano de oficina nova uma vez até a próxima reconstrução")
+    void deveGuardarPlanoDeOficinaNova() {
+        UUID oficinaNova = UUID.randomUUID();
+        when(oficinaRepository.findPlanoById(oficinaNova)).thenReturn(Optional.of(PlanoAssinatura.PROFISSIONAL));
+
+        assertThat(service.isEnabled("RELATORIOS", oficinaNova)).isTrue();
+        assertThat(service.isEnabled("RELATORIOS", oficinaNova)).isTrue();
+
+        verify(oficinaRepository, times(1)).findPlanoById(oficinaNova);
+    }
+
+    @Test
+    @DisplayName("Deve guardar oficina inexistente como ausente até a próxima reconstrução")
+    void deveGuardarOficinaInexistente() {
+        UUID inexistente = UUID.randomUUID();
+        when(oficinaRepository.findPlanoById(inexistente)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.isEnabled("RELATORIOS", inexistente)).isFalse();
+        }
+        verify(oficinaRepository, times(1)).findPlanoById(inexistente);
+
+        service.refreshPeriodically();
+        assertThat(service.isEnabled("RELATORIOS", inexistente)).isFalse();
+
+        verify(oficinaRepository, times(2)).findPlanoById(inexistente);
+    }
+}
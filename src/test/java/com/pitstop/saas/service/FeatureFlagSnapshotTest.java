@@ -0,0 +1,118 @@
+package com.pitstop.saas.service;
+
+import com.pitstop.oficina.domain.PlanoAssinatura;
+import com.pitstop.saas.domain.FeatureFlag;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para FeatureFlagSnapshot.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("FeatureFlagSnapshot - Testes Unitários")
+class FeatureFlagSnapshotTest {
+
+    private static final long AGORA = OffsetDateTime.parse("2026-03-10T12:00:00Z").toInstant().toEpochMilli();
+
+    private final UUID oficinaId = UUID.randomUUID();
+
+    private FeatureFlag flag(String codigo) {
+        FeatureFlag flag = new FeatureFlag();
+        flag.setCodigo(codigo);
+        return flag;
+    }
+
+    private FeatureFlagSnapshot.CompiledFlag compilar(FeatureFlag flag) {
+        return FeatureFlagSnapshot.compile(List.of(flag), List.of()).flag(flag.getCodigo());
+    }
+
+    private static UUID oficinaNoBucket(IntPredicate condicao) {
+        UUID id;
+        do {
+            id = UUID.randomUUID();
+        } while (!condicao.test(FeatureFlagSnapshot.rolloutBucket(id)));
+        return id;
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o período de atividade, inclusive para flag global")
+    void deveRespeitarPeriodoDeAtividade() {
+        FeatureFlag flag = flag("NFE");
+        flag.setHabilitadoGlobal(true);
+        flag.setDataInicio(OffsetDateTime.parse("2026-03-01T00:00:00Z"));
+        flag.setDataFim(OffsetDateTime.parse("2026-03-31T23:59:59Z"));
+        FeatureFlagSnapshot.CompiledFlag compilada = compilar(flag);
+
+        assertThat(compilada.isEnabled(oficinaId, PlanoAssinatura.TURBINADO, AGORA)).isTrue();
+        assertThat(compilada.isEnabled(oficinaId, PlanoAssinatura.TURBINADO,
+                OffsetDateTime.parse("2026-02-28T23:59:59Z").toInstant().toEpochMilli())).isFalse();
+        assertThat(compilada.isEnabled(oficinaId, PlanoAssinatura.TURBINADO,
+                OffsetDateTime.parse("2026-04-01T00:00:00Z").toInstant().toEpochMilli())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve habilitar flag global para qualquer oficina, mesmo sem plano")
+    void deveHabilitarFlagGlobal() {
+        FeatureFlag flag = flag("WHATSAPP");
+        flag.setHabilitadoGlobal(true);
+
+        assertThat(compilar(flag).isEnabled(oficinaId, null, AGORA)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve habilitar apenas os planos marcados na máscara")
+    void deveAvaliarMascaraDePlanos() {
+        FeatureFlag flag = flag("RELATORIOS");
+        flag.setHabilitadoPorPlano(Map.of("PROFISSIONAL", true, "TURBINADO", true, "ECONOMICO", false));
+        FeatureFlagSnapshot.CompiledFlag compilada = compilar(flag);
+
+        assertThat(compilada.isEnabled(oficinaId, PlanoAssinatura.ECONOMICO, AGORA)).isFalse();
+        assertThat(compilada.isEnabled(oficinaId, PlanoAssinatura.PROFISSIONAL, AGORA)).isTrue();
+        assertThat(compilada.isEnabled(oficinaId, PlanoAssinatura.TURBINADO, AGORA)).isTrue();
+        assertThat(compilada.isEnabled(oficinaId, null, AGORA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve habilitar oficinas da lista independentemente do plano")
+    void deveAvaliarListaDeOficinas() {
+        UUID outra = UUID.randomUUID();
+        FeatureFlag flag = flag("BETA");
+        flag.setHabilitadoPorOficina(new UUID[]{oficinaId});
+        FeatureFlagSnapshot.CompiledFlag compilada = compilar(flag);
+
+        assertThat(compilada.isEnabled(oficinaId, PlanoAssinatura.ECONOMICO, AGORA)).isTrue();
+        assertThat(compilada.isEnabled(outra, PlanoAssinatura.ECONOMICO, AGORA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve habilitar por rollout apenas oficinas com bucket abaixo do percentual")
+    void deveAvaliarRollout() {
+        FeatureFlag flag = flag("NOVO_DASHBOARD");
+        flag.setPercentualRollout(30);
+        FeatureFlagSnapshot.CompiledFlag compilada = compilar(flag);
+
+        assertThat(compilada.isEnabled(oficinaNoBucket(b -> b < 30), PlanoAssinatura.ECONOMICO, AGORA)).isTrue();
+        assertThat(compilada.isEnabled(oficinaNoBucket(b -> b >= 30), PlanoAssinatura.ECONOMICO, AGORA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve resolver o plano das oficinas do snapshot e retornar null para oficinas novas")
+    void deveResolverPlanoDasOficinas() {
+        FeatureFlagSnapshot snapshot = FeatureFlagSnapshot.compile(
+                List.of(flag("NFE")),
+                List.<Object[]>of(new Object[]{oficinaId, PlanoAssinatura.PROFISSIONAL}));
+
+        assertThat(snapshot.plano(oficinaId)).isEqualTo(PlanoAssinatura.PROFISSIONAL);
+        assertThat(snapshot.plano(UUID.randomUUID())).isNull();
+        assertThat(snapshot.flag("INEXISTENTE")).isNull();
+    }
+}
@@ -0,0 +1,106 @@
+package com.pitstop.saas.service;
+
+import com.pitstop.oficina.domain.PlanoAssinatura;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.pitstop.ordemservico.repository.OrdemServicoRepository;
+import com.pitstop.saas.domain.Plano;
+import com.pitstop.saas.dto.UsoLimitesDTO;
+import com.pitstop.saas.exception.LimiteOsMesExcedidoException;
+import com.pitstop.saas.repository.PlanoRepository;
+import com.pitstop.usuario.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para PlanoLimiteService.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlanoLimiteService - Testes Unitários")
+class PlanoLimiteServiceTest {
+
+    @Mock
+    private OficinaRepository oficinaRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private OrdemServicoRepository ordemServicoRepository;
+
+    @Mock
+    private PlanoRepository planoRepository;
+
+    @Mock
+    private ContadorUsoPlanoService contadorUsoPlanoService;
+
+    @InjectMocks
+    private PlanoLimiteService planoLimiteService;
+
+    private final UUID oficinaId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        Plano plano = Plano.builder()
+                .codigo("ECONOMICO")
+                .nome("Econômico")
+                .limiteUsuarios(2)
+                .limiteOsMes(10)
+                .build();
+
+        when(oficinaRepository.findPlanoById(oficinaId)).thenReturn(Optional.of(PlanoAssinatura.ECONOMICO));
+        when(planoRepository.findByCodigo("ECONOMICO")).thenReturn(Optional.of(plano));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a reserva de OS for negada pelo contador")
+    void deveLancarExcecaoQuandoReservaNegada() {
+        when(contadorUsoPlanoService.reservarOs(oficinaId, 10))
+                .thenReturn(new ContadorUsoPlanoService.Reserva(false, 10));
+
+        assertThatThrownBy(() -> planoLimiteService.validarLimiteOsMes(oficinaId))
+                .isInstanceOf(LimiteOsMesExcedidoException.class);
+
+        verifyNoInteractions(ordemServicoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve usar COUNT quando o Redis estiver indisponível")
+    void deveUsarCountQuandoRedisIndisponivel() {
+        when(contadorUsoPlanoService.reservarOs(oficinaId, 10))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(ordemServicoRepository.countByOficinaIdAndDataAberturaBetweenExcluindoCanceladas(
+                eq(oficinaId), any(), any())).thenReturn(3L);
+
+        assertThatCode(() -> planoLimiteService.validarLimiteOsMes(oficinaId)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Deve obter uso atual dos contadores sem consultas de contagem")
+    void deveObterUsoAtualDosContadores() {
+        when(contadorUsoPlanoService.usoUsuarios(oficinaId)).thenReturn(1L);
+        when(contadorUsoPlanoService.usoOsMes(oficinaId)).thenReturn(8L);
+
+        UsoLimitesDTO uso = planoLimiteService.obterUsoAtual(oficinaId);
+
+        assertThat(uso.usuariosAtivos()).isEqualTo(1L);
+        assertThat(uso.osNoMes()).isEqualTo(8L);
+        assertThat(uso.percentualOsMes()).isEqualTo(80.0);
+        verifyNoInteractions(usuarioRepository, ordemServicoRepository);
+    }
+}
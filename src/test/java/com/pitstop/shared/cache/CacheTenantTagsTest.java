@@ -0,0 +1,98 @@
+package com.pitstop.shared.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para CacheTenantTags.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("CacheTenantTags - Testes Unitários")
+class CacheTenantTagsTest {
+
+    private static final Duration JANELA = Duration.ofSeconds(60);
+
+    private final AtomicLong agora = new AtomicLong(1_000_000);
+    private final CacheTenantTags tags = new CacheTenantTags(2, JANELA, agora::get);
+
+    private final UUID oficinaA = UUID.randomUUID();
+    private final UUID oficinaB = UUID.randomUUID();
+    private final UUID oficinaC = UUID.randomUUID();
+
+    private void registrar(UUID oficinaId, int vezes) {
+        for (int i = 0; i < vezes; i++) {
+            tags.record(oficinaId);
+        }
+    }
+
+    private void fecharJanela() {
+        agora.addAndGet(JANELA.toMillis());
+    }
+
+    @Test
+    @DisplayName("Deve usar 'none' sem tenant e 'other' antes da primeira janela")
+    void deveUsarNoneEOtherAntesDaPrimeiraJanela() {
+        assertThat(tags.record(null)).isEqualTo(CacheTenantTags.NONE);
+        assertThat(tags.record(oficinaA)).isEqualTo(CacheTenantTags.OTHER);
+    }
+
+    @Test
+    @DisplayName("Deve marcar individualmente apenas as K oficinas mais ativas da janela")
+    void deveMarcarApenasTopK() {
+        registrar(oficinaA, 5);
+        registrar(oficinaB, 3);
+        registrar(oficinaC, 1);
+        fecharJanela();
+
+        // O record que fecha a janela entra na contagem anterior e já usa o novo ranking
+        assertThat(tags.record(oficinaC)).isEqualTo(CacheTenantTags.OTHER);
+        assertThat(tags.record(oficinaA)).isEqualTo(oficinaA.toString());
+        assertThat(tags.record(oficinaB)).isEqualTo(oficinaB.toString());
+        assertThat(tags.topTenants()).extracting(CacheTenantTags.TenantCount::tenantId)
+                .containsExactly(oficinaA, oficinaB);
+    }
+
+    @Test
+    @DisplayName("Deve notificar o conjunto atual de tags a cada rotação")
+    void deveNotificarRotacao() {
+        List<Set<String>> rotacoes = new ArrayList<>();
+        tags.onRotation(rotacoes::add);
+
+        registrar(oficinaA, 5);
+        registrar(oficinaB, 3);
+        fecharJanela();
+        tags.record(oficinaA);
+
+        registrar(oficinaC, 10);
+        registrar(oficinaA, 2);
+        fecharJanela();
+        tags.record(oficinaC);
+
+        assertThat(rotacoes).containsExactly(
+                Set.of(oficinaA.toString(), oficinaB.toString()),
+                Set.of(oficinaA.toString(), oficinaC.toString()));
+    }
+
+    @Test
+    @DisplayName("Não deve recalcular nem notificar antes do fim da janela")
+    void naoDeveRecalcularAntesDoFimDaJanela() {
+        List<Set<String>> rotacoes = new ArrayList<>();
+        tags.onRotation(rotacoes::add);
+
+        registrar(oficinaA, 5);
+        agora.addAndGet(JANELA.toMillis() - 1);
+
+        assertThat(tags.record(oficinaA)).isEqualTo(CacheTenantTags.OTHER);
+        assertThat(rotacoes).isEmpty();
+    }
+}
@@ -0,0 +1,259 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.cliente.domain.TipoCliente;
+import com.pitstop.cliente.dto.ClienteResponse;
+import com.pitstop.estoque.domain.CategoriaPeca;
+import com.pitstop.estoque.domain.TipoLocal;
+import com.pitstop.estoque.domain.UnidadeMedida;
+import com.pitstop.estoque.dto.LocalArmazenamentoSimplificadoDTO;
+import com.pitstop.estoque.dto.PecaResponseDTO;
+import com.pitstop.ordemservico.domain.OrigemPeca;
+import com.pitstop.ordemservico.domain.StatusOS;
+import com.pitstop.ordemservico.domain.TipoCobrancaMaoObra;
+import com.pitstop.ordemservico.domain.TipoItem;
+import com.pitstop.ordemservico.dto.ClienteResumoDTO;
+import com.pitstop.ordemservico.dto.ItemOSResponseDTO;
+import com.pitstop.ordemservico.dto.OrdemServicoResponseDTO;
+import com.pitstop.ordemservico.dto.UsuarioResumoDTO;
+import com.pitstop.ordemservico.dto.VeiculoResumoDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark JMH dos codecs de valores do cache Redis ({@link CacheValueSerializer}) com os DTOs reais.
+ *
+ * <ul>
+ *   <li>{@code formato}: {@code json} (atual), {@code smile}, e as duas variantes com GZIP
+ *       ({@code +gzip}, limite de 4 KB)</li>
+ *   <li>{@code valor}: um DTO isolado (cache de detalhe) ou uma lista de 20 (cache de lista)</li>
+ * </ul>
+ *
+ * <p>Mede o tempo de encode e decode; o tamanho em bytes por entrada de cada combinação é
+ * impresso no setup e na tabela inicial do {@link #main(String[])}.
+ *
+ * <p>Execução: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pitstop.shared.cache.CacheValueSerializerBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheValueSerializerBenchmark {
+
+    private static final int ITENS_LISTA = 20;
+    private static final int LIMITE_COMPRESSAO = 4096;
+
+    @Param({"json", "smile", "json+gzip", "smile+gzip"})
+    public String formato;
+
+    @Param({"os", "cliente", "peca", "os-list", "cliente-list", "peca-list"})
+    public String valor;
+
+    private CacheValueSerializer serializer;
+    private Object objeto;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = serializer(formato);
+        objeto = amostra(valor);
+        bytes = serializer.serialize(objeto);
+        System.out.printf("%n[%s / %s] %d bytes por entrada%n", formato, valor, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(objeto);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        imprimirTamanhos();
+
+        Options options = new OptionsBuilder()
+                .include(CacheValueSerializerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Tabela de bytes por entrada (valor x formato).
+     */
+    static void imprimirTamanhos() {
+        String[] formatos = {"json", "smile", "json+gzip", "smile+gzip"};
+        String[] valores = {"os", "cliente", "peca", "os-list", "cliente-list", "peca-list"};
+
+        System.out.printf("%-14s", "bytes");
+        for (String f : formatos) {
+            System.out.printf("%12s", f);
+        }
+        System.out.println();
+
+        for (String v : valores) {
+            Object amostra = amostra(v);
+            System.out.printf("%-14s", v);
+            for (String f : formatos) {
+                System.out.printf("%12d", serializer(f).serialize(amostra).length);
+            }
+            System.out.println();
+        }
+    }
+
+    private static CacheValueSerializer serializer(String formato) {
+        CacheValueCodec codec = CacheValueCodec.fromName(formato.replace("+gzip", ""));
+        return new CacheValueSerializer(codec, formato.endsWith("+gzip") ? LIMITE_COMPRESSAO : 0);
+    }
+
+    private static Object amostra(String valor) {
+        return switch (valor) {
+            case "os" -> ordemServico(1);
+            case "cliente" -> cliente(1);
+            case "peca" -> peca(1);
+            case "os-list" -> lista(CacheValueSerializerBenchmark::ordemServico);
+            case "cliente-list" -> lista(CacheValueSerializerBenchmark::cliente);
+            case "peca-list" -> lista(CacheValueSerializerBenchmark::peca);
+            default -> throw new IllegalArgumentException(valor);
+        };
+    }
+
+    private static <T> List<T> lista(IntFunction<T> fabrica) {
+        List<T> lista = new ArrayList<>(ITENS_LISTA);
+        for (int i = 1; i <= ITENS_LISTA; i++) {
+            lista.add(fabrica.apply(i));
+        }
+        return lista;
+    }
+
+    // =====================================
+    // Amostras com preenchimento típico
+    // =====================================
+
+    private static OrdemServicoResponseDTO ordemServico(int i) {
+        LocalDateTime abertura = LocalDateTime.of(2025, 11, 3, 9, 15).plusHours(i);
+        List<ItemOSResponseDTO> itens = List.of(
+                new ItemOSResponseDTO(UUID.randomUUID(), TipoItem.PECA, OrigemPeca.ESTOQUE, UUID.randomUUID(),
+                        "Pastilha de freio dianteira", 2, new BigDecimal("89.90"), BigDecimal.ZERO,
+                        new BigDecimal("179.80"), abertura),
+                new ItemOSResponseDTO(UUID.randomUUID(), TipoItem.PECA, OrigemPeca.ESTOQUE, UUID.randomUUID(),
+                        "Fluido de freio DOT 4 500ml", 1, new BigDecimal("32.50"), BigDecimal.ZERO,
+                        new BigDecimal("32.50"), abertura),
+                new ItemOSResponseDTO(UUID.randomUUID(), TipoItem.SERVICO, null, null,
+                        "Troca de pastilhas e sangria do sistema de freio", 1, new BigDecimal("150.00"),
+                        BigDecimal.ZERO, new BigDecimal("150.00"), abertura)
+        );
+
+        return new OrdemServicoResponseDTO(
+                UUID.randomUUID(),
+                1000L + i,
+                StatusOS.EM_ANDAMENTO,
+                new VeiculoResumoDTO(UUID.randomUUID(), "ABC1D2" + (i % 10), "Volkswagen", "Gol 1.6 MSI", 2019, "Prata"),
+                new ClienteResumoDTO(UUID.randomUUID(), "Maria Aparecida dos Santos", "123.456.789-0" + (i % 10),
+                        "(11) 98888-7777", "maria.santos@email.com"),
+                new UsuarioResumoDTO(UUID.randomUUID(), "Carlos Mecânico", "carlos@oficina.com", "MECANICO"),
+                abertura,
+                LocalDate.of(2025, 11, 7),
+                null,
+                null,
+                "Barulho metálico ao frear e pedal baixo",
+                "Pastilhas dianteiras no limite e fluido contaminado",
+                "Cliente aguarda retorno por WhatsApp",
+                TipoCobrancaMaoObra.VALOR_FIXO,
+                new BigDecimal("150.00"),
+                null,
+                null,
+                null,
+                null,
+                new BigDecimal("212.30"),
+                new BigDecimal("362.30"),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                new BigDecimal("362.30"),
+                Boolean.TRUE,
+                itens,
+                abertura,
+                abertura.plusHours(2)
+        );
+    }
+
+    private static ClienteResponse cliente(int i) {
+        return ClienteResponse.builder()
+                .id(UUID.randomUUID())
+                .tipo(TipoCliente.PESSOA_FISICA)
+                .nome("João da Silva " + i)
+                .cpfCnpj("123.456.789-0" + (i % 10))
+                .email("joao" + i + "@email.com")
+                .telefone("(11) 3333-4444")
+                .celular("(11) 98888-7777")
+                .endereco(ClienteResponse.EnderecoResponse.builder()
+                        .logradouro("Rua das Flores")
+                        .numero(String.valueOf(100 + i))
+                        .complemento("Apto 45B")
+                        .bairro("Centro")
+                        .cidade("São Paulo")
+                        .estado("SP")
+                        .cep("01310-100")
+                        .enderecoFormatado("Rua das Flores, " + (100 + i) + " - Centro, São Paulo/SP, CEP: 01310-100")
+                        .build())
+                .ativo(true)
+                .createdAt(LocalDateTime.of(2025, 10, 31, 10, 0))
+                .updatedAt(LocalDateTime.of(2025, 10, 31, 15, 30))
+                .build();
+    }
+
+    private static PecaResponseDTO peca(int i) {
+        UUID localId = UUID.randomUUID();
+        UUID fornecedorId = UUID.randomUUID();
+        return new PecaResponseDTO(
+                UUID.randomUUID(),
+                "FLT-" + (1000 + i),
+                "Filtro de óleo",
+                "Filtro de óleo para motores 1.0 a 1.6",
+                "Tecfil",
+                "Gol, Fox, Polo 1.0/1.6",
+                "030115561AN",
+                "PSL" + (560 + i),
+                "789100000" + (1000 + i),
+                "84212300",
+                CategoriaPeca.FILTRO,
+                localId,
+                new LocalArmazenamentoSimplificadoDTO(localId, "PRAT-03", TipoLocal.PRATELEIRA,
+                        "Prateleira 3 - Setor de Filtros", "Depósito Principal > Setor A > Prateleira 3"),
+                UnidadeMedida.UNIDADE,
+                12,
+                5,
+                40,
+                8,
+                false,
+                false,
+                new BigDecimal("18.50"),
+                new BigDecimal("32.90"),
+                new BigDecimal("77.84"),
+                new BigDecimal("222.00"),
+                "Distribuidora Auto Peças",
+                fornecedorId,
+                new PecaResponseDTO.FornecedorResumoDTO(fornecedorId, "Distribuidora Auto Peças", "12.345.678/0001-90"),
+                null,
+                true,
+                LocalDateTime.of(2025, 11, 2, 8, 0),
+                LocalDateTime.of(2025, 11, 2, 8, 0)
+        );
+    }
+}
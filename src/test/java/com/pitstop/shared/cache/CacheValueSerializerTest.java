@@ -0,0 +1,202 @@
+package com.pitstop.shared.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pitstop.cliente.domain.TipoCliente;
+import com.pitstop.cliente.dto.ClienteResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para CacheValueSerializer.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("CacheValueSerializer - Testes Unitários")
+class CacheValueSerializerTest {
+
+    private static final int LIMITE_COMPRESSAO = 1024;
+
+    @Test
+    @DisplayName("Deve gravar e ler JSON sem compressão abaixo do limite")
+    void deveFazerRoundTripJson() {
+        CacheValueSerializer serializer = new CacheValueSerializer(CacheValueCodec.JSON, LIMITE_COMPRESSAO);
+        ClienteResponse cliente = cliente(1);
+
+        byte[] bytes = serializer.serialize(cliente);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(serializer.deserialize(bytes)).isEqualTo(cliente);
+    }
+
+    @Test
+    @DisplayName("Deve gravar e ler Smile com o cabeçalho do formato")
+    void deveFazerRoundTripSmile() {
+        CacheValueSerializer serializer = new CacheValueSerializer(CacheValueCodec.SMILE, 0);
+        ClienteResponse cliente = cliente(1);
+
+        byte[] bytes = serializer.serialize(cliente);
+
+        assertThat(new String(bytes, 0, 3)).isEqualTo(":)\n");
+        assertThat(serializer.deserialize(bytes)).isEqualTo(cliente);
+    }
+
+    @Test
+    @DisplayName("Deve comprimir com GZIP valores JSON e Smile acima do limite")
+    void deveComprimirAcimaDoLimite() {
+        List<ClienteResponse> clientes = clientes(50);
+
+        for (CacheValueCodec codec : CacheValueCodec.values()) {
+            CacheValueSerializer serializer = new CacheValueSerializer(codec, LIMITE_COMPRESSAO);
+            byte[] semCompressao = new CacheValueSerializer(codec, 0).serialize(clientes);
+
+            byte[] bytes = serializer.serialize(clientes);
+
+            assertThat(bytes[0]).as(codec.name()).isEqualTo((byte) 0x1f);
+            assertThat(bytes[1]).as(codec.name()).isEqualTo((byte) 0x8b);
+            assertThat(bytes.length).as(codec.name()).isLessThan(semCompressao.length);
+            assertThat(serializer.deserialize(bytes)).as(codec.name()).isEqualTo(clientes);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve comprimir quando o GZIP não reduz o tamanho")
+    void naoDeveComprimirQuandoNaoReduz() {
+        CacheValueSerializer serializer = new CacheValueSerializer(CacheValueCodec.JSON, 1);
+        byte[] semCompressao = new CacheValueSerializer(CacheValueCodec.JSON, 0).serialize(42L);
+
+        byte[] bytes = serializer.serialize(42L);
+
+        assertThat(bytes).isEqualTo(semCompressao);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Deve ler qualquer formato independentemente do codec configurado")
+    void deveLerQualquerFormato() {
+        CacheValueSerializer leitor = new CacheValueSerializer(CacheValueCodec.JSON, 0);
+        List<ClienteResponse> clientes = clientes(50);
+
+        assertThat(leitor.deserialize(new CacheValueSerializer(CacheValueCodec.SMILE, 0).serialize(clientes)))
+            .isEqualTo(clientes);
+        assertThat(leitor.deserialize(new CacheValueSerializer(CacheValueCodec.SMILE, LIMITE_COMPRESSAO).serialize(clientes)))
+            .isEqualTo(clientes);
+        assertThat(leitor.deserialize(new CacheValueSerializer(CacheValueCodec.JSON, LIMITE_COMPRESSAO).serialize(clientes)))
+            .isEqualTo(clientes);
+    }
+
+    @Test
+    @DisplayName("Deve ler entradas gravadas pelo GenericJackson2JsonRedisSerializer anterior")
+    void deveLerEntradasDoSerializerAnterior() {
+        GenericJackson2JsonRedisSerializer anterior = new GenericJackson2JsonRedisSerializer(objectMapperAnterior());
+        ClienteResponse cliente = cliente(1);
+        List<ClienteResponse> clientes = clientes(3);
+
+        for (CacheValueCodec codec : CacheValueCodec.values()) {
+            CacheValueSerializer serializer = new CacheValueSerializer(codec, LIMITE_COMPRESSAO);
+
+            assertThat(serializer.deserialize(anterior.serialize(cliente))).as(codec.name()).isEqualTo(cliente);
+            assertThat(serializer.deserialize(anterior.serialize(clientes))).as(codec.name()).isEqualTo(clientes);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler o RefreshAheadEntry com o valor tipado")
+    void deveLerRefreshAheadEntry() {
+        RefreshAheadEntry entrada = new RefreshAheadEntry(cliente(1), 1_700_000_000_000L, 85L);
+
+        for (CacheValueCodec codec : CacheValueCodec.values()) {
+            CacheValueSerializer serializer = new CacheValueSerializer(codec, 1);
+
+            Object lido = serializer.deserialize(serializer.serialize(entrada));
+
+            assertThat(lido).as(codec.name()).isInstanceOf(RefreshAheadEntry.class);
+            RefreshAheadEntry lida = (RefreshAheadEntry) lido;
+            assertThat(lida.value()).as(codec.name()).isInstanceOf(ClienteResponse.class).isEqualTo(entrada.value());
+            assertThat(lida.computedAt()).isEqualTo(entrada.computedAt());
+            assertThat(lida.computeMillis()).isEqualTo(entrada.computeMillis());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar o tamanho gravado de cada entrada")
+    void deveRegistrarTamanhoGravado() {
+        DistributionSummary tamanho = DistributionSummary.builder("pitstop.cache.entry.size")
+            .register(new SimpleMeterRegistry());
+        CacheValueSerializer serializer = new CacheValueSerializer(CacheValueCodec.SMILE, LIMITE_COMPRESSAO, tamanho);
+
+        byte[] bytes = serializer.serialize(clientes(50));
+
+        assertThat(tamanho.count()).isEqualTo(1);
+        assertThat(tamanho.totalAmount()).isEqualTo(bytes.length);
+    }
+
+    @Test
+    @DisplayName("Deve retornar null para valor ausente ou vazio")
+    void deveRetornarNullParaValorVazio() {
+        CacheValueSerializer serializer = new CacheValueSerializer(CacheValueCodec.SMILE, LIMITE_COMPRESSAO);
+
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    /**
+     * ObjectMapper do serializer usado antes dos codecs (CacheConfig), para gerar entradas antigas.
+     */
+    private static ObjectMapper objectMapperAnterior() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        objectMapper.activateDefaultTyping(
+            LaissezFaireSubTypeValidator.instance,
+            ObjectMapper.DefaultTyping.EVERYTHING,
+            JsonTypeInfo.As.PROPERTY
+        );
+        return objectMapper;
+    }
+
+    private static List<ClienteResponse> clientes(int quantidade) {
+        List<ClienteResponse> clientes = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            clientes.add(cliente(i));
+        }
+        return clientes;
+    }
+
+    private static ClienteResponse cliente(int i) {
+        LocalDateTime criacao = LocalDateTime.of(2025, 10, 31, 10, 0, 0);
+        return ClienteResponse.builder()
+            .id(UUID.randomUUID())
+            .tipo(TipoCliente.PESSOA_FISICA)
+            .nome("João da Silva " + i)
+            .cpfCnpj("123.456.789-0" + (i % 10))
+            .email("joao" + i + "@email.com")
+            .celular("(11) 98888-7777")
+            .endereco(ClienteResponse.EnderecoResponse.builder()
+                .logradouro("Rua das Flores")
+                .numero(String.valueOf(100 + i))
+                .bairro("Centro")
+                .cidade("São Paulo")
+                .estado("SP")
+                .cep("01310-100")
+                .build())
+            .ativo(true)
+            .createdAt(criacao)
+            .updatedAt(criacao.plusHours(i))
+            .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.pitstop.shared.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pitstop.shared.redis.RedisCircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisSystemException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para DegradedModeCache.
+ *
+ * <p>O "Redis" é um {@link ConcurrentMapCache} que lança {@link RedisCircuitOpenException}
+ * enquanto o circuito está aberto.</p>
+ *
+ * @author PitStop Team
+ */
+@DisplayName("DegradedModeCache - Testes Unitários")
+class DegradedModeCacheTest {
+
+    private final AtomicBoolean circuitoAberto = new AtomicBoolean();
+    private final RedisIndisponivel redis = new RedisIndisponivel();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DegradedModeCache cache = new DegradedModeCache(
+        redis, false, Caffeine.newBuilder().build(), meterRegistry);
+
+    @Test
+    @DisplayName("Deve ler e gravar no Caffeine local com o circuito aberto")
+    void deveUsarFallbackComCircuitoAberto() {
+        circuitoAberto.set(true);
+
+        assertThat(cache.get("1")).isNull();
+        cache.put("1", "cliente");
+
+        assertThat(cache.get("1").get()).isEqualTo("cliente");
+        assertThat(meterRegistry.get("pitstop.cache.degraded.gets").tag("result", "hit").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("pitstop.cache.degraded.gets").tag("result", "miss").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve chamar o loader uma vez e guardar o valor no Caffeine local com o circuito aberto")
+    void deveCarregarNoFallbackComCircuitoAberto() {
+        circuitoAberto.set(true);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        assertThat(cache.get("1", () -> "cliente-" + chamadas.incrementAndGet())).isEqualTo("cliente-1");
+        assertThat(cache.get("1", () -> "cliente-" + chamadas.incrementAndGet())).isEqualTo("cliente-1");
+        assertThat(chamadas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a ler do Redis depois da recuperação")
+    void deveLerDoRedisAposRecuperacao() {
+        circuitoAberto.set(true);
+        cache.put("1", "valor-local");
+
+        circuitoAberto.set(false);
+        cache.recover(cache::clear);
+        redis.put("1", "valor-redis");
+
+        assertThat(cache.get("1").get()).isEqualTo("valor-redis");
+        redis.evict("1");
+        assertThat(cache.get("1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve limpar o Redis na recuperação quando um evict não chegou a ele")
+    void deveLimparRedisAposEvictPerdido() {
+        redis.put("1", "desatualizado");
+        circuitoAberto.set(true);
+        cache.evict("1");
+
+        circuitoAberto.set(false);
+        cache.recover(cache::clear);
+
+        assertThat(redis.get("1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve limpar o Redis na recuperação sem evict perdido")
+    void naoDeveLimparRedisSemEvictPerdido() {
+        redis.put("1", "cliente");
+        circuitoAberto.set(true);
+        cache.put("2", "local");
+
+        circuitoAberto.set(false);
+        AtomicInteger limpezas = new AtomicInteger();
+        cache.recover(limpezas::incrementAndGet);
+
+        assertThat(limpezas).hasValue(0);
+        assertThat(cache.get("1").get()).isEqualTo("cliente");
+    }
+
+    @Test
+    @DisplayName("Deve propagar erro do Redis que não seja de conectividade")
+    void devePropagarErroDeComando() {
+        DegradedModeCache comErro = new DegradedModeCache(new ConcurrentMapCache("clientes") {
+            @Override
+            public void put(Object key, Object value) {
+                throw new RedisSystemException("WRONGTYPE", null);
+            }
+        }, false, Caffeine.newBuilder().build(), meterRegistry);
+
+        assertThatThrownBy(() -> comErro.put("1", "cliente")).isInstanceOf(RedisSystemException.class);
+    }
+
+    /**
+     * Redis em memória que falha como o circuit breaker aberto.
+     */
+    private class RedisIndisponivel extends ConcurrentMapCache {
+
+        RedisIndisponivel() {
+            super("clientes");
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            verificarCircuito();
+            return super.lookup(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            verificarCircuito();
+            return super.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            verificarCircuito();
+            super.put(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            verificarCircuito();
+            super.evict(key);
+        }
+
+        @Override
+        public void clear() {
+            verificarCircuito();
+            super.clear();
+        }
+
+        private void verificarCircuito() {
+            if (circuitoAberto.get()) {
+                throw new RedisCircuitOpenException();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para InstrumentedCache.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("InstrumentedCache - Testes Unitários")
+class InstrumentedCacheTest {
+
+    private static final Duration JANELA = Duration.ofSeconds(60);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong agora = new AtomicLong(1_000_000);
+    private final CacheTenantTags tenantTags = new CacheTenantTags(1, JANELA, agora::get);
+    private final InstrumentedCache cache =
+            new InstrumentedCache(new ConcurrentMapCache("clientes"), meterRegistry, tenantTags);
+
+    private final UUID oficinaA = UUID.randomUUID();
+    private final UUID oficinaB = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private long contadoresDeGets() {
+        return meterRegistry.find("pitstop.cache.gets").counters().size();
+    }
+
+    private double gets(String tenant, String result) {
+        Counter counter = meterRegistry.find("pitstop.cache.gets")
+                .tag("tenant", tenant).tag("result", result).counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    private void fecharJanela() {
+        agora.addAndGet(JANELA.toMillis());
+    }
+
+    @Test
+    @DisplayName("Deve contar hits e misses por tenant e atualizar as estatísticas")
+    void deveContarHitsEMisses() {
+        cache.get("1");
+        cache.put("1", "cliente");
+        cache.get("1");
+        cache.get("1");
+
+        assertThat(gets(CacheTenantTags.NONE, "miss")).isEqualTo(1.0);
+        assertThat(gets(CacheTenantTags.NONE, "hit")).isEqualTo(2.0);
+        assertThat(cache.stats().gets()).isEqualTo(3);
+        assertThat(cache.stats().puts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar os mesmos medidores para a mesma tag")
+    void deveReutilizarMedidores() {
+        for (int i = 0; i < 100; i++) {
+            cache.get("k" + i);
+        }
+
+        assertThat(contadoresDeGets()).isEqualTo(2);
+        assertThat(gets(CacheTenantTags.NONE, "miss")).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Deve registrar o tempo de carga por tenant no get com loader")
+    void deveRegistrarCargaPorTenant() {
+        TenantContext.setTenantId(oficinaA);
+
+        assertThat(cache.get("1", () -> "cliente")).isEqualTo("cliente");
+        assertThat(cache.get("1", () -> "outro")).isEqualTo("cliente");
+
+        assertThat(meterRegistry.get("pitstop.cache.load").tag("tenant", CacheTenantTags.OTHER)
+                .timer().count()).isEqualTo(1);
+        assertThat(gets(CacheTenantTags.OTHER, "miss")).isEqualTo(1.0);
+        assertThat(gets(CacheTenantTags.OTHER, "hit")).isEqualTo(1.0);
+        assertThat(cache.stats().loads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve remover do registry os medidores da oficina que saiu do top-K")
+    void deveRemoverMedidoresDaOficinaQueSaiuDoTopK() {
+        TenantContext.setTenantId(oficinaA);
+        cache.get("1");
+        fecharJanela();
+        cache.get("1", () -> "cliente");
+
+        assertThat(gets(oficinaA.toString(), "miss")).isEqualTo(1.0);
+        assertThat(meterRegistry.find("pitstop.cache.load").tag("tenant", oficinaA.toString()).timer())
+                .isNotNull();
+
+        TenantContext.setTenantId(oficinaB);
+        cache.get("2");
+        cache.get("3");
+        fecharJanela();
+        cache.get("4");
+
+        assertThat(meterRegistry.find("pitstop.cache.gets").tag("tenant", oficinaA.toString()).counters())
+                .isEmpty();
+        assertThat(meterRegistry.find("pitstop.cache.load").tag("tenant", oficinaA.toString()).timer())
+                .isNull();
+        assertThat(gets(oficinaB.toString(), "miss")).isEqualTo(1.0);
+        assertThat(gets(CacheTenantTags.OTHER, "miss")).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.pitstop.shared.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para RefreshAheadCache.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("RefreshAheadCache - Testes Unitários")
+class RefreshAheadCacheTest {
+
+    private final ConcurrentMapCache redis = new ConcurrentMapCache("dashboard");
+
+    private RefreshAheadCache cache(Duration freshTtl) {
+        return new RefreshAheadCache(
+                redis,
+                new RefreshAheadCache.Settings(freshTtl, 0.0, false, Duration.ofSeconds(1)),
+                Runnable::run,
+                null,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve executar um único loader para misses simultâneos da mesma chave")
+    void deveExecutarUmUnicoLoaderParaMissesSimultaneos() throws Exception {
+        RefreshAheadCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(pool.submit(() -> cache.get("stats", () -> {
+                    cargas.incrementAndGet();
+                    liberar.await(5, TimeUnit.SECONDS);
+                    return "valor";
+                })));
+            }
+
+            Thread.sleep(200);
+            liberar.countDown();
+
+            for (Future<String> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS)).isEqualTo("valor");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(cargas.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve servir valor vencido e recalcular em segundo plano")
+    void deveServirValorVencidoERecalcular() {
+        RefreshAheadCache cache = cache(Duration.ofMinutes(5));
+        redis.put("stats", new RefreshAheadEntry("antigo", System.currentTimeMillis() - Duration.ofMinutes(6).toMillis(), 10));
+
+        String valor = cache.get("stats", () -> "novo");
+
+        assertThat(valor).isEqualTo("antigo");
+        assertThat(cache.get("stats", () -> "outro")).isEqualTo("novo");
+    }
+
+    @Test
+    @DisplayName("Não deve recalcular entrada dentro do TTL")
+    void naoDeveRecalcularEntradaFresca() {
+        RefreshAheadCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.get("stats", () -> "v" + cargas.incrementAndGet());
+        String valor = cache.get("stats", () -> "v" + cargas.incrementAndGet());
+
+        assertThat(valor).isEqualTo("v1");
+        assertThat(cargas.get()).isEqualTo(1);
+    }
+}
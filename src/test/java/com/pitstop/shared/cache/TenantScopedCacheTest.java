@@ -0,0 +1,104 @@
+package com.pitstop.shared.cache;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Testes unitários para TenantScopedCache.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantScopedCache - Testes Unitários")
+class TenantScopedCacheTest {
+
+    @Mock
+    private RedisCache redis;
+
+    @InjectMocks
+    private TenantScopedCache cache;
+
+    private final UUID oficinaId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve prefixar leituras e escritas com t:{oficinaId}: quando há tenant")
+    void devePrefixarChavesComTenant() {
+        TenantContext.setTenantId(oficinaId);
+
+        cache.put(42, "valor");
+        cache.get(42);
+
+        String chave = "t:" + oficinaId + ":42";
+        verify(redis).put(chave, "valor");
+        verify(redis).get(chave);
+    }
+
+    @Test
+    @DisplayName("Deve usar a chave sem prefixo quando não há tenant")
+    void deveUsarChaveCruaSemTenant() {
+        cache.put("estados", "valor");
+
+        verify(redis).put("estados", "valor");
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas a entrada da oficina atual no evict com tenant")
+    void deveEvictarApenasDaOficina() {
+        TenantContext.setTenantId(oficinaId);
+
+        cache.evict(42);
+
+        verify(redis).evict("t:" + oficinaId + ":42");
+        verify(redis, never()).clear(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve remover a chave de todas as oficinas no evict sem tenant, com curingas escapados")
+    void deveEvictarDeTodasAsOficinasSemTenant() {
+        SimpleKey chave = SimpleKey.EMPTY;
+
+        cache.evict(chave);
+
+        verify(redis).evict(chave);
+        verify(redis).clear("t:*:SimpleKey \\[\\]");
+    }
+
+    @Test
+    @DisplayName("Deve limpar apenas as entradas da oficina atual no clear com tenant")
+    void deveLimparApenasDaOficina() {
+        TenantContext.setTenantId(oficinaId);
+
+        cache.clear();
+
+        verify(redis).clear("t:" + oficinaId + ":*");
+        verify(redis, never()).clear();
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache inteiro no clear sem tenant")
+    void deveLimparTudoSemTenant() {
+        cache.clear();
+
+        verify(redis).clear();
+        verify(redis, never()).clear(anyString());
+    }
+}
@@ -0,0 +1,134 @@
+package com.pitstop.shared.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pitstop.shared.security.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para TwoLevelCache.
+ *
+ * <p>Dois "nós" compartilham o mesmo L2; as invalidações publicadas por um são codificadas,
+ * decodificadas e aplicadas no L1 do outro, como faz o {@link TwoLevelCacheManager}.</p>
+ *
+ * @author PitStop Team
+ */
+@DisplayName("TwoLevelCache - Testes Unitários")
+class TwoLevelCacheTest {
+
+    private final ConcurrentMapCache redis = new ConcurrentMapCache("clientes");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<CacheInvalidation> publicadas = new ArrayList<>();
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = Caffeine.newBuilder().build();
+
+    private final UUID oficinaA = UUID.randomUUID();
+    private final UUID oficinaB = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private TwoLevelCache no(com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+                             Consumer<CacheInvalidation> publisher) {
+        return new TwoLevelCache(redis, true, l1, publisher, meterRegistry);
+    }
+
+    private TwoLevelCache no() {
+        return no(l1, publicadas::add);
+    }
+
+    @Test
+    @DisplayName("Deve servir do L1 sem consultar o L2 após a primeira leitura")
+    void deveServirDoL1() {
+        TwoLevelCache cache = no();
+        redis.put("1", "cliente");
+
+        assertThat(cache.get("1").get()).isEqualTo("cliente");
+        redis.evict("1");
+
+        assertThat(cache.get("1").get()).isEqualTo("cliente");
+        assertThat(meterRegistry.get("pitstop.cache.tier.gets")
+                .tag("tier", "l1").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("pitstop.cache.tier.gets")
+                .tag("tier", "l2").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve guardar o L1 com a chave t:{oficinaId}: e publicar a chave com escopo no put")
+    void devePrefixarChavesDoL1() {
+        TwoLevelCache cache = no();
+        TenantContext.setTenantId(oficinaA);
+
+        cache.put("1", "cliente");
+
+        String chave = "t:" + oficinaA + ":1";
+        assertThat(publicadas).containsExactly(CacheInvalidation.key("clientes", chave));
+        assertThat(l1.asMap()).containsOnlyKeys(chave);
+    }
+
+    @Test
+    @DisplayName("Deve limpar apenas o L1 da oficina atual no clear com tenant")
+    void deveLimparApenasOficinaNoClear() {
+        TwoLevelCache cache = no();
+        TenantContext.runWithTenant(oficinaA, () -> { cache.put("1", "a1"); cache.put("2", "a2"); });
+        TenantContext.runWithTenant(oficinaB, () -> cache.put("1", "b1"));
+        publicadas.clear();
+
+        TenantContext.runWithTenant(oficinaA, cache::clear);
+
+        assertThat(publicadas).containsExactly(CacheInvalidation.tenant("clientes", oficinaA.toString()));
+        assertThat(l1.asMap())
+                .containsOnlyKeys("t:" + oficinaB + ":1");
+    }
+
+    @Test
+    @DisplayName("Deve remover a chave de todas as oficinas no L1 no evict sem tenant")
+    void deveEvictarChaveDeTodasAsOficinasSemTenant() {
+        TwoLevelCache cache = no();
+        TenantContext.runWithTenant(oficinaA, () -> { cache.put("1", "a1"); cache.put("10", "a10"); });
+        TenantContext.runWithTenant(oficinaB, () -> cache.put("1", "b1"));
+        publicadas.clear();
+
+        cache.evict("1");
+
+        assertThat(publicadas).containsExactly(CacheInvalidation.keyAnyTenant("clientes", "1"));
+        assertThat(l1.asMap())
+                .containsOnlyKeys("t:" + oficinaA + ":10");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o L1 do outro nó quando um nó grava ou remove a chave")
+    void deveInvalidarL1EntreNos() {
+        List<TwoLevelCache> destino = new ArrayList<>();
+        Consumer<CacheInvalidation> rede = invalidacao -> destino.forEach(outro ->
+                outro.applyRemote(CacheInvalidation.decode(invalidacao.encode("no-1")).invalidation()));
+        var l1No2 = Caffeine.newBuilder().<String, Object>build();
+        TwoLevelCache no1 = no(l1, rede);
+        TwoLevelCache no2 = no(l1No2, invalidacao -> { });
+        destino.add(no2);
+        TenantContext.setTenantId(oficinaA);
+
+        no1.put("1", "v1");
+        assertThat(no2.get("1").get()).isEqualTo("v1");
+
+        // Sem a invalidação, o nó 2 continuaria servindo "v1" do L1
+        no1.put("1", "v2");
+        assertThat(no2.get("1").get()).isEqualTo("v2");
+
+        no1.evict("1");
+        assertThat(no2.get("1")).isNull();
+        assertThat(l1No2.asMap()).isEmpty();
+    }
+}
@@ -0,0 +1,294 @@
+package com.pitstop.shared.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.config.JpaConfig;
+import com.pitstop.oficina.domain.Contato;
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.oficina.domain.TipoPessoa;
+import com.pitstop.oficina.repository.OficinaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes de integração do OutboxRelay contra o PostgreSQL.
+ *
+ * <p>Executa o CLAIM_SQL de verdade: dois relays concorrentes (FOR UPDATE SKIP LOCKED), ordem por
+ * (consumidor, agregado) e reentrega após o lease expirar. Sem transação de teste: cada statement
+ * do relay é autocommit, como em produção.</p>
+ *
+ * @author PitStop Team
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+@DisplayName("OutboxRelay - Testes de Integração")
+class OutboxRelayIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+        DockerImageName.parse("postgres:16-alpine"))
+        .withDatabaseName("pitstop_test")
+        .withUsername("test_user")
+        .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private OficinaRepository oficinaRepository;
+
+    private final OutboxHandlers handlers = mock(OutboxHandlers.class);
+    private final List<OutboxMessage> entregues = Collections.synchronizedList(new ArrayList<>());
+    private final List<OutboxRelay> relays = new ArrayList<>();
+
+    private UUID oficinaId;
+
+    @BeforeEach
+    void setUp() {
+        Oficina oficina = oficinaRepository.save(Oficina.builder()
+            .nomeFantasia("Oficina Outbox")
+            .razaoSocial("Oficina Outbox LTDA")
+            .tipoPessoa(TipoPessoa.PESSOA_JURIDICA)
+            .cnpjCpf("11222333000181")
+            .nomeResponsavel("Responsavel Teste")
+            .contato(Contato.builder()
+                .telefoneCelular("(11) 99999-0000")
+                .email("oficina@outbox.com")
+                .build())
+            .build());
+        oficinaId = oficina.getId();
+
+        doReturn(handler("teste")).when(handlers).get("teste");
+        doReturn(handler("outro")).when(handlers).get("outro");
+    }
+
+    @AfterEach
+    void tearDown() {
+        relays.forEach(OutboxRelay::shutdown);
+        jdbcTemplate.update("DELETE FROM outbox_processados");
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        oficinaRepository.deleteById(oficinaId);
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada linha uma única vez, na ordem do agregado, com dois relays concorrentes")
+    void deveEntregarCadaLinhaUmaVezComDoisRelaysConcorrentes() throws Exception {
+        List<UUID> agregados = new ArrayList<>();
+        for (int a = 0; a < 20; a++) {
+            agregados.add(UUID.randomUUID());
+        }
+        for (int e = 0; e < 5; e++) {
+            for (UUID agregado : agregados) {
+                inserir(agregado, "teste");
+            }
+        }
+        OutboxRelay relayA = relay(10, 60);
+        OutboxRelay relayB = relay(10, 60);
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService nos = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (OutboxRelay relay : List.of(relayA, relayB)) {
+                execucoes.add(nos.submit(() -> {
+                    largada.await();
+                    while (pendentes() > 0) {
+                        if (relay.relayBatch() == 0) {
+                            Thread.sleep(5);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> execucao : execucoes) {
+                execucao.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            nos.shutdownNow();
+        }
+
+        assertThat(entregues).hasSize(100);
+        assertThat(entregues).extracting(OutboxMessage::id).doesNotHaveDuplicates();
+        assertThat(entregues).allSatisfy(m -> assertThat(m.attempts()).isEqualTo(1));
+
+        Map<UUID, List<Long>> porAgregado = new HashMap<>();
+        synchronized (entregues) {
+            entregues.forEach(m -> porAgregado.computeIfAbsent(m.aggregateId(), k -> new ArrayList<>()).add(m.id()));
+        }
+        assertThat(porAgregado).hasSize(20);
+        porAgregado.values().forEach(ids -> assertThat(ids).hasSize(5).isSorted());
+    }
+
+    @Test
+    @DisplayName("Deve pular linhas travadas por outro nó sem bloquear")
+    void devePularLinhasTravadasSemBloquear() throws Exception {
+        long travada = inserir(UUID.randomUUID(), "teste");
+        long livre = inserir(UUID.randomUUID(), "teste");
+        OutboxRelay relay = relay(10, 60);
+
+        try (Connection outroNo = dataSource.getConnection()) {
+            outroNo.setAutoCommit(false);
+            try (PreparedStatement lock = outroNo.prepareStatement(
+                    "SELECT id FROM outbox_eventos WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, travada);
+                lock.executeQuery();
+            }
+
+            List<OutboxMessage> reivindicadas = assertTimeoutPreemptively(Duration.ofSeconds(5), relay::claim);
+
+            assertThat(reivindicadas).extracting(OutboxMessage::id).containsExactly(livre);
+            outroNo.rollback();
+        }
+
+        assertThat(relay.claim()).extracting(OutboxMessage::id).containsExactly(travada);
+    }
+
+    @Test
+    @DisplayName("Deve liberar apenas o evento mais antigo pendente de cada agregado por consumidor")
+    void deveRespeitarOrdemPorConsumidorEAgregado() {
+        UUID agregado = UUID.randomUUID();
+        long primeiro = inserir(agregado, "teste");
+        long segundo = inserir(agregado, "teste");
+        long outroConsumidor = inserir(agregado, "outro");
+        OutboxRelay relay = relay(10, 60);
+
+        List<OutboxMessage> lote = relay.claim();
+        assertThat(lote).extracting(OutboxMessage::id).containsExactly(primeiro, outroConsumidor);
+
+        lote.forEach(relay::deliver);
+
+        assertThat(relay.claim()).extracting(OutboxMessage::id).containsExactly(segundo);
+    }
+
+    @Test
+    @DisplayName("Deve reentregar a linha a outro nó depois que o lease expira")
+    void deveReentregarDepoisQueLeaseExpira() {
+        long id = inserir(UUID.randomUUID(), "teste");
+        OutboxRelay relayA = relay(10, 60);
+        OutboxRelay relayB = relay(10, 60);
+
+        // Nó A reivindica e "cai" antes do ack
+        assertThat(relayA.claim()).extracting(OutboxMessage::id).containsExactly(id);
+        assertThat(relayB.claim()).isEmpty();
+
+        jdbcTemplate.update("UPDATE outbox_eventos SET bloqueado_ate = LOCALTIMESTAMP - INTERVAL '1 second' WHERE id = ?", id);
+
+        List<OutboxMessage> reentrega = relayB.claim();
+        assertThat(reentrega).extracting(OutboxMessage::id).containsExactly(id);
+        assertThat(reentrega.get(0).attempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve executar o efeito colateral uma vez por linha e liberar o marcador em caso de falha")
+    void deveExecutarEfeitoUmaVezPorLinha() {
+        OutboxIdempotency idempotency = new OutboxIdempotency(jdbcTemplate, 7);
+        long id = inserir(UUID.randomUUID(), "teste");
+        OutboxMessage message = relay(10, 60).claim().get(0);
+        assertThat(message.id()).isEqualTo(id);
+        AtomicInteger envios = new AtomicInteger();
+
+        assertThatThrownBy(() -> idempotency.runOnce(message, () -> {
+            throw new IllegalStateException("SMTP indisponível");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(idempotency.runOnce(message, envios::incrementAndGet)).isTrue();
+        assertThat(idempotency.runOnce(message, envios::incrementAndGet)).isFalse();
+        assertThat(envios).hasValue(1);
+    }
+
+    private OutboxRelay relay(int batchSize, long leaseSeconds) {
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, new ObjectMapper(), handlers, new SimpleMeterRegistry(),
+            true, batchSize, leaseSeconds, 3, 300, 4, 7);
+        relays.add(relay);
+        return relay;
+    }
+
+    private long inserir(UUID agregadoId, String consumidor) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO outbox_eventos (oficina_id, agregado_tipo, agregado_id, evento, consumidor, payload)
+            VALUES (?, 'Teste', ?, 'TESTE', ?, '{"valor":"x"}'::jsonb)
+            RETURNING id
+            """, Long.class, oficinaId, agregadoId, consumidor);
+    }
+
+    private long pendentes() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM outbox_eventos WHERE status = 'PENDENTE'", Long.class);
+    }
+
+    private OutboxHandler<Map> handler(String consumer) {
+        return new OutboxHandler<>() {
+            @Override
+            public String consumer() {
+                return consumer;
+            }
+
+            @Override
+            public String eventType() {
+                return "TESTE";
+            }
+
+            @Override
+            public Class<Map> payloadType() {
+                return Map.class;
+            }
+
+            @Override
+            public void handle(OutboxMessage message, Map payload) {
+                entregues.add(message);
+            }
+        };
+    }
+}
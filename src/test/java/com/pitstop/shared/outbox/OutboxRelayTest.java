@@ -0,0 +1,137 @@
+package com.pitstop.shared.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.shared.security.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Testes unitários para OutboxRelay.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("OutboxRelay - Testes Unitários")
+class OutboxRelayTest {
+
+    private static final UUID OFICINA_ID = UUID.randomUUID();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OutboxHandlers handlers = mock(OutboxHandlers.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxRelay relay = new OutboxRelay(
+        jdbcTemplate, new ObjectMapper(), handlers, meterRegistry, true, 100, 60, 3, 300, 1, 7);
+
+    private final List<String> recebidos = new ArrayList<>();
+    private final List<UUID> tenants = new ArrayList<>();
+
+    /**
+     * Payload de teste.
+     */
+    record Teste(String valor) {
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve entregar o payload no tenant da linha e marcar como processado")
+    void deveEntregarEMarcarComoProcessado() {
+        doReturn(handler(false)).when(handlers).get("teste");
+
+        OutboxRelay.Result resultado = relay.deliver(mensagem(1, "{\"valor\":\"ok\"}"));
+
+        assertThat(resultado).isEqualTo(OutboxRelay.Result.SUCCESS);
+        assertThat(recebidos).containsExactly("ok");
+        assertThat(tenants).containsExactly(OFICINA_ID);
+        verify(jdbcTemplate).update(contains("'PROCESSADO'"), eq(10L));
+    }
+
+    @Test
+    @DisplayName("Deve reagendar com backoff quando o handler falhar")
+    void deveReagendarQuandoHandlerFalhar() {
+        doReturn(handler(true)).when(handlers).get("teste");
+
+        OutboxRelay.Result resultado = relay.deliver(mensagem(2, "{\"valor\":\"x\"}"));
+
+        assertThat(resultado).isEqualTo(OutboxRelay.Result.RETRY);
+        verify(jdbcTemplate).update(contains("disponivel_em"), any(Object[].class), any(int[].class));
+        verify(jdbcTemplate, never()).update(contains("'PROCESSADO'"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como esgotado após o máximo de tentativas")
+    void deveMarcarComoEsgotadoAposMaximoDeTentativas() {
+        doReturn(handler(true)).when(handlers).get("teste");
+
+        OutboxRelay.Result resultado = relay.deliver(mensagem(3, "{\"valor\":\"x\"}"));
+
+        assertThat(resultado).isEqualTo(OutboxRelay.Result.DEAD);
+        verify(jdbcTemplate).update(contains("'ESGOTADO'"), anyString(), eq(10L));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como esgotado payload ilegível sem chamar o handler")
+    void deveMarcarPayloadIlegivelComoEsgotado() {
+        doReturn(handler(false)).when(handlers).get("teste");
+
+        OutboxRelay.Result resultado = relay.deliver(mensagem(1, "{\"valor\":"));
+
+        assertThat(resultado).isEqualTo(OutboxRelay.Result.DEAD);
+        assertThat(recebidos).isEmpty();
+        verify(jdbcTemplate).update(contains("'ESGOTADO'"), anyString(), eq(10L));
+    }
+
+    private OutboxMessage mensagem(int tentativas, String payload) {
+        return new OutboxMessage(10L, OFICINA_ID, "Teste", UUID.randomUUID(), "TESTE", "teste",
+            payload, tentativas, LocalDateTime.now());
+    }
+
+    private OutboxHandler<Teste> handler(boolean falhar) {
+        return new OutboxHandler<>() {
+            @Override
+            public String consumer() {
+                return "teste";
+            }
+
+            @Override
+            public String eventType() {
+                return "TESTE";
+            }
+
+            @Override
+            public Class<Teste> payloadType() {
+                return Teste.class;
+            }
+
+            @Override
+            public void handle(OutboxMessage message, Teste payload) {
+                if (falhar) {
+                    throw new IllegalStateException("indisponível");
+                }
+                tenants.add(TenantContext.getTenantId());
+                recebidos.add(payload.valor());
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.pitstop.shared.pagination;
+
+import com.pitstop.shared.security.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para PageCounter.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("PageCounter - Testes Unitários")
+class PageCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PageCounter pageCounter = new PageCounter(new ConcurrentMapCacheManager("pageCounts"), jdbcTemplate);
+
+    private final AtomicInteger contagens = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantIdUnsafe(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve retornar o slice sem contar no modo NONE")
+    void deveRetornarSliceSemContarNoModoNone() {
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        Slice<String> resultado = pageCounter.complete(slice, CountMode.NONE, contar(100, "filtro"));
+
+        assertThat(resultado).isSameAs(slice);
+        assertThat(contagens).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Deve deduzir o total na última página sem executar COUNT")
+    void deveDeduzirTotalNaUltimaPagina() {
+        Slice<String> slice = new SliceImpl<>(List.of("a"), PageRequest.of(2, 2), false);
+
+        Page<String> resultado = (Page<String>) pageCounter.complete(slice, CountMode.EXACT, contar(100, "filtro"));
+
+        assertThat(resultado.getTotalElements()).isEqualTo(5);
+        assertThat(contagens).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Deve cachear o COUNT exato pelos filtros")
+    void deveCachearCountExatoPelosFiltros() {
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        pageCounter.complete(slice, CountMode.EXACT, contar(40, "filtro"));
+        Page<String> resultado = (Page<String>) pageCounter.complete(slice, CountMode.EXACT, contar(40, "filtro"));
+        pageCounter.complete(slice, CountMode.EXACT, contar(7, "outro"));
+
+        assertThat(resultado.getTotalElements()).isEqualTo(40);
+        assertThat(contagens).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve usar a estimativa do planner quando não houver filtros")
+    void deveUsarEstimativaSemFiltros() {
+        when(jdbcTemplate.queryForList(contains("EXPLAIN SELECT 1 FROM clientes"), eq(String.class)))
+            .thenReturn(List.of("Index Only Scan using idx_clientes_oficina on clientes  (cost=0.29..80.41 rows=1234 width=0)"));
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        Page<String> resultado = (Page<String>) pageCounter.complete(slice, CountMode.ESTIMATED, contar(1300, null, null));
+
+        assertThat(resultado.getTotalElements()).isEqualTo(1234);
+        assertThat(contagens).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Deve usar COUNT exato no modo ESTIMATED quando houver filtros")
+    void deveUsarCountExatoComFiltros() {
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        Page<String> resultado = (Page<String>) pageCounter.complete(slice, CountMode.ESTIMATED, contar(12, "Silva", null));
+
+        assertThat(resultado.getTotalElements()).isEqualTo(12);
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+    }
+
+    @Test
+    @DisplayName("Não deve reportar total menor que as linhas já paginadas")
+    void naoDeveReportarTotalMenorQueLinhasPaginadas() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("Seq Scan on clientes  (cost=0.00..1.05 rows=3 width=0)"));
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(5, 2), true);
+
+        Page<String> resultado = (Page<String>) pageCounter.complete(slice, CountMode.ESTIMATED, contar(20, (Object) null));
+
+        assertThat(resultado.getTotalElements()).isEqualTo(13);
+    }
+
+    private CountQuery contar(long total, Object... filtros) {
+        return CountQuery.of("clientes", () -> {
+            contagens.incrementAndGet();
+            return total;
+        }, filtros);
+    }
+}
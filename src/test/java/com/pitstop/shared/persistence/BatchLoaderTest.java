@@ -0,0 +1,78 @@
+package com.pitstop.shared.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para BatchLoader.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("BatchLoader - Testes Unitários")
+class BatchLoaderTest {
+
+    private record Linha(String id, Integer refId) {}
+
+    private record Entidade(Integer id) {}
+
+    @Test
+    @DisplayName("Deve carregar IDs distintos e não nulos em uma única chamada")
+    void deveCarregarIdsDistintosEmUmaChamada() {
+        List<List<Integer>> chamadas = new ArrayList<>();
+        List<Linha> linhas = List.of(new Linha("a", 1), new Linha("b", 2), new Linha("c", 1), new Linha("d", null));
+
+        Map<Integer, Entidade> carregadas = BatchLoader.loadByIds(
+            linhas, Linha::refId, ids -> carregar(ids, chamadas), Entidade::id);
+
+        assertThat(chamadas).containsExactly(List.of(1, 2));
+        assertThat(carregadas).containsOnlyKeys(1, 2);
+    }
+
+    @Test
+    @DisplayName("Deve dividir os IDs em lotes do tamanho configurado")
+    void deveDividirEmLotes() {
+        List<List<Integer>> chamadas = new ArrayList<>();
+        List<Linha> linhas = List.of(
+            new Linha("a", 1), new Linha("b", 2), new Linha("c", 3), new Linha("d", 4), new Linha("e", 5));
+
+        Map<Integer, Entidade> carregadas = BatchLoader.loadByIds(
+            linhas, Linha::refId, ids -> carregar(ids, chamadas), Entidade::id, 2);
+
+        assertThat(chamadas).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+        assertThat(carregadas).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar quando não houver IDs")
+    void naoDeveConsultarSemIds() {
+        List<List<Integer>> chamadas = new ArrayList<>();
+
+        Map<Integer, Entidade> carregadas = BatchLoader.loadByIds(
+            List.of(new Linha("a", null)), Linha::refId, ids -> carregar(ids, chamadas), Entidade::id);
+
+        assertThat(chamadas).isEmpty();
+        assertThat(carregadas).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar tamanho de lote inválido")
+    void deveRejeitarTamanhoDeLoteInvalido() {
+        Function<List<Integer>, List<Entidade>> loader = ids -> List.of();
+
+        assertThatThrownBy(() -> BatchLoader.loadByIds(List.of(new Linha("a", 1)), Linha::refId, loader, Entidade::id, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Entidade> carregar(List<Integer> ids, List<List<Integer>> chamadas) {
+        chamadas.add(List.copyOf(ids));
+        return ids.stream().map(Entidade::new).toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.pitstop.shared.persistence;
+
+import com.pitstop.config.JpaConfig;
+import com.pitstop.oficina.domain.Contato;
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.oficina.domain.TipoPessoa;
+import com.pitstop.oficina.repository.OficinaRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Testes de integração do NumberBlockAllocator contra o PostgreSQL.
+ *
+ * <p>Simula o pool de requisições com 2 conexões, todas presas em transações de chamadores
+ * ({@code OrdemServicoService.criar}) quando o bloco acaba: a reserva não pode depender de uma
+ * terceira conexão do mesmo pool.</p>
+ *
+ * @author PitStop Team
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+@DisplayName("NumberBlockAllocator - Testes de Integração")
+class NumberBlockAllocatorIntegrationTest {
+
+    private static final int THREADS = 2;
+    private static final int CHAMADAS_POR_THREAD = 30;
+    private static final int BLOCO = 4;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+        DockerImageName.parse("postgres:16-alpine"))
+        .withDatabaseName("pitstop_test")
+        .withUsername("test_user")
+        .withPassword("test_password");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OficinaRepository oficinaRepository;
+
+    private HikariDataSource poolRequisicoes;
+    private HikariDataSource poolReservas;
+    private UUID oficinaId;
+
+    @BeforeEach
+    void setUp() {
+        Oficina oficina = oficinaRepository.save(Oficina.builder()
+            .nomeFantasia("Oficina Numeração")
+            .razaoSocial("Oficina Numeração LTDA")
+            .tipoPessoa(TipoPessoa.PESSOA_JURIDICA)
+            .cnpjCpf("11222333000181")
+            .nomeResponsavel("Responsavel Teste")
+            .contato(Contato.builder()
+                .telefoneCelular("(11) 99999-0000")
+                .email("oficina@numeracao.com")
+                .build())
+            .build());
+        oficinaId = oficina.getId();
+
+        poolRequisicoes = pool("requisicoes", THREADS);
+        poolReservas = pool("numeracao", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        poolRequisicoes.close();
+        poolReservas.close();
+        jdbcTemplate.update("DELETE FROM numeracao_contadores WHERE oficina_id = ?", oficinaId);
+        oficinaRepository.deleteById(oficinaId);
+    }
+
+    @Test
+    @DisplayName("Deve reservar blocos sem esgotar o pool quando todas as conexões estão em transações de chamadores")
+    void deveReservarBlocosComPoolDeRequisicoesEsgotado() throws Exception {
+        JdbcTemplate requisicaoJdbc = new JdbcTemplate(poolRequisicoes);
+        NumberBlockAllocator allocator = new NumberBlockAllocator(requisicaoJdbc, new JdbcTemplate(poolReservas));
+        TransactionTemplate transacaoExterna = new TransactionTemplate(new DataSourceTransactionManager(poolRequisicoes));
+        CyclicBarrier todasConexoesPresas = new CyclicBarrier(THREADS);
+        List<Long> numeros = Collections.synchronizedList(new ArrayList<>());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            ExecutorService chamadores = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> execucoes = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    execucoes.add(chamadores.submit(() -> {
+                        for (int i = 0; i < CHAMADAS_POR_THREAD; i++) {
+                            transacaoExterna.executeWithoutResult(status -> {
+                                requisicaoJdbc.queryForObject("SELECT 1", Integer.class);
+                                aguardar(todasConexoesPresas);
+                                numeros.add(allocator.next(oficinaId, "OS", BLOCO));
+                            });
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> execucao : execucoes) {
+                    execucao.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                chamadores.shutdownNow();
+            }
+        });
+
+        assertThat(numeros).hasSize(THREADS * CHAMADAS_POR_THREAD).doesNotHaveDuplicates();
+        Long proximo = jdbcTemplate.queryForObject(
+            "SELECT proximo FROM numeracao_contadores WHERE oficina_id = ? AND chave = 'OS'", Long.class, oficinaId);
+        assertThat(numeros).allSatisfy(numero -> assertThat(numero).isPositive().isLessThan(proximo));
+    }
+
+    private static void aguardar(CyclicBarrier barreira) {
+        try {
+            barreira.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Chamadores não chegaram juntos à barreira", e);
+        }
+    }
+
+    private static HikariDataSource pool(String nome, int tamanho) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(nome);
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(tamanho);
+        dataSource.setConnectionTimeout(3000);
+        return dataSource;
+    }
+}
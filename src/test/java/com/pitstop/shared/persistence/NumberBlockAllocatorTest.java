@@ -0,0 +1,72 @@
+package com.pitstop.shared.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para NumberBlockAllocator.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("NumberBlockAllocator - Testes Unitários")
+class NumberBlockAllocatorTest {
+
+    private static final UUID OFICINA_A = UUID.randomUUID();
+    private static final UUID OFICINA_B = UUID.randomUUID();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JdbcTemplate reservationJdbc = mock(JdbcTemplate.class);
+    private final NumberBlockAllocator allocator = new NumberBlockAllocator(jdbcTemplate, reservationJdbc);
+
+    @Test
+    @DisplayName("Deve distribuir os números do bloco em memória com uma reserva por bloco")
+    void deveDistribuirBlocoEmMemoria() {
+        when(reservationJdbc.queryForObject(anyString(), eq(Long.class), eq(OFICINA_A), eq("OS"), eq(3), eq(3)))
+            .thenReturn(1L, 4L);
+
+        long[] numeros = new long[5];
+        for (int i = 0; i < numeros.length; i++) {
+            numeros[i] = allocator.next(OFICINA_A, "OS", 3);
+        }
+
+        assertThat(numeros).containsExactly(1, 2, 3, 4, 5);
+        verify(reservationJdbc, times(2)).queryForObject(anyString(), eq(Long.class), eq(OFICINA_A), eq("OS"), eq(3), eq(3));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve manter blocos separados por oficina")
+    void deveManterBlocosPorOficina() {
+        when(reservationJdbc.queryForObject(anyString(), eq(Long.class), eq(OFICINA_A), eq("OS"), eq(10), eq(10)))
+            .thenReturn(101L);
+        when(reservationJdbc.queryForObject(anyString(), eq(Long.class), eq(OFICINA_B), eq("OS"), eq(10), eq(10)))
+            .thenReturn(1L);
+
+        assertThat(allocator.next(OFICINA_A, "OS", 10)).isEqualTo(101L);
+        assertThat(allocator.next(OFICINA_B, "OS", 10)).isEqualTo(1L);
+        assertThat(allocator.next(OFICINA_A, "OS", 10)).isEqualTo(102L);
+    }
+
+    @Test
+    @DisplayName("Deve numerar sem bloco na transação do chamador quando o bloco for 1")
+    void deveNumerarNaTransacaoDoChamadorSemBloco() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(OFICINA_A), eq("NFE:1"), eq(1), eq(1)))
+            .thenReturn(7L, 8L);
+
+        assertThat(allocator.next(OFICINA_A, "NFE:1", 1)).isEqualTo(7L);
+        assertThat(allocator.next(OFICINA_A, "NFE:1", 1)).isEqualTo(8L);
+        verifyNoInteractions(reservationJdbc);
+    }
+}
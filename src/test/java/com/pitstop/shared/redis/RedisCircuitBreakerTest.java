@@ -0,0 +1,148 @@
+package com.pitstop.shared.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para RedisCircuitBreaker.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("RedisCircuitBreaker - Testes Unitários")
+class RedisCircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RedisCircuitBreaker breaker(long openSeconds) {
+        return new RedisCircuitBreaker(meterRegistry, true, 3, 500, openSeconds);
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito após falhas consecutivas e rejeitar chamadas")
+    void deveAbrirAposFalhasConsecutivas() {
+        RedisCircuitBreaker breaker = breaker(60);
+
+        breaker.onFailure("timeout");
+        breaker.onFailure("timeout");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+
+        breaker.onFailure("timeout");
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("pitstop.redis.circuit.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve contar chamada lenta como falha")
+    void deveContarChamadaLentaComoFalha() {
+        RedisCircuitBreaker breaker = breaker(60);
+
+        for (int i = 0; i < 3; i++) {
+            breaker.onSuccess(TimeUnit.MILLISECONDS.toNanos(1500));
+        }
+
+        assertThat(breaker.isDegraded()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve liberar uma única sonda e fechar o circuito quando ela tiver sucesso")
+    void deveFecharAposSondaComSucesso() throws Exception {
+        RedisCircuitBreaker breaker = breaker(0);
+        CountDownLatch recuperado = new CountDownLatch(1);
+        breaker.addRecoveryListener(recuperado::countDown);
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure("timeout");
+        }
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess(TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(recuperado.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve distinguir falha de conectividade de erro de comando")
+    void deveDistinguirFalhaDeConectividade() {
+        assertThat(RedisCircuitBreaker.isConnectivityFailure(new QueryTimeoutException("timeout"))).isTrue();
+        assertThat(RedisCircuitBreaker.isConnectivityFailure(new RedisCircuitOpenException())).isTrue();
+        assertThat(RedisCircuitBreaker.isConnectivityFailure(new RedisSystemException("WRONGTYPE", null))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve contar SCAN lento como falha, mas deve contar comando comum lento")
+    void naoDeveContarScanLentoComoFalha() {
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(meterRegistry, true, 3, 1, 60);
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisConnectionFactory delegate = mock(RedisConnectionFactory.class);
+        when(delegate.getConnection()).thenReturn(connection);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(keyCommands.scan(any(ScanOptions.class))).thenAnswer(lento(null));
+        when(keyCommands.keys(any())).thenAnswer(lento(Set.of()));
+        when(stringCommands.get(any())).thenAnswer(lento(null));
+        CircuitBreakingRedisConnectionFactory factory = new CircuitBreakingRedisConnectionFactory(delegate, breaker);
+
+        for (int i = 0; i < 3; i++) {
+            factory.getConnection().keyCommands().scan(ScanOptions.NONE);
+            factory.getConnection().keyCommands().keys("*::*".getBytes());
+        }
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+
+        for (int i = 0; i < 3; i++) {
+            factory.getConnection().stringCommands().get("chave".getBytes());
+        }
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Deve contar falha de conectividade do SCAN")
+    void deveContarFalhaDeConectividadeDoScan() {
+        RedisCircuitBreaker breaker = breaker(60);
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisConnectionFactory delegate = mock(RedisConnectionFactory.class);
+        when(delegate.getConnection()).thenReturn(connection);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(keyCommands.scan(any(ScanOptions.class))).thenThrow(new QueryTimeoutException("timeout"));
+        CircuitBreakingRedisConnectionFactory factory = new CircuitBreakingRedisConnectionFactory(delegate, breaker);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> factory.getConnection().keyCommands().scan(ScanOptions.NONE))
+                    .isInstanceOf(QueryTimeoutException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    private static Answer<Object> lento(Object resultado) {
+        return invocation -> {
+            Thread.sleep(5);
+            return resultado;
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.usuario.domain.PerfilUsuario;
+import com.pitstop.usuario.domain.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitarios para JwtAuthenticationFilter no modo {@code claims}.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter - Testes Unitarios")
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private SecurityVersionService securityVersionService;
+
+    private PrincipalCache principalCache;
+    private JwtAuthenticationFilter filter;
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        byte[] secretBytes = new byte[64];
+        new SecureRandom().nextBytes(secretBytes);
+        JwtService jwtService = new JwtService(
+                Base64.getEncoder().encodeToString(secretBytes), 3_600_000L, 604_800_000L, 100);
+
+        principalCache = new PrincipalCache(100, 300);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, principalCache, securityVersionService);
+        ReflectionTestUtils.setField(filter, "authenticationMode", "claims");
+
+        Oficina oficina = new Oficina();
+        oficina.setId(UUID.randomUUID());
+        usuario = Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("Joao")
+                .email("joao@pitstop.com")
+                .senha("hash")
+                .perfil(PerfilUsuario.GERENTE)
+                .oficina(oficina)
+                .securityVersion(0L)
+                .build();
+        token = jwtService.generateAccessToken(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o principal cacheado enquanto a versao nao muda")
+    void deveReutilizarPrincipalCacheado() throws Exception {
+        when(securityVersionService.currentVersion(usuario.getId())).thenReturn(0L);
+        when(userDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(carregado(PerfilUsuario.GERENTE, true, 0));
+
+        assertThat(autenticar()).isNotNull();
+        assertThat(autenticar()).isNotNull();
+
+        verify(userDetailsService, times(1)).loadUserByUsername(usuario.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar usuario desativado na requisicao seguinte ao commit")
+    void deveRejeitarUsuarioDesativado() throws Exception {
+        when(securityVersionService.currentVersion(usuario.getId())).thenReturn(0L, 1L);
+        when(userDetailsService.loadUserByUsername(usuario.getEmail()))
+                .thenReturn(carregado(PerfilUsuario.GERENTE, true, 0), carregado(PerfilUsuario.GERENTE, false, 1));
+
+        assertThat(autenticar()).isNotNull();
+
+        // Desativação commitada: versão durável e publicada passam a 1
+        assertThat(autenticar()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o novo perfil na requisicao seguinte ao commit")
+    void deveAplicarNovoPerfil() throws Exception {
+        when(securityVersionService.currentVersion(usuario.getId())).thenReturn(0L, 0L, 1L, 1L);
+        when(userDetailsService.loadUserByUsername(usuario.getEmail()))
+                .thenReturn(carregado(PerfilUsuario.GERENTE, true, 0), carregado(PerfilUsuario.MECANICO, true, 1));
+
+        assertThat(perfis(autenticar())).containsExactly("GERENTE");
+        assertThat(perfis(autenticar())).containsExactly("GERENTE");
+
+        assertThat(perfis(autenticar())).containsExactly("MECANICO");
+        assertThat(perfis(autenticar())).containsExactly("MECANICO");
+
+        verify(userDetailsService, times(2)).loadUserByUsername(usuario.getEmail());
+    }
+
+    @Test
+    @DisplayName("Nao deve cachear dados lidos enquanto o bump ainda nao foi commitado")
+    void naoDeveCachearAntesDoCommit() throws Exception {
+        // Versão já publicada (1), mas a linha ainda tem a versão anterior (0)
+        when(securityVersionService.currentVersion(usuario.getId())).thenReturn(1L);
+        when(userDetailsService.loadUserByUsername(usuario.getEmail()))
+                .thenReturn(carregado(PerfilUsuario.GERENTE, true, 0), carregado(PerfilUsuario.GERENTE, false, 1));
+
+        assertThat(autenticar()).isNotNull();
+        assertThat(principalCache.size()).isZero();
+
+        assertThat(autenticar()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve republicar a versao duravel quando o Redis estiver atras")
+    void deveRepublicarVersaoDuravel() throws Exception {
+        when(securityVersionService.currentVersion(usuario.getId())).thenReturn(0L, 2L);
+        when(securityVersionService.publish(usuario.getId(), 2L)).thenReturn(true);
+        when(userDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(carregado(PerfilUsuario.GERENTE, true, 2));
+
+        assertThat(autenticar()).isNotNull();
+        assertThat(autenticar()).isNotNull();
+
+        verify(userDetailsService, times(1)).loadUserByUsername(usuario.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve carregar do banco a cada requisicao quando o Redis estiver indisponivel")
+    void deveUsarBancoSemRedis() throws Exception {
+        when(securityVersionService.currentVersion(usuario.getId())).thenReturn(null);
+        when(userDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(carregado(PerfilUsuario.GERENTE, true, 0));
+
+        assertThat(autenticar()).isNotNull();
+        assertThat(autenticar()).isNotNull();
+
+        verify(userDetailsService, times(2)).loadUserByUsername(usuario.getEmail());
+        verify(securityVersionService, never()).publish(any(), anyLong());
+        assertThat(principalCache.size()).isZero();
+    }
+
+    private Authentication autenticar() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ordens-servico");
+        request.addHeader("Authorization", "Bearer " + token);
+        Authentication[] capturada = new Authentication[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> capturada[0] = SecurityContextHolder.getContext().getAuthentication());
+
+        return capturada[0];
+    }
+
+    private CustomUserDetails carregado(PerfilUsuario perfil, boolean ativo, long securityVersion) {
+        return new CustomUserDetails(Usuario.builder()
+                .id(usuario.getId())
+                .nome(usuario.getNome())
+                .email(usuario.getEmail())
+                .senha(usuario.getSenha())
+                .perfil(perfil)
+                .oficina(usuario.getOficina())
+                .ativo(ativo)
+                .securityVersion(securityVersion)
+                .build());
+    }
+
+    private static List<String> perfis(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
@@ -0,0 +1,158 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.shared.security.tenant.TenantFilter;
+import com.pitstop.usuario.domain.PerfilUsuario;
+import com.pitstop.usuario.domain.Usuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do custo de JWT por requisição no filter chain (JwtAuthenticationFilter + TenantFilter).
+ *
+ * <ul>
+ *   <li>{@code antes}: fluxo antigo - validateToken, extractEmail, isSuperAdmin e extractOficinaId,
+ *       cada um com seu próprio parser e verificação HS512</li>
+ *   <li>{@code depoisSemCache}: filtros reais, token verificado uma vez por requisição (LRU desativado)</li>
+ *   <li>{@code depoisComCache}: filtros reais, token já presente no LRU de tokens verificados</li>
+ * </ul>
+ *
+ * <p>O carregamento do usuário é um stub sem banco nos três cenários, para isolar o custo do JWT.
+ *
+ * <p>Execução: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.pitstop.shared.security.JwtFilterChainBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterChainBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private SecretKey key;
+    private String token;
+    private CustomUserDetails principal;
+    private CustomUserDetailsService userDetailsService;
+
+    private JwtAuthenticationFilter filterSemCache;
+    private TenantFilter tenantFilterSemCache;
+    private JwtAuthenticationFilter filterComCache;
+    private TenantFilter tenantFilterComCache;
+
+    @Setup
+    public void setup() {
+        byte[] secretBytes = new byte[64];
+        new SecureRandom().nextBytes(secretBytes);
+        String secret = Base64.getEncoder().encodeToString(secretBytes);
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+
+        Oficina oficina = new Oficina();
+        oficina.setId(UUID.randomUUID());
+        Usuario usuario = Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("Benchmark")
+                .email("bench@pitstop.com")
+                .senha("x")
+                .perfil(PerfilUsuario.ADMIN)
+                .oficina(oficina)
+                .build();
+        principal = new CustomUserDetails(usuario);
+
+        userDetailsService = new CustomUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String email) {
+                return principal;
+            }
+        };
+
+        JwtService semCache = new JwtService(secret, 3_600_000L, 604_800_000L, 0);
+        JwtService comCache = new JwtService(secret, 3_600_000L, 604_800_000L, 5_000);
+        token = comCache.generateAccessToken(usuario);
+
+        filterSemCache = newAuthFilter(semCache);
+        tenantFilterSemCache = new TenantFilter(semCache);
+        filterComCache = newAuthFilter(comCache);
+        tenantFilterComCache = new TenantFilter(comCache);
+    }
+
+    @Benchmark
+    public void antes(Blackhole bh) {
+        // validateToken
+        bh.consume(legacyParse());
+        // extractEmail + loadUserByUsername
+        String email = legacyParse().get("email", String.class);
+        bh.consume(userDetailsService.loadUserByUsername(email));
+        // TenantFilter: isSuperAdmin + extractOficinaId
+        bh.consume(PerfilUsuario.valueOf(legacyParse().get("perfil", String.class)));
+        bh.consume(UUID.fromString(legacyParse().get("oficinaId", String.class)));
+    }
+
+    @Benchmark
+    public void depoisSemCache(Blackhole bh) throws Exception {
+        runChain(filterSemCache, tenantFilterSemCache, bh);
+    }
+
+    @Benchmark
+    public void depoisComCache(Blackhole bh) throws Exception {
+        runChain(filterComCache, tenantFilterComCache, bh);
+    }
+
+    private void runChain(JwtAuthenticationFilter authFilter, TenantFilter tenantFilter, Blackhole bh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ordens-servico");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            authFilter.doFilter(request, response, (req, res) -> tenantFilter.doFilter(req, res, NOOP_CHAIN));
+            bh.consume(request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    private JwtAuthenticationFilter newAuthFilter(JwtService jwtService) {
+        SecurityVersionService versionService = new SecurityVersionService(null, null, 86_400) {
+            @Override
+            public Long currentVersion(UUID userId) {
+                return 0L;
+            }
+        };
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, userDetailsService, new PrincipalCache(1_000, 300), versionService);
+        ReflectionTestUtils.setField(filter, "authenticationMode", "claims");
+        return filter;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtFilterChainBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
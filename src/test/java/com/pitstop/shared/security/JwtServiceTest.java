@@ -0,0 +1,111 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.usuario.domain.PerfilUsuario;
+import com.pitstop.usuario.domain.Usuario;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitarios para o cache de tokens verificados do JwtService.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("JwtService - Testes Unitarios")
+class JwtServiceTest {
+
+    private static final long ACCESS_TOKEN_EXPIRATION = 60_000L;
+
+    // Segundo inteiro: o exp do JWT tem resolucao de segundos
+    private final AtomicLong agora = new AtomicLong(1_790_000_000_000L);
+    private final String secret = secret();
+
+    @Test
+    @DisplayName("Deve retornar o token cacheado na segunda verificacao")
+    void deveRetornarTokenCacheado() {
+        JwtService jwtService = jwtService(10);
+        String token = jwtService.generateAccessToken(usuario());
+
+        VerifiedToken primeiro = jwtService.verify(token);
+        VerifiedToken segundo = jwtService.verify(token);
+
+        assertThat(segundo).isSameAs(primeiro);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o token cacheado depois que o exp passar")
+    void deveRejeitarTokenCacheadoExpirado() {
+        JwtService jwtService = jwtService(10);
+        String token = jwtService.generateAccessToken(usuario());
+        jwtService.verify(token);
+
+        agora.addAndGet(ACCESS_TOKEN_EXPIRATION + 1_000L);
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtService.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o token cacheado ate o exp")
+    void deveAceitarTokenCacheadoAteExp() {
+        JwtService jwtService = jwtService(10);
+        String token = jwtService.generateAccessToken(usuario());
+        VerifiedToken verificado = jwtService.verify(token);
+
+        agora.addAndGet(ACCESS_TOKEN_EXPIRATION - 1_000L);
+
+        assertThat(jwtService.verify(token)).isSameAs(verificado);
+    }
+
+    @Test
+    @DisplayName("Deve descartar o token usado ha mais tempo ao atingir o tamanho maximo")
+    void deveDescartarMenosRecenteAoAtingirTamanhoMaximo() {
+        JwtService jwtService = jwtService(2);
+        String token1 = jwtService.generateAccessToken(usuario());
+        String token2 = jwtService.generateAccessToken(usuario());
+        String token3 = jwtService.generateAccessToken(usuario());
+
+        VerifiedToken verificado1 = jwtService.verify(token1);
+        VerifiedToken verificado2 = jwtService.verify(token2);
+        // token1 passa a ser o mais recente; token2 sai quando token3 entra
+        jwtService.verify(token1);
+        VerifiedToken verificado3 = jwtService.verify(token3);
+
+        assertThat(jwtService.verify(token1)).isSameAs(verificado1);
+        assertThat(jwtService.verify(token3)).isSameAs(verificado3);
+        VerifiedToken reverificado2 = jwtService.verify(token2);
+        assertThat(reverificado2).isNotSameAs(verificado2).isEqualTo(verificado2);
+    }
+
+    private JwtService jwtService(int maxSize) {
+        return new JwtService(secret, ACCESS_TOKEN_EXPIRATION, 604_800_000L, maxSize, agora::get);
+    }
+
+    private static Usuario usuario() {
+        Oficina oficina = new Oficina();
+        oficina.setId(UUID.randomUUID());
+        return Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("Joao")
+                .email("joao@pitstop.com")
+                .senha("hash")
+                .perfil(PerfilUsuario.GERENTE)
+                .oficina(oficina)
+                .build();
+    }
+
+    private static String secret() {
+        byte[] secretBytes = new byte[64];
+        new SecureRandom().nextBytes(secretBytes);
+        return Base64.getEncoder().encodeToString(secretBytes);
+    }
+}
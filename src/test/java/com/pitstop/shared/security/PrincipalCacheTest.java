@@ -0,0 +1,121 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.oficina.domain.Oficina;
+import com.pitstop.usuario.domain.PerfilUsuario;
+import com.pitstop.usuario.domain.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitarios para PrincipalCache.
+ *
+ * @author PitStop Team
+ */
+@DisplayName("PrincipalCache - Testes Unitarios")
+class PrincipalCacheTest {
+
+    private final AtomicLong agora = new AtomicLong(1_000_000L);
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(2, 300, agora::get);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o principal cacheado na mesma versao de seguranca")
+    void deveRetornarNaMesmaVersao() {
+        CustomUserDetails principal = principal(PerfilUsuario.ADMIN);
+
+        cache.put(principal.getUserId(), 3, principal);
+
+        assertThat(cache.get(principal.getUserId(), 3)).isSameAs(principal);
+    }
+
+    @Test
+    @DisplayName("Deve tratar versao diferente como miss e remover a entrada")
+    void deveFalharAposBump() {
+        CustomUserDetails principal = principal(PerfilUsuario.ADMIN);
+        cache.put(principal.getUserId(), 3, principal);
+
+        assertThat(cache.get(principal.getUserId(), 4)).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(principal.getUserId(), 3)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve expirar a entrada apos o TTL")
+    void deveExpirarAposTtl() {
+        CustomUserDetails principal = principal(PerfilUsuario.ADMIN);
+        cache.put(principal.getUserId(), 0, principal);
+
+        agora.addAndGet(300_000L);
+        assertThat(cache.get(principal.getUserId(), 0)).isSameAs(principal);
+
+        agora.addAndGet(1L);
+        assertThat(cache.get(principal.getUserId(), 0)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve descartar o usuario menos usado ao atingir o tamanho maximo")
+    void deveDescartarLru() {
+        CustomUserDetails a = principal(PerfilUsuario.ADMIN);
+        CustomUserDetails b = principal(PerfilUsuario.MECANICO);
+        CustomUserDetails c = principal(PerfilUsuario.ATENDENTE);
+
+        cache.put(a.getUserId(), 0, a);
+        cache.put(b.getUserId(), 0, b);
+        cache.get(a.getUserId(), 0);
+        cache.put(c.getUserId(), 0, c);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(a.getUserId(), 0)).isSameAs(a);
+        assertThat(cache.get(b.getUserId(), 0)).isNull();
+        assertThat(cache.get(c.getUserId(), 0)).isSameAs(c);
+    }
+
+    @Test
+    @DisplayName("Deve guardar um snapshot que nao muda com a entidade")
+    void deveGuardarSnapshotImutavel() {
+        Oficina oficina = new Oficina();
+        oficina.setId(UUID.randomUUID());
+        Usuario usuario = Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("Maria")
+                .email("maria@pitstop.com")
+                .senha("hash")
+                .perfil(PerfilUsuario.GERENTE)
+                .oficina(oficina)
+                .build();
+        CustomUserDetails principal = new CustomUserDetails(usuario);
+        cache.put(usuario.getId(), 0, principal);
+
+        usuario.setPerfil(PerfilUsuario.MECANICO);
+        usuario.desativar();
+
+        CustomUserDetails cached = cache.get(usuario.getId(), 0);
+        assertThat(cached.getPerfil()).isEqualTo(PerfilUsuario.GERENTE);
+        assertThat(cached.isEnabled()).isTrue();
+        assertThat(cached.getOficinaId()).isEqualTo(oficina.getId());
+    }
+
+    private CustomUserDetails principal(PerfilUsuario perfil) {
+        Oficina oficina = new Oficina();
+        oficina.setId(UUID.randomUUID());
+        return new CustomUserDetails(Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("Usuario " + perfil)
+                .email(perfil.name().toLowerCase() + "@pitstop.com")
+                .senha("hash")
+                .perfil(perfil)
+                .oficina(oficina)
+                .build());
+    }
+}
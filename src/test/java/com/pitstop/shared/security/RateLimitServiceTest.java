@@ -0,0 +1,89 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.shared.security.ratelimit.LocalRateLimitBackend;
+import com.pitstop.shared.security.ratelimit.RateLimitDecision;
+import com.pitstop.shared.security.ratelimit.RedisRateLimitBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitarios para RateLimitService.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitService - Testes Unitarios")
+class RateLimitServiceTest {
+
+    @Mock
+    private RedisRateLimitBackend redisBackend;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisBackend.name()).thenReturn("redis");
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitService = new RateLimitService(
+                redisBackend, new LocalRateLimitBackend(), meterRegistry,
+                "redis", 30, 2, 3600, 5, 3600, 1000, 3600);
+    }
+
+    @Test
+    @DisplayName("Deve usar a decisao do backend Redis e registrar metrica")
+    void deveUsarDecisaoDoRedis() {
+        when(redisBackend.tryAcquire(anyString(), anyInt(), anyLong()))
+                .thenReturn(new RateLimitDecision(false, 0));
+
+        assertThat(rateLimitService.isOrcamentoRequestAllowed("192.168.0.10")).isFalse();
+
+        assertThat(meterRegistry.get("pitstop.ratelimit.decisions")
+                .tag("outcome", "denied").tag("backend", "redis").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve usar fallback local quando Redis falhar e nao tentar Redis novamente durante o backoff")
+    void deveUsarFallbackLocal() {
+        when(redisBackend.tryAcquire(anyString(), anyInt(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(rateLimitService.isOrcamentoRequestAllowed("192.168.0.10")).isTrue();
+        assertThat(rateLimitService.isOrcamentoRequestAllowed("192.168.0.10")).isTrue();
+        assertThat(rateLimitService.isOrcamentoRequestAllowed("192.168.0.10")).isFalse();
+
+        verify(redisBackend, times(1)).tryAcquire(anyString(), anyInt(), anyLong());
+        assertThat(meterRegistry.get("pitstop.ratelimit.fallbacks").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("pitstop.ratelimit.decisions")
+                .tag("outcome", "denied").tag("backend", "local").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve acumular decisoes repetidas no contador de cada endpoint, resultado e backend")
+    void deveAcumularDecisoesPorConjuntoDeTags() {
+        when(redisBackend.tryAcquire(anyString(), anyInt(), anyLong()))
+                .thenReturn(new RateLimitDecision(true, 1), new RateLimitDecision(true, 0), new RateLimitDecision(false, 0));
+
+        rateLimitService.isOrcamentoRequestAllowed("192.168.0.10");
+        rateLimitService.isOrcamentoRequestAllowed("192.168.0.10");
+        rateLimitService.isOrcamentoRequestAllowed("192.168.0.10");
+
+        assertThat(meterRegistry.find("pitstop.ratelimit.decisions").counters()).hasSize(2);
+        assertThat(meterRegistry.get("pitstop.ratelimit.decisions")
+                .tag("outcome", "allowed").tag("backend", "redis").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("pitstop.ratelimit.decisions")
+                .tag("outcome", "denied").tag("backend", "redis").counter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.pitstop.shared.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testa a recuperação do RefreshTokenService com dois nós e um Redis real: revogações e tokens
+ * guardados durante a queda em nós diferentes, reaplicados em qualquer ordem.
+ *
+ * @author PitStop Team
+ */
+@Testcontainers
+@DisplayName("RefreshTokenService - Recuperação com dois nós")
+class RefreshTokenServiceRedisIntegrationTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(
+        DockerImageName.parse("redis:7-alpine"))
+        .withExposedPorts(6379);
+
+    private final AtomicBoolean redisFora = new AtomicBoolean();
+    private final UUID userId = UUID.randomUUID();
+
+    private LettuceConnectionFactory connectionFactory;
+    private RefreshTokenService noA;
+    private RefreshTokenService noB;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        // Conexões falham enquanto redisFora = true
+        RedisConnectionFactory comQueda = mock(RedisConnectionFactory.class);
+        when(comQueda.getConnection()).thenAnswer(inv -> {
+            if (redisFora.get()) {
+                throw new RedisConnectionFailureException("Redis fora");
+            }
+            return connectionFactory.getConnection();
+        });
+
+        noA = no(comQueda);
+        noB = no(comQueda);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Não deve regravar token revogado em outro nó quando a revogação é reaplicada primeiro")
+    void naoDeveRegravarTokenRevogadoComRevogacaoPrimeiro() {
+        redisFora.set(true);
+        noA.storeRefreshToken(userId, "token-a");
+        noB.deleteRefreshToken(userId);
+
+        redisFora.set(false);
+        noB.replayPending();
+        noA.replayPending();
+
+        assertThat(noA.isRefreshTokenValid(userId, "token-a")).isFalse();
+        assertThat(noB.isRefreshTokenValid(userId, "token-a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve manter token revogado em outro nó quando o token é reaplicado primeiro")
+    void naoDeveManterTokenRevogadoComTokenPrimeiro() {
+        redisFora.set(true);
+        noA.storeRefreshToken(userId, "token-a");
+        noB.deleteRefreshToken(userId);
+
+        redisFora.set(false);
+        noA.replayPending();
+        noB.replayPending();
+
+        assertThat(noA.isRefreshTokenValid(userId, "token-a")).isFalse();
+        assertThat(noB.isRefreshTokenValid(userId, "token-a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve restaurar token criado depois da revogação em outro nó")
+    void deveRestaurarTokenCriadoAposRevogacao() throws Exception {
+        redisFora.set(true);
+        noB.deleteRefreshToken(userId);
+        Thread.sleep(5);
+        noA.storeRefreshToken(userId, "token-novo");
+
+        redisFora.set(false);
+        noB.replayPending();
+        noA.replayPending();
+
+        assertThat(noB.isRefreshTokenValid(userId, "token-novo")).isTrue();
+    }
+
+    private static RefreshTokenService no(RedisConnectionFactory connectionFactory) {
+        RefreshTokenService service = new RefreshTokenService(
+                new StringRedisTemplate(connectionFactory),
+                new ObjectMapper().findAndRegisterModules(),
+                mock(RedisCircuitBreaker.class));
+        ReflectionTestUtils.setField(service, "refreshTokenExpiration", 604_800_000L);
+        service.init();
+        return service;
+    }
+}
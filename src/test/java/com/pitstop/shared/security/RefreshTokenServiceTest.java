@@ -0,0 +1,165 @@
+package com.pitstop.shared.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pitstop.shared.redis.RedisCircuitBreaker;
+import com.pitstop.shared.redis.RedisCircuitOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitarios para RefreshTokenService no modo degradado (Redis indisponivel).
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService - Testes Unitarios")
+class RefreshTokenServiceTest {
+
+    private static final long REFRESH_TOKEN_EXPIRATION = 604_800_000L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisCircuitBreaker circuitBreaker;
+
+    private RefreshTokenService service;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        service = new RefreshTokenService(redisTemplate, new ObjectMapper().findAndRegisterModules(), circuitBreaker);
+        ReflectionTestUtils.setField(service, "refreshTokenExpiration", REFRESH_TOKEN_EXPIRATION);
+        service.init();
+    }
+
+    @Test
+    @DisplayName("Deve registrar a recuperacao no circuit breaker")
+    void deveRegistrarRecuperacao() {
+        verify(circuitBreaker).addRecoveryListener(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Deve manter o token localmente e aceita-lo com o circuito aberto")
+    void deveManterTokenLocalComCircuitoAberto() {
+        abrirCircuito();
+
+        service.storeRefreshToken(userId, "token-local");
+
+        assertThat(service.isRefreshTokenValid(userId, "token-local")).isTrue();
+        assertThat(service.isRefreshTokenValid(userId, "outro-token")).isFalse();
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token que nao foi guardado neste no com o circuito aberto")
+    void deveRejeitarTokenDesconhecidoComCircuitoAberto() {
+        abrirCircuito();
+
+        assertThat(service.isRefreshTokenValid(userId, "token-de-outro-no")).isFalse();
+        assertThat(service.getRefreshToken(userId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve revogar localmente e nao consultar o Redis depois de logout com o circuito aberto")
+    void deveRevogarComCircuitoAberto() {
+        abrirCircuito();
+        service.storeRefreshToken(userId, "token-local");
+
+        service.deleteRefreshToken(userId);
+
+        assertThat(service.isRefreshTokenValid(userId, "token-local")).isFalse();
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve propagar erro de comando do Redis que nao seja de conectividade")
+    void devePropagarErroDeComando() {
+        doThrow(new RedisSystemException("WRONGTYPE", null))
+                .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+
+        assertThatThrownBy(() -> service.storeRefreshToken(userId, "token"))
+                .isInstanceOf(RedisSystemException.class);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as revogacoes antes dos tokens na recuperacao")
+    void deveAplicarRevogacoesAntesDosTokens() {
+        UUID revogado = UUID.randomUUID();
+        abrirCircuito();
+        service.storeRefreshToken(userId, "token-local");
+        service.deleteRefreshToken(revogado);
+
+        service.replayPending();
+
+        InOrder inOrder = inOrder(redisTemplate);
+        inOrder.verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("refresh_token:" + revogado, "refresh_token_revoked:" + revogado)), any(), any());
+        inOrder.verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("refresh_token:" + userId, "refresh_token_revoked:" + userId)), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve voltar a consultar o Redis depois da recuperacao")
+    void deveConsultarRedisAposRecuperacao() {
+        abrirCircuito();
+        service.storeRefreshToken(userId, "token-local");
+        service.deleteRefreshToken(UUID.randomUUID());
+
+        service.replayPending();
+        doReturn(null).when(valueOperations).get("refresh_token:" + userId);
+
+        assertThat(service.getRefreshToken(userId)).isEmpty();
+        verify(valueOperations).get("refresh_token:" + userId);
+    }
+
+    @Test
+    @DisplayName("Deve manter a fila se o Redis cair de novo durante a recuperacao")
+    void deveManterFilaSeRecuperacaoFalhar() {
+        UUID revogado = UUID.randomUUID();
+        abrirCircuito();
+        service.storeRefreshToken(userId, "token-local");
+        service.deleteRefreshToken(revogado);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisCircuitOpenException());
+
+        service.replayPending();
+
+        assertThat(service.getRefreshToken(revogado)).isEmpty();
+        assertThat(service.isRefreshTokenValid(userId, "token-local")).isTrue();
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    private void abrirCircuito() {
+        lenient().doThrow(new RedisCircuitOpenException())
+                .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        lenient().when(valueOperations.get(anyString())).thenThrow(new RedisCircuitOpenException());
+        lenient().when(redisTemplate.delete(anyString())).thenThrow(new RedisCircuitOpenException());
+    }
+}
@@ -0,0 +1,130 @@
+package com.pitstop.shared.security;
+
+import com.pitstop.usuario.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitarios para SecurityVersionService.
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SecurityVersionService - Testes Unitarios")
+class SecurityVersionServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private SecurityVersionService service;
+    private UUID userId;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        service = new SecurityVersionService(redisTemplate, usuarioRepository, 86_400);
+        userId = UUID.randomUUID();
+        key = "security_version:" + userId;
+    }
+
+    @Test
+    @DisplayName("Deve ler a versao publicada e tratar chave ausente como zero")
+    void deveLerVersaoPublicada() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(key)).thenReturn("7", (String) null);
+
+        assertThat(service.currentVersion(userId)).isEqualTo(7L);
+        assertThat(service.currentVersion(userId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve retornar null quando o Redis estiver indisponivel")
+    void deveRetornarNullSemRedis() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service.currentVersion(userId)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versao duravel e publica-la antes do commit")
+    @SuppressWarnings("unchecked")
+    void deveIncrementarEPublicar() {
+        when(usuarioRepository.findSecurityVersionById(userId)).thenReturn(Optional.of(5L));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("5"), eq("86400")))
+                .thenReturn(5L);
+
+        service.bump(userId);
+
+        InOrder ordem = inOrder(usuarioRepository, redisTemplate);
+        ordem.verify(usuarioRepository).incrementSecurityVersion(userId);
+        ordem.verify(usuarioRepository).findSecurityVersionById(userId);
+        ordem.verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(key)), eq("5"), eq("86400"));
+    }
+
+    @Test
+    @DisplayName("Deve falhar o bump quando nao conseguir publicar a versao")
+    @SuppressWarnings("unchecked")
+    void deveFalharBumpSemRedis() {
+        when(usuarioRepository.findSecurityVersionById(userId)).thenReturn(Optional.of(2L));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("2"), eq("86400")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThatThrownBy(() -> service.bump(userId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(RedisConnectionFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar bump sem usuario")
+    void deveIgnorarBumpSemUsuario() {
+        service.bump(null);
+
+        verifyNoInteractions(usuarioRepository, redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve republicar a versao duravel e indicar se o Redis ja estava a frente")
+    @SuppressWarnings("unchecked")
+    void deveRepublicarVersaoDuravel() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("3"), eq("86400")))
+                .thenReturn(3L, 4L);
+
+        assertThat(service.publish(userId, 3)).isTrue();
+        assertThat(service.publish(userId, 3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve retornar false ao republicar sem Redis")
+    @SuppressWarnings("unchecked")
+    void deveRetornarFalseAoRepublicarSemRedis() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(key)), eq("3"), eq("86400")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service.publish(userId, 3)).isFalse();
+    }
+}
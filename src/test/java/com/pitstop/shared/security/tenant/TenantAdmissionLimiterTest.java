@@ -0,0 +1,170 @@
+package com.pitstop.shared.security.tenant;
+
+import com.pitstop.oficina.domain.PlanoAssinatura;
+import com.pitstop.oficina.repository.OficinaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitarios para TenantAdmissionLimiter.
+ *
+ * <p>Planos usados: ECONOMICO (2 permissoes, fila 2, peso 1), PROFISSIONAL (1 permissao, sem fila,
+ * peso 2) e TURBINADO (4 permissoes, fila 4, peso 4).
+ *
+ * @author PitStop Team
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantAdmissionLimiter - Testes Unitarios")
+class TenantAdmissionLimiterTest {
+
+    @Mock
+    private OficinaRepository oficinaRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private TenantAdmissionLimiter limiter(int globalMaxConcurrent, long maxWaitMs, long idleTtlMs) {
+        return new TenantAdmissionLimiter(oficinaRepository, meterRegistry,
+                globalMaxConcurrent, maxWaitMs, idleTtlMs,
+                2, 2, 1,
+                1, 0, 2,
+                4, 4, 4);
+    }
+
+    private UUID oficina(PlanoAssinatura plano) {
+        UUID id = UUID.randomUUID();
+        when(oficinaRepository.findPlanoById(id)).thenReturn(Optional.of(plano));
+        return id;
+    }
+
+    private double filaDe(UUID oficinaId) {
+        Gauge gauge = meterRegistry.find("pitstop.admission.queue.depth").tag("oficinaId", oficinaId.toString()).gauge();
+        return gauge != null ? gauge.value() : 0;
+    }
+
+    private void aguardarFila(UUID oficinaId, int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (filaDe(oficinaId) < tamanho) {
+            assertThat(System.nanoTime()).as("fila da oficina").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com fila cheia quando a oficina esgota permissoes e fila")
+    void deveRejeitarComFilaCheia() {
+        TenantAdmissionLimiter limiter = limiter(10, 1000, 600_000);
+        UUID oficinaId = oficina(PlanoAssinatura.PROFISSIONAL);
+
+        assertThat(limiter.acquire(oficinaId)).isEqualTo(TenantAdmissionLimiter.Outcome.ADMITTED);
+        assertThat(limiter.acquire(oficinaId)).isEqualTo(TenantAdmissionLimiter.Outcome.REJECTED_QUEUE_FULL);
+
+        assertThat(meterRegistry.get("pitstop.admission.rejected")
+                .tag("reason", "queue_full").tag("plano", "PROFISSIONAL").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar por timeout e retirar a requisicao da fila")
+    void deveRejeitarPorTimeout() {
+        TenantAdmissionLimiter limiter = limiter(10, 50, 600_000);
+        UUID oficinaId = oficina(PlanoAssinatura.ECONOMICO);
+        limiter.acquire(oficinaId);
+        limiter.acquire(oficinaId);
+
+        assertThat(limiter.acquire(oficinaId)).isEqualTo(TenantAdmissionLimiter.Outcome.REJECTED_TIMEOUT);
+        assertThat(filaDe(oficinaId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve entregar a permissao liberada para a requisicao na fila")
+    void deveEntregarPermissaoLiberada() throws Exception {
+        TenantAdmissionLimiter limiter = limiter(10, 5000, 600_000);
+        UUID oficinaId = oficina(PlanoAssinatura.ECONOMICO);
+        limiter.acquire(oficinaId);
+        limiter.acquire(oficinaId);
+
+        Future<TenantAdmissionLimiter.Outcome> espera = executor.submit(() -> limiter.acquire(oficinaId));
+        aguardarFila(oficinaId, 1);
+        limiter.release(oficinaId);
+
+        assertThat(espera.get(5, TimeUnit.SECONDS)).isEqualTo(TenantAdmissionLimiter.Outcome.ADMITTED);
+        assertThat(meterRegistry.get("pitstop.admission.inflight.global").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Deve entregar a capacidade global para a oficina com menor inFlight/peso, nao para a primeira da fila")
+    void deveAplicarFilaJustaPonderada() throws Exception {
+        TenantAdmissionLimiter limiter = limiter(4, 5000, 600_000);
+        UUID economico = oficina(PlanoAssinatura.ECONOMICO);
+        UUID turbinado = oficina(PlanoAssinatura.TURBINADO);
+        UUID outra = oficina(PlanoAssinatura.ECONOMICO);
+
+        // Capacidade global esgotada: economico 1/2, turbinado 2/4, outra 1/2
+        limiter.acquire(economico);
+        limiter.acquire(turbinado);
+        limiter.acquire(turbinado);
+        limiter.acquire(outra);
+
+        Future<TenantAdmissionLimiter.Outcome> esperaEconomico = executor.submit(() -> limiter.acquire(economico));
+        aguardarFila(economico, 1);
+        Future<TenantAdmissionLimiter.Outcome> esperaTurbinado = executor.submit(() -> limiter.acquire(turbinado));
+        aguardarFila(turbinado, 1);
+
+        limiter.release(outra);
+
+        assertThat(esperaTurbinado.get(5, TimeUnit.SECONDS)).isEqualTo(TenantAdmissionLimiter.Outcome.ADMITTED);
+        assertThat(esperaEconomico.isDone()).isFalse();
+
+        limiter.release(turbinado);
+
+        assertThat(esperaEconomico.get(5, TimeUnit.SECONDS)).isEqualTo(TenantAdmissionLimiter.Outcome.ADMITTED);
+    }
+
+    @Test
+    @DisplayName("Deve descartar estado e metricas de oficinas ociosas, mas nao de oficinas em uso")
+    void deveDescartarOficinasOciosas() {
+        TenantAdmissionLimiter limiter = limiter(10, 1000, 0);
+        UUID ociosa = oficina(PlanoAssinatura.ECONOMICO);
+        UUID emUso = oficina(PlanoAssinatura.ECONOMICO);
+        limiter.acquire(ociosa);
+        limiter.release(ociosa);
+        limiter.acquire(emUso);
+
+        limiter.evictIdleTenants();
+
+        assertThat(meterRegistry.find("pitstop.admission.inflight").tag("oficinaId", ociosa.toString()).gauge()).isNull();
+        assertThat(meterRegistry.find("pitstop.admission.queue.depth").tag("oficinaId", ociosa.toString()).gauge()).isNull();
+        assertThat(meterRegistry.find("pitstop.admission.inflight").tag("oficinaId", emUso.toString()).gauge()).isNotNull();
+
+        // A oficina volta a ser admitida normalmente (e o plano, descartado, é buscado de novo)
+        assertThat(limiter.acquire(ociosa)).isEqualTo(TenantAdmissionLimiter.Outcome.ADMITTED);
+    }
+}
@@ -0,0 +1,93 @@
+package com.pitstop.shared.security.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para o escopo de tenant de TenantContext ({@code runWithTenant}/{@code callWithTenant}).
+ *
+ * @author PitStop Team
+ */
+@DisplayName("TenantContext - Testes Unitários")
+class TenantContextTest {
+
+    private final UUID oficinaAnterior = UUID.randomUUID();
+    private final UUID oficina = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve executar com o tenant informado e restaurar o tenant anterior")
+    void deveRestaurarTenantAnteriorNoRun() {
+        TenantContext.setTenantId(oficinaAnterior);
+        UUID[] visto = new UUID[1];
+
+        TenantContext.runWithTenant(oficina, () -> visto[0] = TenantContext.getTenantId());
+
+        assertThat(visto[0]).isEqualTo(oficina);
+        assertThat(TenantContext.getTenantIdOrNull()).isEqualTo(oficinaAnterior);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a ficar sem tenant quando não havia tenant antes do run")
+    void deveRestaurarAusenciaDeTenantNoRun() {
+        TenantContext.runWithTenant(oficina, () -> assertThat(TenantContext.getTenantId()).isEqualTo(oficina));
+
+        assertThat(TenantContext.isSet()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve retornar o resultado e restaurar o tenant anterior no call")
+    void deveRestaurarTenantAnteriorNoCall() {
+        TenantContext.setTenantId(oficinaAnterior);
+
+        UUID resultado = TenantContext.callWithTenant(oficina, TenantContext::getTenantId);
+
+        assertThat(resultado).isEqualTo(oficina);
+        assertThat(TenantContext.getTenantIdOrNull()).isEqualTo(oficinaAnterior);
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o tenant anterior quando a ação lança exceção")
+    void deveRestaurarTenantAnteriorAposExcecao() {
+        TenantContext.setTenantId(oficinaAnterior);
+
+        assertThatThrownBy(() -> TenantContext.callWithTenant(oficina, () -> {
+            throw new IllegalStateException("falha");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(TenantContext.getTenantIdOrNull()).isEqualTo(oficinaAnterior);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a ficar sem tenant quando a ação lança exceção e não havia tenant antes")
+    void deveRestaurarAusenciaDeTenantAposExcecao() {
+        assertThatThrownBy(() -> TenantContext.runWithTenant(oficina, () -> {
+            throw new IllegalStateException("falha");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(TenantContext.isSet()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve restaurar cada nível em chamadas aninhadas")
+    void deveRestaurarChamadasAninhadas() {
+        UUID interna = UUID.randomUUID();
+
+        TenantContext.runWithTenant(oficina, () -> {
+            TenantContext.runWithTenant(interna, () -> assertThat(TenantContext.getTenantId()).isEqualTo(interna));
+            assertThat(TenantContext.getTenantId()).isEqualTo(oficina);
+        });
+
+        assertThat(TenantContext.isSet()).isFalse();
+    }
+}